@@ -332,6 +332,7 @@ public class AllMutantsGenerator extends MutantsGenerator {
    * Compile mutants into bytecode
    */
   public void compileMutants() {
+	context.apply();
 	if (traditionalOp != null && traditionalOp.length > 0) {
 	  Debug.println("* Compiling traditional mutants into bytecode");
 	  MutationSystem.MUTANT_PATH = MutationSystem.TRADITIONAL_MUTANT_PATH;
@@ -27,6 +27,7 @@ import openjava.ptree.CompilationUnit;
 import openjava.ptree.ParseTreeException;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * <p>Generate class mutants according to selected
@@ -364,14 +365,22 @@ public class ClassMutantsGeneratorCLI extends MutantsGenerator {
 	}
   }
 
+  GenerationManifest createManifest() throws IOException {
+	return new GenerationManifest(MutationSystem.CM_DIR_NAME, original_file, classOp);
+  }
+
   /**
    * Compile class mutants into bytecode
    */
   public void compileMutants() {
+	context.apply();
+	if (upToDate)
+	  return;
 	if (classOp != null && classOp.length > 0) {
 	  Debug.println("* Compiling class mutants into bytecode");
 	  MutationSystem.MUTANT_PATH = MutationSystem.CLASS_MUTANT_PATH;
 	  super.compileMutants();
 	}
+	writeManifest();
   }
 }
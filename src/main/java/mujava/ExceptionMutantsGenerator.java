@@ -73,6 +73,7 @@ public class ExceptionMutantsGenerator extends MutantsGenerator {
    * Compile exception-related mutants into bytecode
    */
   public void compileMutants() {
+	context.apply();
 	if (exceptionOp != null && exceptionOp.length > 0) {
 	  Debug.println("* Compiling exception-related mutants into bytecode");
 	  MutationSystem.MUTANT_PATH = MutationSystem.EXCEPTION_MUTANT_PATH;
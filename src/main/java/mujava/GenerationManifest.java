@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * <p>Description: Fingerprint of the last generation of the mutants of a class,
+ *    kept in result/&lt;class&gt;/&lt;kind&gt;.manifest (e.g. traditional_mutants.manifest). </p>
+ * <p>The fingerprint is made of a hash of the source file, a hash of the
+ *    names of the class files in CLASS_PATH and the selected operators. When
+ *    it matches the manifest, the mutants of the previous run are kept and the
+ *    class is not parsed, mutated or compiled again. The manifest is deleted
+ *    before the mutants are generated and written once they are compiled, so
+ *    an interrupted generation is done again. In-memory mutants are always
+ *    generated again. </p>
+ * <p>Only the names of the other classes are part of the fingerprint: a class
+ *    added, removed or renamed changes it, while a change in the body of
+ *    another class (which does not change the mutants) does not. </p>
+ *
+ * @version 1.0
+ */
+
+public class GenerationManifest {
+
+  static final String VERSION = "1";
+
+  /** CLASS_PATH -> hash of the names of its class files */
+  static Map<String, String> classpathHashes = new HashMap<String, String>();
+
+  /** directory of the mutants the manifest is about */
+  File mutantDir;
+
+  File file;
+
+  Properties fingerprint = new Properties();
+
+  /**
+   * @param kind name of the mutant directory (MutationSystem.TM_DIR_NAME or CM_DIR_NAME)
+   * @param source Java source file being mutated
+   * @param operators selected operators
+   */
+  public GenerationManifest(String kind, File source, String[] operators) throws IOException {
+	File classDir = new File(MutationSystem.ORIGINAL_PATH).getParentFile();
+	mutantDir = new File(classDir, kind);
+	file = new File(classDir, kind + ".manifest");
+
+	List<String> ops = new ArrayList<String>();
+	if (operators != null)
+	  ops.addAll(Arrays.asList(operators));
+	Collections.sort(ops);
+	StringBuilder opList = new StringBuilder();
+	for (String op : ops) {
+	  if (opList.length() > 0)
+		opList.append(",");
+	  opList.append(op);
+	}
+
+	fingerprint.setProperty("version", VERSION);
+	fingerprint.setProperty("source", hash(Files.readAllBytes(source.toPath())));
+	fingerprint.setProperty("classpath", getClasspathHash(MutationSystem.CLASS_PATH));
+	fingerprint.setProperty("operators", opList.toString());
+	fingerprint.setProperty("inmemory", Boolean.toString(MutationSystem.IN_MEMORY_MUTANTS));
+	fingerprint.setProperty("tce", Boolean.toString(MutationSystem.TRIVIAL_COMPILER_EQUIVALENCE));
+	fingerprint.setProperty("schemata", Boolean.toString(MutationSystem.MUTANT_SCHEMATA));
+	fingerprint.setProperty("bytecode", Boolean.toString(MutationSystem.BYTECODE_MUTANTS));
+	fingerprint.setProperty("weak", Boolean.toString(MutationSystem.WEAK_MUTATION));
+	fingerprint.setProperty("coverage", Boolean.toString(MutationSystem.TEST_COVERAGE));
+  }
+
+  /**
+   * Return true if the mutants of the previous run were generated with the
+   * same fingerprint. In-memory mutants are never up to date: MutantStore
+   * does not outlive the JVM that generated them.
+   */
+  public boolean isUpToDate() {
+	if (MutationSystem.IN_MEMORY_MUTANTS)
+	  return false;
+	if (!file.isFile() || !mutantDir.isDirectory() || !new File(MutationSystem.ORIGINAL_PATH).isDirectory())
+	  return false;
+	Properties last = new Properties();
+	InputStream in = null;
+	try {
+	  in = new FileInputStream(file);
+	  last.load(in);
+	} catch (IOException e) {
+	  return false;
+	} finally {
+	  close(in);
+	}
+	return last.equals(fingerprint);
+  }
+
+  /** Record the fingerprint, once the mutants are generated and compiled */
+  public void write() {
+	OutputStream out = null;
+	try {
+	  out = new FileOutputStream(file);
+	  fingerprint.store(out, "muJava generation manifest");
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write " + file);
+	} finally {
+	  close(out);
+	}
+  }
+
+  /** Forget the fingerprint, before the mutants are generated again */
+  public void delete() {
+	file.delete();
+  }
+
+  static synchronized String getClasspathHash(String classpath) {
+	String result = classpathHashes.get(classpath);
+	if (result == null) {
+	  List<String> names = new ArrayList<String>();
+	  listClassFiles(new File(classpath), "", names);
+	  Collections.sort(names);
+	  StringBuilder all = new StringBuilder();
+	  for (String name : names) {
+		all.append(name).append('\n');
+	  }
+	  result = hash(all.toString().getBytes());
+	  classpathHashes.put(classpath, result);
+	}
+	return result;
+  }
+
+  static void listClassFiles(File dir, String prefix, List<String> names) {
+	File[] files = dir.listFiles();
+	if (files == null)
+	  return;
+	for (File f : files) {
+	  if (f.isDirectory())
+		listClassFiles(f, prefix + f.getName() + "/", names);
+	  else if (f.getName().endsWith(".class"))
+		names.add(prefix + f.getName());
+	}
+  }
+
+  static String hash(byte[] data) {
+	try {
+	  byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+	  StringBuilder hex = new StringBuilder();
+	  for (byte b : digest) {
+		hex.append(String.format("%02x", b));
+	  }
+	  return hex.toString();
+	} catch (NoSuchAlgorithmException e) {
+	  throw new RuntimeException(e);
+	}
+  }
+
+  static void close(Closeable c) {
+	if (c == null)
+	  return;
+	try {
+	  c.close();
+	} catch (IOException e) {
+	  // ignore
+	}
+  }
+}
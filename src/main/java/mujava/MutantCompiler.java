@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava;
+
+import com.sun.tools.javac.api.JavacTool;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Compile mutants through the javax.tools {@link JavaCompiler} API.
+ * The compiler and its {@link StandardJavaFileManager} are created once
+ * and shared by every compilation, so the classpath is only opened again
+ * when MutationSystem.CLASS_PATH changes.
+ * </p>
+ * <p>
+ * Every mutant is still compiled by its own compilation task: all mutants
+ * of a class declare the same class name, so they can not be put in the
+ * same task. Diagnostics are collected per task, so a mutant that fails
+ * to compile is reported on its own.
+ * </p>
+ * <p>
+ * {@link #compileInMemory} compiles sources held in memory and returns the
+ * bytecode instead of writing class files (see {@link MutantStore}).
+ * </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantCompiler {
+
+  private static JavaCompiler compiler = null;
+  private static StandardJavaFileManager fileManager = null;
+  private static String fileManagerClassPath = null;
+
+  /** Return the Java compiler of the running JDK (or the one of tools.jar) */
+  static synchronized JavaCompiler getCompiler() {
+	if (compiler == null) {
+	  compiler = ToolProvider.getSystemJavaCompiler();
+	  if (compiler == null)
+		compiler = JavacTool.create();
+	}
+	return compiler;
+  }
+
+  /**
+   * Return the shared file manager, pointing its classpath to <i>classPath</i>
+   * (entries separated by File.pathSeparator)
+   * @throws IOException
+   */
+  static synchronized StandardJavaFileManager getFileManager(String classPath) throws IOException {
+	if (fileManager == null) {
+	  fileManager = getCompiler().getStandardFileManager(null, null, null);
+	}
+	if (!classPath.equals(fileManagerClassPath)) {
+	  List<File> entries = new ArrayList<File>();
+	  for (String entry : classPath.split(File.pathSeparator)) {
+		entries.add(new File(entry));
+	  }
+	  fileManager.setLocation(StandardLocation.CLASS_PATH, entries);
+	  fileManagerClassPath = classPath;
+	}
+	return fileManager;
+  }
+
+  /**
+   * Compile Java source files. Class files are written next to the sources.
+   * @param classPath classpath used to resolve the classes the sources refer to
+   * @param sources Java source files that belong together (i.e. one mutant)
+   * @param diagnostics collector of the errors and warnings of this compilation
+   * @return true if the sources are compiled successfully
+   * @throws IOException
+   */
+  public static synchronized boolean compile(String classPath, List<File> sources,
+											 DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+	StandardJavaFileManager manager = getFileManager(classPath);
+	Iterable<? extends JavaFileObject> units = manager.getJavaFileObjectsFromFiles(sources);
+	JavaCompiler.CompilationTask task = getCompiler().getTask(null, manager, diagnostics, null, null, units);
+	return task.call();
+  }
+
+  /**
+   * Compile Java sources held in memory. No file is read or written
+   * besides the classes of the classpath.
+   * @param classPath classpath used to resolve the classes the sources refer to
+   * @param sources source code of one mutant, keyed by file name
+   * @param diagnostics collector of the errors and warnings of this compilation
+   * @return bytecode keyed by binary class name, or null if the sources do not compile
+   * @throws IOException
+   */
+  public static synchronized Map<String, byte[]> compileInMemory(String classPath, Map<String, String> sources,
+																  DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+	List<JavaFileObject> units = new ArrayList<JavaFileObject>();
+	for (Map.Entry<String, String> e : sources.entrySet()) {
+	  units.add(new SourceObject(e.getKey(), e.getValue()));
+	}
+
+	final Map<String, ClassObject> outputs = new LinkedHashMap<String, ClassObject>();
+	JavaFileManager manager = new ForwardingJavaFileManager<StandardJavaFileManager>(getFileManager(classPath)) {
+	  public JavaFileObject getJavaFileForOutput(Location location, String className,
+												 JavaFileObject.Kind kind, FileObject sibling) {
+		ClassObject out = new ClassObject(className);
+		outputs.put(className, out);
+		return out;
+	  }
+	};
+
+	JavaCompiler.CompilationTask task = getCompiler().getTask(null, manager, diagnostics, null, null, units);
+	if (!task.call())
+	  return null;
+
+	Map<String, byte[]> result = new LinkedHashMap<String, byte[]>();
+	for (Map.Entry<String, ClassObject> e : outputs.entrySet()) {
+	  result.put(e.getKey(), e.getValue().bytes.toByteArray());
+	}
+	return result;
+  }
+
+  /** Source file whose content is a string */
+  static class SourceObject extends SimpleJavaFileObject {
+	final String code;
+
+	SourceObject(String fileName, String code) {
+	  super(URI.create("string:///" + fileName), Kind.SOURCE);
+	  this.code = code;
+	}
+
+	public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+	  return code;
+	}
+  }
+
+  /** Class file written to a byte array */
+  static class ClassObject extends SimpleJavaFileObject {
+	final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+	ClassObject(String className) {
+	  super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+	}
+
+	public OutputStream openOutputStream() {
+	  return bytes;
+	}
+  }
+
+  /** Print the diagnostics of a compilation the way javac does */
+  public static void printDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics, PrintStream out) {
+	for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+	  if (d.getSource() != null)
+		out.println(d.getSource().getName() + ":" + d.getLineNumber() + ": " + d.getMessage(null));
+	  else
+		out.println(d.getMessage(null));
+	}
+  }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * In-memory storage of mutants, used when MutationSystem.IN_MEMORY_MUTANTS is set.
+ * The mutant writers print into a {@link StringWriter} instead of a file,
+ * {@link MutantCompiler#compileInMemory} turns the sources into bytecode and
+ * the mutant class loader defines the classes from the stored bytes.
+ * </p>
+ * <p>
+ * Mutants are keyed by their directory (e.g. MUTANT_PATH + "/AORB_1"),
+ * the same path they would have on disk, so {@link #export(String)}
+ * can write them out in the usual layout.
+ * </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantStore {
+
+  /** mutant directory -> (source file name -> source code) */
+  private static final Map<String, Map<String, String>> sources = new LinkedHashMap<String, Map<String, String>>();
+
+  /** mutant directory -> (binary class name -> bytecode) */
+  private static final Map<String, Map<String, byte[]>> classes = new HashMap<String, Map<String, byte[]>>();
+
+  static String normalize(String path) {
+	return path.replace('\\', '/');
+  }
+
+  /**
+   * Return a writer for the mutant source <i>fileName</i>.
+   * The source is stored when the writer is closed.
+   */
+  public static PrintWriter openSource(final String fileName) {
+	final StringWriter buffer = new StringWriter();
+	return new PrintWriter(buffer) {
+	  private boolean stored = false;
+
+	  public void close() {
+		super.close();
+		if (!stored) {
+		  putSource(fileName, buffer.toString());
+		  stored = true;
+		}
+	  }
+	};
+  }
+
+  /** Store the code of the mutant source <i>fileName</i> */
+  public static synchronized void putSource(String fileName, String code) {
+	File f = new File(normalize(fileName));
+	String dir = normalize(f.getParent());
+	Map<String, String> files = sources.get(dir);
+	if (files == null) {
+	  files = new LinkedHashMap<String, String>();
+	  sources.put(dir, files);
+	}
+	files.put(f.getName(), code);
+  }
+
+  /**
+   * Return the names of the mutants stored directly under <i>mutantPath</i>,
+   * the ones stored as bytecode only (see BytecodeMutator) last
+   */
+  public static synchronized String[] listMutants(String mutantPath) {
+	String prefix = normalize(mutantPath) + "/";
+	List<String> names = new ArrayList<String>();
+	for (String dir : sources.keySet()) {
+	  if (dir.startsWith(prefix) && dir.indexOf('/', prefix.length()) < 0)
+		names.add(dir.substring(prefix.length()));
+	}
+	List<String> bytecodeOnly = new ArrayList<String>();
+	for (String dir : classes.keySet()) {
+	  if (dir.startsWith(prefix) && dir.indexOf('/', prefix.length()) < 0 && !sources.containsKey(dir))
+		bytecodeOnly.add(dir.substring(prefix.length()));
+	}
+	Collections.sort(bytecodeOnly);
+	names.addAll(bytecodeOnly);
+	return names.toArray(new String[names.size()]);
+  }
+
+  /** Return the sources of the mutant <i>mutantDir</i> (file name -> code) */
+  public static synchronized Map<String, String> getSources(String mutantDir) {
+	Map<String, String> files = sources.get(normalize(mutantDir));
+	if (files == null)
+	  return new LinkedHashMap<String, String>();
+	return new LinkedHashMap<String, String>(files);
+  }
+
+  /** Store the compiled classes of the mutant <i>mutantDir</i> */
+  public static synchronized void putClasses(String mutantDir, Map<String, byte[]> bytecode) {
+	classes.put(normalize(mutantDir), new HashMap<String, byte[]>(bytecode));
+  }
+
+  /**
+   * Return the bytecode of the class <i>className</i> of the mutant <i>mutantDir</i>,
+   * or null if the mutant does not have such a class
+   */
+  public static synchronized byte[] getClassBytes(String mutantDir, String className) {
+	Map<String, byte[]> bytecode = classes.get(normalize(mutantDir));
+	if (bytecode == null)
+	  return null;
+	return bytecode.get(className);
+  }
+
+  /** Return the names of the compiled classes of the mutant <i>mutantDir</i> */
+  public static synchronized Set<String> getClassNames(String mutantDir) {
+	Map<String, byte[]> bytecode = classes.get(normalize(mutantDir));
+	if (bytecode == null)
+	  return new HashSet<String>();
+	return new HashSet<String>(bytecode.keySet());
+  }
+
+  /** Forget the mutant <i>mutantDir</i> */
+  public static synchronized void remove(String mutantDir) {
+	sources.remove(normalize(mutantDir));
+	classes.remove(normalize(mutantDir));
+  }
+
+  /** Forget every mutant stored under <i>path</i> */
+  public static synchronized void clear(String path) {
+	String prefix = normalize(path) + "/";
+	Iterator<String> it = sources.keySet().iterator();
+	while (it.hasNext()) {
+	  if (it.next().startsWith(prefix))
+		it.remove();
+	}
+	it = classes.keySet().iterator();
+	while (it.hasNext()) {
+	  if (it.next().startsWith(prefix))
+		it.remove();
+	}
+  }
+
+  /**
+   * Write the sources and class files of the mutant <i>mutantDir</i> to disk,
+   * in the same layout as mutants generated without IN_MEMORY_MUTANTS
+   * @throws IOException
+   */
+  public static void export(String mutantDir) throws IOException {
+	Map<String, String> files;
+	Map<String, byte[]> bytecode;
+	synchronized (MutantStore.class) {
+	  files = getSources(mutantDir);
+	  bytecode = classes.get(normalize(mutantDir));
+	}
+
+	File dir = new File(mutantDir);
+	dir.mkdirs();
+	for (Map.Entry<String, String> e : files.entrySet()) {
+	  Writer out = new OutputStreamWriter(new FileOutputStream(new File(dir, e.getKey())));
+	  try {
+		out.write(e.getValue());
+	  } finally {
+		out.close();
+	  }
+	}
+
+	if (bytecode == null)
+	  return;
+	for (Map.Entry<String, byte[]> e : bytecode.entrySet()) {
+	  // class files of a mutant are kept next to its sources, without package directories
+	  String name = e.getKey().substring(e.getKey().lastIndexOf('.') + 1);
+	  FileOutputStream out = new FileOutputStream(new File(dir, name + ".class"));
+	  try {
+		out.write(e.getValue());
+	  } finally {
+		out.close();
+	  }
+	}
+  }
+}
@@ -16,13 +16,18 @@
 
 package mujava;
 
-import com.sun.tools.javac.Main;
 import mujava.cli.Util;
+import mujava.op.util.CoverageCodeWriter;
+import mujava.op.basic.MultiOperatorMutator;
 import mujava.op.util.DeclAnalyzer;
 import mujava.op.util.MutantCodeWriter;
+import mujava.op.util.Mutator;
+import mujava.test.CoverageProbe;
 import mujava.util.Debug;
 import mujava.util.ExtensionFilter;
+import mujava.util.Metrics;
 import mujava.util.MutantDirFilter;
+import mujava.util.drule.DRuleUtils;
 import openjava.mop.Environment;
 import openjava.mop.FileEnvironment;
 import openjava.mop.OJClass;
@@ -33,12 +38,17 @@ import openjava.ptree.util.TypeNameQualifier;
 import openjava.tools.parser.ParseException;
 import openjava.tools.parser.Parser;
 
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.lang.reflect.Constructor;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -63,8 +73,21 @@ public abstract class MutantsGenerator {
   FileEnvironment file_env = null;
   CompilationUnit comp_unit = null;
 
+  /** names and result directories of the class, as set when the generator is created */
+  MutationContext context;
+
+  /** fingerprint of the generation, null if the mutants are always generated */
+  GenerationManifest manifest = null;
+
+  /** true if the mutants of the previous run are kept */
+  boolean upToDate = false;
+
+  /** bytecode of the mutants compiled so far, null until the first mutants are compiled */
+  TrivialCompilerEquivalence tce = null;
+
   public MutantsGenerator(File f) {
 	this.original_file = f;
+	this.context = MutationContext.current();
 	initPrimitiveTypes();
   }
 
@@ -83,6 +106,37 @@ public abstract class MutantsGenerator {
 	// debug = debug_flag;
   }
 
+  public MutationContext getContext() {
+	return context;
+  }
+
+  /**
+   * Apply the operator <i>op</i> to the compilation unit, or add it to <i>walk</i>
+   * if the operators are applied in one walk (null otherwise). The operators
+   * already in <i>walk</i> are applied first when <i>op</i> needs its own walk.
+   */
+  void applyOperator(MultiOperatorMutator walk, Mutator op) throws ParseTreeException {
+	if (walk != null && walk.add(op))
+	  return;
+	applyWalk(walk);
+	long start = Metrics.start();
+	comp_unit.accept(op);
+	Metrics.stop("operator." + op.getClass().getSimpleName(), start);
+  }
+
+  /**
+   * Apply the operators added to <i>walk</i> in one walk of the compilation unit
+   */
+  void applyWalk(MultiOperatorMutator walk) throws ParseTreeException {
+	if (walk == null || walk.isEmpty())
+	  return;
+	Debug.println("  Applying " + walk + " in one walk ... ... ");
+	long start = Metrics.start();
+	comp_unit.accept(walk);
+	Metrics.stop("operator.walk", walk.toString(), start);
+	walk.clear();
+  }
+
   /**
    * Generate and initialize parse tree from the original Java source file.
    * Generate mutants. Arrange and compile the original Java source file.
@@ -91,24 +145,55 @@ public abstract class MutantsGenerator {
    * @throws OpenJavaException
    */
   public boolean makeMutants() throws OpenJavaException {
+	context.apply();
+	if (MutationSystem.INCREMENTAL_GENERATION) {
+	  try {
+		manifest = createManifest();
+	  } catch (IOException e) {
+		System.err.println("[ERROR] Can't fingerprint " + original_file + ": " + e);
+		manifest = null;
+	  }
+	  upToDate = manifest != null && manifest.isUpToDate();
+	  if (upToDate) {
+		Debug.print("* Mutants are up to date, generation skipped \n");
+		return true;
+	  }
+	  if (manifest != null)
+		manifest.delete();
+	}
+
 	Debug.print("-------------------------------------------------------\n");
 	Debug.print("* Generating parse tree. \n");
 
+	long start = Metrics.start();
 	generateParseTree();
+	Metrics.stop("parse", start);
 	Debug.print("..done. \n");
 	// System.out.println("0");
 	Debug.print("* Initializing parse tree. \n");
+	start = Metrics.start();
 	initParseTree();
+	Metrics.stop("initParseTree", start);
 	Debug.print("..done. \n");
 	// System.out.println("1");
 	Debug.print("* Generating Mutants \n");
+	DRuleUtils.access().clearMutations();
+	start = Metrics.start();
 	genMutants();
+	Metrics.stop("genMutants", start);
 	Debug.print("..done.\n");
+	Debug.print("* " + DRuleUtils.access() + "\n");
+	countAvoidedMutants();
 	// System.out.println("2");
+	Debug.print("* " + OJSystem.env.getLookupStatistics() + "\n");
 	Debug.print("* Arranging original soure code. \n");
+	start = Metrics.start();
 	arrangeOriginal();
+	Metrics.stop("arrangeOriginal", start);
 	// System.out.println("3");
+	start = Metrics.start();
 	compileOriginal();
+	Metrics.stop("compileOriginal", start);
 	Debug.print("..done. \n");
 	Debug.flush();
 	return true;
@@ -116,6 +201,29 @@ public abstract class MutantsGenerator {
 
   abstract void genMutants();
 
+  /** Count the mutants that each reduction rule did not generate */
+  void countAvoidedMutants() {
+	if (!Metrics.isEnabled())
+	  return;
+	for (Map.Entry<String, Integer> saved : DRuleUtils.access().getSavedMutants().entrySet()) {
+	  Metrics.count("avoided." + saved.getKey(), saved.getValue());
+	}
+  }
+
+  /**
+   * Fingerprint of the generation, for the incremental generation
+   * (null if the mutants are always generated)
+   */
+  GenerationManifest createManifest() throws IOException {
+	return null;
+  }
+
+  /** Record the fingerprint of the generation once the mutants are compiled */
+  void writeManifest() {
+	if (manifest != null)
+	  manifest.write();
+  }
+
   /*
    * void generateMutant(OJClass mutant_op){ try {
    * mutant_op.translateDefinition(comp_unit); }catch (Exception ex){
@@ -127,8 +235,10 @@ public abstract class MutantsGenerator {
    * Generate mutants from Java bytecode
    */
   void generateMutant(DeclAnalyzer mutant_op) {
+	long start = Metrics.start();
 	try {
 	  mutant_op.translateDefinition(comp_unit);
+	  Metrics.stop("operator." + mutant_op.getClass().getSimpleName(), start);
 	} catch (Exception ex) {
 	  System.err.println("fail to translate " + mutant_op.getName() + " : " + ex);
 	  ex.printStackTrace();
@@ -163,6 +273,42 @@ public abstract class MutantsGenerator {
 		e.printStackTrace();
 	  }
 	}
+	arrangeCoverageOriginal();
+  }
+
+  /**
+   * Write the original source with a coverage probe on every statement,
+   * used to select the tests that reach each mutant (with
+   * MutationSystem.TEST_COVERAGE only, the copy costs a compilation)
+   */
+  private void arrangeCoverageOriginal() {
+	File coverage_dir = new File(new File(MutationSystem.ORIGINAL_PATH).getParentFile(), MutationSystem.COVERAGE_DIR_NAME);
+	if (!MutationSystem.TEST_COVERAGE) {
+	  // the copy of a previous generation would give wrong coverage
+	  File[] files = coverage_dir.listFiles();
+	  if (files != null) {
+		for (File f : files) {
+		  f.delete();
+		}
+	  }
+	  coverage_dir.delete();
+	  return;
+	}
+	coverage_dir.mkdir();
+	File outfile = new File(coverage_dir, MutationSystem.CLASS_NAME + ".java");
+	try {
+	  PrintWriter out = new PrintWriter(new FileWriter(outfile));
+	  CoverageCodeWriter writer = new CoverageCodeWriter(out);
+	  writer.setClassName(MutationSystem.CLASS_NAME);
+	  comp_unit.accept(writer);
+	  out.flush();
+	  out.close();
+	} catch (IOException e) {
+	  System.err.println("fails to create " + outfile);
+	} catch (ParseTreeException e) {
+	  System.err.println("errors during printing " + outfile);
+	  e.printStackTrace();
+	}
   }
 
   /**
@@ -368,57 +514,59 @@ public abstract class MutantsGenerator {
    * Compile mutants
    */
   public void compileMutants() {
+	if (MutationSystem.IN_MEMORY_MUTANTS) {
+	  compileMutantsInMemory();
+	  return;
+	}
+
 	// Lin add a counter 12/12/13
 	int counter = 0;
-	String fileName = new String();
 
 	File f = new File(MutationSystem.MUTANT_PATH);
 
 	String[] s = f.list(new MutantDirFilter());
+	List<String> compiled = new ArrayList<String>();
 
 	for (int i = 0; i < s.length; i++) {
+	  if (isBytecodeMutant(s[i])) {
+		// already compiled, mutated in the bytecode of the original
+		Debug.print("+" + s[i] + "   ");
+		counter++;
+		compiled.add(s[i]);
+		continue;
+	  }
+	  if (inSchemata(s[i])) {
+		// compiled in the mutant schemata of the class
+		Debug.print("*" + s[i] + "   ");
+		counter++;
+		continue;
+	  }
 	  File target_dir = new File(MutationSystem.MUTANT_PATH + "/" + s[i]);
 	  String[] target_file = target_dir.list(new ExtensionFilter("java"));
-	  fileName = target_file[0];
 
-	  Vector v = new Vector();
+	  List<File> sources = new ArrayList<File>();
 	  for (int j = 0; j < target_file.length; j++) {
-		v.add(MutationSystem.MUTANT_PATH + "/" + s[i] + "/" + target_file[j]);
+		sources.add(new File(target_dir, target_file[j]));
 	  }
 
-	  String[] pars = new String[v.size() + 2];
-
-	  pars[0] = "-classpath";
-	  pars[1] = MutationSystem.CLASS_PATH;
-	  for (int j = 0; j < v.size(); j++) {
-		pars[2 + j] = v.get(j).toString();
-	  }
 	  try {
-		// result = 0 : SUCCESS, result = 1 : FALSE
-		// int result = Main.compile(pars,new PrintWriter(new
-		// FileOutputStream("temp")));
-
 		/*
 		 * 12/19/13 Lin modified: if not in debug mode, for not showing
 		 * the compile result when some mutants can't pass compiler if
 		 * in debug mode, display
 		 */
-
-		int result;
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		long start = Metrics.start();
+		boolean result = MutantCompiler.compile(MutationSystem.CLASS_PATH, sources, diagnostics);
+		Metrics.stop("compile", s[i], start);
+		Metrics.count(result ? "compile.success" : "compile.failure");
 		if (Util.debug)
-		  result = Main.compile(pars);
-		else {
-		  File tempCompileResultFile = new File(MutationSystem.SYSTEM_HOME + "/compile_output");
-		  PrintWriter out = new PrintWriter(tempCompileResultFile);
-
-		  result = Main.compile(pars, out);
-		  tempCompileResultFile.delete();
+		  MutantCompiler.printDiagnostics(diagnostics, System.err);
 
-		}
-
-		if (result == 0) {
+		if (result) {
 		  Debug.print("+" + s[i] + "   ");
 		  counter++;
+		  compiled.add(s[i]);
 		} else {
 		  Debug.print("-" + s[i] + "   ");
 		  // delete directory
@@ -443,26 +591,111 @@ public abstract class MutantsGenerator {
 	  }
 	}
 	Debug.println();
+	reduceMutants(compiled);
 
 	// Lin add printer total mutants
 	Util.Total = Util.Total + counter;
-	// System.out
-	// .println("------------------------------------------------------------------");
-	// System.out.println("Total mutants gnerated for " + fileName +": " +
-	// Integer.toString(counter));
+  }
+
+  /**
+   * Compile the mutants kept in MutantStore. Their bytecode is stored back
+   * in MutantStore, and written to disk only if MutationSystem.EXPORT_MUTANTS is set.
+   */
+  private void compileMutantsInMemory() {
+	int counter = 0;
+	String[] s = MutantStore.listMutants(MutationSystem.MUTANT_PATH);
+	List<String> compiled = new ArrayList<String>();
+
+	for (int i = 0; i < s.length; i++) {
+	  String mutant_dir = MutationSystem.MUTANT_PATH + "/" + s[i];
+	  if (isBytecodeMutant(s[i])) {
+		Debug.print("+" + s[i] + "   ");
+		counter++;
+		compiled.add(s[i]);
+		continue;
+	  }
+	  if (inSchemata(s[i])) {
+		// compiled in the mutant schemata of the class
+		Debug.print("*" + s[i] + "   ");
+		counter++;
+		try {
+		  if (MutationSystem.EXPORT_MUTANTS)
+			MutantStore.export(mutant_dir);
+		} catch (IOException e) {
+		  System.err.println(e);
+		}
+		continue;
+	  }
+	  try {
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		long start = Metrics.start();
+		Map<String, byte[]> classes = MutantCompiler.compileInMemory(MutationSystem.CLASS_PATH,
+			MutantStore.getSources(mutant_dir), diagnostics);
+		Metrics.stop("compile", s[i], start);
+		Metrics.count(classes != null ? "compile.success" : "compile.failure");
+		if (Util.debug)
+		  MutantCompiler.printDiagnostics(diagnostics, System.err);
+
+		if (classes != null) {
+		  Debug.print("+" + s[i] + "   ");
+		  counter++;
+		  MutantStore.putClasses(mutant_dir, classes);
+		  compiled.add(s[i]);
+		  if (MutationSystem.EXPORT_MUTANTS)
+			MutantStore.export(mutant_dir);
+		} else {
+		  Debug.print("-" + s[i] + "   ");
+		  MutantStore.remove(mutant_dir);
+		}
+	  } catch (Exception e) {
+		System.err.println(e);
+	  }
+	}
+	Debug.println();
+	reduceMutants(compiled);
+
+	Util.Total = Util.Total + counter;
+  }
+
+  /** Return true if the mutant <i>mutant_dir</i> of MUTANT_PATH was written as bytecode */
+  boolean isBytecodeMutant(String mutant_dir) {
+	return false;
+  }
+
+  /** Return true if the mutant <i>mutant_dir</i> of MUTANT_PATH is compiled in a mutant schemata */
+  boolean inSchemata(String mutant_dir) {
+	return false;
+  }
+
+  /**
+   * Apply the trivial compiler equivalence to the compiled mutants of
+   * MUTANT_PATH, if MutationSystem.TRIVIAL_COMPILER_EQUIVALENCE is set
+   */
+  void reduceMutants(List<String> compiled) {
+	if (!MutationSystem.TRIVIAL_COMPILER_EQUIVALENCE) {
+	  TrivialCompilerEquivalence.clear(MutationSystem.MUTANT_PATH);
+	  return;
+	}
+	try {
+	  if (tce == null)
+		tce = new TrivialCompilerEquivalence(MutationSystem.ORIGINAL_PATH);
+	  tce.reduce(MutationSystem.MUTANT_PATH, compiled);
+	  Debug.println("* " + tce);
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Trivial compiler equivalence skipped: " + e.getMessage());
+	}
   }
 
   /**
    * Compile original java source file
    */
   private void compileOriginal() {
-	String[] pars = {"-classpath", MutationSystem.CLASS_PATH,
-		MutationSystem.ORIGINAL_PATH + "/" + MutationSystem.CLASS_NAME + ".java"};
+	File original = new File(MutationSystem.ORIGINAL_PATH, MutationSystem.CLASS_NAME + ".java");
 	try {
-	  // result = 0 : SUCCESS, result = 1 : FALSE
-	  // int result = Main.compile(pars,new PrintWriter(new
-	  // FileOutputStream("temp")));
-	  Main.compile(pars);
+	  DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+	  MutantCompiler.compile(MutationSystem.CLASS_PATH, Collections.singletonList(original), diagnostics);
+	  MutantCompiler.printDiagnostics(diagnostics, System.err);
+	  compileCoverageOriginal();
 	} catch (NoClassDefFoundError e) {
 	  System.err.println(
 		  "[ERROR] Could not compile the generated mutants. Make sure that tools.jar is in your classpath.");
@@ -476,6 +709,31 @@ public abstract class MutantsGenerator {
 	}
   }
 
+  /**
+   * Compile the original instrumented for test coverage. The probes refer to
+   * muJava's own classes, so they are added to the classpath.
+   */
+  private void compileCoverageOriginal() {
+	File coverage = new File(new File(MutationSystem.ORIGINAL_PATH).getParentFile(),
+		MutationSystem.COVERAGE_DIR_NAME + "/" + MutationSystem.CLASS_NAME + ".java");
+	if (!coverage.exists())
+	  return;
+	// a class file left by a previous generation would give wrong coverage
+	new File(coverage.getParentFile(), MutationSystem.CLASS_NAME + ".class").delete();
+	try {
+	  String probe_path = new File(CoverageProbe.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+	  DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+	  if (!MutantCompiler.compile(MutationSystem.CLASS_PATH + File.pathSeparator + probe_path,
+		  Collections.singletonList(coverage), diagnostics)) {
+		System.err.println("The original instrumented for test coverage does not compile, tests will not be selected by coverage");
+		if (Util.debug)
+		  MutantCompiler.printDiagnostics(diagnostics, System.err);
+	  }
+	} catch (Exception e) {
+	  System.err.println(e);
+	}
+  }
+
   private static void initPrimitiveTypes() {
 	OJSystem.initConstants();
   }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava;
+
+import java.io.File;
+
+/**
+ * <p>Description: Names and result directories of the class being mutated. </p>
+ * <p>The mutation operators, writers and loaders read them from the static
+ *    fields of {@link MutationSystem}; a context keeps them for one class, so a
+ *    driver (or a {@link MutantsGenerator}) can {@link #apply()} them again
+ *    before working on that class. </p>
+ * <p>OpenJava keeps its environment and class tables in static fields too,
+ *    so the classes of a JVM are still mutated one at a time; the classes of
+ *    a project are mutated concurrently by several JVMs (see genmutes -threads). </p>
+ *
+ * @version 1.0
+ */
+
+public class MutationContext {
+
+  /** name of the class, without package (MutationSystem.CLASS_NAME) */
+  String className;
+
+  /** directory of the class results, under MUTANT_HOME (MutationSystem.DIR_NAME) */
+  String dirName;
+
+  String originalPath;
+  String classMutantPath;
+  String traditionalMutantPath;
+  String exceptionMutantPath;
+
+  /**
+   * @param className name of the class, without package
+   * @param dirName name recorded as MutationSystem.DIR_NAME
+   * @param mutantDirPath directory of the results of the class
+   */
+  public MutationContext(String className, String dirName, String mutantDirPath) {
+	this.className = className;
+	this.dirName = dirName;
+	originalPath = mutantDirPath + "/" + MutationSystem.ORIGINAL_DIR_NAME;
+	classMutantPath = mutantDirPath + "/" + MutationSystem.CM_DIR_NAME;
+	traditionalMutantPath = mutantDirPath + "/" + MutationSystem.TM_DIR_NAME;
+	exceptionMutantPath = mutantDirPath + "/" + MutationSystem.EM_DIR_NAME;
+  }
+
+  MutationContext() {
+  }
+
+  /**
+   * Context of the class <i>whole_class_name</i> (including package name),
+   * with its results under MUTANT_HOME/<i>whole_class_name</i>
+   */
+  public static MutationContext forClass(String whole_class_name) {
+	String class_name = whole_class_name.substring(whole_class_name.lastIndexOf(".") + 1);
+	return new MutationContext(class_name, whole_class_name, MutationSystem.MUTANT_HOME + "/" + whole_class_name);
+  }
+
+  /**
+   * Context of the source file <i>file_name</i>, relative to SRC_PATH
+   * (e.g. org/apache/bcel/Class.java)
+   */
+  public static MutationContext forSourceFile(String file_name) {
+	String temp = file_name.substring(0, file_name.length() - ".java".length());
+	temp = temp.replace('/', '.');
+	temp = temp.replace('\\', '.');
+	return forClass(temp);
+  }
+
+  /** Context currently set in MutationSystem */
+  public static MutationContext current() {
+	MutationContext context = new MutationContext();
+	context.className = MutationSystem.CLASS_NAME;
+	context.dirName = MutationSystem.DIR_NAME;
+	context.originalPath = MutationSystem.ORIGINAL_PATH;
+	context.classMutantPath = MutationSystem.CLASS_MUTANT_PATH;
+	context.traditionalMutantPath = MutationSystem.TRADITIONAL_MUTANT_PATH;
+	context.exceptionMutantPath = MutationSystem.EXCEPTION_MUTANT_PATH;
+	return context;
+  }
+
+  /** Create the result directories of the class (but the exception mutants one) */
+  public void makeDirectories() {
+	new File(originalPath).getParentFile().mkdir();
+	new File(classMutantPath).mkdir();
+	new File(traditionalMutantPath).mkdir();
+	new File(originalPath).mkdir();
+  }
+
+  /** Set this context in MutationSystem */
+  public void apply() {
+	MutationSystem.CLASS_NAME = className;
+	MutationSystem.DIR_NAME = dirName;
+	MutationSystem.ORIGINAL_PATH = originalPath;
+	MutationSystem.CLASS_MUTANT_PATH = classMutantPath;
+	MutationSystem.TRADITIONAL_MUTANT_PATH = traditionalMutantPath;
+	MutationSystem.EXCEPTION_MUTANT_PATH = exceptionMutantPath;
+  }
+
+  public String getClassName() {
+	return className;
+  }
+
+  public String getDirName() {
+	return dirName;
+  }
+
+  public String getOriginalPath() {
+	return originalPath;
+  }
+
+  public String getClassMutantPath() {
+	return classMutantPath;
+  }
+
+  public String getTraditionalMutantPath() {
+	return traditionalMutantPath;
+  }
+
+  public String getExceptionMutantPath() {
+	return exceptionMutantPath;
+  }
+
+  public String toString() {
+	return dirName;
+  }
+}
@@ -18,6 +18,7 @@ package mujava;
 
 import mujava.util.DirFileFilter;
 import mujava.util.ExtensionFilter;
+import mujava.util.InheritanceCache;
 import mujava.util.InheritanceINFO;
 import openjava.mop.OJClass;
 import openjava.mop.OJSystem;
@@ -26,11 +27,14 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 /**
@@ -124,8 +128,47 @@ public class MutationSystem extends OJSystem {
   /** directory name for original class */
   public static String ORIGINAL_DIR_NAME = "original";
 
+  /** directory name for the original class instrumented for test coverage */
+  public static String COVERAGE_DIR_NAME = "coverage";
+
+  /** directory name for the mutant schemata of the traditional mutants */
+  public static String SCHEMATA_DIR_NAME = "schemata";
+
+  /** directory name for the original class instrumented for weak mutation */
+  public static String WEAK_DIR_NAME = "weak_mutation";
+
   public static String LOG_IDENTIFIER = ":";
 
+  /** keep generated mutants in memory (see MutantStore) instead of writing them to MUTANT_PATH */
+  public static boolean IN_MEMORY_MUTANTS = false;
+
+  /** write in-memory mutants to disk once they are compiled */
+  public static boolean EXPORT_MUTANTS = false;
+
+  /** apply the traditional operators that mutate expressions in one walk of the source */
+  public static boolean SINGLE_PASS_GENERATION = false;
+
+  /** keep the mutants of the classes whose source, classpath and operators did not change */
+  public static boolean INCREMENTAL_GENERATION = false;
+
+  /** print the source of a class once and write its traditional mutants by splicing the mutated node in it */
+  public static boolean SPLICE_MUTANTS = false;
+
+  /** leave out of the test runs the mutants compiled to the bytecode of the original or of another mutant */
+  public static boolean TRIVIAL_COMPILER_EQUIVALENCE = false;
+
+  /** compile the traditional mutants of a class once, in one class that switches between them at run time */
+  public static boolean MUTANT_SCHEMATA = false;
+
+  /** apply the traditional operators that change only an instruction to the bytecode of the original class */
+  public static boolean BYTECODE_MUTANTS = false;
+
+  /** write the original class instrumented to record the tests that infect the state of each traditional mutant */
+  public static boolean WEAK_MUTATION = false;
+
+  /** write the original class instrumented to record the lines each test reaches */
+  public static boolean TEST_COVERAGE = false;
+
   /** List of names of class mutation operators */
   public static String[] cm_operators = {"IHI", "IHD", "IOD", "IOP", "IOR", "ISI", "ISD", "IPC",  // 8��
 	  "PNC", "PMD", "PPD", "PCI", "PCC", "PCD", "PRV",        // 7��
@@ -225,6 +268,9 @@ public class MutationSystem extends OJSystem {
   /**  Inheritance Informations  */
   public static InheritanceINFO[] classInfo = null;
 
+  /** class name -> inheritance information */
+  static Map<String, InheritanceINFO> classIndex = new HashMap<String, InheritanceINFO>();
+
 
   /** Examine if type is of primitive types (boolean, byte, char, short,
    * int, long, double, void) */
@@ -257,6 +303,7 @@ public class MutationSystem extends OJSystem {
 
   /* Clear mutants generated from previous run (in class_mutants folder)*/
   static void clearPreviousMutants(String path) {
+	MutantStore.clear(path);
 	File mutant_classes_dir = new File(path);
 	int i;
 	// delete previous mutant files
@@ -278,6 +325,7 @@ public class MutationSystem extends OJSystem {
 
   /* Clear mutants generated from previous run (in traditional_mutants folder)*/
   static void clearPreviousTraditionalMutants(String path) {
+	MutantStore.clear(path);
 	File traditional_mutant_dir = new File(path);
 	int i;
 	// delete previous mutant files
@@ -418,11 +466,7 @@ public class MutationSystem extends OJSystem {
    *  @return inheritance information
    */
   public static InheritanceINFO getInheritanceInfo(String class_name) {
-	for (int i = 0; i < classInfo.length; i++) {
-	  if (classInfo[i].getClassName().equals(class_name))
-		return classInfo[i];
-	}
-	return null;
+	return classIndex.get(class_name);
   }
 
   /** Recognize inheritance relation of all classes located at CLASS_PATH directory. <br>
@@ -439,56 +483,51 @@ public class MutationSystem extends OJSystem {
 	  System.err.println(" Please check the directory  " + MutationSystem.CLASS_PATH + " and be sure that MuJava_HOME is set correctly (without a trailing slash) in mujava.config.");
 	  Runtime.getRuntime().exit(0);
 	}
+	//add the class path dynamically, the classes are loaded later on (e.g. getClassType)
+	addURL(MutationSystem.CLASS_PATH);
+
+	// the super classes are read from the class files, without loading the classes
+	InheritanceCache cache = InheritanceCache.get(MutationSystem.MUTANT_HOME);
 	classInfo = new InheritanceINFO[classes.length];
+	classIndex = new HashMap<String, InheritanceINFO>();
 
 	boolean[] bad = new boolean[classes.length];
 
 	for (int i = 0; i < classes.length; i++) {
 	  bad[i] = false;
-	  try {
-		String classpath = System.getProperty("java.class.path");
-		//add the class path dynamically
-		addURL(MutationSystem.CLASS_PATH);
-		//create a new class from the class name
-		Class c = Class.forName(classes[i]);
-		//create the parent class of the class above
-		Class parent = c.getSuperclass();
-
-		if ((parent == null) || (parent.getName().equals("java.lang.Object"))) {
-		  classInfo[i] = new InheritanceINFO(classes[i], "");
-		} else {
-		  classInfo[i] = new InheritanceINFO(classes[i], parent.getName());
-		}
-	  } catch (ClassNotFoundException e) {
+	  File class_file = new File(MutationSystem.CLASS_PATH, classes[i].replace('.', '/') + ".class");
+	  if (!class_file.isFile()) {
 		System.err.println("[ERROR] Can't find the class: " + classes[i]);
 		System.err.println("Please check that the compiled class for the code you want to mutate is in the classes/ directory. Also check that the MuJava_HOME variable in mujava.config does not end with a trailing slash. ");
-		bad[i] = true;
-		classInfo[i] = new InheritanceINFO(classes[i], "");
 		Runtime.getRuntime().exit(0);
-	  } catch (Error er) {
-		// Sometimes error occurred. However, I can't solve..
-		// To muJava users: try do your best to solve it. ^^;
-		System.out.println("[ERROR] for class " + classes[i] + " => " + er.getMessage());
+	  }
+	  try {
+		classInfo[i] = new InheritanceINFO(classes[i], cache.getParentName(classes[i], class_file));
+	  } catch (IOException e) {
+		System.out.println("[ERROR] for class " + classes[i] + " => " + e.getMessage());
 		bad[i] = true;
 		classInfo[i] = new InheritanceINFO(classes[i], "");
 	  }
+	  if (!classIndex.containsKey(classes[i]))
+		classIndex.put(classes[i], classInfo[i]);
+	}
+	cache.save();
+
+	// parents are looked up by name among the classes that could be read
+	Map<String, InheritanceINFO> readable = new HashMap<String, InheritanceINFO>();
+	for (int i = 0; i < classes.length; i++) {
+	  if (!bad[i] && !readable.containsKey(classes[i]))
+		readable.put(classes[i], classInfo[i]);
 	}
 
 	for (int i = 0; i < classes.length; i++) {
 	  if (bad[i])
 		continue;
 
-	  String parent_name = classInfo[i].getParentName();
-
-	  for (int j = 0; j < classes.length; j++) {
-		if (bad[j])
-		  continue;
-
-		if (classInfo[j].getClassName().equals(parent_name)) {
-		  classInfo[i].setParent(classInfo[j]);
-		  classInfo[j].addChild(classInfo[i]);
-		  break;
-		}
+	  InheritanceINFO parent = readable.get(classInfo[i].getParentName());
+	  if (parent != null) {
+		classInfo[i].setParent(parent);
+		parent.addChild(classInfo[i]);
 	  }
 	}
   }
@@ -509,28 +548,14 @@ public class MutationSystem extends OJSystem {
 	f = new File(classPath);
 	cl = ClassLoader.getSystemClassLoader();
 	addClass.invoke(cl, new Object[]{f.toURL()});
+	// names that were not found may be classes of the new path
+	env.clearMissing();
   }
 
   /** Re-setting MuJava structure for give class name <br>
    * @param whole_class_name name of class (including package name) */
   public static void setJMutationPaths(String whole_class_name) {
-	int temp_start = whole_class_name.lastIndexOf(".") + 1;
-	if (temp_start < 0) {
-	  temp_start = 0;
-	}
-
-	int temp_end = whole_class_name.length();
-	MutationSystem.CLASS_NAME = whole_class_name.substring(temp_start, temp_end);
-	MutationSystem.DIR_NAME = whole_class_name;
-	MutationSystem.ORIGINAL_PATH = MutationSystem.MUTANT_HOME
-		+ "/" + whole_class_name + "/" + MutationSystem.ORIGINAL_DIR_NAME;
-	MutationSystem.CLASS_MUTANT_PATH = MutationSystem.MUTANT_HOME
-		+ "/" + whole_class_name + "/" + MutationSystem.CM_DIR_NAME;
-	MutationSystem.TRADITIONAL_MUTANT_PATH = MutationSystem.MUTANT_HOME
-		+ "/" + whole_class_name + "/" + MutationSystem.TM_DIR_NAME;
-	MutationSystem.EXCEPTION_MUTANT_PATH = MutationSystem.MUTANT_HOME
-		+ "/" + whole_class_name + "/" + MutationSystem.EM_DIR_NAME;
-
+	MutationContext.forClass(whole_class_name).apply();
   }
 
   /** <b> Default mujava system structure setting function </b>
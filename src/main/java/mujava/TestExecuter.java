@@ -19,6 +19,7 @@ package mujava;
 
 import mujava.test.*;
 import mujava.util.Debug;
+import mujava.util.Metrics;
 import mujava.util.MutantDirFilter;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Result;
@@ -27,9 +28,17 @@ import org.junit.runner.notification.Failure;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>Description: </p>
@@ -72,6 +81,27 @@ public class TestExecuter {
   Map<String, String> finalTestResults = new HashMap<String, String>();
   //results as to how many tests can kill each single mutant  
   Map<String, String> finalMutantResults = new HashMap<String, String>();
+  //number of mutants killed by each test, counted as soon as the tests of a mutant are finished
+  final ConcurrentHashMap<String, AtomicInteger> testKills = new ConcurrentHashMap<String, AtomicInteger>();
+
+  //number of mutants executed at the same time
+  int workerCount = 1;
+  //run the mutants in worker JVMs instead of threads of this JVM
+  boolean forkWorkers = false;
+  //define the classes that the mutants do not change once, for every mutant
+  boolean shareProgramClasses = false;
+  ForkedMutantRunner forkedRunner = null;
+  //stop the tests of a mutant once it is killed, instead of computing the full kill matrix
+  boolean stopAtFirstKill = false;
+  //run a traditional mutant only against the tests that reach its mutated line
+  boolean selectByCoverage = false;
+  TestCoverage testCoverage = null;
+  //run a traditional mutant only against the tests that infect the state of the program (weak mutation)
+  boolean selectByInfection = false;
+  TestInfection testInfection = null;
+  //replay the results of the mutants whose classes, tests and program did not change
+  boolean useResultCache = false;
+  ResultCache resultCache = null;
 
 
   public TestExecuter(String targetClassName) {
@@ -99,13 +129,91 @@ public class TestExecuter {
 	TIMEOUT = msecs;
   }
 
+  /**
+   * Set the number of mutants executed at the same time.
+   * Each worker loads its mutant with its own class loader;
+   * results are merged in mutant order, so the reports are the same
+   * as the ones of a sequential run.
+   */
+  public void setWorkerCount(int workers) {
+	if (workers < 1)
+	  workers = 1;
+	workerCount = workers;
+  }
+
+  /**
+   * Run mutants in long-lived worker JVMs (as many as the worker count).
+   * A worker is killed and replaced when a mutant exceeds the timeout;
+   * call {@link #shutdownWorkers()} once all mutants are executed.
+   */
+  public void setForkWorkers(boolean fork) {
+	forkWorkers = fork;
+  }
+
+  /**
+   * Define the classes that the mutants do not change once for every mutant run
+   * in this JVM, instead of once per mutant. Their static fields are then kept
+   * from one mutant to the next (see SharedProgramLoader).
+   */
+  public void setShareProgramClasses(boolean share) {
+	shareProgramClasses = share;
+  }
+
+  /**
+   * Stop the tests of a mutant at the first test that kills it. The tests that
+   * killed the most mutants so far run first. The reports then only list the
+   * first test that killed each mutant, not the full kill matrix.
+   */
+  public void setStopAtFirstKill(boolean stop) {
+	stopAtFirstKill = stop;
+  }
+
+  /**
+   * Run each traditional mutant only against the tests that reach its mutated line
+   * on the original class; the other tests keep their original result.
+   * Mutants that no test reaches are reported as live without running them.
+   */
+  public void setSelectTestsByCoverage(boolean select) {
+	selectByCoverage = select;
+  }
+
+  /**
+   * Run each traditional mutant of the weak mutation schemata only against the
+   * tests under which its mutated expression has another value than the original
+   * one; the other tests keep their original result. Mutants that no test infects
+   * are reported as live without running them. The other mutants are selected by
+   * coverage, if asked for.
+   */
+  public void setSelectTestsByInfection(boolean select) {
+	selectByInfection = select;
+  }
+
+  /**
+   * Replay the results of a mutant from the previous runs when its class files,
+   * the tests that are run and the classes they may use did not change
+   * (see {@link ResultCache}).
+   */
+  public void setUseResultCache(boolean use) {
+	useResultCache = use;
+  }
+
+  /** Stop the worker JVMs started for the mutants */
+  public void shutdownWorkers() {
+	if (forkedRunner != null) {
+	  forkedRunner.close();
+	  forkedRunner = null;
+	}
+  }
+
   public boolean readTestSet(String testSetName) {
 	try {
 	  testSet = testSetName;
 	  // Class loader for the original class
 	  OriginalLoader myLoader = new OriginalLoader();
 	  System.out.println(testSet);
+	  long start = Metrics.start();
 	  original_executer = myLoader.loadTestClass(testSet);
+	  Metrics.stop("load.original", testSet, start);
 	  original_obj = original_executer.newInstance();       // initialization of the test set class
 	  if (original_obj == null) {
 		System.out.println("Can't instantiace original object");
@@ -230,7 +338,13 @@ public class TestExecuter {
 	}
 
 	// mutantDirectories match the names of mutants
-	String[] mutantDirectories = f.list(new MutantDirFilter());
+	String[] mutantDirectories;
+	if (MutationSystem.IN_MEMORY_MUTANTS)
+	  mutantDirectories = MutantStore.listMutants(MutationSystem.MUTANT_PATH);
+	else
+	  mutantDirectories = f.list(new MutantDirFilter());
+	// mutants with the bytecode of the original or of another mutant are not run
+	mutantDirectories = TrivialCompilerEquivalence.exclude(MutationSystem.MUTANT_PATH, mutantDirectories);
 
 	if (mutantDirectories == null || mutantDirectories.length == 0) {
 	  if (!methodSignature.equals(""))
@@ -269,7 +383,9 @@ public class TestExecuter {
 
 	  JUnitCore jCore = new JUnitCore();
 	  //result = jCore.runMain(new RealSystem(), "VMTEST1");
+	  long start = Metrics.start();
 	  result = jCore.run(original_executer);
+	  Metrics.stop("test.original", start);
 
 	  //get the failure report and update the original result of the test with the failures
 	  List<Failure> listOfFailure = result.getFailures();
@@ -348,163 +464,10 @@ public class TestExecuter {
 	  //String[] killed_mutants = new String[testCases.length];
 
 	  Debug.println("\n\n======================================== Executing Mutants ========================================");
-	  int sz;
 	  if (tradMutants) {
-		sz = tr.mutants.size();
+		executeMutants(tr, tr.mutants, tradMutants);
 	  } else {
-		sz = tr.mutantsClass.size();
-	  }
-	  for (int i = 0; i < sz; i++) {
-		// read the information for the "i"th live mutant
-		String mutant_name;
-		if (tradMutants) {
-		  mutant_name = tr.mutants.get(i).toString();
-		} else {
-		  mutant_name = tr.mutantsClass.get(i).toString();
-		}
-		finalMutantResults.put(mutant_name, "");
-		JMutationLoader mutantLoader = new JMutationLoader(mutant_name);
-		//mutantLoader.loadMutant();
-		mutant_executer = mutantLoader.loadTestClass(testSet);
-		mutant_obj = mutant_executer.newInstance();
-		Debug.print("  " + mutant_name);
-
-
-		try {
-		  // Mutants are runned using Thread to detect infinite loop caused by mutation
-		  Runnable r = new Runnable() {
-			public void run() {
-			  try {
-				mutantRunning = true;
-
-				//original test results
-				mutantResults = new HashMap<String, String>();
-				for (int k = 0; k < testCases.length; k++) {
-				  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-				  for (Annotation annotation : annotations) {
-					//System.out.println("name: " + testCases[k].getName() + annotation.toString() + annotation.toString().indexOf("@org.junit.Test"));
-					if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-					  //killed_mutants[k]= "";   // At first, no mutants are killed by each test case
-					  mutantResults.put(testCases[k].getName(), "pass");
-					  continue;
-					}
-				  }
-				}
-
-				JUnitCore jCore = new JUnitCore();
-				result = jCore.run(mutant_executer);
-
-				List<Failure> listOfFailure = result.getFailures();
-				for (Failure failure : listOfFailure) {
-				  String nameOfTest = failure.getTestHeader().substring(0, failure.getTestHeader().indexOf("("));
-				  String testSourceName = testSet + "." + nameOfTest;
-
-				  //System.out.println(testSourceName);
-				  String[] sb = failure.getTrace().split("\\n");
-				  String lineNumber = "";
-				  for (int i = 0; i < sb.length; i++) {
-					//System.out.println("sb-trace: " + sb[i]);
-					if (sb[i].indexOf(testSourceName) != -1) {
-					  lineNumber = sb[i].substring(sb[i].indexOf(":") + 1, sb[i].indexOf(")"));
-
-					}
-				  }
-				  //get the line where the error happens
-           			/*
-           			String tempLineNumber = "";
-           			if(failure.getTrace().indexOf(testSourceName) != -1){
-           				tempLineNumber = failure.getTrace().substring(failure.getTrace().indexOf(testSourceName) + testSourceName.length() + 1, failure.getTrace().indexOf(testSourceName) + testSourceName.length() + 5);
-           				System.out.println("tempLineNumber: " + tempLineNumber);
-           				lineNumber = tempLineNumber.substring(0, tempLineNumber.indexOf(")"));
-           				//System.out.print("LineNumber: " + lineNumber);
-           			}	*/
-				  //get the test name that has the error and save the failure info to the results for mutants
-				  if (failure.getMessage() == null)
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else if (failure.getMessage().equals(""))
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + failure.getMessage());
-				}
-
-				System.out.println(mutantResults.toString());
-				mutantRunning = false;
-				synchronized (lockObject) {
-				  lockObject.notify();
-				}
-
-			  } catch (Exception e) {
-				e.printStackTrace();
-				//System.out.println("e.getMessage()");
-				//System.out.println(e.getMessage());
-			  }
-			}
-		  };
-
-		  Thread t = new Thread(r);
-		  t.start();
-
-		  synchronized (lockObject) {
-			lockObject.wait(TIMEOUT); // Check out if a mutant is in infinite loop
-		  }
-		  if (mutantRunning) {
-			//System.out.println("check point4");
-			t.interrupt();
-			//mutant_result = "time_out: more than " + TIMEOUT + " seconds";
-			System.out.println(" time_out: more than " + TIMEOUT + " milliseconds");
-			// mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + failure.getMessage());
-
-			for (int k = 0; k < testCases.length; k++) {
-			  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-			  for (Annotation annotation : annotations) {
-				//System.out.println("name: " + testCases[k].getName() + annotation.toString() + annotation.toString().indexOf("@org.junit.Test"));
-				if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-				  //killed_mutants[k]= "";   // At first, no mutants are killed by each test case
-				  mutantResults.put(testCases[k].getName(), "time_out: more than " + TIMEOUT + " milliseconds");
-				  continue;
-				}
-			  }
-			}
-
-		  }
-		} catch (Exception e) {
-		  mutant_result = e.getCause().getClass().getName() + " : " + e.getCause().getMessage();
-		}
-
-		//determine whether a mutant is killed or not
-		//update the test report
-		boolean sign = false;
-		for (int k = 0; k < junitTests.size(); k++) {
-		  String name = junitTests.get(k);
-		  if (!mutantResults.get(name).equals(originalResults.get(name))) {
-			sign = true;
-			//update the final results by tests
-			if (finalTestResults.get(name).equals(""))
-			  finalTestResults.put(name, mutant_name);
-			else
-			  finalTestResults.put(name, finalTestResults.get(name) + ", " + mutant_name);
-			//update the final results by mutants
-			if (finalMutantResults.get(mutant_name).equals(""))
-			  finalMutantResults.put(mutant_name, name);
-			else
-			  finalMutantResults.put(mutant_name, finalMutantResults.get(mutant_name) + ", " + name);
-		  }
-		}
-		if (tradMutants) {
-		  if (sign == true)
-			tr.killed_mutants.add(mutant_name);
-		  else
-			tr.live_mutants.add(mutant_name);
-		} else {
-		  if (sign == true)
-			tr.killed_mutantsClass.add(mutant_name);
-		  else
-			tr.live_mutantsClass.add(mutant_name);
-		}
-
-		mutantLoader = null;
-		mutant_executer = null;
-		System.gc();
+		executeMutants(tr, tr.mutantsClass, tradMutants);
 	  }
 
 	  if (tradMutants) {
@@ -540,6 +503,300 @@ public class TestExecuter {
 	return tr;
   }
 
+  /**
+   * Execute the test set against each mutant in <i>mutants</i> and record
+   * which tests kill it. With more than one worker the mutants run
+   * concurrently, but their results are recorded in the order of <i>mutants</i>.
+   * @param tr test result to update
+   * @param mutants names of the mutant directories under MutationSystem.MUTANT_PATH
+   * @param tradMutants true for traditional mutants, false for class mutants
+   * @throws Exception
+   */
+  void executeMutants(TestResult tr, Vector mutants, boolean tradMutants) throws Exception {
+	final MutantTestRunner runner = createRunner();
+	if (tradMutants && selectByCoverage && testCoverage == null) {
+	  testCoverage = TestCoverage.get(MutationSystem.MUTANT_HOME + "/" + whole_class_name, whole_class_name, testSet);
+	  if (testCoverage == null)
+		selectByCoverage = false;
+	}
+	if (tradMutants && selectByInfection && testInfection == null) {
+	  testInfection = TestInfection.get(MutationSystem.MUTANT_HOME + "/" + whole_class_name, whole_class_name,
+		  testSet, originalResults);
+	  if (testInfection == null)
+		selectByInfection = false;
+	}
+	final boolean select = tradMutants && (selectByCoverage || selectByInfection);
+
+	if (workerCount <= 1) {
+	  for (int i = 0; i < mutants.size(); i++) {
+		// read the information for the "i"th live mutant
+		String mutant_name = mutants.get(i).toString();
+		Debug.print("  " + mutant_name);
+		List<String> tests = select ? selectTests(mutant_name) : null;
+		if (tests != null && tests.isEmpty()) {
+		  // no test reaches the mutated line or infects the state
+		  Metrics.count("mutants.unreached");
+		  recordMutantResults(tr, mutant_name, new HashMap<String, String>(originalResults), false, tradMutants);
+		  continue;
+		}
+		String key = cacheKey(mutant_name, tests);
+		Map<String, String> results = key == null ? null : resultCache.get(key);
+		if (results == null) {
+		  if (stopAtFirstKill)
+			runner.setTestOrder(rankTests());
+		  long start = Metrics.start();
+		  results = runner.run(mutant_name, tests);
+		  Metrics.stop("test", mutant_name, start);
+		  cacheResults(key, results, runner);
+		} else {
+		  Metrics.count("mutants.cached");
+		}
+		countKills(results, runner);
+		recordMutantResults(tr, mutant_name, results, runner.isTimeout(results), tradMutants);
+	  }
+	  saveResultCache();
+	  return;
+	}
+
+	List<Map<String, String>> allResults = new ArrayList<Map<String, String>>();
+	// mutants run while another one was running, whose time outs may come from the competition for the CPU
+	final boolean[] overlapped = new boolean[mutants.size()];
+	// a forked worker that timed out has been killed and replaced, a new run
+	// would cost another timeout and a new worker, so its time outs are kept
+	final boolean confirm = !(runner instanceof ForkedMutantRunner);
+	final AtomicInteger running = new AtomicInteger();
+	final AtomicInteger started = new AtomicInteger();
+	ExecutorService workers = Executors.newFixedThreadPool(workerCount);
+	try {
+	  List<Future<Map<String, String>>> pending = new ArrayList<Future<Map<String, String>>>();
+	  for (int i = 0; i < mutants.size(); i++) {
+		final int index = i;
+		final String mutant_name = mutants.get(i).toString();
+		final List<String> tests = select ? selectTests(mutant_name) : null;
+		final String key = (tests != null && tests.isEmpty()) ? null : cacheKey(mutant_name, tests);
+		pending.add(workers.submit(new Callable<Map<String, String>>() {
+		  public Map<String, String> call() throws Exception {
+			if (tests != null && tests.isEmpty()) {
+			  Metrics.count("mutants.unreached");
+			  return new HashMap<String, String>(originalResults);
+			}
+			Map<String, String> results = key == null ? null : resultCache.get(key);
+			if (results == null) {
+			  // the workers share the order, the latest ranking is used by the next mutant to start
+			  if (stopAtFirstKill)
+				runner.setTestOrder(rankTests());
+			  int first = started.incrementAndGet();
+			  boolean others = running.incrementAndGet() > 1;
+			  long start = Metrics.start();
+			  try {
+				results = runner.run(mutant_name, tests);
+			  } finally {
+				running.decrementAndGet();
+			  }
+			  Metrics.stop("test", mutant_name, start);
+			  overlapped[index] = others || started.get() != first;
+			  cacheResults(key, results, runner);
+			} else {
+			  Metrics.count("mutants.cached");
+			}
+			countKills(results, runner);
+			return results;
+		  }
+		}));
+	  }
+
+	  for (int i = 0; i < mutants.size(); i++) {
+		try {
+		  allResults.add(pending.get(i).get());
+		} catch (ExecutionException e) {
+		  if (e.getCause() instanceof Exception)
+			throw (Exception) e.getCause();
+		  throw e;
+		}
+	  }
+	} finally {
+	  workers.shutdownNow();
+	}
+
+	for (int i = 0; i < mutants.size(); i++) {
+	  String mutant_name = mutants.get(i).toString();
+	  Debug.print("  " + mutant_name);
+	  Map<String, String> results = allResults.get(i);
+	  // a mutant may exceed the timeout only because the other workers
+	  // were competing for the CPU, so the time outs of the mutants that
+	  // did not run alone are confirmed alone
+	  if (confirm && runner.isTimeout(results) && overlapped[i]) {
+		List<String> tests = select ? selectTests(mutant_name) : null;
+		long start = Metrics.start();
+		results = runner.run(mutant_name, tests);
+		Metrics.stop("test.rerun", mutant_name, start);
+		cacheResults(cacheKey(mutant_name, tests), results, runner);
+	  }
+	  recordMutantResults(tr, mutant_name, results, runner.isTimeout(results), tradMutants);
+	}
+	saveResultCache();
+  }
+
+  /**
+   * Return the tests to run against the traditional mutant <i>mutant_name</i>,
+   * by infection then by coverage, or null to run every test
+   */
+  List<String> selectTests(String mutant_name) {
+	List<String> tests = selectByInfection ? testInfection.selectTests(mutant_name, junitTests) : null;
+	if (tests == null && selectByCoverage)
+	  tests = testCoverage.selectTests(mutant_name, junitTests);
+	return tests;
+  }
+
+  /**
+   * Key of the results of the mutant <i>mutant_name</i> in the result cache,
+   * null if the results are not cached
+   */
+  String cacheKey(String mutant_name, List<String> tests) {
+	if (!useResultCache)
+	  return null;
+	if (resultCache == null)
+	  resultCache = new ResultCache(whole_class_name, testSet, "timeout=" + TIMEOUT + ", firstkill=" + stopAtFirstKill
+		  + ", execution=" + (forkWorkers ? "forked" : "in-process") + ", shared=" + shareProgramClasses
+		  + ", schemata=" + (MutantSchemataLoader.of(MutationSystem.MUTANT_PATH) != null));
+	try {
+	  return resultCache.key(MutationSystem.MUTANT_PATH + "/" + mutant_name, tests);
+	} catch (IOException e) {
+	  return null;
+	}
+  }
+
+  /** Keep the results of a mutant in the result cache, unless it timed out */
+  void cacheResults(String key, Map<String, String> results, MutantTestRunner runner) {
+	if (key != null && !runner.isTimeout(results))
+	  resultCache.put(key, results);
+  }
+
+  void saveResultCache() {
+	if (resultCache != null) {
+	  resultCache.save();
+	  Debug.println(resultCache.toString());
+	}
+  }
+
+  /** Return the runner of the mutants under MutationSystem.MUTANT_PATH */
+  MutantTestRunner createRunner() throws IOException {
+	if (forkWorkers && MutationSystem.IN_MEMORY_MUTANTS && !MutationSystem.EXPORT_MUTANTS) {
+	  System.err.println("Worker JVMs can not load in-memory mutants, running them in this JVM");
+	  forkWorkers = false;
+	}
+	if (!forkWorkers) {
+	  MutantTestRunner runner = new MutantTestRunner(testSet, MutationSystem.MUTANT_PATH, junitTests, TIMEOUT);
+	  runner.setOriginalResults(originalResults);
+	  runner.shareProgramClasses(shareProgramClasses);
+	  if (stopAtFirstKill)
+		runner.stopAtFirstKill(originalResults);
+	  return runner;
+	}
+
+	if (forkedRunner == null) {
+	  forkedRunner = new ForkedMutantRunner(testSet, MutationSystem.MUTANT_PATH, junitTests, TIMEOUT, workerCount);
+	  forkedRunner.setOriginalResults(originalResults);
+	  forkedRunner.shareProgramClasses(shareProgramClasses);
+	  if (stopAtFirstKill)
+		forkedRunner.stopAtFirstKill(originalResults);
+	}
+	forkedRunner.setMutantPath(MutationSystem.MUTANT_PATH);
+	return forkedRunner;
+  }
+
+  /**
+   * Return the tests sorted by the number of mutants they killed so far, most first.
+   * When the tests of a mutant stop at the first kill, the tests that did not run
+   * are not counted, so a test is credited with the mutants it killed first.
+   */
+  List<String> rankTests() {
+	final Map<String, Integer> kills = new HashMap<String, Integer>();
+	for (String name : junitTests) {
+	  AtomicInteger killed = testKills.get(name);
+	  kills.put(name, killed == null ? 0 : killed.get());
+	}
+	List<String> ranked = new ArrayList<String>(junitTests);
+	Collections.sort(ranked, new Comparator<String>() {
+	  public int compare(String t1, String t2) {
+		return kills.get(t2) - kills.get(t1);
+	  }
+	});
+	return ranked;
+  }
+
+  /**
+   * Count the tests that killed a mutant, to rank the tests of the next mutants.
+   * A time out fails every test, so it is not counted.
+   */
+  void countKills(Map<String, String> results, MutantTestRunner runner) {
+	if (runner.isTimeout(results))
+	  return;
+	for (String name : junitTests) {
+	  if (results.get(name).equals(originalResults.get(name)))
+		continue;
+	  AtomicInteger killed = testKills.get(name);
+	  if (killed == null) {
+		testKills.putIfAbsent(name, new AtomicInteger());
+		killed = testKills.get(name);
+	  }
+	  killed.incrementAndGet();
+	}
+  }
+
+  /** Print the results of a mutant once its tests are finished */
+  void reportMutantResults(Map<String, String> results, boolean timedOut) {
+	if (timedOut)
+	  System.out.println(" time_out: more than " + TIMEOUT + " milliseconds");
+	else
+	  System.out.println(results.toString());
+  }
+
+  /**
+   * Compare the results of a mutant with the original results and
+   * update the test report
+   */
+  void recordMutantResults(TestResult tr, String mutant_name, Map<String, String> results, boolean timedOut,
+						   boolean tradMutants) {
+	mutantResults = results;
+	reportMutantResults(results, timedOut);
+	finalMutantResults.put(mutant_name, "");
+
+	//determine whether a mutant is killed or not
+	//update the test report
+	boolean sign = false;
+	for (int k = 0; k < junitTests.size(); k++) {
+	  String name = junitTests.get(k);
+	  if (!results.get(name).equals(originalResults.get(name))) {
+		sign = true;
+		//update the final results by tests
+		if (finalTestResults.get(name).equals(""))
+		  finalTestResults.put(name, mutant_name);
+		else
+		  finalTestResults.put(name, finalTestResults.get(name) + ", " + mutant_name);
+		//update the final results by mutants
+		if (finalMutantResults.get(mutant_name).equals(""))
+		  finalMutantResults.put(mutant_name, name);
+		else
+		  finalMutantResults.put(mutant_name, finalMutantResults.get(mutant_name) + ", " + name);
+	  }
+	}
+	if (timedOut)
+	  Metrics.count("timeouts");
+	Metrics.count(sign ? "mutants.killed" : "mutants.live");
+	if (tradMutants) {
+	  if (sign == true)
+		tr.killed_mutants.add(mutant_name);
+	  else
+		tr.live_mutants.add(mutant_name);
+	} else {
+	  if (sign == true)
+		tr.killed_mutantsClass.add(mutant_name);
+	  else
+		tr.live_mutantsClass.add(mutant_name);
+	}
+  }
+
   void erase_killed_mutants(Vector v) {
 	System.out.println("Deleting directories of killed mutants");
 	for (int i = 0; i < v.size(); i++) {
@@ -549,8 +806,11 @@ public class TestExecuter {
   }
 
   void erase_directory(String mutant_name) {
+	MutantStore.remove(MutationSystem.MUTANT_PATH + "/" + mutant_name);
 	File mutant_dir = new File(MutationSystem.MUTANT_PATH + "/" + mutant_name);
 	File[] f = mutant_dir.listFiles();
+	if (f == null)
+	  return;
 	boolean flag = false;
 	for (int i = 0; i < f.length; i++) {
 	  while (!flag) {
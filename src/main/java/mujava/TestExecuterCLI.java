@@ -21,6 +21,7 @@ import mujava.cli.Util;
 import mujava.cli.runmutes;
 import mujava.test.*;
 import mujava.util.Debug;
+import mujava.util.Metrics;
 import mujava.util.MutantDirFilter;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.notification.Failure;
@@ -62,7 +63,9 @@ public class TestExecuterCLI extends TestExecuter {
 	  // Class loader for the original class
 	  OriginalLoader myLoader = new OriginalLoader();
 	  Util.DebugPrint(testSet);
+	  long start = Metrics.start();
 	  original_executer = myLoader.loadTestClass(testSet);
+	  Metrics.stop("load.original", testSet, start);
 	  original_obj = original_executer.newInstance(); // initialization of
 	  // the test set
 	  // class
@@ -86,6 +89,15 @@ public class TestExecuterCLI extends TestExecuter {
   }
 
 
+  void reportMutantResults(Map<String, String> results, boolean timedOut) {
+	if (timedOut) {
+	  Util.DebugPrint(" time_out: more than " + TIMEOUT + " milliseconds");
+	} else {
+	  System.out.print(".");
+	  Util.DebugPrint(results.toString());
+	}
+  }
+
   /**
    * get the mutants for one method based on the method signature
    *
@@ -107,7 +119,13 @@ public class TestExecuterCLI extends TestExecuter {
 	}
 
 	// mutantDirectories match the names of mutants
-	String[] mutantDirectories = f.list(new MutantDirFilter());
+	String[] mutantDirectories;
+	if (MutationSystem.IN_MEMORY_MUTANTS)
+	  mutantDirectories = MutantStore.listMutants(MutationSystem.MUTANT_PATH);
+	else
+	  mutantDirectories = f.list(new MutantDirFilter());
+	// mutants with the bytecode of the original or of another mutant are not run
+	mutantDirectories = TrivialCompilerEquivalence.exclude(MutationSystem.MUTANT_PATH, mutantDirectories);
 
 	if (mutantDirectories == null || mutantDirectories.length == 0) {
 	  if (!methodSignature.equals(""))
@@ -149,7 +167,9 @@ public class TestExecuterCLI extends TestExecuter {
 
 	  JUnitCore jCore = new JUnitCore();
 	  // result = jCore.runMain(new RealSystem(), "VMTEST1");
+	  long start = Metrics.start();
 	  result = jCore.run(original_executer);
+	  Metrics.stop("test.original", start);
 
 	  // get the failure report and update the original result of the test
 	  // with the failures
@@ -222,176 +242,7 @@ public class TestExecuterCLI extends TestExecuter {
 	  // String[] killed_mutants = new String[testCases.length];
 
 	  Debug.println("\n\n======================================== Executing Mutants ========================================");
-	  for (int i = 0; i < tr.mutants.size(); i++) {
-		// read the information for the "i"th live mutant
-		String mutant_name = tr.mutants.get(i).toString();
-		finalMutantResults.put(mutant_name, "");
-		JMutationLoader mutantLoader = new JMutationLoader(mutant_name);
-		// mutantLoader.loadMutant();
-		mutant_executer = mutantLoader.loadTestClass(testSet);
-		mutant_obj = mutant_executer.newInstance();
-		Debug.print("  " + mutant_name);
-
-		try {
-		  // Mutants are runned using Thread to detect infinite loop
-		  // caused by mutation
-		  Runnable r = new Runnable() {
-			public void run() {
-			  try {
-				mutantRunning = true;
-
-				// original test results
-				mutantResults = new HashMap<String, String>();
-				for (int k = 0; k < testCases.length; k++) {
-				  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-				  for (Annotation annotation : annotations) {
-					// System.out.println("name: " +
-					// testCases[k].getName() +
-					// annotation.toString() +
-					// annotation.toString().indexOf("@org.junit.Test"));
-					if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-					  // killed_mutants[k]= ""; // At
-					  // first, no mutants are killed by
-					  // each test case
-					  mutantResults.put(testCases[k].getName(), "pass");
-					  continue;
-					}
-				  }
-				}
-
-				JUnitCore jCore = new JUnitCore();
-				result = jCore.run(mutant_executer);
-
-				List<Failure> listOfFailure = result.getFailures();
-				for (Failure failure : listOfFailure) {
-				  String nameOfTest = failure.getTestHeader().substring(0,
-					  failure.getTestHeader().indexOf("("));
-				  String testSourceName = testSet + "." + nameOfTest;
-
-				  // System.out.println(testSourceName);
-				  String[] sb = failure.getTrace().split("\\n");
-				  String lineNumber = "";
-				  for (int i = 0; i < sb.length; i++) {
-					// System.out.println("sb-trace: " +
-					// sb[i]);
-					if (sb[i].indexOf(testSourceName) != -1) {
-					  lineNumber = sb[i].substring(sb[i].indexOf(":") + 1, sb[i].indexOf(")"));
-
-					}
-				  }
-				  // get the line where the error happens
-				  /*
-				   * String tempLineNumber = "";
-				   * if(failure.getTrace
-				   * ().indexOf(testSourceName) != -1){
-				   * tempLineNumber =
-				   * failure.getTrace().substring
-				   * (failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 1,
-				   * failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 5);
-				   * System.out.println("tempLineNumber: " +
-				   * tempLineNumber); lineNumber =
-				   * tempLineNumber.substring(0,
-				   * tempLineNumber.indexOf(")"));
-				   * //System.out.print("LineNumber: " +
-				   * lineNumber); }
-				   */
-				  // get the test name that has the error and
-				  // save the failure info to the results for
-				  // mutants
-				  if (failure.getMessage() == null)
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else if (failure.getMessage().equals(""))
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else
-					mutantResults.put(nameOfTest,
-						nameOfTest + ": " + lineNumber + "; " + failure.getMessage());
-				}
-				System.out.print(".");
-				Util.DebugPrint(mutantResults.toString());
-				mutantRunning = false;
-				synchronized (lockObject) {
-				  lockObject.notify();
-				}
-
-			  } catch (Exception e) {
-				e.printStackTrace();
-				// System.out.println("e.getMessage()");
-				// System.out.println(e.getMessage());
-			  }
-			}
-		  };
-
-		  Thread t = new Thread(r);
-		  t.setDaemon(true);
-		  t.start();
-
-		  synchronized (lockObject) {
-			lockObject.wait(TIMEOUT); // Check out if a mutant is in
-			// infinite loop
-		  }
-		  if (mutantRunning) {
-			// System.out.println("check point4");
-			t.interrupt();
-			// mutant_result = "time_out: more than " + TIMEOUT +
-			// " seconds";
-			Util.DebugPrint(" time_out: more than " + TIMEOUT + " milliseconds");
-			// mutantResults.put(nameOfTest, nameOfTest + ": " +
-			// lineNumber + "; " + failure.getMessage());
-
-			for (int k = 0; k < testCases.length; k++) {
-			  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-			  for (Annotation annotation : annotations) {
-				// System.out.println("name: " +
-				// testCases[k].getName() +
-				// annotation.toString() +
-				// annotation.toString().indexOf("@org.junit.Test"));
-				if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-				  // killed_mutants[k]= ""; // At first, no
-				  // mutants are killed by each test case
-				  mutantResults.put(testCases[k].getName(), "time_out: more than " + TIMEOUT
-					  + " milliseconds");
-				  continue;
-				}
-			  }
-			}
-
-		  }
-		} catch (Exception e) {
-		  mutant_result = e.getCause().getClass().getName() + " : " + e.getCause().getMessage();
-		}
-
-		// determine whether a mutant is killed or not
-		// update the test report
-		boolean sign = false;
-		for (int k = 0; k < junitTests.size(); k++) {
-		  String name = junitTests.get(k);
-		  if (!mutantResults.get(name).equals(originalResults.get(name))) {
-			sign = true;
-			// update the final results by tests
-			if (finalTestResults.get(name).equals(""))
-			  finalTestResults.put(name, mutant_name);
-			else
-			  finalTestResults.put(name, finalTestResults.get(name) + ", " + mutant_name);
-			// update the final results by mutants
-			if (finalMutantResults.get(mutant_name).equals(""))
-			  finalMutantResults.put(mutant_name, name);
-			else
-			  finalMutantResults.put(mutant_name, finalMutantResults.get(mutant_name) + ", " + name);
-		  }
-		}
-		if (sign == true)
-		  tr.killed_mutants.add(mutant_name);
-		else
-		  tr.live_mutants.add(mutant_name);
-
-		mutantLoader = null;
-		mutant_executer = null;
-		System.gc();
-	  }
+	  executeMutants(tr, tr.mutants, true);
 
 	  for (int i = 0; i < tr.killed_mutants.size(); i++) {
 		tr.live_mutants.remove(tr.killed_mutants.get(i));
@@ -559,205 +410,10 @@ public class TestExecuterCLI extends TestExecuter {
 	  // String[] killed_mutants = new String[testCases.length];
 
 	  Debug.println("\n\n======================================== Executing Mutants ========================================");
-	  int sz;
 	  if (tradMutants) {
-		sz = tr.mutants.size();
+		executeMutants(tr, tr.mutants, tradMutants);
 	  } else {
-		sz = tr.mutantsClass.size();
-	  }
-	  for (int i = 0; i < sz; i++) {
-		// read the information for the "i"th live mutant
-		String mutant_name;
-		if (tradMutants) {
-		  mutant_name = tr.mutants.get(i).toString();
-		} else {
-		  mutant_name = tr.mutantsClass.get(i).toString();
-		}
-		finalMutantResults.put(mutant_name, "");
-		JMutationLoader mutantLoader = new JMutationLoader(mutant_name);
-		// mutantLoader.loadMutant();
-		mutant_executer = mutantLoader.loadTestClass(testSet);
-		mutant_obj = mutant_executer.newInstance();
-		Debug.print("  " + mutant_name);
-
-		try {
-		  // Mutants are runned using Thread to detect infinite loop
-		  // caused by mutation
-		  Runnable r = new Runnable() {
-			public void run() {
-			  try {
-				mutantRunning = true;
-
-				// original test results
-				mutantResults = new HashMap<String, String>();
-				for (int k = 0; k < testCases.length; k++) {
-				  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-				  for (Annotation annotation : annotations) {
-					// System.out.println("name: " +
-					// testCases[k].getName() +
-					// annotation.toString() +
-					// annotation.toString().indexOf("@org.junit.Test"));
-					if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-					  // killed_mutants[k]= ""; // At
-					  // first, no mutants are killed by
-					  // each test case
-					  mutantResults.put(testCases[k].getName(), "pass");
-					  continue;
-					}
-				  }
-				}
-
-				//	System.out.println("start" );
-
-				JUnitCore jCore = new JUnitCore();
-				result = jCore.run(mutant_executer);
-
-				//	System.out.println("end");
-
-				List<Failure> listOfFailure = result.getFailures();
-				for (Failure failure : listOfFailure) {
-				  String nameOfTest = failure.getTestHeader().substring(0,
-					  failure.getTestHeader().indexOf("("));
-				  String testSourceName = testSet + "." + nameOfTest;
-
-				  // System.out.println(testSourceName);
-				  String[] sb = failure.getTrace().split("\\n");
-				  String lineNumber = "";
-				  for (int i = 0; i < sb.length; i++) {
-					// System.out.println("sb-trace: " +
-					// sb[i]);
-					if (sb[i].indexOf(testSourceName) != -1) {
-					  lineNumber = sb[i].substring(sb[i].indexOf(":") + 1, sb[i].indexOf(")"));
-
-					}
-				  }
-				  // get the line where the error happens
-				  /*
-				   * String tempLineNumber = "";
-				   * if(failure.getTrace
-				   * ().indexOf(testSourceName) != -1){
-				   * tempLineNumber =
-				   * failure.getTrace().substring
-				   * (failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 1,
-				   * failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 5);
-				   * System.out.println("tempLineNumber: " +
-				   * tempLineNumber); lineNumber =
-				   * tempLineNumber.substring(0,
-				   * tempLineNumber.indexOf(")"));
-				   * //System.out.print("LineNumber: " +
-				   * lineNumber); }
-				   */
-				  // get the test name that has the error and
-				  // save the failure info to the results for
-				  // mutants
-				  if (failure.getMessage() == null)
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else if (failure.getMessage().equals(""))
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else
-					mutantResults.put(nameOfTest,
-						nameOfTest + ": " + lineNumber + "; " + failure.getMessage());
-				}
-				System.out.print(".");
-				Util.DebugPrint(mutantResults.toString());
-				mutantRunning = false;
-				synchronized (lockObject) {
-				  lockObject.notify();
-				}
-
-			  } catch (Exception e) {
-				e.printStackTrace();
-				// System.out.println("e.getMessage()");
-				// System.out.println(e.getMessage());
-			  }
-			}
-		  };
-
-		  Thread t = new Thread(r);
-		  t.setDaemon(true);
-		  t.start();
-
-		  synchronized (lockObject) {
-			lockObject.wait(TIMEOUT); // Check out if a mutant is in
-			// infinite loop
-		  }
-		  if (mutantRunning) {
-			// System.out.println("check point4");
-			//System.out.println(t.getName());
-
-			t.interrupt();
-
-			//mutantRunning=false;
-			// mutant_result = "time_out: more than " + TIMEOUT +
-			// " seconds";
-			Util.DebugPrint(" time_out: more than " + TIMEOUT + " milliseconds");
-			// mutantResults.put(nameOfTest, nameOfTest + ": " +
-			// lineNumber + "; " + failure.getMessage());
-
-			for (int k = 0; k < testCases.length; k++) {
-			  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-			  for (Annotation annotation : annotations) {
-				// System.out.println("name: " +
-				// testCases[k].getName() +
-				// annotation.toString() +
-				// annotation.toString().indexOf("@org.junit.Test"));
-				if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-				  // killed_mutants[k]= ""; // At first, no
-				  // mutants are killed by each test case
-				  mutantResults.put(testCases[k].getName(), "time_out: more than " + TIMEOUT
-					  + " milliseconds");
-				  continue;
-				}
-			  }
-			}
-
-		  }
-
-//					if(mutantRunning)
-//						t.stop();
-
-		} catch (Exception e) {
-		  mutant_result = e.getCause().getClass().getName() + " : " + e.getCause().getMessage();
-		}
-
-		// determine whether a mutant is killed or not
-		// update the test report
-		boolean sign = false;
-		for (int k = 0; k < junitTests.size(); k++) {
-		  String name = junitTests.get(k);
-		  if (!mutantResults.get(name).equals(originalResults.get(name))) {
-			sign = true;
-			// update the final results by tests
-			if (finalTestResults.get(name).equals(""))
-			  finalTestResults.put(name, mutant_name);
-			else
-			  finalTestResults.put(name, finalTestResults.get(name) + ", " + mutant_name);
-			// update the final results by mutants
-			if (finalMutantResults.get(mutant_name).equals(""))
-			  finalMutantResults.put(mutant_name, name);
-			else
-			  finalMutantResults.put(mutant_name, finalMutantResults.get(mutant_name) + ", " + name);
-		  }
-		}
-		if (tradMutants) {
-		  if (sign == true)
-			tr.killed_mutants.add(mutant_name);
-		  else
-			tr.live_mutants.add(mutant_name);
-		} else {
-		  if (sign == true)
-			tr.killed_mutantsClass.add(mutant_name);
-		  else
-			tr.live_mutantsClass.add(mutant_name);
-		}
-
-		mutantLoader = null;
-		mutant_executer = null;
-		System.gc();
+		executeMutants(tr, tr.mutantsClass, tradMutants);
 	  }
 
 	  if (tradMutants) {
@@ -890,180 +546,7 @@ public class TestExecuterCLI extends TestExecuter {
 	  // String[] killed_mutants = new String[testCases.length];
 
 	  Debug.println("\n\n======================================== Executing Mutants ========================================");
-	  for (int i = 0; i < tr.mutants.size(); i++) {
-		// read the information for the "i"th live mutant
-		String mutant_name = tr.mutants.get(i).toString();
-		finalMutantResults.put(mutant_name, "");
-		JMutationLoader mutantLoader = new JMutationLoader(mutant_name);
-		// mutantLoader.loadMutant();
-		mutant_executer = mutantLoader.loadTestClass(testSet);
-		mutant_obj = mutant_executer.newInstance();
-		Debug.print("  " + mutant_name);
-		//System.out.println("!!!!!!!!!!!!!!!!" + mutant_executer.toString());
-		try {
-		  // Mutants are runned using Thread to detect infinite loop
-		  // caused by mutation
-		  Runnable r = new Runnable() {
-			public void run() {
-			  try {
-				mutantRunning = true;
-
-				// original test results
-				mutantResults = new HashMap<String, String>();
-				for (int k = 0; k < testCases.length; k++) {
-				  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-				  for (Annotation annotation : annotations) {
-					// System.out.println("name: " +
-					// testCases[k].getName() +
-					// annotation.toString() +
-					// annotation.toString().indexOf("@org.junit.Test"));
-					if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-					  // killed_mutants[k]= ""; // At
-					  // first, no mutants are killed by
-					  // each test case
-					  mutantResults.put(testCases[k].getName(), "pass");
-					  continue;
-					}
-				  }
-				}
-
-				JUnitCore jCore = new JUnitCore();
-				result = jCore.run(mutant_executer);
-
-				List<Failure> listOfFailure = result.getFailures();
-				for (Failure failure : listOfFailure) {
-				  String nameOfTest = failure.getTestHeader().substring(0,
-					  failure.getTestHeader().indexOf("("));
-				  String testSourceName = testSet + "." + nameOfTest;
-
-				  // System.out.println(testSourceName);
-				  String[] sb = failure.getTrace().split("\\n");
-				  String lineNumber = "";
-				  for (int i = 0; i < sb.length; i++) {
-					// System.out.println("sb-trace: " +
-					// sb[i]);
-					if (sb[i].indexOf(testSourceName) != -1) {
-					  lineNumber = sb[i].substring(sb[i].indexOf(":") + 1, sb[i].indexOf(")"));
-
-					}
-				  }
-				  // get the line where the error happens
-				  /*
-				   * String tempLineNumber = "";
-				   * if(failure.getTrace
-				   * ().indexOf(testSourceName) != -1){
-				   * tempLineNumber =
-				   * failure.getTrace().substring
-				   * (failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 1,
-				   * failure.getTrace
-				   * ().indexOf(testSourceName) +
-				   * testSourceName.length() + 5);
-				   * System.out.println("tempLineNumber: " +
-				   * tempLineNumber); lineNumber =
-				   * tempLineNumber.substring(0,
-				   * tempLineNumber.indexOf(")"));
-				   * //System.out.print("LineNumber: " +
-				   * lineNumber); }
-				   */
-				  // get the test name that has the error and
-				  // save the failure info to the results for
-				  // mutants
-				  if (failure.getMessage() == null)
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else if (failure.getMessage().equals(""))
-					mutantResults.put(nameOfTest, nameOfTest + ": " + lineNumber + "; " + "fail");
-				  else
-					mutantResults.put(nameOfTest,
-						nameOfTest + ": " + lineNumber + "; " + failure.getMessage());
-				}
-				System.out.print(".");
-				Util.DebugPrint(mutantResults.toString());
-				mutantRunning = false;
-				synchronized (lockObject) {
-				  lockObject.notify();
-				}
-
-			  } catch (Exception e) {
-				e.printStackTrace();
-				// System.out.println("e.getMessage()");
-				// System.out.println(e.getMessage());
-			  }
-			}
-		  };
-
-		  Thread t = new Thread(r);
-		  t.setDaemon(true);
-		  t.start();
-
-		  synchronized (lockObject) {
-			lockObject.wait(TIMEOUT); // Check out if a mutant is in
-			// infinite loop
-		  }
-		  if (mutantRunning) {
-			// System.out.println("check point4");
-
-			//System.out.println("debug: " + mutantResults);
-			t.interrupt();
-			// mutant_result = "time_out: more than " + TIMEOUT +
-			// " seconds";
-			Util.DebugPrint(" time_out: more than " + TIMEOUT + " milliseconds");
-			// mutantResults.put(nameOfTest, nameOfTest + ": " +
-			// lineNumber + "; " + failure.getMessage());
-
-			for (int k = 0; k < testCases.length; k++) {
-			  Annotation[] annotations = testCases[k].getDeclaredAnnotations();
-			  for (Annotation annotation : annotations) {
-				// System.out.println("name: " +
-				// testCases[k].getName() +
-				// annotation.toString() +
-				// annotation.toString().indexOf("@org.junit.Test"));
-				if (annotation.toString().indexOf("@org.junit.Test") != -1) {
-				  // killed_mutants[k]= ""; // At first, no
-				  // mutants are killed by each test case
-				  mutantResults.put(testCases[k].getName(), "time_out: more than " + TIMEOUT
-					  + " milliseconds");
-				  continue;
-				}
-			  }
-			}
-
-			//System.out.println("debug: " + mutantResults);
-
-		  }
-		} catch (Exception e) {
-		  mutant_result = e.getCause().getClass().getName() + " : " + e.getCause().getMessage();
-		}
-
-		// determine whether a mutant is killed or not
-		// update the test report
-		boolean sign = false;
-		for (int k = 0; k < junitTests.size(); k++) {
-		  String name = junitTests.get(k);
-		  if (!mutantResults.get(name).equals(originalResults.get(name))) {
-			sign = true;
-			// update the final results by tests
-			if (finalTestResults.get(name).equals(""))
-			  finalTestResults.put(name, mutant_name);
-			else
-			  finalTestResults.put(name, finalTestResults.get(name) + ", " + mutant_name);
-			// update the final results by mutants
-			if (finalMutantResults.get(mutant_name).equals(""))
-			  finalMutantResults.put(mutant_name, name);
-			else
-			  finalMutantResults.put(mutant_name, finalMutantResults.get(mutant_name) + ", " + name);
-		  }
-		}
-		if (sign == true)
-		  tr.killed_mutants.add(mutant_name);
-		else
-		  tr.live_mutants.add(mutant_name);
-
-		mutantLoader = null;
-		mutant_executer = null;
-		System.gc();
-	  }
+	  executeMutants(tr, tr.mutants, true);
 
 	  for (int i = 0; i < tr.killed_mutants.size(); i++) {
 		tr.live_mutants.remove(tr.killed_mutants.get(i));
@@ -72,20 +72,49 @@
  */
 package mujava;
 
+import mujava.cli.Util;
 import mujava.op.basic.*;
+import mujava.op.bytecode.BytecodeMutator;
 import mujava.op.util.CodeChangeLog;
+import mujava.op.util.MutantSchemata;
+import mujava.op.util.SourceImage;
+import mujava.op.util.TypeAnalysis;
+import mujava.test.MutantSwitch;
 import mujava.util.Debug;
+import mujava.util.Metrics;
 import openjava.ptree.ClassDeclaration;
 import openjava.ptree.ClassDeclarationList;
 import openjava.ptree.ParseTreeException;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class TraditionalMutantsGenerator extends MutantsGenerator {
   String[] traditionalOp;
   private List<String> allOperatorsSelected;
 
+  /** rounds of compilation of the mutant schemata, each one leaving out the mutants with errors */
+  static final int SCHEMATA_ROUNDS = 20;
+
+  /** mutant schemata of the traditional mutants, from their generation to their compilation */
+  MutantSchemata schemata = null;
+  boolean schemataCompiled = false;
+
+  /** weak mutation schemata of the traditional mutants, from their generation to their compilation */
+  MutantSchemata weakSchemata = null;
+
+  /** mutator of the bytecode of the original, once its mutants are written */
+  BytecodeMutator bytecodeMutator = null;
+
   public TraditionalMutantsGenerator(File f) {
 	super(f);
 	traditionalOp = MutationSystem.tm_operators;
@@ -141,10 +170,19 @@ public class TraditionalMutantsGenerator extends MutantsGenerator {
 	}
   }
 
+  GenerationManifest createManifest() throws IOException {
+	return new GenerationManifest(MutationSystem.TM_DIR_NAME, original_file, traditionalOp);
+  }
+
   /**
    * Compile traditional mutants into bytecode
    */
   public void compileMutants() {
+	context.apply();
+	if (upToDate)
+	  return;
+	genBytecodeMutants();
+	compileSchemata();
 	if (traditionalOp != null && traditionalOp.length > 0) {
 	  try {
 		Debug.println("* Compiling traditional mutants into bytecode");
@@ -166,6 +204,195 @@ public class TraditionalMutantsGenerator extends MutantsGenerator {
 		System.err.println("Error at compileMutants() in TraditionalMutantsGenerator.java");
 	  }
 	}
+	writeManifest();
+  }
+
+  /**
+   * Return true if the traditional operator <i>op</i> is selected and
+   * applied to the source of every method (see MutationSystem.BYTECODE_MUTANTS
+   * and genFallbackMutants)
+   */
+  boolean hasSourceOperator(String op) {
+	return hasOperator(traditionalOp, op) && !(MutationSystem.BYTECODE_MUTANTS && BytecodeMutator.supports(op));
+  }
+
+  /**
+   * Apply the selected operators supported by BytecodeMutator to the
+   * compiled original (once, the mutants may be compiled again), and add
+   * their mutants to mutation_log
+   */
+  void genBytecodeMutants() {
+	if (bytecodeMutator != null || !MutationSystem.BYTECODE_MUTANTS || traditionalOp == null)
+	  return;
+	Debug.println("* Mutating the bytecode of the original class");
+	String original_mutant_path = MutationSystem.MUTANT_PATH;
+	MutationSystem.MUTANT_PATH = MutationSystem.TRADITIONAL_MUTANT_PATH;
+	try {
+	  List<String> methods = Files.readAllLines(
+		  new File(MutationSystem.TRADITIONAL_MUTANT_PATH, "method_list").toPath(), Charset.defaultCharset());
+	  bytecodeMutator = new BytecodeMutator(Arrays.asList(traditionalOp), methods);
+	  CodeChangeLog.appendLogFile();
+	  try {
+		genFallbackMutants(BytecodeMutator.getSignatures(MutationSystem.ORIGINAL_PATH));
+		long start = Metrics.start();
+		bytecodeMutator.mutate(MutationSystem.ORIGINAL_PATH);
+		Metrics.stop("operator.bytecode", start);
+	  } finally {
+		CodeChangeLog.closeLogFile();
+	  }
+	  Debug.println("  " + bytecodeMutator);
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't mutate the bytecode of " + MutationSystem.CLASS_NAME + ": " + e);
+	} catch (ParseTreeException e) {
+	  System.err.println("[ERROR] Can't mutate the source of " + MutationSystem.CLASS_NAME + ": " + e);
+	}
+	MutationSystem.MUTANT_PATH = original_mutant_path;
+  }
+
+  /**
+   * Apply the selected operators supported by BytecodeMutator to the source
+   * of the methods of method_list whose bytecode is not mutated, i.e. whose
+   * signatures are not in <i>bytecodeMethods</i> (e.g. the generic methods),
+   * and ROR to the comparisons of the other methods BytecodeMutator does
+   * not replace (e.g. x &gt; 0, o == null), and number the bytecode mutants
+   * after theirs
+   */
+  void genFallbackMutants(Set<String> bytecodeMethods) throws ParseTreeException {
+	ClassDeclarationList cdecls = comp_unit.getClassDeclarations();
+	for (int j = 0; j < cdecls.size(); ++j) {
+	  ClassDeclaration cdecl = cdecls.get(j);
+	  String tempName = cdecl.getName();
+	  if (tempName.indexOf("<") != -1 && tempName.indexOf(">") != -1)
+		tempName = tempName.substring(0, tempName.indexOf("<"))
+			+ tempName.substring(tempName.lastIndexOf(">") + 1, tempName.length());
+	  if (!tempName.equals(MutationSystem.CLASS_NAME))
+		continue;
+
+	  List<MethodLevelMutator> ops = new ArrayList<MethodLevelMutator>();
+	  if (hasOperator(traditionalOp, "AORB"))
+		ops.add(new AORB(file_env, cdecl, comp_unit, allOperatorsSelected));
+	  if (hasOperator(traditionalOp, "AORS"))
+		ops.add(new AORS(file_env, cdecl, comp_unit));
+	  if (hasOperator(traditionalOp, "AODU"))
+		ops.add(new AODU(file_env, cdecl, comp_unit));
+	  if (hasOperator(traditionalOp, "ROR"))
+		ops.add(new ROR(file_env, cdecl, comp_unit, allOperatorsSelected));
+	  if (hasOperator(traditionalOp, "SOR"))
+		ops.add(new SOR(file_env, cdecl, comp_unit));
+	  if (hasOperator(traditionalOp, "LOR"))
+		ops.add(new LOR(file_env, cdecl, comp_unit));
+	  for (MethodLevelMutator op : ops) {
+		if (op instanceof ROR)
+		  ((ROR) op).leaveBytecodeComparisons(bytecodeMethods);
+		else
+		  op.skipMethods(bytecodeMethods);
+		applyOperator(null, op);
+		bytecodeMutator.numberAfter(op.getClass().getSimpleName(), op.num);
+	  }
+	}
+  }
+
+  boolean isBytecodeMutant(String mutant_dir) {
+	return bytecodeMutator != null
+		&& bytecodeMutator.contains(new File(MutationSystem.MUTANT_PATH).getName() + "/" + mutant_dir);
+  }
+
+  /**
+   * Compile the mutant schemata of the traditional mutants (once, the
+   * mutants may be compiled again) to the schemata directory of the class,
+   * with the ID of each of its mutants. The mutants the compiler finds errors
+   * in are left out of it, and compiled on their own. The weak mutation
+   * schemata, if any, is compiled the same way to the weak_mutation directory.
+   */
+  void compileSchemata() {
+	if (schemataCompiled)
+	  return;
+	schemataCompiled = true;
+	File classDir = new File(MutationSystem.TRADITIONAL_MUTANT_PATH).getParentFile();
+	File dir = new File(classDir, MutationSystem.SCHEMATA_DIR_NAME);
+	File weakDir = new File(classDir, MutationSystem.WEAK_DIR_NAME);
+	// the schemata of a previous generation would run other mutants
+	deleteSchemata(dir);
+	deleteSchemata(weakDir);
+	if (schemata != null && MutationSystem.IN_MEMORY_MUTANTS) {
+	  System.err.println("The mutant schemata is not used with in-memory mutants");
+	  schemata = null;
+	}
+
+	if (schemata != null) {
+	  Debug.println("* Compiling the mutant schemata");
+	  if (!compileSchemata(schemata, dir)) {
+		System.err.println("The mutant schemata of " + MutationSystem.CLASS_NAME
+			+ " does not compile, its mutants are compiled on their own");
+		schemata = null;
+	  }
+	}
+	if (weakSchemata != null) {
+	  Debug.println("* Compiling the weak mutation schemata");
+	  if (!compileSchemata(weakSchemata, weakDir))
+		System.err.println("The weak mutation schemata of " + MutationSystem.CLASS_NAME
+			+ " does not compile, the tests of its mutants will not be selected by infection");
+	  weakSchemata = null;
+	}
+  }
+
+  /**
+   * Compile the schemata <i>s</i> to <i>dir</i>, leaving out the mutants the
+   * compiler finds errors in, and write the ID of each of its mutants. The
+   * schemata refers to muJava's own classes (MutantSwitch, InfectionProbe),
+   * so they are added to the classpath.
+   * @return false if the schemata does not compile
+   */
+  boolean compileSchemata(MutantSchemata s, File dir) {
+	dir.mkdirs();
+	File source = new File(dir, MutationSystem.CLASS_NAME + ".java");
+	try {
+	  // only the mutants of the methods in the method list are compiled
+	  s.retainMethods(Files.readAllLines(
+		  new File(MutationSystem.TRADITIONAL_MUTANT_PATH, "method_list").toPath(), Charset.defaultCharset()));
+	  String switch_path = new File(MutantSwitch.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+	  for (int round = 0; round < SCHEMATA_ROUNDS && s.size() > 0; round++) {
+		s.writeSource(source);
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		long start = Metrics.start();
+		boolean compiled = MutantCompiler.compile(MutationSystem.CLASS_PATH + File.pathSeparator + switch_path,
+			Collections.singletonList(source), diagnostics);
+		Metrics.stop("compile.schemata", dir.getName(), start);
+		if (compiled) {
+		  s.writeIds(dir);
+		  Debug.println("  " + s);
+		  return true;
+		}
+		if (Util.debug)
+		  MutantCompiler.printDiagnostics(diagnostics, System.err);
+		int excluded = 0;
+		for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+		  if (d.getKind() == Diagnostic.Kind.ERROR)
+			excluded += s.exclude(d.getPosition());
+		}
+		if (excluded == 0)
+		  break;
+	  }
+	} catch (Exception e) {
+	  System.err.println(e);
+	}
+	deleteSchemata(dir);
+	return false;
+  }
+
+  static void deleteSchemata(File dir) {
+	File[] files = dir.listFiles();
+	if (files == null)
+	  return;
+	for (File f : files) {
+	  f.delete();
+	}
+	dir.delete();
+  }
+
+  boolean inSchemata(String mutant_dir) {
+	return schemata != null
+		&& schemata.contains(new File(MutationSystem.MUTANT_PATH).getName() + "/" + mutant_dir);
   }
 
   /**
@@ -188,6 +415,9 @@ public class TraditionalMutantsGenerator extends MutantsGenerator {
 	  if (tempName.equals(MutationSystem.CLASS_NAME)) {
 		try {
 		  mujava.op.util.Mutator mutant_op;
+		  MultiOperatorMutator walk = null;
+		  if (MutationSystem.SINGLE_PASS_GENERATION)
+			walk = new MultiOperatorMutator(file_env, comp_unit);
 		  // boolean AOR_FLAG = false;
 
 		  try {
@@ -209,120 +439,121 @@ public class TraditionalMutantsGenerator extends MutantsGenerator {
 			return;
 		  }
 
-		  if (hasOperator(traditionalOp, "AORB")) {
+		  if (hasSourceOperator("AORB")) {
 			Debug.println("  Applying AOR-Binary ... ... ");
 			// AOR_FLAG = true;
 			mutant_op = new AORB(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "AORS")) {
+		  if (hasSourceOperator("AORS")) {
 			Debug.println("  Applying AOR-Short-Cut ... ... ");
 			// AOR_FLAG = true;
 			mutant_op = new AORS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "AODU")) {
+		  if (hasSourceOperator("AODU")) {
 			Debug.println("  Applying AOD-Normal-Unary ... ... ");
 			mutant_op = new AODU(file_env, cdecl, comp_unit);
 			// ((AODU)mutant_op).setAORflag(AOR_FLAG);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AODS")) {
 			Debug.println("  Applying AOD-Short-Cut ... ... ");
 			mutant_op = new AODS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AOIU")) {
 			Debug.println("  Applying AOI-Normal-Unary ... ... ");
 			mutant_op = new AOIU(file_env, cdecl, comp_unit);
 			// ((AOIU)mutant_op).setAORflag(AOR_FLAG);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AOIS")) {
 			Debug.println("  Applying AOI-Short-Cut ... ... ");
 			mutant_op = new AOIS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "ROR")) {
+		  if (hasSourceOperator("ROR")) {
 			Debug.println("  Applying ROR ... ... ");
 			mutant_op = new ROR(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COR")) {
 			Debug.println("  Applying COR ... ... ");
 			mutant_op = new COR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COD")) {
 			Debug.println("  Applying COD ... ... ");
 			mutant_op = new COD(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COI")) {
 			Debug.println("  Applying COI ... ... ");
 			mutant_op = new COI(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "SOR")) {
+		  if (hasSourceOperator("SOR")) {
 			Debug.println("  Applying SOR ... ... ");
 			mutant_op = new SOR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "LOR")) {
+		  if (hasSourceOperator("LOR")) {
 			Debug.println("  Applying LOR ... ... ");
 			mutant_op = new LOR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "LOI")) {
 			Debug.println("  Applying LOI ... ... ");
 			mutant_op = new LOI(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "LOD")) {
 			Debug.println("  Applying LOD ... ... ");
 			mutant_op = new LOD(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "ASRS")) {
 			Debug.println("  Applying ASR-Short-Cut ... ... ");
 			mutant_op = new ASRS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "SDL")) {
 			Debug.println("  Applying SDL ... ... ");
 			mutant_op = new SDL(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "VDL")) {
 			Debug.println("  Applying VDL ... ... ");
 			mutant_op = new VDL(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "ODL")) {
 			Debug.println("  Applying ODL ... ... ");
 			mutant_op = new ODL(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "CDL")) {
 			Debug.println("  Applying CDL ... ... ");
 			mutant_op = new CDL(file_env, cdecl, comp_unit, allOperatorsSelected);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
+		  applyWalk(walk);
 		  /*
 		   * if (hasOperator (traditionalOp, "SID") ) {
 		   * Debug.println("  Applying SID ... ... "); mutant_op = new
@@ -341,5 +572,12 @@ public class TraditionalMutantsGenerator extends MutantsGenerator {
 		}
 	  }
 	}
+	Debug.println("  " + TypeAnalysis.of(comp_unit));
+	TypeAnalysis.release(comp_unit);
+	if (SourceImage.get(comp_unit) != null)
+	  Debug.println("  " + SourceImage.get(comp_unit));
+	schemata = MutationSystem.MUTANT_SCHEMATA ? MutantSchemata.of(comp_unit) : null;
+	weakSchemata = MutationSystem.WEAK_MUTATION ? MutantSchemata.weak(comp_unit) : null;
+	SourceImage.release(comp_unit);
   }
 }
\ No newline at end of file
@@ -19,6 +19,9 @@ package mujava;
 
 import mujava.op.basic.*;
 import mujava.op.util.CodeChangeLog;
+import mujava.op.util.MutantSchemata;
+import mujava.op.util.SourceImage;
+import mujava.op.util.TypeAnalysis;
 import mujava.util.Debug;
 import openjava.ptree.ClassDeclaration;
 import openjava.ptree.ClassDeclarationList;
@@ -87,32 +90,6 @@ public class TraditionalMutantsGeneratorCLI extends TraditionalMutantsGenerator
 	}
   }
 
-  /**
-   * Compile traditional mutants into bytecode
-   */
-  public void compileMutants() {
-	if (traditionalOp != null && traditionalOp.length > 0) {
-	  try {
-		Debug.println("* Compiling traditional mutants into bytecode");
-		String original_tm_path = MutationSystem.TRADITIONAL_MUTANT_PATH;
-		File f = new File(original_tm_path, "method_list");
-		FileReader r = new FileReader(f);
-		BufferedReader reader = new BufferedReader(r);
-		String str = reader.readLine();
-
-		while (str != null) {
-		  MutationSystem.MUTANT_PATH = original_tm_path + "/" + str;
-		  super.compileMutants();
-		  str = reader.readLine();
-		}
-		reader.close();
-		MutationSystem.MUTANT_PATH = original_tm_path;
-	  } catch (Exception e) {
-		System.err.println("Error at compileMutants() in TraditionalMutantsGenerator.java");
-	  }
-	}
-  }
-
   /**
    * Apply selected traditional mutation operators:
    *      AORB, AORS, AODU, AODS, AOIU, AOIS, ROR, COR, COD, COI,
@@ -126,6 +103,9 @@ public class TraditionalMutantsGeneratorCLI extends TraditionalMutantsGenerator
 	  if (cdecl.getName().equals(MutationSystem.CLASS_NAME)) {
 		try {
 		  mujava.op.util.Mutator mutant_op;
+		  MultiOperatorMutator walk = null;
+		  if (MutationSystem.SINGLE_PASS_GENERATION)
+			walk = new MultiOperatorMutator(file_env, comp_unit);
 //               boolean AOR_FLAG = false;
 
 		  try {
@@ -149,119 +129,119 @@ public class TraditionalMutantsGeneratorCLI extends TraditionalMutantsGenerator
 //                  mutant_op = new AORB(file_env, cdecl, comp_unit);
 //                  comp_unit.accept(mutant_op);
 //               }
-		  if (hasOperator(traditionalOp, "AORB")) {
+		  if (hasSourceOperator("AORB")) {
 			Debug.println("  Applying AOR-Binary ... ... ");
 //                  AOR_FLAG = true;
 			mutant_op = new AORB(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "AORS")) {
+		  if (hasSourceOperator("AORS")) {
 			Debug.println("  Applying AOR-Short-Cut ... ... ");
 //                  AOR_FLAG = true;
 			mutant_op = new AORS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "AODU")) {
+		  if (hasSourceOperator("AODU")) {
 			Debug.println("  Applying AOD-Normal-Unary ... ... ");
 			mutant_op = new AODU(file_env, cdecl, comp_unit);
 //                  ((AODU)mutant_op).setAORflag(AOR_FLAG);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AODS")) {
 			Debug.println("  Applying AOD-Short-Cut ... ... ");
 			mutant_op = new AODS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AOIU")) {
 			Debug.println("  Applying AOI-Normal-Unary ... ... ");
 			mutant_op = new AOIU(file_env, cdecl, comp_unit);
 //                  ((AOIU)mutant_op).setAORflag(AOR_FLAG);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "AOIS")) {
 			Debug.println("  Applying AOI-Short-Cut ... ... ");
 			mutant_op = new AOIS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "ROR")) {
+		  if (hasSourceOperator("ROR")) {
 			Debug.println("  Applying ROR ... ... ");
 			mutant_op = new ROR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COR")) {
 			Debug.println("  Applying COR ... ... ");
 			mutant_op = new COR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COD")) {
 			Debug.println("  Applying COD ... ... ");
 			mutant_op = new COD(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "COI")) {
 			Debug.println("  Applying COI ... ... ");
 			mutant_op = new COI(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "SOR")) {
+		  if (hasSourceOperator("SOR")) {
 			Debug.println("  Applying SOR ... ... ");
 			mutant_op = new SOR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
-		  if (hasOperator(traditionalOp, "LOR")) {
+		  if (hasSourceOperator("LOR")) {
 			Debug.println("  Applying LOR ... ... ");
 			mutant_op = new LOR(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "LOI")) {
 			Debug.println("  Applying LOI ... ... ");
 			mutant_op = new LOI(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "LOD")) {
 			Debug.println("  Applying LOD ... ... ");
 			mutant_op = new LOD(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "ASRS")) {
 			Debug.println("  Applying ASR-Short-Cut ... ... ");
 			mutant_op = new ASRS(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 		  if (hasOperator(traditionalOp, "SDL")) {
 			Debug.println("  Applying SDL ... ... ");
 			mutant_op = new SDL(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "VDL")) {
 			Debug.println("  Applying VDL ... ... ");
 			mutant_op = new VDL(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "ODL")) {
 			Debug.println("  Applying ODL ... ... ");
 			mutant_op = new ODL(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 		  if (hasOperator(traditionalOp, "CDL")) {
 			Debug.println("  Applying CDL ... ... ");
 			mutant_op = new CDL(file_env, cdecl, comp_unit);
-			comp_unit.accept(mutant_op);
+			applyOperator(walk, mutant_op);
 		  }
 
 // upsorn: First attempt: statement deletion operator               
@@ -286,6 +266,7 @@ public class TraditionalMutantsGeneratorCLI extends TraditionalMutantsGenerator
                   comp_unit.accept(mutant_op);
                }
 */
+		  applyWalk(walk);
 		} catch (ParseTreeException e) {
 		  System.err.println("Exception, during generating traditional mutants for the class "
 			  + MutationSystem.CLASS_NAME);
@@ -293,6 +274,13 @@ public class TraditionalMutantsGeneratorCLI extends TraditionalMutantsGenerator
 		}
 	  }
 	}
+	Debug.println("  " + TypeAnalysis.of(comp_unit));
+	TypeAnalysis.release(comp_unit);
+	if (SourceImage.get(comp_unit) != null)
+	  Debug.println("  " + SourceImage.get(comp_unit));
+	schemata = MutationSystem.MUTANT_SCHEMATA ? MutantSchemata.of(comp_unit) : null;
+	weakSchemata = MutationSystem.WEAK_MUTATION ? MutantSchemata.weak(comp_unit) : null;
+	SourceImage.release(comp_unit);
   }
 
 
@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava;
+
+import mujava.op.util.LogReduction;
+import mujava.util.ClassFileDigest;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Trivial compiler equivalence: compiled mutants whose bytecode, without
+ * the debug attributes, is the same as the bytecode of the original class
+ * are equivalent, and mutants whose bytecode is the same as the one of a
+ * mutant seen before are duplicated. They are logged with the mutants
+ * avoided by the operators (nimrod_equivalent.log and nimrod_duplicated.log
+ * of MUTANT_HOME), and listed in the REDUCED_FILE of their directory, so
+ * the tests are not run on them.
+ * </p>
+ * <p>
+ * Mutants are compared in the order of their operator and number, and a
+ * duplicated mutant refers to the first mutant with the same bytecode.
+ * </p>
+ *
+ * @version 1.0
+ */
+
+public class TrivialCompilerEquivalence {
+
+  /** file of a directory of mutants, listing the mutants the tests are not run on */
+  public static final String REDUCED_FILE = "reduced_mutants";
+
+  /** bytecode of the original class */
+  String original;
+
+  /** bytecode -> first mutant with this bytecode */
+  Map<String, String> mutants = new HashMap<String, String>();
+
+  /** directories of mutants already reduced */
+  Set<String> paths = new HashSet<String>();
+
+  int equivalent = 0;
+  int duplicated = 0;
+
+  /**
+   * @param originalPath directory of the compiled original class (MutationSystem.ORIGINAL_PATH)
+   * @throws IOException if the original class files can not be read
+   */
+  public TrivialCompilerEquivalence(String originalPath) throws IOException {
+	original = digestFiles(new File(originalPath));
+  }
+
+  /**
+   * Find the equivalent and duplicated mutants among the compiled mutants
+   * <i>mutantDirs</i> of <i>mutantPath</i>, and write their REDUCED_FILE
+   * (once, the mutants of a directory may be compiled again)
+   */
+  public void reduce(String mutantPath, List<String> mutantDirs) {
+	if (!paths.add(mutantPath))
+	  return;
+	List<String> sorted = new ArrayList<String>(mutantDirs);
+	Collections.sort(sorted, new Comparator<String>() {
+	  public int compare(String m1, String m2) {
+		int c = getOperator(m1).compareTo(getOperator(m2));
+		if (c != 0)
+		  return c;
+		return getNumber(m1) - getNumber(m2);
+	  }
+	});
+
+	List<String> reduced = new ArrayList<String>();
+	List<String> equivalentLines = new ArrayList<String>();
+	List<String> duplicatedLines = new ArrayList<String>();
+	for (String name : sorted) {
+	  String path = mutantPath + "/" + name;
+	  String bytecode;
+	  try {
+		bytecode = MutationSystem.IN_MEMORY_MUTANTS ? digestStore(path) : digestFiles(new File(path));
+	  } catch (IOException e) {
+		System.err.println("[ERROR] Can't read the bytecode of " + path + ": " + e.getMessage());
+		continue;
+	  }
+
+	  String first = mutants.get(bytecode);
+	  if (bytecode.equals(original)) {
+		equivalentLines.add(getOperator(name) + ":" + path + ":TCE, same bytecode as the original");
+		reduced.add(name);
+		equivalent++;
+	  } else if (first != null) {
+		duplicatedLines.add(getOperator(name) + ":" + getOperator(new File(first).getName()) + ":" + path
+			+ ":TCE, same bytecode as " + first);
+		reduced.add(name);
+		duplicated++;
+	  } else {
+		mutants.put(bytecode, path);
+	  }
+	}
+
+	try {
+	  if (!equivalentLines.isEmpty())
+		LogReduction.logAppend(MutationSystem.MUTANT_HOME, "equivalent", equivalentLines);
+	  if (!duplicatedLines.isEmpty())
+		LogReduction.logAppend(MutationSystem.MUTANT_HOME, "duplicated", duplicatedLines);
+	} catch (IOException e) {
+	  e.printStackTrace();
+	}
+	writeReduced(mutantPath, reduced);
+  }
+
+  public String toString() {
+	return "trivial compiler equivalence: " + equivalent + " equivalent, " + duplicated + " duplicated mutants";
+  }
+
+  /**
+   * Return <i>mutantDirs</i> without the mutants listed in the REDUCED_FILE
+   * of <i>mutantPath</i>
+   */
+  public static String[] exclude(String mutantPath, String[] mutantDirs) {
+	if (mutantDirs == null)
+	  return null;
+	Set<String> reduced = readReduced(mutantPath);
+	if (reduced.isEmpty())
+	  return mutantDirs;
+	List<String> kept = new ArrayList<String>();
+	for (String name : mutantDirs) {
+	  if (!reduced.contains(name))
+		kept.add(name);
+	}
+	return kept.toArray(new String[kept.size()]);
+  }
+
+  /** Forget the mutants reduced by a previous generation in <i>mutantPath</i> */
+  public static void clear(String mutantPath) {
+	new File(mutantPath, REDUCED_FILE).delete();
+  }
+
+  static Set<String> readReduced(String mutantPath) {
+	Set<String> reduced = new HashSet<String>();
+	File file = new File(mutantPath, REDUCED_FILE);
+	if (!file.isFile())
+	  return reduced;
+	BufferedReader reader = null;
+	try {
+	  reader = new BufferedReader(new FileReader(file));
+	  String line;
+	  while ((line = reader.readLine()) != null) {
+		if (line.length() > 0)
+		  reduced.add(line);
+	  }
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't read " + file);
+	} finally {
+	  try {
+		if (reader != null)
+		  reader.close();
+	  } catch (IOException e) {
+		// ignore
+	  }
+	}
+	return reduced;
+  }
+
+  static void writeReduced(String mutantPath, List<String> reduced) {
+	File file = new File(mutantPath, REDUCED_FILE);
+	if (reduced.isEmpty()) {
+	  file.delete();
+	  return;
+	}
+	file.getParentFile().mkdirs();
+	PrintWriter out = null;
+	try {
+	  out = new PrintWriter(new FileWriter(file));
+	  for (String name : reduced) {
+		out.println(name);
+	  }
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write " + file);
+	} finally {
+	  if (out != null)
+		out.close();
+	}
+  }
+
+  /** Digests of the class files of <i>dir</i> (inner classes included), by class name */
+  static String digestFiles(File dir) throws IOException {
+	String[] names = dir.list();
+	Map<String, String> digests = new TreeMap<String, String>();
+	for (String name : names == null ? new String[0] : names) {
+	  if (!name.endsWith(".class"))
+		continue;
+	  byte[] data = Files.readAllBytes(new File(dir, name).toPath());
+	  digests.put(name.substring(0, name.length() - ".class".length()), ClassFileDigest.digest(data));
+	}
+	if (digests.isEmpty())
+	  throw new IOException("no class file in " + dir);
+	return digests.toString();
+  }
+
+  /** Digests of the classes of the mutant <i>mutantDir</i> of MutantStore, by class name */
+  static String digestStore(String mutantDir) throws IOException {
+	Set<String> names = MutantStore.getClassNames(mutantDir);
+	if (names.isEmpty())
+	  throw new IOException("no compiled class");
+	Map<String, String> digests = new TreeMap<String, String>();
+	for (String name : names) {
+	  String simpleName = name.substring(name.lastIndexOf('.') + 1);
+	  digests.put(simpleName, ClassFileDigest.digest(MutantStore.getClassBytes(mutantDir, name)));
+	}
+	return digests.toString();
+  }
+
+  static String getOperator(String mutantDir) {
+	int index = mutantDir.lastIndexOf('_');
+	return index < 0 ? mutantDir : mutantDir.substring(0, index);
+  }
+
+  static int getNumber(String mutantDir) {
+	try {
+	  return Integer.parseInt(mutantDir.substring(mutantDir.lastIndexOf('_') + 1));
+	} catch (NumberFormatException e) {
+	  return 0;
+	}
+  }
+}
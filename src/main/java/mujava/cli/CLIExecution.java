@@ -1,6 +1,7 @@
 package mujava.cli;
 
 import mujava.AllMutantsGenerator;
+import mujava.MutationContext;
 import mujava.MutationSystem;
 import mujava.OpenJavaException;
 import mujava.op.util.ExpressionAnalyzer;
@@ -105,36 +106,12 @@ public class CLIExecution {
 	  temp = file_name.substring(0, file_name.length() - ".java".length());
 	  temp = temp.replace('/', '.');
 	  temp = temp.replace('\\', '.');
-	  int separator_index = temp.lastIndexOf(".");
+	  String class_name = temp.substring(temp.lastIndexOf(".") + 1);
 
-	  if (separator_index >= 0) {
-		MutationSystem.CLASS_NAME = temp.substring(separator_index + 1, temp.length());
-	  } else {
-		MutationSystem.CLASS_NAME = temp;
-	  }
-
-	  //Modified. Changed temp to CLASS_NAME. temp behaves strangely on Windows. Ill figure out the cause later.
-	  String mutant_dir_path = MutationSystem.MUTANT_HOME + "/" + MutationSystem.CLASS_NAME;
-	  File mutant_path = new File(mutant_dir_path);
-	  mutant_path.mkdir();
-
-	  String class_mutant_dir_path = mutant_dir_path + "/" + MutationSystem.CM_DIR_NAME;
-	  File class_mutant_path = new File(class_mutant_dir_path);
-	  class_mutant_path.mkdir();
-
-	  String traditional_mutant_dir_path = mutant_dir_path + "/" + MutationSystem.TM_DIR_NAME;
-	  File traditional_mutant_path = new File(traditional_mutant_dir_path);
-	  traditional_mutant_path.mkdir();
-
-	  String original_dir_path = mutant_dir_path + "/" + MutationSystem.ORIGINAL_DIR_NAME;
-	  File original_path = new File(original_dir_path);
-	  original_path.mkdir();
-
-	  MutationSystem.CLASS_MUTANT_PATH = class_mutant_dir_path;
-	  MutationSystem.TRADITIONAL_MUTANT_PATH = traditional_mutant_dir_path;
-	  MutationSystem.ORIGINAL_PATH = original_dir_path;
-	  //Modified. Changed temp to file_name. temp behaves strangely on Windows. Ill figure out the cause later.
-	  MutationSystem.DIR_NAME = file_name;
+	  //Modified. Changed temp to CLASS_NAME and DIR_NAME to file_name. temp behaves strangely on Windows. Ill figure out the cause later.
+	  MutationContext context = new MutationContext(class_name, file_name, MutationSystem.MUTANT_HOME + "/" + class_name);
+	  context.makeDirectories();
+	  context.apply();
 	} catch (Exception e) {
 	  System.err.println(e);
 	}
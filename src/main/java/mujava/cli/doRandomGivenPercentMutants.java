@@ -17,16 +17,28 @@
 
 package mujava.cli;
 
+import mujava.test.KillMatrix;
+import mujava.test.TestSetCover;
+
 import java.io.*;
 import java.security.SecureRandom;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * <p>
- * Description: The Class doRandomGivenPercentMutants. 
+ * Description: The Class doRandomGivenPercentMutants.
  * Overview: This class is used to get random mutants, given a percentage
  * </p>
+ * <p>
+ * For each random trial, an adequate test set of the random mutants is
+ * computed (see {@link TestSetCover}), and its mutation score against all
+ * the mutants. The trials run in parallel.
+ * </p>
  *
  * @author Lin Deng
  * @version 1.0  $Date: 06/10/2014 $
@@ -34,15 +46,20 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 public class doRandomGivenPercentMutants {
 
+  /** strategies of the adequate test sets */
+  static final List<String> STRATEGIES = Arrays.asList("random", "greedy", "rgreedy", "exact");
+
   /**
    * The main method.
    *
    * @param args
-   *            the arguments
-   * @throws IOException
-   *             Signals that an I/O exception has occurred.
+   *            the arguments: result file (result_list csv file or its kill
+   *            matrix), percentage, number of random trials, result path and,
+   *            optionally, the strategy of the adequate test sets (random,
+   *            greedy, rgreedy or exact) and the number of threads
+   * @throws Exception
    */
-  public static void main(String[] args) throws IOException {
+  public static void main(String[] args) throws Exception {
 	// need result file name
 //		String[] argv = { "/Users/dmark/COVDLsExpCopy/Triangle/result_list_2014_7_22_11_13_35.csv", "100", "10",
 //				"/Users/dmark/COVDLsExpCopy/Triangle/result/" };
@@ -56,26 +73,23 @@ public class doRandomGivenPercentMutants {
 
 	String resultPath = args[3];
 
-	ArrayList<String> targets = new ArrayList<>();
-	//targets.add("VDL");
-
-	// read in file into data structure
-	HashMap<String, ArrayList<String>> result = readResultsFromFile(path);
-	// get all tests names
-	ArrayList<String> testNames = result.get("Mutant");
-
-
-	// randomly get N adequate test set
-	ArrayList<ArrayList<String>> randomedTestSet = new ArrayList<>();
-	for (int i = 0; i < numOfRandom; i++) {
-	  // need a fltered map based on target
-	  HashMap<String, ArrayList<String>> filtered_data = getRandomMutants(result, percent);
+	String strategy = args.length > 4 ? args[4] : "random";
+	if (!STRATEGIES.contains(strategy)) {
+	  System.out.println("unknown strategy " + strategy + ", use one of " + STRATEGIES);
+	  return;
+	}
+	int threads = args.length > 5 ? Integer.valueOf(args[5]) : Runtime.getRuntime().availableProcessors();
 
-	  randomedTestSet.add(getAdequateTestSets4(filtered_data, testNames));
+	// read in file, either a kill matrix or its csv file
+	File f = new File(path);
+	if (!f.exists()) {
+	  System.out.println("Can't find file at: " + path);
+	  return;
 	}
+	KillMatrix matrix = KillMatrix.read(f);
 
-	// calculate each one with mutation score
-	ArrayList<Pair> mutationScores = getMutationScores(randomedTestSet, path);
+	// randomly get N adequate test set, with their mutation scores
+	ArrayList<Pair> mutationScores = getMutationScores(matrix, percent, numOfRandom, strategy, threads);
 	double totalMS = 0.0;
 	for (Pair ms : mutationScores) {
 	  System.out.println(ms.testSet + ": " + ms.mutationScore);
@@ -113,555 +127,105 @@ public class doRandomGivenPercentMutants {
   }
 
   /**
-   * Gets the filtered data based on random percentage.
+   * Gets the mutation scores of random trials: for each trial, an adequate
+   * test set of random mutants and its mutation score against all mutants
    *
-   * @param result
-   *            the result
+   * @param matrix
+   *            the results of all mutants
    * @param percent
    *            the random percentage
-   * @return the filtered data based on percentage
-   */
-  private static HashMap<String, ArrayList<String>> getRandomMutants(
-	  HashMap<String, ArrayList<String>> result, double percent) {
-	HashMap<String, ArrayList<String>> filtered_data = new HashMap<String, ArrayList<String>>();
-
-	// calculate how many mutants needed
-	int numOfTotalMutants = result.size() - 1;
-	int numOfRandomMutants = (int) (numOfTotalMutants * percent + 0.5);
-	// put all keys into a list
-	List<String> keysList = new ArrayList<String>(result.keySet());
-
-	while (filtered_data.size() < numOfRandomMutants) // randomly fill in the data
-	{
-	  SecureRandom secureRandom = new SecureRandom();
-	  String randomKey = keysList.get(secureRandom.nextInt(keysList.size()));
-	  if (!randomKey.equals("Mutant") && !filtered_data.keySet().contains(randomKey)) {// if not the top title line, not already added into result, then add it
-		filtered_data.put(randomKey, result.get(randomKey));
-	  }
-	}
-
-
-	return filtered_data;
-  }
-
-  /**
-   * Read results from file. Note: This result include the fist title line.
-   * e.g. {VDL_3=[, 1, 1, 1, 2], Mutant=[test4, test1, test2, test3, Total,
-   * Equiv?], VDL_4=[1, 1, 1, , 3, y], VDL_5=[1, , 1, , 2]}
-   *
-   * @param path
-   *            the path
-   * @return the hash map
-   * @throws IOException
-   *             Signals that an I/O exception has occurred.
-   */
-  private static HashMap<String, ArrayList<String>> readResultsFromFile(String path) throws IOException {
-	// read the file
-	File f = new File(path);
-	if (!f.exists()) {
-	  System.out.println("Can't find file at: " + path);
-	  return null;
-	}
-	// read in file into data structure
-	HashMap<String, ArrayList<String>> result = new HashMap<>();
-
-	String s = null;
-	StringBuffer sb = new StringBuffer();
-	BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(f)));
-	while ((s = br.readLine()) != null) {
-	  // split line
-	  List<String> tests = Arrays.asList(s.split(",\\s*"));
-	  // System.out.println(tests.get(1));
-	  ArrayList<String> list = new ArrayList<>();
-	  for (int i = 1; i < tests.size(); i++) {
-		list.add(tests.get(i));
-	  }
-	  result.put(tests.get(0), list);
-	}
-
-	return result;
-  }
-
-  /**
-   * Gets the mutation scores.
-   *
-   * @param randomedTestSet
-   *            the randomed test set
-   * @param path
+   * @param numOfRandom
+   *            the number of trials
+   * @param strategy
+   *            the strategy of the adequate test sets
+   * @param threads
+   *            the number of trials run at the same time
    * @return the mutation scores
-   * @throws IOException
    */
-  private static ArrayList<Pair> getMutationScores(ArrayList<ArrayList<String>> randomedTestSet, String path)
-	  throws IOException {
-
-	// read in file into data structure, this result includes title line
-	HashMap<String, ArrayList<String>> result = readResultsFromFile(path);
-
-	// get all tests names
-	ArrayList<String> testNames = result.get("Mutant");
-
-	// build result with names, i.e. VDL_3=[test1, test2, test3],
-	// VDL_4=[test4, test1, test2], VDL_5=[test4, test2]
-	HashMap<String, ArrayList<String>> resultWithTestNames = getResultsWithNames(result);
-
-	// calculate
-	// get total number
-	int totalNumOfMutants = resultWithTestNames.size();
+  private static ArrayList<Pair> getMutationScores(final KillMatrix matrix, final double percent, int numOfRandom,
+												   final String strategy, int threads) throws Exception {
+	// all rows of the matrix are read here, the trials only share reads
+	final TestSetCover all = new TestSetCover(matrix, matrix.getMutants());
 
 	// get equiv number
 	int numOfEq = 0;
-	for (Object key : result.keySet()) {
-	  if (result.get(key).contains("y") || result.get(key).contains("Y")) // has
-	  // an
-	  // equiv
-	  {
+	for (String mutant : matrix.getMutants()) {
+	  if (matrix.isEquivalent(mutant))
 		numOfEq++;
-	  }
 	}
+	final int numOfNonEq = matrix.getMutants().size() - numOfEq;
 
 	ArrayList<Pair> mutationScores = new ArrayList<>();
-	// get killed number
-	// for each test test set, calculate how many killed mutants
-	for (ArrayList<String> tests : randomedTestSet) {
-	  int numOfKilledMutants = 0;
-	  for (Object key : resultWithTestNames.keySet()) // for each mutant
-	  {
-		for (String test : tests) // for each test in current test set
-		{
-		  if (resultWithTestNames.get(key).contains(test)) // current
-		  // test
-		  // kills
-		  // current
-		  // mutant
-		  {
-			numOfKilledMutants++;
-			break; // directly go to the next mutant
-		  }
-		}
-	  }
-
-	  // save mutation score
-	  double ms = (double) numOfKilledMutants / (double) (totalNumOfMutants - numOfEq);
-	  mutationScores.add(new Pair(tests, ms));
-	}
-
-	return mutationScores;
-  }
-
-  private static HashMap<String, ArrayList<String>> getResultsWithNames(HashMap<String, ArrayList<String>> result) {
-	// get all tests names
-	ArrayList<String> testNames = result.get("Mutant");
-
-	// build result with names
-	HashMap<String, ArrayList<String>> resultWithTestNames = new HashMap<>();
-	HashMap<String, Integer> resultStat = new HashMap<>();
-
-	for (Object key : result.keySet()) {
-	  ArrayList<String> temp = result.get(key);
-	  ArrayList<String> testStrings = new ArrayList<>();
-	  for (int i = 0; i < temp.size(); i++) {
-		if (temp.get(i).equals("1") && !testNames.get(i).equals("Total")) // current test kills the current
-		// mutant
-		{
-		  testStrings.add(testNames.get(i));
-		  if (resultStat.containsKey(testNames.get(i)))
-			resultStat.put(testNames.get(i), resultStat.get(testNames.get(i)) + 1);
-		  else {
-			resultStat.put(testNames.get(i), 1);
-		  }
-		}
-	  }
-	  if (!key.toString().equals("Mutant"))
-		resultWithTestNames.put(key.toString(), testStrings);
-	}
-	return resultWithTestNames;
-  }
-
-  /**
-   * Gets the randomed test set.
-   *
-   * @param adequateTestSet
-   *            the adequate test set
-   * @param numOfRandom
-   *            the num of random
-   * @return the randomed test set
-   */
-  private static ArrayList<ArrayList<String>> getRandomedTestSet(CopyOnWriteArrayList<ArrayList<String>> adequateTestSet,
-																 int numOfRandom) {
-	ArrayList<ArrayList<String>> result = new ArrayList<>();
-
-	for (int i = 0; i < numOfRandom; i++) // random N times
-	{
-	  SecureRandom random = new SecureRandom();
-	  ArrayList<String> randomTest = adequateTestSet.get(random.nextInt(adequateTestSet.size()));
-	  result.add(randomTest);
-	}
-	return result;
-  }
-
-  /**
-   * Gets the adequate test sets.
-   *
-   * @param filtered_data
-   *            the filtered_data
-   * @param testNames
-   *            the test names
-   * @return the adequate test sets
-   */
-
-  public static CopyOnWriteArrayList<ArrayList<String>> getAdequateTestSets(HashMap<String, ArrayList<String>> filtered_data,
-																			ArrayList<String> testNames) {
-	CopyOnWriteArrayList<ArrayList<String>> testSets = new CopyOnWriteArrayList<ArrayList<String>>();
-	// ArrayList<String> tt = new ArrayList<>();
-	// tt.add("a");
-	// testSets.add(tt);
-
-	HashMap<String, ArrayList<String>> resultWithTestNames = new HashMap<>();
-	HashMap<String, Integer> resultStat = new HashMap<>();
-
-	for (Object key : filtered_data.keySet()) {
-	  ArrayList<String> temp = filtered_data.get(key);
-	  ArrayList<String> testStrings = new ArrayList<>();
-	  for (int i = 0; i < temp.size(); i++) {
-		if (temp.get(i).equals("1") && !testNames.get(i).equals("Total")) // current test kills the current
-		// mutant
-		{
-		  testStrings.add(testNames.get(i));
-		  if (resultStat.containsKey(testNames.get(i)))
-			resultStat.put(testNames.get(i), resultStat.get(testNames.get(i)) + 1);
-		  else {
-			resultStat.put(testNames.get(i), 1);
+	SecureRandom secureRandom = new SecureRandom();
+	ExecutorService workers = Executors.newFixedThreadPool(threads);
+	try {
+	  List<Future<Pair>> pending = new ArrayList<Future<Pair>>();
+	  for (int i = 0; i < numOfRandom; i++) {
+		final long seed = secureRandom.nextLong();
+		pending.add(workers.submit(new Callable<Pair>() {
+		  public Pair call() throws Exception {
+			Random random = new Random(seed);
+			List<String> mutants = getRandomMutants(matrix.getMutants(), percent, random);
+			ArrayList<String> tests = getAdequateTestSet(new TestSetCover(matrix, mutants), strategy, random);
+
+			// save mutation score
+			double ms = (double) all.countKilled(tests) / (double) numOfNonEq;
+			return new Pair(tests, ms);
 		  }
-		}
-	  }
-	  resultWithTestNames.put(key.toString(), testStrings);
-	}
-
-	// check if there is an equivalent
-	int numOfEq = 0;
-	int numOfTotalMutants = filtered_data.size();
-
-	// filtered_data has y, need to count y for equiv
-	for (Object key : filtered_data.keySet()) {
-	  if (filtered_data.get(key).contains("y") || filtered_data.get(key).contains("Y")) // has
-	  // an
-	  // equiv
-	  {
-		numOfEq++;
+		}));
 	  }
-	}
-	// for (Object key : resultWithTestNames.keySet()) {
-	// if(resultWithTestNames.get(key).size()==0)
-	// numOfEq ++;
-	// }
-
-	int non_equiv = numOfTotalMutants - numOfEq;
-	// for (Object key : resultStat.keySet()) {
-	// if (resultStat.get(key)==non_equiv) // find a single test can kill
-	// all
-	// {
-	// ArrayList<String> t = new ArrayList<>();
-	// t.add(key.toString());
-	// testSets.add(t);
-	// }
-	// }
-	// testSets= new ArrayList<ArrayList<String>>();
-	for (Object key : resultWithTestNames.keySet()) {
-	  ArrayList<String> line = resultWithTestNames.get(key);
-	  if (line.size() == 0) // equiv mutant, go next one
-		continue;
-	  if (testSets.size() == 0) { // first time, initiate new sets
-
-		for (String str : line) {
-		  ArrayList<String> t = new ArrayList<>();
-		  t.add(str);
-		  testSets.add(t);
-		  System.out.println("add test " + t);
-		}
 
-	  } else { // not the first time, need to extend everyone, and add
-		// back
-		// load last line's tests
-		ArrayList<ArrayList<String>> temp = new ArrayList<>();
-		for (ArrayList<String> tests : testSets)
-		  temp.add(tests);
-		// empty the result set
-		// ArrayList<ArrayList<String>> tempTestSets = new
-		// ArrayList<>();
-		testSets = new CopyOnWriteArrayList<>();
-		// add and save back
-		for (String str : line) {
-		  for (ArrayList<String> tests : temp) {
-			ArrayList<String> t = new ArrayList<>();
-			t.addAll(tests);
-			t.add(str);
-			testSets.add(t);
-			System.out.println("add test " + t);
-		  }
+	  for (Future<Pair> trial : pending) {
+		try {
+		  mutationScores.add(trial.get());
+		} catch (ExecutionException e) {
+		  if (e.getCause() instanceof Exception)
+			throw (Exception) e.getCause();
+		  throw e;
 		}
-
-		// testSets = new ArrayList<>();
-		// testSets.addAll(tempTestSets);
 	  }
-
+	} finally {
+	  workers.shutdownNow();
 	}
 
-	testSets = removeDuplicate(testSets);
-	testSets = getMinimalTests(testSets);
-	// System.out.println(non_equiv);
-	return testSets;
-  }
-
-  /**
-   * Gets the minimal tests.
-   *
-   * @param testSets
-   *            the test sets
-   * @return the minimal tests
-   */
-  private static CopyOnWriteArrayList<ArrayList<String>> getMinimalTests(CopyOnWriteArrayList<ArrayList<String>> testSets) {
-	CopyOnWriteArrayList<ArrayList<String>> result = new CopyOnWriteArrayList<>();
-	List<ArrayList<String>> testSets2 = new CopyOnWriteArrayList<ArrayList<String>>();
-	List<ArrayList<String>> testSets3 = new CopyOnWriteArrayList<ArrayList<String>>();
-	testSets2.addAll(testSets);
-	testSets3.addAll(testSets);
-	for (ArrayList<String> test : testSets3) {
-	  for (ArrayList<String> test2 : testSets2) {
-		if (test.containsAll(test2) && !test2.containsAll(test)) {
-		  testSets.remove(test);
-		  testSets2.remove(test);
-		  testSets3.remove(test);
-		  System.out.println("remove test " + test);
-		  break;
-		}
-	  }
-	}
-	result.addAll(testSets);
-	return result;
+	return mutationScores;
   }
 
   /**
-   * Removes the duplicate.
+   * Gets the random mutants based on random percentage.
    *
-   * @param testSets
-   *            the test sets
-   * @return the array list
+   * @param mutants
+   *            all mutants
+   * @param percent
+   *            the random percentage
+   * @return the random mutants
    */
-  private static CopyOnWriteArrayList<ArrayList<String>> removeDuplicate(CopyOnWriteArrayList<ArrayList<String>> testSets) {
-	ArrayList<ArrayList<String>> testSetNoDupInEachTest = new ArrayList<>();
-	CopyOnWriteArrayList<ArrayList<String>> result = new CopyOnWriteArrayList<>();
-	// remove dup in each test
-	for (ArrayList<String> test : testSets) {
-	  HashSet<String> hs = new HashSet<>();
-	  hs.addAll(test);
-	  test.clear();
-	  test.addAll(hs);
-	  testSetNoDupInEachTest.add(test);
-	}
-	// remove dup tests
-	for (ArrayList<String> test : testSetNoDupInEachTest) {
-	  if (!result.contains(test))
-		result.add(test);
-	}
-
-	return result;
-  }
-
-
-  public static CopyOnWriteArrayList<ArrayList<String>> getAdequateTestSets2(HashMap<String, ArrayList<String>> filtered_data,
-																			 ArrayList<String> testNames) {
-	CopyOnWriteArrayList<ArrayList<String>> testSets = new CopyOnWriteArrayList<ArrayList<String>>();
-	CopyOnWriteArrayList<String> mutantStrings = new CopyOnWriteArrayList<>();
-	// ArrayList<String> tt = new ArrayList<>();
-	// tt.add("a");
-	// testSets.add(tt);
-
-	HashMap<String, ArrayList<String>> resultWithTestNames = new HashMap<>();
-	HashMap<String, Integer> resultStat = new HashMap<>();
-
-	for (Object key : filtered_data.keySet()) {
-	  mutantStrings.add(key.toString());
-	  ArrayList<String> temp = filtered_data.get(key);
-	  ArrayList<String> testStrings = new ArrayList<>();
-	  for (int i = 0; i < temp.size(); i++) {
-		if (temp.get(i).equals("1") && !testNames.get(i).equals("Total")) // current test kills the current
-		// mutant
-		{
-		  testStrings.add(testNames.get(i));
-		  if (resultStat.containsKey(testNames.get(i)))
-			resultStat.put(testNames.get(i), resultStat.get(testNames.get(i)) + 1);
-		  else {
-			resultStat.put(testNames.get(i), 1);
-		  }
-		}
-	  }
-	  resultWithTestNames.put(key.toString(), testStrings);
-	}
-
-	// check if there is an equivalent
-	int numOfEq = 0;
-	int numOfTotalMutants = filtered_data.size();
-
-	ArrayList<String> nonEquivNonKilled = new ArrayList<>();
-
-	// filtered_data has y, need to count y for equiv
-	for (Object key : filtered_data.keySet()) {
-	  if (filtered_data.get(key).contains("y") || filtered_data.get(key).contains("Y")) // has
-	  // an
-	  // equiv
-	  {
-		numOfEq++;
-	  }
-	  if (filtered_data.get(key).contains("n") || filtered_data.get(key).contains("N") || filtered_data.get(key).contains("?")) // there is a mutant that can't be killed, but not equiv
-	  {
-		nonEquivNonKilled.add(key.toString());
-	  }
-	}
-	// remove those can't be killed
-	mutantStrings.removeAll(nonEquivNonKilled);
-
-	int non_equiv = numOfTotalMutants - numOfEq;
-
-	testNames.remove("Total");
-	testNames.remove("Equiv?");
-
-	// convert testNames into an array
-	String[] stockArr = testNames.toArray(new String[testNames.size()]);
-
-	// get all possible test combinations
-	int all = stockArr.length;
-	int nbit = 1 << all;
-	for (int i = 0; i < nbit; i++) {
-	  ArrayList<String> test = new ArrayList<>();
-	  for (int j = 0; j < all; j++) {
-		if ((i & (1 << j)) != 0) {
-		  test.add(stockArr[j]);
-		}
-	  }
-	  if (test.size() != 0) {
-		testSets.add(test);
-		System.out.println("add test: " + test);
-	  }
-	}
-
-	// remove non-adequate tests
-	for (ArrayList<String> tests : testSets) // for each test set
-	{
-	  ArrayList<String> liveMutants = new ArrayList<>(mutantStrings);
-	  for (String test : tests) // for each single test
-	  {
-		for (String mutant : mutantStrings) // for each single mutant
-		{
-		  if (resultWithTestNames.get(mutant).contains(test)) // if current test kills current mutant
-		  {
-			liveMutants.remove(mutant); // the current is killed, remove from live
-		  }
-		}
-	  }
-	  if (liveMutants.size() > numOfEq)  // have more live mutants left than equiv mutants
-	  {
-		testSets.remove(tests); // not adequate tests, remove it from test Sets
-		System.out.println("remove test: " + tests);
-	  }
-
-	}
+  private static List<String> getRandomMutants(List<String> mutants, double percent, Random random) {
+	// calculate how many mutants needed
+	int numOfRandomMutants = (int) (mutants.size() * percent + 0.5);
 
-	testSets = removeDuplicate(testSets);
-	testSets = getMinimalTests(testSets);
-	// System.out.println(non_equiv);
-	return testSets;
+	List<String> shuffled = new ArrayList<String>(mutants);
+	Collections.shuffle(shuffled, random);
+	return shuffled.subList(0, Math.min(numOfRandomMutants, shuffled.size()));
   }
 
   /**
-   * Gets the adequate test sets.
+   * Gets an adequate test set of the mutants of <i>cover</i>.
    *
-   * @param filtered_data the filtered_data
-   * @param testNamesCopy the test names copy
-   * @return the adequate test sets4
+   * @param cover the mutants to kill
+   * @param strategy random: a random killing test for each live mutant;
+   *                 greedy: the test killing the most live mutants first;
+   *                 rgreedy: greedy, ties broken at random;
+   *                 exact: a smallest test set (bounded search)
+   * @return the adequate test set
    */
-  public static ArrayList<String> getAdequateTestSets4(HashMap<String, ArrayList<String>> filtered_data,
-													   ArrayList<String> testNamesCopy) {
-
-	CopyOnWriteArrayList<ArrayList<String>> testSets = new CopyOnWriteArrayList<ArrayList<String>>();
-	CopyOnWriteArrayList<String> mutantStrings = new CopyOnWriteArrayList<>();
-	HashMap<String, ArrayList<String>> resultWithTestNames = new HashMap<>();
-	HashMap<String, Integer> resultStat = new HashMap<>();
-
-	ArrayList<String> testNames = new ArrayList<>(testNamesCopy);
-
-	// get all mutants name in filtered data
-	for (Object key : filtered_data.keySet()) {
-	  mutantStrings.add(key.toString());
-	  ArrayList<String> temp = filtered_data.get(key);
-	  ArrayList<String> testStrings = new ArrayList<>();
-	  for (int i = 0; i < temp.size(); i++) {
-		if (temp.get(i).equals("1") && !testNames.get(i).equals("Total")) // current test kills the current
-		// mutant
-		{
-		  testStrings.add(testNames.get(i));
-
-		  if (resultStat.containsKey(testNames.get(i)))
-			resultStat.put(testNames.get(i), resultStat.get(testNames.get(i)) + 1);
-		  else {
-			resultStat.put(testNames.get(i), 1);
-		  }
-		}
-	  }
-	  resultWithTestNames.put(key.toString(), testStrings);
-	}
-
-	// check if there is an equivalent
-	int numOfEq = 0;
-	int numOfTotalMutants = filtered_data.size();
-
-	ArrayList<String> nonEquivNonKilled = new ArrayList<>();
-
-	// remove those weren't be killed
-	for (Object key : filtered_data.keySet()) {
-	  if (filtered_data.get(key).contains("y") ||
-		  filtered_data.get(key).contains("Y") ||
-		  filtered_data.get(key).contains("n") ||
-		  filtered_data.get(key).contains("N") ||
-		  filtered_data.get(key).contains("?")
-	  ) {
-		mutantStrings.remove(key.toString());
-	  }
-	}
-
-
-	testNames.remove("Total");
-	testNames.remove("Equiv?");
-
-	ArrayList<String> result = new ArrayList<>();
-	int[] mutants = new int[mutantStrings.size()];
-	// for each mutant, randomly find a test that kills it
-	for (int i = 0; i < mutantStrings.size(); i++) {
-	  if (mutants[i] == 1)
-		continue;
-	  // get all tests that kill it
-	  ArrayList<String> testsKillCurrentMutant = resultWithTestNames.get(mutantStrings.get(i));
-
-	  // randomly choose one
-	  SecureRandom random = new SecureRandom();
-	  String randomTest = testsKillCurrentMutant.get(random.nextInt(testsKillCurrentMutant.size()));
-	  result.add(randomTest);
-
-	  // remove this mutant by marking the array to 1
-	  mutants[i] = 1;
-
-	  // remove other mutants that killed by the same test
-	  for (int j = 0; j < mutantStrings.size(); j++) {
-		if (mutants[j] == 1)
-		  continue;
-		if (resultWithTestNames.get(mutantStrings.get(j)).contains(randomTest))
-		// the test selected killed this m
-		{
-		  mutants[j] = 1;
-		}
-	  }
-
-	}
-//	System.out.println(result);
-	return result;
+  public static ArrayList<String> getAdequateTestSet(TestSetCover cover, String strategy, Random random) {
+	if (strategy.equals("greedy"))
+	  return new ArrayList<String>(cover.greedy());
+	if (strategy.equals("rgreedy"))
+	  return new ArrayList<String>(cover.randomizedGreedy(random));
+	if (strategy.equals("exact"))
+	  return new ArrayList<String>(cover.exact(TestSetCover.MAX_NODES));
+	return new ArrayList<String>(cover.randomAdequate(random));
   }
 }
@@ -33,17 +33,32 @@
 package mujava.cli;
 
 import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
 import mujava.ClassMutantsGeneratorCLI;
+import mujava.MutantStore;
+import mujava.MutationContext;
 import mujava.MutationSystem;
 import mujava.OpenJavaException;
 import mujava.TraditionalMutantsGeneratorCLI;
+import mujava.TrivialCompilerEquivalence;
+import mujava.util.Metrics;
+import mujava.util.MutantDirFilter;
 import org.apache.commons.io.FileUtils;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class genmutes {
 	// static String sessionName = new String();
@@ -71,6 +86,53 @@ public class genmutes {
 			Util.debug = true;
 		}
 
+		// runmutes in another JVM loads the mutants from the session, so the
+		// in-memory mutants that are not run here with -run are exported
+		if (jct.isInMemory()) {
+			MutationSystem.IN_MEMORY_MUTANTS = true;
+			MutationSystem.EXPORT_MUTANTS = jct.isExport() || jct.getRun() == null;
+		}
+
+		if (jct.isSinglePass()) {
+			MutationSystem.SINGLE_PASS_GENERATION = true;
+		}
+
+		if (jct.isIncremental()) {
+			MutationSystem.INCREMENTAL_GENERATION = true;
+		}
+
+		if (jct.isSplice()) {
+			MutationSystem.SPLICE_MUTANTS = true;
+		}
+
+		if (jct.isTce()) {
+			MutationSystem.TRIVIAL_COMPILER_EQUIVALENCE = true;
+		}
+
+		if (jct.isSchemata()) {
+			MutationSystem.MUTANT_SCHEMATA = true;
+		}
+
+		if (jct.isBytecode()) {
+			MutationSystem.BYTECODE_MUTANTS = true;
+		}
+
+		if (jct.isWeak()) {
+			MutationSystem.WEAK_MUTATION = true;
+		}
+
+		if (jct.isCoverage()) {
+			MutationSystem.TEST_COVERAGE = true;
+		}
+
+		if (jct.isMetrics()) {
+			Metrics.enable();
+		}
+
+		if (jct.getEvents() != null) {
+			Metrics.openEventStream(jct.getEvents());
+		}
+
 		// get all existing session name
 		File folder = new File(muJavaHomePath);
 		// check if the config file has defined the correct folder
@@ -131,6 +193,11 @@ public class genmutes {
 			}
 		}
 
+		// the source files of a batch, when the classes are mutated in parallel
+		if (jct.getBatch() != null) {
+			file_list = readBatch(jct.getBatch());
+		}
+
 		// get all mutation operators selected
 		HashMap<String, List<String>> ops = new HashMap<String, List<String>>(); // used
 		// for
@@ -369,13 +436,46 @@ public class genmutes {
 		// set system
 		setJMutationStructureAndSession(sessionName);
 		// MutationSystem.setJMutationStructureAndSession(sessionName);
-		MutationSystem.recordInheritanceRelation();
-		// generate mutants
-		generateMutants(file_list, ops);
+		if (jct.getThreads() > 1 && file_list.length > 1) {
+			generateMutantsInParallel(file_list, workerArguments(args, jct), jct.getThreads());
+			// the mutants of the other JVMs can only be run from the session
+			MutationSystem.IN_MEMORY_MUTANTS = false;
+			int total = 0;
+			int mutated = 0;
+			for (File file : file_list) {
+				if (file != null) {
+					total = total + countMutants(className(file));
+					mutated++;
+				}
+			}
+			printTotal(mutated, total);
+		} else {
+			MutationSystem.recordInheritanceRelation();
+			// generate mutants
+			int total = generateMutants(file_list, ops);
+			// each JVM of a parallel generation only mutates a batch, the total is printed by genmutes
+			if (jct.getBatch() == null)
+				printTotal(file_list.length, total);
+		}
+
+		if (jct.getRun() != null) {
+			runmutes.main(runArguments(jct.getRun(), sessionName));
+		}
 
 		// System.exit(0);
 	}
 
+	/** Arguments of runmutes for -run <i>run</i>: the given ones, then the session */
+	static String[] runArguments(String run, String sessionName) {
+		List<String> arguments = new ArrayList<String>();
+		for (String argument : run.trim().split("\\s+")) {
+			if (!argument.isEmpty())
+				arguments.add(argument);
+		}
+		arguments.add(sessionName);
+		return arguments.toArray(new String[arguments.size()]);
+	}
+
 	private static void setJMutationStructureAndSession(String sessionName) {
 
 		// MutationSystem.SYSTEM_HOME
@@ -389,8 +489,13 @@ public class genmutes {
 
 	}
 
-	public static void generateMutants(File[] file_list, HashMap<String, List<String>> traditional_ops) {
+	/**
+	 * Generate the mutants of the source files <i>file_list</i>
+	 * @return the number of mutants generated
+	 */
+	public static int generateMutants(File[] file_list, HashMap<String, List<String>> traditional_ops) {
 
+		int total = 0;
 		for (int i = 0; i < file_list.length; i++) {
 			// file_name = ABSTRACT_PATH - MutationSystem.SRC_PATH
 			// For example: org/apache/bcel/Class.java
@@ -453,6 +558,8 @@ public class genmutes {
 
 				// [2] Apply mutation testing
 				setMutationSystemPathFor(intermediatePath);
+				Metrics.reset();
+				long start = Metrics.start();
 
 				File original_file = new File(MutationSystem.SRC_PATH, intermediatePath);
 
@@ -469,37 +576,8 @@ public class genmutes {
 				tmGenEngineC.compileMutants();
 
 				// Lin add printing total mutants
-				int total_mutants = 0;
-				{
-					// get all file names of traditional mutants
-					File folder = new File(
-							MutationSystem.MUTANT_HOME + "/" + class_name + "/" + MutationSystem.TM_DIR_NAME);
-					File[] listOfMethods = folder.listFiles();
-
-					// ArrayList<String> fileNameList = new ArrayList<>();
-					for (File method : listOfMethods) {
-						// fileNameList.add(method.getName());
-						if (method.isDirectory()) {
-							File[] listOfMutants = method.listFiles();
-							total_mutants = total_mutants + listOfMutants.length;
-
-						}
-					}
-				}
-				{
-					// get all file names of class mutants
-					File folder = new File(
-							MutationSystem.MUTANT_HOME + "/" + class_name + "/" + MutationSystem.CM_DIR_NAME);
-					File[] listOfMethods = folder.listFiles();
-
-					// ArrayList<String> fileNameList = new ArrayList<>();
-					for (File method : listOfMethods) {
-						// fileNameList.add(method.getName());
-						if (method.isDirectory()) {
-							total_mutants++;
-						}
-					}
-				}
+				int total_mutants = countMutants(class_name);
+				total = total + total_mutants;
 
 //				File muTotalFile = new File(MutationSystem.MUTANT_PATH,"mutation_log");
 //				String strLine;
@@ -513,6 +591,10 @@ public class genmutes {
 				System.out.println("------------------------------------------------------------------");
 				System.out.println("Total mutants gnerated for " + file + ": " + Integer.toString(total_mutants));
 
+				Metrics.stop("class", start);
+				Metrics.count("mutants", total_mutants);
+				Metrics.write(MutationSystem.MUTANT_HOME + "/" + class_name, "generation_metrics");
+
 			} catch (OpenJavaException oje) {
 				System.out.println("[OJException] " + file + " " + oje.toString());
 				// System.out.println("Can't generate mutants for " +file_name +
@@ -539,7 +621,212 @@ public class genmutes {
 		// .println("------------------------------------------------------------------");
 		// System.out.println(" All files are handled"); // need to say how many
 		// mutants are generated
+		return total;
+	}
 
+	/** Return the number of mutants of the class <i>class_name</i>, once they are compiled */
+	static int countMutants(String class_name) {
+		int total_mutants = 0;
+		{
+			// get all file names of traditional mutants
+			File folder = new File(
+					MutationSystem.MUTANT_HOME + "/" + class_name + "/" + MutationSystem.TM_DIR_NAME);
+			File[] listOfMethods = folder.listFiles();
+			if (listOfMethods == null)
+				listOfMethods = new File[0];
+
+			for (File method : listOfMethods) {
+				if (method.isDirectory()) {
+					if (MutationSystem.IN_MEMORY_MUTANTS) {
+						total_mutants = total_mutants + TrivialCompilerEquivalence.exclude(method.getPath(),
+								MutantStore.listMutants(method.getPath())).length;
+						continue;
+					}
+					String[] listOfMutants = TrivialCompilerEquivalence.exclude(method.getPath(),
+							method.list(new MutantDirFilter()));
+					total_mutants = total_mutants + listOfMutants.length;
+
+				}
+			}
+		}
+		{
+			// get all file names of class mutants
+			File folder = new File(
+					MutationSystem.MUTANT_HOME + "/" + class_name + "/" + MutationSystem.CM_DIR_NAME);
+			File[] listOfMethods = folder.listFiles();
+			if (listOfMethods == null)
+				return total_mutants;
+			Set<String> kept = new HashSet<String>(Arrays.asList(TrivialCompilerEquivalence.exclude(
+					folder.getPath(), folder.list())));
+
+			for (File method : listOfMethods) {
+				if (method.isDirectory() && kept.contains(method.getName())) {
+					total_mutants++;
+				}
+			}
+		}
+		return total_mutants;
+	}
+
+	/** Return the name of the class of the source file <i>file</i> of the session (e.g. pkg.Calc) */
+	static String className(File file) {
+		String intermediatePath = file.getPath().replace(MutationSystem.SRC_PATH + "/", "");
+		String temp = intermediatePath.substring(0, intermediatePath.length() - ".java".length());
+		return temp.replace('\\', '.').replace('/', '.');
+	}
+
+	/** Print the number of mutants generated for <i>files</i> source files */
+	static void printTotal(int files, int total) {
+		System.out.println("==================================================================");
+		System.out.println("Total mutants generated for " + files + " files: " + total);
+	}
+
+	/**
+	 * Generate the mutants of the source files in <i>threads</i> JVMs. OpenJava
+	 * and MutationSystem keep the class being mutated in static fields, so each
+	 * JVM mutates a batch of files one after another; the files are spread by
+	 * size, largest first, to the batch with the fewest bytes so far. The output
+	 * of each JVM is printed as it comes, each line after the number of its JVM.
+	 * @param arguments arguments of genmutes for each JVM, but the batch
+	 */
+	static void generateMutantsInParallel(File[] file_list, List<String> arguments, int threads) throws Exception {
+		List<File> files = new ArrayList<File>();
+		for (File file : file_list) {
+			if (file != null)
+				files.add(file);
+		}
+		Collections.sort(files, new Comparator<File>() {
+			public int compare(File f1, File f2) {
+				return Long.compare(f2.length(), f1.length());
+			}
+		});
+
+		int count = Math.min(threads, files.size());
+		List<List<File>> batches = new ArrayList<List<File>>();
+		long[] sizes = new long[count];
+		for (int i = 0; i < count; i++) {
+			batches.add(new ArrayList<File>());
+		}
+		for (File file : files) {
+			int smallest = 0;
+			for (int i = 1; i < count; i++) {
+				if (sizes[i] < sizes[smallest])
+					smallest = i;
+			}
+			batches.get(smallest).add(file);
+			sizes[smallest] += file.length();
+		}
+
+		Util.DebugPrint("Mutating " + files.size() + " files in " + count + " JVMs");
+		List<Process> workers = new ArrayList<Process>();
+		List<File> batchFiles = new ArrayList<File>();
+		List<Thread> outputs = new ArrayList<Thread>();
+		for (List<File> batch : batches) {
+			File batchFile = File.createTempFile("mujava_batch", ".txt");
+			List<String> lines = new ArrayList<String>();
+			for (File file : batch) {
+				lines.add(file.getPath());
+			}
+			FileUtils.writeLines(batchFile, lines);
+
+			List<String> command = new ArrayList<String>();
+			command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(genmutes.class.getName());
+			command.add("-batch");
+			command.add(batchFile.getPath());
+			command.addAll(arguments);
+
+			ProcessBuilder builder = new ProcessBuilder(command);
+			builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+			Process worker = builder.start();
+			workers.add(worker);
+			batchFiles.add(batchFile);
+			outputs.add(printOutput(worker.getInputStream(), "[" + workers.size() + "] "));
+		}
+
+		for (int i = 0; i < workers.size(); i++) {
+			int status = workers.get(i).waitFor();
+			outputs.get(i).join();
+			if (status != 0)
+				Util.Error("ERROR: mutant generation ended with status " + status + " for " + batches.get(i));
+			batchFiles.get(i).delete();
+		}
+	}
+
+	/** Print the lines of <i>output</i> after <i>prefix</i> as they come, in a new thread */
+	static Thread printOutput(final InputStream output, final String prefix) {
+		Thread printer = new Thread() {
+			public void run() {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(output));
+				try {
+					String line;
+					while ((line = reader.readLine()) != null) {
+						System.out.println(prefix + line);
+					}
+				} catch (IOException e) {
+					Util.Error("ERROR: can't read the output of a mutant generation: " + e.getMessage());
+				} finally {
+					try {
+						reader.close();
+					} catch (IOException e) {
+						// ignore
+					}
+				}
+			}
+		};
+		printer.setDaemon(true);
+		printer.start();
+		return printer;
+	}
+
+	/**
+	 * Arguments of genmutes for a JVM of the parallel generation: the options
+	 * and the session, without -threads, -run and the selected classes. The
+	 * session and the classes are the arguments that are neither an option nor
+	 * the value of an option.
+	 */
+	static List<String> workerArguments(String[] args, genmutesCom jct) {
+		List<String> parameters = jct.getParameters();
+		Set<String> withValue = optionsWithValue();
+		List<String> arguments = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-threads") || args[i].equals("-run")) {
+				i++;
+			} else if (withValue.contains(args[i])) {
+				arguments.add(args[i]);
+				if (i + 1 < args.length)
+					arguments.add(args[++i]);
+			} else if (args[i].startsWith("-")) {
+				arguments.add(args[i]);
+			}
+		}
+		// the mutants are run by this JVM, from the session
+		if (jct.isInMemory() && jct.getRun() != null && !jct.isExport())
+			arguments.add("-export");
+		arguments.add(parameters.get(0));
+		return arguments;
+	}
+
+	/** Names of the options of genmutes followed by a value (e.g. -threads 4) */
+	static Set<String> optionsWithValue() {
+		Set<String> names = new HashSet<String>();
+		for (Field field : genmutesCom.class.getDeclaredFields()) {
+			Parameter parameter = field.getAnnotation(Parameter.class);
+			if (parameter != null && field.getType() != boolean.class)
+				names.addAll(Arrays.asList(parameter.names()));
+		}
+		return names;
+	}
+
+	static File[] readBatch(String batch) throws IOException {
+		List<String> lines = FileUtils.readLines(new File(batch));
+		File[] files = new File[lines.size()];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = new File(lines.get(i));
+		}
+		return files;
 	}
 
 	static void deleteDirectory() {
@@ -565,38 +852,9 @@ public class genmutes {
 
 	static void setMutationSystemPathFor(String file_name) {
 		try {
-			String temp;
-			temp = file_name.substring(0, file_name.length() - ".java".length());
-			temp = temp.replace('/', '.');
-			temp = temp.replace('\\', '.');
-			int separator_index = temp.lastIndexOf(".");
-
-			if (separator_index >= 0) {
-				MutationSystem.CLASS_NAME = temp.substring(separator_index + 1, temp.length());
-			} else {
-				MutationSystem.CLASS_NAME = temp;
-			}
-
-			String mutant_dir_path = MutationSystem.MUTANT_HOME + "/" + temp;
-			File mutant_path = new File(mutant_dir_path);
-			mutant_path.mkdir();
-
-			String class_mutant_dir_path = mutant_dir_path + "/" + MutationSystem.CM_DIR_NAME;
-			File class_mutant_path = new File(class_mutant_dir_path);
-			class_mutant_path.mkdir();
-
-			String traditional_mutant_dir_path = mutant_dir_path + "/" + MutationSystem.TM_DIR_NAME;
-			File traditional_mutant_path = new File(traditional_mutant_dir_path);
-			traditional_mutant_path.mkdir();
-
-			String original_dir_path = mutant_dir_path + "/" + MutationSystem.ORIGINAL_DIR_NAME;
-			File original_path = new File(original_dir_path);
-			original_path.mkdir();
-
-			MutationSystem.CLASS_MUTANT_PATH = class_mutant_dir_path;
-			MutationSystem.TRADITIONAL_MUTANT_PATH = traditional_mutant_dir_path;
-			MutationSystem.ORIGINAL_PATH = original_dir_path;
-			MutationSystem.DIR_NAME = temp;
+			MutationContext context = MutationContext.forSourceFile(file_name);
+			context.makeDirectories();
+			context.apply();
 		} catch (Exception e) {
 			System.err.println(e);
 		}
@@ -143,6 +143,52 @@ public class genmutesCom {
   @Parameter(names = "-debug", description = "Debug mode")
   private boolean debug = false;
 
+  @Parameter(names = "-inmemory", description = "Generate and compile mutants in memory; they are written to the session only with -export, or when they are not run with -run")
+  private boolean inMemory = false;
+
+  @Parameter(names = "-export", description = "Write the compiled in-memory mutants to the session, to run them later with runmutes")
+  private boolean export = false;
+
+  @Parameter(names = "-run", arity = 1, description = "Run the mutants in this JVM once they are generated, with these runmutes arguments and the session (e.g. \"CalcTest -threads 4\")")
+  private String run = null;
+
+  @Parameter(names = "-singlepass", description = "Apply the traditional operators that mutate expressions in one walk of the source")
+  private boolean singlePass = false;
+
+  @Parameter(names = "-incremental", description = "Keep the mutants of the classes whose source, classpath and operators did not change")
+  private boolean incremental = false;
+
+  @Parameter(names = "-splice", description = "Print the source of a class once and splice the mutated code in it for each traditional mutant")
+  private boolean splice = false;
+
+  @Parameter(names = "-tce", description = "Leave out the mutants compiled to the same bytecode as the original or as another mutant")
+  private boolean tce = false;
+
+  @Parameter(names = "-schemata", description = "Compile the traditional mutants of a class once, in one class that switches between them at run time")
+  private boolean schemata = false;
+
+  @Parameter(names = "-bytecode", description = "Apply AORB, AORS, AODU, ROR, SOR and LOR to the bytecode of the original class instead of its source"
+	  + " (except to generic methods); the mutants of compound assignments and increments (x += 1, f++) differ")
+  private boolean bytecode = false;
+
+  @Parameter(names = "-weak", description = "Write the original class instrumented to find the tests that infect the state of each traditional mutant (see runmutes -weak)")
+  private boolean weak = false;
+
+  @Parameter(names = "-coverage", description = "Write the original class instrumented to find the lines each test reaches (see runmutes -coverage)")
+  private boolean coverage = false;
+
+  @Parameter(names = "-metrics", description = "Write the time and counts of each generation phase of a class to result/<class>/generation_metrics.json and .csv")
+  private boolean metrics = false;
+
+  @Parameter(names = "-events", arity = 1, description = "Append each timing and count of the generation to this file as it is recorded (implies -metrics)")
+  private String events = null;
+
+  @Parameter(names = "-threads", arity = 1, description = "Number of classes mutated in parallel (one JVM each)")
+  private int threads = 1;
+
+  @Parameter(names = "-batch", arity = 1, hidden = true, description = "File listing the source files to mutate")
+  private String batch = null;
+
   public boolean isDebug() {
 	return debug;
   }
@@ -151,6 +197,126 @@ public class genmutesCom {
 	this.debug = debug;
   }
 
+  public boolean isInMemory() {
+	return inMemory;
+  }
+
+  public void setInMemory(boolean inMemory) {
+	this.inMemory = inMemory;
+  }
+
+  public boolean isExport() {
+	return export;
+  }
+
+  public void setExport(boolean export) {
+	this.export = export;
+  }
+
+  public String getRun() {
+	return run;
+  }
+
+  public void setRun(String run) {
+	this.run = run;
+  }
+
+  public boolean isSinglePass() {
+	return singlePass;
+  }
+
+  public void setSinglePass(boolean singlePass) {
+	this.singlePass = singlePass;
+  }
+
+  public boolean isIncremental() {
+	return incremental;
+  }
+
+  public void setIncremental(boolean incremental) {
+	this.incremental = incremental;
+  }
+
+  public boolean isSplice() {
+	return splice;
+  }
+
+  public void setSplice(boolean splice) {
+	this.splice = splice;
+  }
+
+  public boolean isTce() {
+	return tce;
+  }
+
+  public void setTce(boolean tce) {
+	this.tce = tce;
+  }
+
+  public boolean isSchemata() {
+	return schemata;
+  }
+
+  public void setSchemata(boolean schemata) {
+	this.schemata = schemata;
+  }
+
+  public boolean isBytecode() {
+	return bytecode;
+  }
+
+  public void setBytecode(boolean bytecode) {
+	this.bytecode = bytecode;
+  }
+
+  public boolean isWeak() {
+	return weak;
+  }
+
+  public void setWeak(boolean weak) {
+	this.weak = weak;
+  }
+
+  public boolean isCoverage() {
+	return coverage;
+  }
+
+  public void setCoverage(boolean coverage) {
+	this.coverage = coverage;
+  }
+
+  public boolean isMetrics() {
+	return metrics;
+  }
+
+  public void setMetrics(boolean metrics) {
+	this.metrics = metrics;
+  }
+
+  public String getEvents() {
+	return events;
+  }
+
+  public void setEvents(String events) {
+	this.events = events;
+  }
+
+  public int getThreads() {
+	return threads;
+  }
+
+  public void setThreads(int threads) {
+	this.threads = threads;
+  }
+
+  public String getBatch() {
+	return batch;
+  }
+
+  public void setBatch(String batch) {
+	this.batch = batch;
+  }
+
   public List<String> getParameters() {
 	return parameters;
   }
@@ -19,14 +19,12 @@ package mujava.cli;
 
 import com.beust.jcommander.JCommander;
 import mujava.MutationSystem;
+import mujava.test.KillMatrix;
 import mujava.test.TestResultCLI;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * <p>
@@ -101,7 +99,7 @@ public class markequiv {
 
 		markMutantListFile(tr, file);
 
-	  } else if (file.getName().contains("result_list")) { // also need to
+	  } else if (file.getName().contains("result_list") && file.getName().endsWith(".csv")) { // also need to
 		// mark
 		// result_list.csv
 		// TestResultCLI tr = new TestResultCLI();
@@ -120,62 +118,30 @@ public class markequiv {
   }
 
   private static void markResultListFile(ArrayList<String> eqMutants, File file) throws IOException {
-	// read csv file
-	Map<String, ArrayList<String>> oldResults = new HashMap<String, ArrayList<String>>();
-	BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file)));
-	String s = new String();
-	while ((s = br.readLine()) != null) // read lines
-	{
-	  String[] temp = s.split(",");
-	  ArrayList<String> tempList = new ArrayList<>();
-	  for (int i = 1; i < temp.length; i++) {
-		tempList.add(temp[i]);
-	  }
-	  oldResults.put(temp[0], tempList);
+	// read the kill matrix of the csv file, or the csv file if it has none
+	File matrixFile = KillMatrix.getMatrixFile(file);
+	KillMatrix matrix;
+	if (matrixFile.exists()) {
+	  matrix = KillMatrix.open(matrixFile);
+	} else {
+	  matrix = new KillMatrix(matrixFile);
+	  matrix.importCsv(file);
 	}
 
 	// mark eq
 	for (String eqMutant : eqMutants) {
-	  ArrayList<String> newResult = oldResults.get(eqMutant);
-	  if (newResult == null) {
+	  if (!matrix.containsMutant(eqMutant)) {
 		continue;
 	  }
-	  if (!newResult.get(newResult.size() - 2).equals("0")) {
+	  if (matrix.getKillCount(eqMutant) != 0) {
 		continue;
 	  }
-	  newResult.set(newResult.size() - 1, "Y");
-	  oldResults.put(eqMutant, newResult);
+	  matrix.setEquivalent(eqMutant, true);
 	}
 
-	// write file
-	String path = file.getPath();
-
-	file.delete();
-
-	file = new File(path);
-	FileOutputStream fout = new FileOutputStream(file);
-	StringBuffer fileContent = new StringBuffer();
-
-	// build title
-	fileContent.append("Mutant");
-	for (String test : oldResults.get("Mutant"))
-	  fileContent.append("," + test);
-
-	fileContent.append("\r\n");
-	// build content
-	for (Entry<String, ArrayList<String>> oldEntry : oldResults.entrySet()) {
-	  if (oldEntry.getKey().equals("Mutant"))
-		continue;
-	  fileContent.append(oldEntry.getKey());
-	  for (String str : oldEntry.getValue()) {
-		fileContent.append("," + str);
-	  }
-
-	  fileContent.append("\r\n");
-	}
-
-	fout.write(fileContent.toString().getBytes("utf-8"));
-	fout.close();
+	// write files
+	matrix.save();
+	matrix.exportCsv(file);
 
   }
 
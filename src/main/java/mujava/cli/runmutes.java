@@ -20,14 +20,16 @@ package mujava.cli;
 import com.beust.jcommander.JCommander;
 import mujava.MutationSystem;
 import mujava.TestExecuterCLI;
+import mujava.test.ClassFileReader;
+import mujava.test.KillMatrix;
 import mujava.test.NoMutantDirException;
 import mujava.test.NoMutantException;
 import mujava.test.TestResultCLI;
+import mujava.util.Metrics;
 import org.apache.commons.io.FileUtils;
 
 import java.io.*;
 import java.util.*;
-import java.util.Map.Entry;
 
 //import openjava.test.stringPlay.stringPlay;
 
@@ -108,6 +110,16 @@ public class runmutes {
   //default timeout
   private static int timeout_sec = 3000;
 
+  //number of mutants executed in parallel
+  private static int worker_count = 1;
+  private static boolean fork_workers = false;
+  private static boolean share_classes = false;
+  private static boolean first_kill = false;
+  private static boolean select_by_coverage = false;
+  private static boolean select_by_infection = false;
+  // replay the results of unchanged mutants from the result cache
+  private static boolean use_result_cache = false;
+
   /**
    * @param args
    * @throws Exception
@@ -189,6 +201,26 @@ public class runmutes {
 		timeout_sec = 3000;
 	}
 
+	// run mutants on several threads
+	if (jct.getThreads() > 1)
+	  worker_count = jct.getThreads();
+	if (jct.isFork())
+	  fork_workers = true;
+	if (jct.isShareClasses())
+	  share_classes = true;
+	if (jct.isFirstKill())
+	  first_kill = true;
+	if (jct.isCoverage())
+	  select_by_coverage = true;
+	if (jct.isWeak())
+	  select_by_infection = true;
+	if (jct.isCache())
+	  use_result_cache = true;
+	if (jct.isMetrics())
+	  Metrics.enable();
+	if (jct.getEvents() != null)
+	  Metrics.openEventStream(jct.getEvents());
+
 	// if only one parameter, it must be the session name
 	// then, no testset specified, run all tests in testset folder
 	List<String> testSetList = new ArrayList<>();
@@ -451,8 +483,24 @@ public class runmutes {
 	return false;
   }
 
+  /**
+   * Run the tests of <i>testSetName</i> against the mutants of <i>targetClassName</i>,
+   * and write the metrics of the run to its result directory
+   */
   static void runTests(String targetClassName, String testSetName, String[] mutantTypes, double percentage,
 					   String mode) throws NoMutantException, NoMutantDirException, IOException {
+	Metrics.reset();
+	long start = Metrics.start();
+	try {
+	  runTestSet(targetClassName, testSetName, mutantTypes, percentage, mode);
+	} finally {
+	  Metrics.stop("class", start);
+	  Metrics.write(MutationSystem.MUTANT_HOME + "/" + targetClassName, "execution_metrics_" + testSetName);
+	}
+  }
+
+  static void runTestSet(String targetClassName, String testSetName, String[] mutantTypes, double percentage,
+						 String mode) throws NoMutantException, NoMutantDirException, IOException {
 
 	Util.Print("Class Name: " + targetClassName);
 	Util.Print("Test Name: " + testSetName);
@@ -479,6 +527,13 @@ public class runmutes {
 	  // Util.Print("no file mode");
 	  TestExecuterCLI test_engine = new TestExecuterCLI(targetClassName);
 	  test_engine.setTimeOut(timeout_sec);
+	  test_engine.setWorkerCount(worker_count);
+	  test_engine.setForkWorkers(fork_workers);
+	  test_engine.setShareProgramClasses(share_classes);
+	  test_engine.setStopAtFirstKill(first_kill);
+	  test_engine.setSelectTestsByCoverage(select_by_coverage);
+	  test_engine.setSelectTestsByInfection(select_by_infection);
+	  test_engine.setUseResultCache(use_result_cache);
 
 	  // add method list to engine, used for saving result at the end
 	  test_engine.methodList = new ArrayList<>();
@@ -500,6 +555,8 @@ public class runmutes {
 	  test_engine.computeOriginalTestResults();
 	  System.out.print("Running");
 	  test_result = test_engine.runTraditionalMutants("All method", mutantTypes, percentage);
+	  test_engine.shutdownWorkers();
+	  Util.DebugPrint(ClassFileReader.report());
 	  return;
 	}
 
@@ -532,6 +589,13 @@ public class runmutes {
 	  // run
 	  TestExecuterCLI test_engine = new TestExecuterCLI(targetClassName);
 	  test_engine.setTimeOut(timeout_sec);
+	  test_engine.setWorkerCount(worker_count);
+	  test_engine.setForkWorkers(fork_workers);
+	  test_engine.setShareProgramClasses(share_classes);
+	  test_engine.setStopAtFirstKill(first_kill);
+	  test_engine.setSelectTestsByCoverage(select_by_coverage);
+	  test_engine.setSelectTestsByInfection(select_by_infection);
+	  test_engine.setUseResultCache(use_result_cache);
 
 	  // First, read (load) test suite class.
 	  Util.DebugPrint(targetClassName + " " + testSetName);
@@ -541,6 +605,8 @@ public class runmutes {
 	  System.out.print("Running");
 	  test_engine.computeOriginalTestResults();
 	  test_result = test_engine.runTraditionalMutants("All method", mutantTypes, percentage, tr.live_mutants);
+	  test_engine.shutdownWorkers();
+	  Util.DebugPrint(ClassFileReader.report());
 	  // }
 	} else if (mode.equals("dead")) // dead mode
 	{
@@ -578,6 +644,13 @@ public class runmutes {
 	  // run
 	  TestExecuterCLI test_engine = new TestExecuterCLI(targetClassName);
 	  test_engine.setTimeOut(timeout_sec);
+	  test_engine.setWorkerCount(worker_count);
+	  test_engine.setForkWorkers(fork_workers);
+	  test_engine.setShareProgramClasses(share_classes);
+	  test_engine.setStopAtFirstKill(first_kill);
+	  test_engine.setSelectTestsByCoverage(select_by_coverage);
+	  test_engine.setSelectTestsByInfection(select_by_infection);
+	  test_engine.setUseResultCache(use_result_cache);
 
 	  // First, read (load) test suite class.
 	  Util.DebugPrint(targetClassName + " " + testSetName);
@@ -587,6 +660,8 @@ public class runmutes {
 	  System.out.print("Running");
 	  test_engine.computeOriginalTestResults();
 	  test_engine.runTraditionalMutants("All method", mutantTypes, percentage);
+	  test_engine.shutdownWorkers();
+	  Util.DebugPrint(ClassFileReader.report());
 	}
   }
 
@@ -614,19 +689,10 @@ public class runmutes {
 	MutationSystem.TESTSET_PATH = muJavaHomePath + "/testset";
   }
 
-  // save csv file
+  // save the kill matrix and its csv file
   public static void saveTestResults(String targetClassName, Map<String, String> finalTestResults,
 									 Map<String, String> finalMutantResults, String method) throws IOException {
 
-	// // results as to how many mutants are killed by each test
-	Map<String, ArrayList<String>> oldResults = new HashMap<String, ArrayList<String>>();
-	// // results as to how many tests can kill each single mutant
-	// Map<String, String> oldFinalMutantResults = new HashMap<String,
-	// String>();
-	//
-
-	ArrayList<String> testList = new ArrayList<String>();
-
 	if (mode.equals("fresh")) // fresh mode, need to save time stamp
 	{
 	  if (!TestExecuterCLI.methodList2.contains(method)) {
@@ -648,291 +714,67 @@ public class runmutes {
 			+ "/" + "result_list_" + nowtime.get(Calendar.YEAR) + "_" + (nowtime.get(Calendar.MONTH) + 1)
 			+ "_" + nowtime.get(Calendar.DATE) + "_" + nowtime.get(Calendar.HOUR) + "_"
 			+ nowtime.get(Calendar.MINUTE) + "_" + nowtime.get(Calendar.SECOND) + ".csv");
-		// System.out.println("can't find the mutant result file");
-
-		FileOutputStream fout = new FileOutputStream(f);
-		StringBuffer fileContent = new StringBuffer();
-		fileContent.append("Mutant,");
-		// first line, write all tests
-		for (Map.Entry<String, String> entry : finalTestResults.entrySet()) {
-		  fileContent.append(entry.getKey() + ",");
-		  testList.add(entry.getKey());
-		}
 
-		// 2 extra columns
-		fileContent.append("Total,Equiv?\r\n");
-
-		for (Map.Entry<String, String> entry : finalMutantResults.entrySet()) {
-		  fileContent.append(entry.getKey() + ",");
-		  List<String> tempkillingResult = Arrays.asList(entry.getValue().split(",\\s+"));
-
-		  List<String> killingResult = new ArrayList<String>();
-		  // remove spaces
-		  for (int i = 0; i < tempkillingResult.size(); i++) {
-			if (!tempkillingResult.get(i).equals(""))
-			  killingResult.add(tempkillingResult.get(i));
-		  }
-
-		  for (String test : testList) {
-			if (killingResult.contains(test)) {
-			  fileContent.append("1,");
-			} else {
-			  fileContent.append(" ,");
-			}
-		  }
-
-		  fileContent.append(killingResult.size() + ","); // 1 space
-		  // for
-		  // total
-		  fileContent.append(" "); // 1 space for equiv
-
-		  // fileContent.append(entry.getValue());
-		  fileContent.append("\r\n");
-		}
-		fout.write(fileContent.toString().getBytes("utf-8"));
-		fout.close();
+		File matrixFile = KillMatrix.getMatrixFile(f);
+		matrixFile.delete();
+		KillMatrix matrix = new KillMatrix(matrixFile);
+		addResults(matrix, finalTestResults, finalMutantResults);
+		matrix.save();
+		matrix.exportCsv(f);
 	  }
 
 	  return;
 
 	}
 
-	if (!mode.equals("fresh")) // default mode or dead mode, no time stamp
-	{
-	  // read file
-	  String s = null;
-	  StringBuffer sb = new StringBuffer();
-	  File f = new File(MutationSystem.MUTANT_HOME + "/" + targetClassName + "/" + MutationSystem.TM_DIR_NAME
-		  + "/" + "result_list" + ".csv");
+	// default mode or dead mode, no time stamp
+	File f = new File(MutationSystem.MUTANT_HOME + "/" + targetClassName + "/" + MutationSystem.TM_DIR_NAME
+		+ "/" + "result_list" + ".csv");
+	File matrixFile = KillMatrix.getMatrixFile(f);
 
+	KillMatrix matrix;
+	if (!f.exists()) {
 	  // no file exists, means very first run
-	  if (!f.exists()) {
-		// System.out.println("can't find the mutant result file");
-
-		// default mode, do not create with timestamp
-		File file = new File(MutationSystem.TRADITIONAL_MUTANT_PATH, "result_list" + ".csv");
-
-		FileOutputStream fout = new FileOutputStream(file);
-		StringBuffer fileContent = new StringBuffer();
-		fileContent.append("Mutant,");
-		// first line, write all tests
-		for (Map.Entry<String, String> entry : finalTestResults.entrySet()) {
-		  fileContent.append(entry.getKey() + ",");
-		  testList.add(entry.getKey());
-		}
-
-		// 2 extra columns
-		fileContent.append("Total,Equiv?\r\n");
-
-		for (Map.Entry<String, String> entry : finalMutantResults.entrySet()) {
-		  fileContent.append(entry.getKey() + ",");
-		  List<String> tempkillingResult = Arrays.asList(entry.getValue().split(",\\s+"));
-
-		  List<String> killingResult = new ArrayList<String>();
-		  // remove spaces
-		  for (int i = 0; i < tempkillingResult.size(); i++) {
-			if (!tempkillingResult.get(i).equals(""))
-			  killingResult.add(tempkillingResult.get(i));
-		  }
-
-		  for (String test : testList) {
-			if (killingResult.contains(test)) {
-			  fileContent.append("1,");
-			} else {
-			  fileContent.append(" ,");
-			}
-		  }
-
-		  fileContent.append(killingResult.size() + ","); // 1 space
-		  // for total
-		  fileContent.append(" "); // 1 space for equiv
-
-		  // fileContent.append(entry.getValue());
-		  fileContent.append("\r\n");
-		}
-		fout.write(fileContent.toString().getBytes("utf-8"));
-		fout.close();
-		return;
-
-	  }
-	  // -----------------
+	  matrixFile.delete();
+	  matrix = new KillMatrix(matrixFile);
+	} else {
 	  // exist result files, need to read old results first
-	  oldResults = new HashMap<>();
-	  BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(f)));
-
-	  while ((s = br.readLine()) != null) // read lines
-	  {
-		String[] temp = s.split(",");
-		ArrayList<String> tempList = new ArrayList<>();
-		for (int i = 1; i < temp.length; i++) {
-		  tempList.add(temp[i]);
-		}
-		oldResults.put(temp[0], tempList); // e.g. will be aois_1 (key),
-		// 1, ,1... (value)
-	  }
-
-	  // need to compare test cases, either more or less
-	  ArrayList<String> oldTitles = oldResults.get("Mutant");
-
-	  // initiate new title
-	  ArrayList<String> newTitle = new ArrayList<>();
-	  for (int i = 0; i < oldTitles.size(); i++)
-		newTitle.add(oldTitles.get(i));
-
-	  // if there are new tests added, need to re-write the title line
-
-	  for (Map.Entry<String, String> entry : finalTestResults.entrySet()) { // check
-		// every
-		// test
-		// name
-		testList.add(entry.getKey()); // add test name to it
-		if (!oldTitles.contains(entry.getKey())) {
-		  newTitle.add(0, entry.getKey()); // title would be new list
-		  // of
-		  // tests, add new test
-		  // name to the first row
-		}
-	  }
-
-	  // update entire title line
-	  oldResults.put("Mutant", newTitle);
-
-	  for (Entry<String, ArrayList<String>> entry : oldResults.entrySet()) {
-		// for those not executed old mutants, add spaces at the front
-		if (!finalMutantResults.keySet().contains(entry.getKey()) && !entry.getKey().equals("Mutant")) {
-		  ArrayList<String> oldEntryVal = entry.getValue();
-		  for (int i = 0; i < newTitle.size() - 2; i++) {
-			if (!oldTitles.contains(newTitle.get(i))) {
-			  oldEntryVal.add(i, " ");
-			}
-		  }
-		  // update current entry
-		  oldResults.put(entry.getKey(), oldEntryVal);
-		}
-	  }
-
-	  // for each runned mutants, new sub-set
-	  for (Map.Entry<String, String> entry : finalMutantResults.entrySet()) {
-		List<String> tempkillingResult = Arrays.asList(entry.getValue().split(",\\s+"));
-
-		List<String> killingResult = new ArrayList<String>();
-		// remove spaces at the end
-		for (int i = 0; i < tempkillingResult.size(); i++) {
-		  if (!tempkillingResult.get(i).equals(""))
-			killingResult.add(tempkillingResult.get(i));
-		  // killing result will be which test killed current mutant
-		  // e.g. test1 test2 ...
-		}
+	  matrix = KillMatrix.open(matrixFile);
+	  if (!matrixFile.exists()) // results saved as csv only
+		matrix.importCsv(f);
+	}
 
-		// may have old result here
-		if (oldResults.containsKey(entry.getKey()))
-		// if new result have overlap
-		{
-		  // get old results
-		  ArrayList<String> oldResult = oldResults.get(entry.getKey());
-		  // oldResult here is 1, , 1, 2...
-		  // need to get old test names
-		  ArrayList<String> oldKillingTestNames = new ArrayList<>();
-		  for (int i = 0; i < oldResult.size() - 2; i++) {
-			if (oldResult.get(i).equals("1")) {
-			  oldKillingTestNames.add(oldTitles.get(i));
-			}
-		  }
-
-		  // for each test, if
-		  for (int i = 0; i < newTitle.size() - 2; i++) {
-			if (killingResult.contains(newTitle.get(i)) && !oldTitles.contains(newTitle.get(i)))
-			  oldResult.add(i, "1");
-			else if (!killingResult.contains(newTitle.get(i)) && !oldTitles.contains(newTitle.get(i))) {
-			  oldResult.add(i, " ");
-			} else if (killingResult.contains(newTitle.get(i)) && oldTitles.contains(newTitle.get(i))) {
-			  // need to reset it
-			  oldResult.set(i, "1");
-			}
-		  }
-		  // calculate total
-
-		  int sum = 0;
-
-		  for (int i = 0; i < oldResult.size() - 2; i++)
-		  // for (String result : oldResult)
-		  {
-			if (oldResult.get(i).equals("1"))
-			  sum++;
-		  }
-
-		  oldResult.set(oldResult.size() - 2, Integer.toString(sum));
-
-		  // eq mode, need update csv file when necessary
-		  if (runEq == true && oldResult.get(oldResult.size() - 1).contains("Y") && sum != 0) {
-			oldResult.set(oldResult.size() - 1, "");
-		  }
-
-		  oldResults.put(entry.getKey(), oldResult); // renew record
-		  // set
-
-		} else { // if this is a new mutant, need to add entirely
-		  ArrayList<String> newEntryVal = new ArrayList<>();
-		  for (int i = 0; i < newTitle.size(); i++) {
-			if (killingResult.contains(newTitle.get(i)))
-			  newEntryVal.add("1");
-			else {
-			  newEntryVal.add(" ");
-			}
-
-		  }
-
-		  // calculate total
-		  int sum = 0;
-
-		  for (int i = 0; i < newEntryVal.size() - 2; i++)
-		  // for (String result : oldResult)
-		  {
-			if (newEntryVal.get(i).equals("1"))
-			  sum++;
-		  }
-
-		  newEntryVal.set(newEntryVal.size() - 2, Integer.toString(sum));
-
-		  oldResults.put(entry.getKey(), newEntryVal);
-
-		}
+	// new tests are added, the killing tests of the runned mutants are added
+	addResults(matrix, finalTestResults, finalMutantResults);
 
+	// eq mode, a killed mutant is no longer equivalent
+	if (runEq) {
+	  for (String mutant : finalMutantResults.keySet()) {
+		if (matrix.isEquivalent(mutant) && matrix.getKillCount(mutant) != 0)
+		  matrix.setEquivalent(mutant, false);
 	  }
+	}
 
-	  br.close();
-	  f.delete();
-	  // update csv file
-	  // default mode, do not create with timestamp
-	  // File newf = new File(MutationSystem.TRADITIONAL_MUTANT_PATH,
-	  // "result_list" + ".csv");
-
-	  FileOutputStream fout = new FileOutputStream(f);
-	  StringBuffer fileContent = new StringBuffer();
-
-	  // build title
-	  fileContent.append("Mutant");
-	  for (String test : newTitle)
-		fileContent.append("," + test);
+	matrix.save();
+	matrix.exportCsv(f);
+  }
 
-	  fileContent.append("\r\n");
-	  // build content
-	  for (Entry<String, ArrayList<String>> oldEntry : oldResults.entrySet()) {
-		if (oldEntry.getKey().equals("Mutant"))
-		  continue;
-		fileContent.append(oldEntry.getKey());
-		for (String str : oldEntry.getValue()) {
-		  fileContent.append("," + str);
-		}
+  /** Add the tests and the killing tests of each mutant (e.g. "test1, test2") to <i>matrix</i> */
+  private static void addResults(KillMatrix matrix, Map<String, String> finalTestResults,
+								 Map<String, String> finalMutantResults) {
+	for (String test : finalTestResults.keySet()) {
+	  matrix.addTest(test);
+	}
 
-		fileContent.append("\r\n");
+	for (Map.Entry<String, String> entry : finalMutantResults.entrySet()) {
+	  List<String> killingResult = new ArrayList<String>();
+	  // remove spaces
+	  for (String test : entry.getValue().split(",\\s+")) {
+		if (!test.equals(""))
+		  killingResult.add(test);
 	  }
-
-	  fout.write(fileContent.toString().getBytes("utf-8"));
-	  fout.close();
-
+	  matrix.addKills(entry.getKey(), killingResult);
 	}
-
   }
 
   private static void mergeMaps(Map<String, String> finalTestResults, Map<String, String> finalMutantResults) {
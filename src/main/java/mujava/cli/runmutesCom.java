@@ -165,6 +165,34 @@ class runmutesCom {
   @Parameter(names = "-timeout", arity = 1, description = "Customized timeout")
   private int timeout = -1;
 
+  // number of mutants executed in parallel
+  @Parameter(names = "-threads", arity = 1, description = "Number of mutants executed in parallel")
+  private int threads = 1;
+
+  @Parameter(names = "-fork", description = "Execute mutants in worker JVMs (as many as -threads), killed when a mutant times out")
+  private boolean fork = false;
+
+  @Parameter(names = "-shareclasses", description = "Load the classes the mutants do not change once for all mutants; their static fields are then kept from one mutant to the next")
+  private boolean shareClasses = false;
+
+  @Parameter(names = "-firstkill", description = "Stop the tests of a mutant at the first test that kills it, instead of computing the full kill matrix")
+  private boolean firstKill = false;
+
+  @Parameter(names = "-coverage", description = "Run each traditional mutant only against the tests that reach its mutated line (see genmutes -coverage)")
+  private boolean coverage = false;
+
+  @Parameter(names = "-weak", description = "Run each traditional mutant only against the tests that infect the state of the program (weak mutation, see genmutes -weak)")
+  private boolean weak = false;
+
+  @Parameter(names = "-cache", description = "Replay the results of the mutants whose classes, tests and program did not change since a previous run")
+  private boolean cache = false;
+
+  @Parameter(names = "-metrics", description = "Write the time and counts of the execution of the mutants of a class to result/<class>/execution_metrics_<testset>.json and .csv")
+  private boolean metrics = false;
+
+  @Parameter(names = "-events", arity = 1, description = "Append each timing and count of the execution to this file as it is recorded (implies -metrics)")
+  private String events = null;
+
   public boolean isEquiv() {
 	return equiv;
   }
@@ -648,5 +676,76 @@ class runmutesCom {
 	this.timeout = Timeout;
   }
 
+  public int getThreads() {
+	return threads;
+  }
+
+  public void setThreads(int threads) {
+	this.threads = threads;
+  }
+
+  public boolean isFork() {
+	return fork;
+  }
+
+  public void setFork(boolean fork) {
+	this.fork = fork;
+  }
+
+  public boolean isShareClasses() {
+	return shareClasses;
+  }
+
+  public void setShareClasses(boolean shareClasses) {
+	this.shareClasses = shareClasses;
+  }
+
+  public boolean isFirstKill() {
+	return firstKill;
+  }
+
+  public void setFirstKill(boolean firstKill) {
+	this.firstKill = firstKill;
+  }
+
+  public boolean isCoverage() {
+	return coverage;
+  }
+
+  public void setCoverage(boolean coverage) {
+	this.coverage = coverage;
+  }
+
+  public boolean isWeak() {
+	return weak;
+  }
+
+  public void setWeak(boolean weak) {
+	this.weak = weak;
+  }
+
+  public boolean isCache() {
+	return cache;
+  }
+
+  public void setCache(boolean cache) {
+	this.cache = cache;
+  }
+
+  public boolean isMetrics() {
+	return metrics;
+  }
+
+  public void setMetrics(boolean metrics) {
+	this.metrics = metrics;
+  }
+
+  public String getEvents() {
+	return events;
+  }
+
+  public void setEvents(String events) {
+	this.events = events;
+  }
 
-}
\ No newline at end of file
+}
@@ -440,6 +440,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("UOI", original, "UOI " + mutant_op))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("UOI");
@@ -469,6 +471,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("UOI", original, "UOI " + mutant_op))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("UOI");
@@ -493,6 +497,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AOR", original, "AOR " + mutant_op))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AOR");
@@ -522,6 +528,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LCR", original, "LCR " + mutant_op))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LCR");
@@ -550,6 +558,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LCR", original, "LCR"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LCR");
@@ -578,6 +588,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS 0"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -606,6 +618,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS -"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -634,6 +648,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS 0"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -662,6 +678,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS -"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -690,6 +708,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS 0"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -718,6 +738,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ABS", original, "ABS -"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ABS");
@@ -747,6 +769,8 @@ public class ABS_AOR_LCR_ROR_UOI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ROR", original, "ROR " + mutant_op))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ROR");
@@ -102,6 +102,8 @@ public class AMC extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AMC", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -125,6 +125,8 @@ public class EAM extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EAM", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -138,6 +138,8 @@ public class EMM extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EMM", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -81,6 +81,8 @@ public class EOA extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EOA", original, "EOA clone"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -152,6 +154,8 @@ public class EOA extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EOA", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -181,6 +185,8 @@ public class EOA extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EOA", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
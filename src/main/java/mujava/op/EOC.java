@@ -104,6 +104,8 @@ public class EOC extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EOC", original, "EOC =="))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -133,6 +135,8 @@ public class EOC extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("EOC", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
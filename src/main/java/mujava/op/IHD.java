@@ -102,6 +102,8 @@ public class IHD extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IHD", original, ""))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -99,6 +99,8 @@ public class IHI extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IHI", mutant, "IHI " + mutant.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -113,6 +113,8 @@ public class IOD extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IOD", target, ""))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -115,6 +115,8 @@ public class IOP extends mujava.op.util.Mutator implements IOP_Helper {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IOP", stmt_list, "IOP " + index + " " + mod))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -161,7 +161,8 @@ public class IOR extends mujava.op.util.Mutator {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + getClassName() + "_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 	String file_name = parent_class.getName();
 	file_name = file_name.substring(file_name.lastIndexOf(".") + 1, file_name.length());
 	return (dir_name + "/" + file_name + ".java");
@@ -176,6 +177,8 @@ public class IOR extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IOR", mutant, "IOR " + mutant.getName()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getFileName();
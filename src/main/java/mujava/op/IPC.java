@@ -56,6 +56,8 @@ public class IPC extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("IPC", mutant, "IPC"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -390,6 +390,8 @@ public class ISD extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ISD", mutant, "super." + mutant.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getISISourceName(this);
@@ -419,6 +421,8 @@ public class ISD extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ISD", mutant, "super." + mutant.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getISISourceName(this);
@@ -449,6 +453,8 @@ public class ISD extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ISD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -479,6 +485,8 @@ public class ISD extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ISD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -542,7 +550,8 @@ public class ISD extends mujava.op.util.Mutator {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/ISI_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
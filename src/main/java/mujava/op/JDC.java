@@ -74,6 +74,8 @@ public class JDC extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("JDC", mutant, ""))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
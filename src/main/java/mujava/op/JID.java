@@ -96,6 +96,8 @@ public class JID extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("JID", original, "JID"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -82,6 +82,8 @@ public class JSD extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("JSD", original, "JSD"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -55,6 +55,8 @@ public class JSI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("JSI", original, "JSI"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
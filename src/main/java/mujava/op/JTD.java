@@ -118,6 +118,8 @@ public class JTD extends mujava.op.util.Mutator {
   public void outputToFile(FieldAccess original, FieldAccess mutant) {
 	if (comp_unit == null) return;
 
+	if (isDuplicatedMutant("JTD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -146,6 +148,8 @@ public class JTD extends mujava.op.util.Mutator {
   public void outputToFile(MethodCall original, MethodCall mutant) {
 	if (comp_unit == null) return;
 
+	if (isDuplicatedMutant("JTD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -120,6 +120,8 @@ public class JTI extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("JTI", original, "this." + original.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -248,6 +248,8 @@ public class OAN extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("OAN", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
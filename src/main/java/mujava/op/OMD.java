@@ -199,6 +199,8 @@ public class OMD extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("OMD", original, "OMD " + mutant.signature()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -150,6 +150,8 @@ public class OMR extends DeclAnalyzer {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("OMR", original, "OMR " + mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
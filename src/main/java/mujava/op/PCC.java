@@ -165,6 +165,8 @@ public class PCC extends mujava.op.util.TypeCastMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PCC", original, "(" + mutant + ") " + original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -93,6 +93,8 @@ public class PCD extends mujava.op.util.TypeCastMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PCD", original, original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -198,6 +198,8 @@ public class PCI extends mujava.op.util.TypeCastMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PCI", original, "((" + type_name + ") " + original.toFlattenString() + ")"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -167,6 +167,8 @@ public class PMD extends mujava.op.util.PolymorphicMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PMD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -196,6 +198,8 @@ public class PMD extends mujava.op.util.PolymorphicMutator {
   public void outputToFile(VariableDeclaration original, VariableDeclaration mutant) {
 	if (comp_unit == null) return;
 
+	if (isDuplicatedMutant("PMD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
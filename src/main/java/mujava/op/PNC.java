@@ -136,6 +136,8 @@ public class PNC extends mujava.op.util.Mutator {
    * @param mutant
    */
   public void outputToFile(AllocationExpression original, AllocationExpression mutant) {
+	if (isDuplicatedMutant("PNC", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -128,6 +128,8 @@ public class PPD extends mujava.op.util.PolymorphicMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PPD", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -161,6 +161,8 @@ public class PRV extends mujava.op.util.Mutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("PRV", original, original.getLeft().toFlattenString() + " = " + mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName(this);
@@ -57,6 +57,8 @@ public class AODS extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AODS", original, original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AODS");
@@ -67,7 +69,7 @@ public class AODS extends MethodLevelMutator {
 	  AODS_Writer writer = new AODS_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -95,6 +95,8 @@ public class AODU extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AODU", original, original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AODU");
@@ -105,7 +107,7 @@ public class AODU extends Arithmetic_OP {
 	  AODU_Writer writer = new AODU_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -343,6 +343,8 @@ public class AOIS extends Arithmetic_OP {
 		if (comp_unit == null)
 			return;
 
+		if (isDuplicatedMutant("AOIS", original_field, mutant))
+			return;
 		String f_name;
 		num++;
 		f_name = getSourceName("AOIS");
@@ -353,7 +355,7 @@ public class AOIS extends Arithmetic_OP {
 			AOIS_Writer writer = new AOIS_Writer(mutant_dir, out);
 			writer.setMutant(original_field, mutant);
 			writer.setMethodSignature(currentMethodSignature);
-			comp_unit.accept(writer);
+			writer.writeMutant(comp_unit, original_field);
 			out.flush();
 			out.close();
 		} catch (IOException e) {
@@ -374,6 +376,8 @@ public class AOIS extends Arithmetic_OP {
 		if (comp_unit == null)
 			return;
 
+		if (isDuplicatedMutant("AOIS", original_var, mutant))
+			return;
 		String f_name;
 		num++;
 		f_name = getSourceName("AOIS");
@@ -388,7 +392,7 @@ public class AOIS extends Arithmetic_OP {
 			writer.setMutant(original_var, mutant);
 			writer.setMethodSignature(currentMethodSignature);
 			writer.saveContextInfo(contextInfo);
-			comp_unit.accept(writer);
+			writer.writeMutant(comp_unit, original_var);
 			out.flush();
 			out.close();
 		} catch (IOException e) {
@@ -160,6 +160,8 @@ public class AOIU extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AOIU", original_field, "-" + original_field.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AOIU");
@@ -170,7 +172,7 @@ public class AOIU extends Arithmetic_OP {
 	  AOIU_Writer writer = new AOIU_Writer(mutant_dir, out);
 	  writer.setMutant(original_field);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original_field);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -190,6 +192,8 @@ public class AOIU extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AOIU", original_var, "-" + original_var.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AOIU");
@@ -200,7 +204,7 @@ public class AOIU extends Arithmetic_OP {
 	  AOIU_Writer writer = new AOIU_Writer(mutant_dir, out);
 	  writer.setMutant(original_var);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original_var);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -133,6 +133,8 @@ public class AORB extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AORB", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AORB");
@@ -143,7 +145,7 @@ public class AORB extends Arithmetic_OP {
 	  AORB_Writer writer = new AORB_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -114,6 +114,8 @@ public class AORS extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AORS", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AORS");
@@ -124,7 +126,7 @@ public class AORS extends MethodLevelMutator {
 	  AORS_Writer writer = new AORS_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -72,6 +72,8 @@ public class AORU extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("AORU", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("AORU");
@@ -82,7 +84,7 @@ public class AORU extends MethodLevelMutator {
 	  AORU_Writer writer = new AORU_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -161,6 +161,8 @@ public class ASRS extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ASRS", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ASRS");
@@ -171,7 +173,7 @@ public class ASRS extends MethodLevelMutator {
 	  ASRS_Writer writer = new ASRS_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -146,6 +146,8 @@ public class CDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("CDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("CDL");
@@ -156,7 +158,7 @@ public class CDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -171,6 +173,8 @@ public class CDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("CDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("CDL");
@@ -181,7 +185,7 @@ public class CDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -196,6 +200,8 @@ public class CDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("CDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("CDL");
@@ -206,7 +212,7 @@ public class CDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -222,6 +228,8 @@ public class CDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("CDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("CDL");
@@ -232,7 +240,7 @@ public class CDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -64,6 +64,8 @@ public class COD extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("COD", original, original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("COD");
@@ -74,7 +76,7 @@ public class COD extends MethodLevelMutator {
 	  COD_Writer writer = new COD_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -85,6 +85,8 @@ public class COI extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("COI", original, "!(" + original.toFlattenString() + ")"))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("COI");
@@ -95,7 +97,7 @@ public class COI extends MethodLevelMutator {
 	  COI_Writer writer = new COI_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -115,6 +117,8 @@ public class COI extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("COI", original, "!" + original.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("COI");
@@ -125,7 +129,7 @@ public class COI extends MethodLevelMutator {
 	  COI_Writer writer = new COI_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -145,6 +149,8 @@ public class COI extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("COI", original, "!" + original.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("COI");
@@ -155,7 +161,7 @@ public class COI extends MethodLevelMutator {
 	  COI_Writer writer = new COI_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
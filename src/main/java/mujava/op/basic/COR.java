@@ -100,6 +100,8 @@ public class COR extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("COR", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("COR");
@@ -110,7 +112,7 @@ public class COR extends MethodLevelMutator {
 	  COR_Writer writer = new COR_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -66,6 +66,8 @@ public class LOD extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LOD", original, original.getExpression().toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LOD");
@@ -76,7 +78,7 @@ public class LOD extends MethodLevelMutator {
 	  LOD_Writer writer = new LOD_Writer(mutant_dir, out);
 	  writer.setMutant(original);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
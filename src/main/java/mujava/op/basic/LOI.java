@@ -84,6 +84,8 @@ public class LOI extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LOI", original_field, "~" + original_field.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LOI");
@@ -94,7 +96,7 @@ public class LOI extends Arithmetic_OP {
 	  LOI_Writer writer = new LOI_Writer(mutant_dir, out);
 	  writer.setMutant(original_field);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original_field);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -114,6 +116,8 @@ public class LOI extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LOI", original_var, "~" + original_var.toFlattenString()))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LOI");
@@ -124,7 +128,7 @@ public class LOI extends Arithmetic_OP {
 	  LOI_Writer writer = new LOI_Writer(mutant_dir, out);
 	  writer.setMutant(original_var);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original_var);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
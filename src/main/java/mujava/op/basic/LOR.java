@@ -85,6 +85,8 @@ public class LOR extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("LOR", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("LOR");
@@ -95,7 +97,7 @@ public class LOR extends MethodLevelMutator {
 	  LOR_Writer writer = new LOR_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -18,12 +18,16 @@ package mujava.op.basic;
 
 import mujava.MutationSystem;
 import mujava.op.util.LogReduction;
+import mujava.util.drule.DRuleUtils;
+import openjava.mop.Environment;
 import openjava.mop.FileEnvironment;
 import openjava.ptree.*;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,6 +40,9 @@ import java.util.List;
 public class MethodLevelMutator extends mujava.op.util.Mutator {
   String currentMethodSignature = null;
 
+  /** signatures of the methods this operator leaves alone, e.g. to the bytecode mutants */
+  Collection<String> skippedMethods = Collections.emptySet();
+
   public MethodLevelMutator(FileEnvironment file_env, CompilationUnit comp_unit) {
 	super(file_env, comp_unit);
   }
@@ -111,7 +118,8 @@ public class MethodLevelMutator extends mujava.op.util.Mutator {
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + currentMethodSignature + "/" + getClassName() + "_"
 		+ this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
@@ -126,7 +134,8 @@ public class MethodLevelMutator extends mujava.op.util.Mutator {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + currentMethodSignature + "/" + op_name + "_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
@@ -134,14 +143,36 @@ public class MethodLevelMutator extends mujava.op.util.Mutator {
 	return name;
   }
 
+  /** Leave the methods whose signatures are in <i>methods</i> alone */
+  public void skipMethods(Collection<String> methods) {
+	skippedMethods = methods;
+  }
+
   public void visit(MethodDeclaration p) throws ParseTreeException {
 	currentMethodSignature = getMethodSignature(p);
-	super.visit(p);
+	if (!skippedMethods.contains(currentMethodSignature))
+	  super.visit(p);
   }
 
   public void visit(ConstructorDeclaration p) throws ParseTreeException {
 	currentMethodSignature = getConstructorSignature(p);
-	super.visit(p);
+	if (!skippedMethods.contains(currentMethodSignature))
+	  super.visit(p);
+  }
+
+  /**
+   * Mutate the expression <i>p</i> found in the environment <i>env</i>
+   * by the walk of a {@link MultiOperatorMutator}
+   */
+  void mutate(Expression p, Environment env) throws ParseTreeException {
+	if (skippedMethods.contains(currentMethodSignature))
+	  return;
+	setEnvironment(env);
+	p.accept(this);
+  }
+
+  protected String getMutatedMethod() {
+	return currentMethodSignature;
   }
 
   protected void logReduction(String operator01, String desc) {
@@ -149,6 +180,7 @@ public class MethodLevelMutator extends mujava.op.util.Mutator {
   }
 
   protected void logReduction(String operator01, String operator02, String desc) {
+	DRuleUtils.access().countSaved(operator02 == null ? operator01 : operator01 + " x " + operator02);
 	String fileName = "";
 	int count = this.num;
 	count++;
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava.op.basic;
+
+import mujava.op.util.Mutator;
+import openjava.mop.FileEnvironment;
+import openjava.ptree.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Description: Applies several traditional mutation operators in one walk
+ *    of the compilation unit. </p>
+ * <p>The walk keeps the scopes (classes, methods, blocks, local variables) once
+ *    for all operators. Each expression that is not part of a larger expression
+ *    is handed to every operator, which then walks that expression its own way
+ *    (in the environment of the walk), so every operator finds the same nodes,
+ *    in the same order, as in its own walk: the mutants keep their numbers. </p>
+ * <p>Only the operators that mutate expressions can be applied this way; the
+ *    others (AOIS, AODS, SDL) also look at statements and are still applied
+ *    with a walk of their own. The operators added before such an operator are
+ *    applied before it, as some operators depend on the parent links that
+ *    the writers of the previous operators leave in the parse tree. </p>
+ *
+ * @version 1.0
+ */
+public class MultiOperatorMutator extends MethodLevelMutator {
+
+  /** operators that only override the visits of expressions */
+  static final List<Class> EXPRESSION_OPERATORS = Arrays.<Class>asList(
+	  AORB.class, AORS.class, AORU.class, AODU.class, AOIU.class, ROR.class, COR.class, COD.class,
+	  COI.class, SOR.class, LOR.class, LOI.class, LOD.class, ASRS.class, ODL.class, CDL.class, VDL.class);
+
+  List<MethodLevelMutator> operators = new ArrayList<MethodLevelMutator>();
+
+  public MultiOperatorMutator(FileEnvironment file_env, CompilationUnit comp_unit) {
+	super(file_env, comp_unit);
+  }
+
+  /**
+   * Add <i>op</i> to the operators of the walk
+   * @return false if <i>op</i> needs a walk of its own
+   */
+  public boolean add(Mutator op) {
+	if (!EXPRESSION_OPERATORS.contains(op.getClass()))
+	  return false;
+	operators.add((MethodLevelMutator) op);
+	return true;
+  }
+
+  public boolean isEmpty() {
+	return operators.isEmpty();
+  }
+
+  /** Remove the operators of the walk once it is done */
+  public void clear() {
+	operators.clear();
+  }
+
+  public String toString() {
+	StringBuilder names = new StringBuilder();
+	for (MethodLevelMutator op : operators) {
+	  if (names.length() > 0)
+		names.append(", ");
+	  names.append(op.getClass().getSimpleName());
+	}
+	return names.toString();
+  }
+
+  public void visit(MethodDeclaration p) throws ParseTreeException {
+	String signature = getMethodSignature(p);
+	for (MethodLevelMutator op : operators) {
+	  op.currentMethodSignature = signature;
+	}
+	super.visit(p);
+  }
+
+  public void visit(ConstructorDeclaration p) throws ParseTreeException {
+	String signature = getConstructorSignature(p);
+	for (MethodLevelMutator op : operators) {
+	  op.currentMethodSignature = signature;
+	}
+	super.visit(p);
+  }
+
+  /** Hand an outermost expression to every operator */
+  void mutate(Expression p) throws ParseTreeException {
+	for (MethodLevelMutator op : operators) {
+	  op.mutate(p, getEnvironment());
+	}
+  }
+
+  public void visit(AllocationExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(ArrayAccess p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(ArrayAllocationExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(AssignmentExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(BinaryExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(CastExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(ClassLiteral p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(ConditionalExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(FieldAccess p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(InstanceofExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(Literal p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(MethodCall p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(SelfAccess p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(UnaryExpression p) throws ParseTreeException {
+	mutate(p);
+  }
+
+  public void visit(Variable p) throws ParseTreeException {
+	mutate(p);
+  }
+}
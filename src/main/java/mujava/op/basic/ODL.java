@@ -93,6 +93,8 @@ public class ODL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ODL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ODL");
@@ -103,7 +105,7 @@ public class ODL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -153,6 +155,8 @@ public class ODL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ODL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ODL");
@@ -163,7 +167,7 @@ public class ODL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -178,6 +182,8 @@ public class ODL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ODL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ODL");
@@ -188,7 +194,7 @@ public class ODL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -203,6 +209,8 @@ public class ODL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ODL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ODL");
@@ -213,7 +221,7 @@ public class ODL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -19,10 +19,14 @@ import mujava.op.util.ExpressionAnalyzer;
 import mujava.op.util.LogReduction;
 import mujava.util.drule.DRuleUtils;
 import openjava.mop.FileEnvironment;
+import openjava.mop.OJClass;
+import openjava.mop.OJSystem;
 import openjava.ptree.*;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -48,6 +52,9 @@ public class ROR extends Arithmetic_OP {
 
   private List<String> allOperatorsSelected;
 
+  /** methods whose comparisons javac compiles to the instructions BytecodeMutator replaces are left to it */
+  private Collection<String> bytecodeMethods = Collections.emptySet();
+
   public ROR(FileEnvironment file_env, ClassDeclaration cdecl, CompilationUnit comp_unit) {
 	super(file_env, comp_unit);
 	allOperatorsSelected = DRuleUtils.access().getAllOperatorsSelected();
@@ -66,6 +73,9 @@ public class ROR extends Arithmetic_OP {
 
 	int op_type = p.getOperator();
 
+	if (bytecodeMethods.contains(currentMethodSignature) && isBytecodeComparison(p))
+	  return;
+
 	if (isArithmeticType(p.getLeft()) && isArithmeticType(p.getRight())) {
 	  // fix the fault that missed <, Lin, 050814
 	  if ((op_type == BinaryExpression.GREATER) || (op_type == BinaryExpression.GREATEREQUAL)
@@ -79,6 +89,62 @@ public class ROR extends Arithmetic_OP {
   }
 
 
+  /**
+   * Leave to BytecodeMutator the comparisons of the methods <i>methods</i>
+   * that javac compiles to if_icmp&lt;cond&gt;, if_acmp&lt;cond&gt; or lcmp
+   * and if&lt;cond&gt;. The comparisons of floating-point values, and of int
+   * values with 0 or of references with null (compiled to if&lt;cond&gt;,
+   * ifnull and ifnonnull, like the tests of boolean values) are still mutated.
+   */
+  public void leaveBytecodeComparisons(Collection<String> methods) {
+	bytecodeMethods = methods;
+  }
+
+  /**
+   * Return true if javac compiles the comparison <i>p</i> to an instruction
+   * BytecodeMutator replaces. A constant 0 named by a final field is not
+   * told apart from a variable.
+   */
+  boolean isBytecodeComparison(BinaryExpression p) throws ParseTreeException {
+	int op_type = p.getOperator();
+	if (op_type != BinaryExpression.GREATER && op_type != BinaryExpression.GREATEREQUAL
+		&& op_type != BinaryExpression.LESS && op_type != BinaryExpression.LESSEQUAL
+		&& op_type != BinaryExpression.EQUAL && op_type != BinaryExpression.NOTEQUAL)
+	  return false;
+	OJClass left = getType(p.getLeft());
+	OJClass right = getType(p.getRight());
+	if (left == null || right == null)
+	  return false;
+	if (left == OJSystem.FLOAT || left == OJSystem.DOUBLE || right == OJSystem.FLOAT || right == OJSystem.DOUBLE)
+	  return false;
+	if (left == OJSystem.LONG || right == OJSystem.LONG)
+	  return left.isPrimitive() && right.isPrimitive();
+	if (left.isPrimitive() != right.isPrimitive())
+	  return false;
+	// javac tests a value against a constant 0 (false) or null on the right with one instruction
+	return !isZeroOrNull(p.getRight());
+  }
+
+  static boolean isZeroOrNull(Expression p) {
+	if (!(p instanceof Literal))
+	  return false;
+	String value = p.toString().trim().toLowerCase().replace("_", "");
+	switch (((Literal) p).getLiteralType()) {
+	  case Literal.NULL:
+		return true;
+	  case Literal.BOOLEAN:
+		return value.equals("false");
+	  case Literal.INTEGER:
+		if (value.startsWith("0x") || value.startsWith("0b"))
+		  value = value.substring(2);
+		return value.matches("0+");
+	  case Literal.CHARACTER:
+		return value.matches("'\\\\(u+0000|0{1,3})'");
+	  default:
+		return false;
+	}
+  }
+
   private void primitiveRORMutantGen(BinaryExpression exp, int op) {
 
 	BinaryExpression mutant;
@@ -278,6 +344,8 @@ public class ROR extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ROR", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ROR");
@@ -288,7 +356,7 @@ public class ROR extends Arithmetic_OP {
 	  ROR_Writer writer = new ROR_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -309,6 +377,8 @@ public class ROR extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("ROR", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("ROR");
@@ -319,7 +389,7 @@ public class ROR extends Arithmetic_OP {
 	  ROR_Writer writer = new ROR_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -583,6 +583,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -593,7 +595,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -609,6 +611,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -619,7 +623,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -635,6 +639,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -645,7 +651,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -661,6 +667,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -671,7 +679,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -688,6 +696,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -698,7 +708,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -715,6 +725,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -725,7 +737,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -777,6 +789,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -787,7 +801,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -803,6 +817,8 @@ public class SDL extends MethodLevelMutator {
 	  return;
 	if (original.toString().equalsIgnoreCase(mutant.toString()))
 	  return;
+	if (isDuplicatedMutant("SDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SDL");
@@ -813,7 +829,7 @@ public class SDL extends MethodLevelMutator {
 	  SDL_Writer writer = new SDL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -98,6 +98,8 @@ public class SOR extends MethodLevelMutator {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("SOR", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("SOR");
@@ -108,7 +110,7 @@ public class SOR extends MethodLevelMutator {
 	  SOR_Writer writer = new SOR_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
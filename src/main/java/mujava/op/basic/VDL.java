@@ -162,6 +162,8 @@ public class VDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("VDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("VDL");
@@ -172,7 +174,7 @@ public class VDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -187,6 +189,8 @@ public class VDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("VDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("VDL");
@@ -197,7 +201,7 @@ public class VDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -212,6 +216,8 @@ public class VDL extends Arithmetic_OP {
 	if (comp_unit == null)
 	  return;
 
+	if (isDuplicatedMutant("VDL", original, mutant))
+	  return;
 	String f_name;
 	num++;
 	f_name = getSourceName("VDL");
@@ -222,7 +228,7 @@ public class VDL extends Arithmetic_OP {
 	  ODL_Writer writer = new ODL_Writer(mutant_dir, out);
 	  writer.setMutant(original, mutant);
 	  writer.setMethodSignature(currentMethodSignature);
-	  comp_unit.accept(writer);
+	  writer.writeMutant(comp_unit, original);
 	  out.flush();
 	  out.close();
 	} catch (IOException e) {
@@ -0,0 +1,368 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.op.bytecode;
+
+import mujava.MutantStore;
+import mujava.MutationSystem;
+import mujava.op.util.CodeChangeLog;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: The traditional operators that change only an opcode or
+ *    an operand, applied to the bytecode of the compiled original class
+ *    instead of its source (see MutationSystem.BYTECODE_MUTANTS). A mutant
+ *    is a copy of the class files of the original with one instruction
+ *    changed in place, so it is neither printed nor compiled. </p>
+ * <p>The original of MutationSystem.ORIGINAL_PATH is compiled from the
+ *    source the source-level mutants are printed from, so the line the
+ *    LineNumberTable gives for a mutated instruction is the line the
+ *    source-level operators log in mutation_log. </p>
+ * <p>AORB mutates the arithmetic instructions, SOR the shifts, LOR the
+ *    bitwise operators, AODU removes a negation, AORS turns an increment of
+ *    a local variable into a decrement and back, and ROR replaces the
+ *    comparisons of int, long and reference values. The comparisons of
+ *    floating-point values, whose result for NaN depends on the
+ *    instruction javac picks, the comparisons of int values with 0 and of
+ *    references with null, which javac compiles to if&lt;cond&gt;, ifnull and
+ *    ifnonnull like the tests of boolean values, and the operators that add
+ *    or remove instructions are left to the source-level engine (see
+ *    ROR.leaveBytecodeComparisons). </p>
+ * <p>javac compiles some constructs the source-level operators tell apart
+ *    to the same instructions, so the mutants differ from theirs: AORB also
+ *    mutates the arithmetic of compound assignments and of the increments of
+ *    fields and array elements (x += y, f++), and AORS the compound
+ *    assignments of 1 to a local variable (i += 1), but AORS leaves the
+ *    increments of fields and array elements alone. </p>
+ *
+ * @version 1.0
+ */
+
+public class BytecodeMutator {
+
+  /** operators applied to the bytecode */
+  public static final List<String> OPERATORS = Arrays.asList("AORB", "AORS", "AODU", "ROR", "SOR", "LOR");
+
+  static final int NOP = 0;
+  static final int IINC = 132;
+  static final int LCMP = 148;
+
+  /** opcodes that replace each other, by operator */
+  static final Map<String, int[][]> GROUPS = new LinkedHashMap<String, int[][]>();
+
+  static {
+	GROUPS.put("AORB", new int[][] {
+		{96, 100, 104, 108, 112}, // iadd isub imul idiv irem
+		{97, 101, 105, 109, 113},
+		{98, 102, 106, 110, 114},
+		{99, 103, 107, 111, 115}});
+	GROUPS.put("SOR", new int[][] {
+		{120, 122, 124}, // ishl ishr iushr
+		{121, 123, 125}});
+	GROUPS.put("LOR", new int[][] {
+		{126, 128, 130}, // iand ior ixor
+		{127, 129, 131}});
+	GROUPS.put("ROR", new int[][] {
+		{159, 160, 161, 162, 163, 164}, // if_icmpeq ... if_icmple
+		{165, 166}, // if_acmpeq if_acmpne
+		{153, 154, 155, 156, 157, 158}}); // ifeq ... ifle, after lcmp only
+  }
+
+  static final String[] MNEMONICS = new String[202];
+
+  static {
+	String[] types = {"i", "l", "f", "d"};
+	String[] arithmetic = {"add", "sub", "mul", "div", "rem", "neg"};
+	for (int i = 0; i < arithmetic.length; i++) {
+	  for (int j = 0; j < types.length; j++) {
+		MNEMONICS[96 + 4 * i + j] = types[j] + arithmetic[i];
+	  }
+	}
+	String[] bitwise = {"shl", "shr", "ushr", "and", "or", "xor"};
+	for (int i = 0; i < bitwise.length; i++) {
+	  MNEMONICS[120 + 2 * i] = "i" + bitwise[i];
+	  MNEMONICS[121 + 2 * i] = "l" + bitwise[i];
+	}
+	String[] conditions = {"eq", "ne", "lt", "ge", "gt", "le"};
+	for (int i = 0; i < conditions.length; i++) {
+	  MNEMONICS[153 + i] = "if" + conditions[i];
+	  MNEMONICS[159 + i] = "if_icmp" + conditions[i];
+	}
+	MNEMONICS[165] = "if_acmpeq";
+	MNEMONICS[166] = "if_acmpne";
+	MNEMONICS[NOP] = "nop";
+	MNEMONICS[IINC] = "iinc";
+  }
+
+  /** operators to apply */
+  List<String> operators;
+
+  /** signatures of the methods to mutate, as in method_list */
+  Set<String> methods;
+
+  /** class files of the original, by binary name */
+  Map<String, byte[]> originals = new LinkedHashMap<String, byte[]>();
+
+  /** number of mutants of each operator */
+  Map<String, Integer> counts = new LinkedHashMap<String, Integer>();
+
+  /** number of the last mutant of each operator */
+  Map<String, Integer> numbers = new LinkedHashMap<String, Integer>();
+
+  /** mutants written, as method/mutant directory */
+  Set<String> mutants = new HashSet<String>();
+
+  /**
+   * @param operators traditional operators to apply (the ones in OPERATORS are)
+   * @param methods signatures of the methods to mutate, as in method_list
+   */
+  public BytecodeMutator(Collection<String> operators, Collection<String> methods) {
+	this.operators = new ArrayList<String>();
+	for (String op : OPERATORS) {
+	  if (operators.contains(op))
+		this.operators.add(op);
+	}
+	this.methods = new HashSet<String>(methods);
+  }
+
+  /** Return true if the operator <i>op</i> is applied to the bytecode */
+  public static boolean supports(String op) {
+	return OPERATORS.contains(op);
+  }
+
+  /**
+   * Number the mutants of the operator <i>op</i> after <i>last</i>, e.g. after
+   * the source-level mutants of the methods whose bytecode is not mutated
+   */
+  public void numberAfter(String op, int last) {
+	numbers.put(op, last);
+  }
+
+  /**
+   * Write the mutants of the class files of <i>originalPath</i> to the
+   * method directories of MutationSystem.TRADITIONAL_MUTANT_PATH (or to
+   * MutantStore), and log them with CodeChangeLog
+   * @throws IOException if the class files can not be read
+   */
+  public void mutate(String originalPath) throws IOException {
+	Map<String, ClassFileCode> classes = read(originalPath);
+	for (ClassFileCode code : classes.values()) {
+	  originals.put(code.name, code.data);
+	}
+
+	for (String op : operators) {
+	  counts.put(op, 0);
+	  if (!numbers.containsKey(op))
+		numbers.put(op, 0);
+	  for (ClassFileCode code : classes.values()) {
+		for (ClassFileCode.Method method : code.methods) {
+		  if (!isMutable(method))
+			continue;
+		  String signature = getSignature(code.name, method);
+		  if (methods.contains(signature))
+			mutate(op, code, method, signature);
+		}
+	  }
+	}
+  }
+
+  /**
+   * Return the signatures of the methods of the class files of
+   * <i>originalPath</i> whose bytecode may be mutated, as the source-level
+   * operators name their directories. The types of generic methods are
+   * erased, e.g. boolean_less(java.lang.Comparable,java.lang.Comparable) for
+   * boolean_less(T,T) of method_list, so the bytecode of such methods is not
+   * mutated and the source-level operators are applied to them instead.
+   * @throws IOException if the class files can not be read
+   */
+  public static Set<String> getSignatures(String originalPath) throws IOException {
+	Set<String> signatures = new HashSet<String>();
+	for (ClassFileCode code : read(originalPath).values()) {
+	  for (ClassFileCode.Method method : code.methods) {
+		if (isMutable(method))
+		  signatures.add(getSignature(code.name, method));
+	  }
+	}
+	return signatures;
+  }
+
+  /** Return the class files of <i>originalPath</i>, by binary name */
+  static Map<String, ClassFileCode> read(String originalPath) throws IOException {
+	String[] names = new File(originalPath).list();
+	if (names == null)
+	  throw new IOException("no class file in " + originalPath);
+	Arrays.sort(names);
+	Map<String, ClassFileCode> classes = new LinkedHashMap<String, ClassFileCode>();
+	for (String name : names) {
+	  if (!name.endsWith(".class"))
+		continue;
+	  ClassFileCode code = new ClassFileCode(Files.readAllBytes(new File(originalPath, name).toPath()));
+	  classes.put(code.name, code);
+	}
+	return classes;
+  }
+
+  static boolean isMutable(ClassFileCode.Method method) {
+	return method.codeLength > 0 && (method.access & (ClassFileCode.ACC_SYNTHETIC | ClassFileCode.ACC_BRIDGE)) == 0;
+  }
+
+  void mutate(String op, ClassFileCode code, ClassFileCode.Method method, String signature) throws IOException {
+	int previous = -1;
+	for (int pc = 0; pc < method.codeLength; pc += code.instructionLength(method, pc)) {
+	  int opcode = code.opcode(method, pc);
+	  int at = method.codeStart + pc;
+	  if (op.equals("AODU")) {
+		if (opcode >= 116 && opcode <= 119) // ineg lneg fneg dneg
+		  write(op, code, method, signature, pc, at, (byte) NOP, MNEMONICS[opcode] + " => nop");
+	  } else if (op.equals("AORS")) {
+		byte increment = code.data[at + 2];
+		if (opcode == IINC && (increment == 1 || increment == -1))
+		  write(op, code, method, signature, pc, at + 2, (byte) -increment,
+			  "iinc " + increment + " => iinc " + (-increment));
+	  } else {
+		for (int[] group : GROUPS.get(op)) {
+		  if (indexOf(group, opcode) < 0 || (group[0] == 153 && previous != LCMP))
+			continue;
+		  for (int other : group) {
+			if (other != opcode)
+			  write(op, code, method, signature, pc, at, (byte) other, MNEMONICS[opcode] + " => " + MNEMONICS[other]);
+		  }
+		}
+	  }
+	  previous = opcode;
+	}
+  }
+
+  /** Write the mutant whose byte <i>at</i> of the class file is <i>value</i> */
+  void write(String op, ClassFileCode code, ClassFileCode.Method method, String signature, int pc, int at,
+			 byte value, String change) throws IOException {
+	counts.put(op, counts.get(op) + 1);
+	int num = numbers.get(op) + 1;
+	numbers.put(op, num);
+	String mutant = op + "_" + num;
+	byte[] mutated = code.data.clone();
+	mutated[at] = value;
+
+	Map<String, byte[]> classes = new LinkedHashMap<String, byte[]>(originals);
+	classes.put(code.name, mutated);
+	String dir = MutationSystem.TRADITIONAL_MUTANT_PATH + "/" + signature + "/" + mutant;
+	if (MutationSystem.IN_MEMORY_MUTANTS) {
+	  MutantStore.putClasses(dir, classes);
+	  if (MutationSystem.EXPORT_MUTANTS)
+		MutantStore.export(dir);
+	} else {
+	  new File(dir).mkdirs();
+	  for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+		// class files of a mutant are kept in its directory, without package directories
+		String name = e.getKey().substring(e.getKey().lastIndexOf('.') + 1);
+		FileOutputStream out = new FileOutputStream(new File(dir, name + ".class"));
+		try {
+		  out.write(e.getValue());
+		} finally {
+		  out.close();
+		}
+	  }
+	}
+	mutants.add(signature + "/" + mutant);
+	CodeChangeLog.writeLog(mutant + MutationSystem.LOG_IDENTIFIER + method.lineAt(pc)
+		+ MutationSystem.LOG_IDENTIFIER + signature + MutationSystem.LOG_IDENTIFIER + change);
+  }
+
+  /** Return true if the mutant <i>mutant</i> (method/mutant directory) was written by this mutator */
+  public boolean contains(String mutant) {
+	return mutants.contains(mutant);
+  }
+
+  public String toString() {
+	return "bytecode mutants: " + counts;
+  }
+
+  static int indexOf(int[] group, int opcode) {
+	for (int i = 0; i < group.length; i++) {
+	  if (group[i] == opcode)
+		return i;
+	}
+	return -1;
+  }
+
+  /**
+   * Return the signature of <i>method</i> of the class <i>className</i> as
+   * the source-level operators name its directory, e.g. int_add(int,int)
+   */
+  static String getSignature(String className, ClassFileCode.Method method) {
+	String descriptor = method.descriptor;
+	StringBuilder parameters = new StringBuilder();
+	int[] pos = {1};
+	while (descriptor.charAt(pos[0]) != ')') {
+	  if (parameters.length() > 0)
+		parameters.append(',');
+	  parameters.append(getTypeName(descriptor, pos));
+	}
+	pos[0]++;
+	String returnType = getTypeName(descriptor, pos);
+
+	if (method.name.equals("<init>")) {
+	  String simpleName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+	  return simpleName + "(" + parameters + ")";
+	}
+	return returnType + "_" + method.name + "(" + parameters + ")";
+  }
+
+  /** Return the source name of the type at <i>pos</i> of a descriptor, and move after it */
+  static String getTypeName(String descriptor, int[] pos) {
+	char c = descriptor.charAt(pos[0]++);
+	switch (c) {
+	  case 'B':
+		return "byte";
+	  case 'C':
+		return "char";
+	  case 'D':
+		return "double";
+	  case 'F':
+		return "float";
+	  case 'I':
+		return "int";
+	  case 'J':
+		return "long";
+	  case 'S':
+		return "short";
+	  case 'Z':
+		return "boolean";
+	  case 'V':
+		return "void";
+	  case '[':
+		return getTypeName(descriptor, pos) + "[]";
+	  default: // L...;
+		int end = descriptor.indexOf(';', pos[0]);
+		String name = descriptor.substring(pos[0], end).replace('/', '.').replace('$', '.');
+		pos[0] = end + 1;
+		return name;
+	}
+  }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.op.bytecode;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Description: The methods of a class file and where their bytecode is,
+ *    read without loading the class, so their instructions can be changed
+ *    in place. </p>
+ *
+ * @version 1.0
+ */
+
+class ClassFileCode {
+
+  static final int MAGIC = 0xCAFEBABE;
+
+  static final int ACC_BRIDGE = 0x0040;
+  static final int ACC_SYNTHETIC = 0x1000;
+
+  /** a method and the location of its code in the class file */
+  static class Method {
+	int access;
+	String name;
+	String descriptor;
+	/** offset of the first instruction in the class file */
+	int codeStart;
+	int codeLength;
+	/** start pc and line of the LineNumberTable entries */
+	List<int[]> lines = new ArrayList<int[]>();
+
+	/** Return the source line of the instruction at <i>pc</i>, 0 if unknown */
+	int lineAt(int pc) {
+	  int line = 0;
+	  int start = -1;
+	  for (int[] entry : lines) {
+		if (entry[0] <= pc && entry[0] > start) {
+		  start = entry[0];
+		  line = entry[1];
+		}
+	  }
+	  return line;
+	}
+  }
+
+  byte[] data;
+  ByteBuffer in;
+  String[] utf8;
+  int[] classIndex;
+
+  /** binary name of the class (e.g. pkg.Outer$Inner) */
+  String name;
+
+  List<Method> methods = new ArrayList<Method>();
+
+  /**
+   * Read the class file <i>data</i>
+   * @throws IOException if <i>data</i> is not a class file
+   */
+  ClassFileCode(byte[] data) throws IOException {
+	this.data = data;
+	in = ByteBuffer.wrap(data);
+	try {
+	  read();
+	} catch (BufferUnderflowException e) {
+	  throw new IOException("truncated class file");
+	}
+  }
+
+  void read() throws IOException {
+	if (in.getInt() != MAGIC)
+	  throw new IOException("not a class file");
+	in.getInt(); // version
+	readConstantPool();
+	in.getShort(); // access
+	name = utf8[classIndex[u2()]].replace('/', '.');
+	in.getShort(); // super class
+	skip(2 * u2());
+	int fields = u2();
+	for (int i = 0; i < fields; i++) {
+	  skip(6);
+	  skipAttributes();
+	}
+	int count = u2();
+	for (int i = 0; i < count; i++) {
+	  Method method = new Method();
+	  method.access = u2();
+	  method.name = utf8[u2()];
+	  method.descriptor = utf8[u2()];
+	  int attributes = u2();
+	  for (int j = 0; j < attributes; j++) {
+		String attribute = utf8[u2()];
+		int length = in.getInt();
+		int end = in.position() + length;
+		if ("Code".equals(attribute))
+		  readCode(method);
+		in.position(end);
+	  }
+	  methods.add(method);
+	}
+  }
+
+  void readConstantPool() throws IOException {
+	int count = u2();
+	utf8 = new String[count];
+	classIndex = new int[count];
+	for (int i = 1; i < count; i++) {
+	  int tag = in.get() & 0xff;
+	  switch (tag) {
+		case 1: // Utf8
+		  byte[] bytes = new byte[u2()];
+		  in.get(bytes);
+		  utf8[i] = new String(bytes, "UTF-8");
+		  break;
+		case 7: // Class
+		  classIndex[i] = u2();
+		  break;
+		case 8: // String
+		case 16: // MethodType
+		case 19: // Module
+		case 20: // Package
+		  skip(2);
+		  break;
+		case 15: // MethodHandle
+		  skip(3);
+		  break;
+		case 3: // Integer
+		case 4: // Float
+		case 9: // Fieldref
+		case 10: // Methodref
+		case 11: // InterfaceMethodref
+		case 12: // NameAndType
+		case 17: // Dynamic
+		case 18: // InvokeDynamic
+		  skip(4);
+		  break;
+		case 5: // Long
+		case 6: // Double
+		  skip(8);
+		  i++;
+		  break;
+		default:
+		  throw new IOException("bad constant pool tag " + tag);
+	  }
+	}
+  }
+
+  void readCode(Method method) {
+	skip(4); // max stack, max locals
+	method.codeLength = in.getInt();
+	method.codeStart = in.position();
+	skip(method.codeLength);
+	skip(8 * u2()); // exception table
+	int attributes = u2();
+	for (int i = 0; i < attributes; i++) {
+	  String attribute = utf8[u2()];
+	  int length = in.getInt();
+	  int end = in.position() + length;
+	  if ("LineNumberTable".equals(attribute)) {
+		int entries = u2();
+		for (int j = 0; j < entries; j++) {
+		  method.lines.add(new int[] {u2(), u2()});
+		}
+	  }
+	  in.position(end);
+	}
+  }
+
+  void skipAttributes() {
+	int count = u2();
+	for (int i = 0; i < count; i++) {
+	  skip(2);
+	  skip(in.getInt());
+	}
+  }
+
+  int u2() {
+	return in.getShort() & 0xffff;
+  }
+
+  void skip(int length) {
+	if (length < 0 || length > in.remaining())
+	  throw new BufferUnderflowException();
+	in.position(in.position() + length);
+  }
+
+  /** Return the opcode of the instruction at <i>pc</i> of <i>method</i> */
+  int opcode(Method method, int pc) {
+	return data[method.codeStart + pc] & 0xff;
+  }
+
+  /**
+   * Return the length of the instruction at <i>pc</i> of <i>method</i>
+   * @throws IOException if the opcode is unknown
+   */
+  int instructionLength(Method method, int pc) throws IOException {
+	int op = opcode(method, pc);
+	switch (op) {
+	  case 16: // bipush
+	  case 18: // ldc
+	  case 169: // ret
+	  case 188: // newarray
+		return 2;
+	  case 17: // sipush
+	  case 19: // ldc_w
+	  case 20: // ldc2_w
+	  case 132: // iinc
+	  case 167: // goto
+	  case 168: // jsr
+	  case 178: // getstatic
+	  case 179: // putstatic
+	  case 180: // getfield
+	  case 181: // putfield
+	  case 182: // invokevirtual
+	  case 183: // invokespecial
+	  case 184: // invokestatic
+	  case 187: // new
+	  case 189: // anewarray
+	  case 192: // checkcast
+	  case 193: // instanceof
+	  case 198: // ifnull
+	  case 199: // ifnonnull
+		return 3;
+	  case 197: // multianewarray
+		return 4;
+	  case 185: // invokeinterface
+	  case 186: // invokedynamic
+	  case 200: // goto_w
+	  case 201: // jsr_w
+		return 5;
+	  case 196: // wide
+		return opcode(method, pc + 1) == 132 ? 6 : 4;
+	  case 170: { // tableswitch
+		int pad = 3 - pc % 4;
+		int low = intAt(method, pc + 1 + pad + 4);
+		int high = intAt(method, pc + 1 + pad + 8);
+		return 1 + pad + 12 + 4 * (high - low + 1);
+	  }
+	  case 171: { // lookupswitch
+		int pad = 3 - pc % 4;
+		int pairs = intAt(method, pc + 1 + pad + 4);
+		return 1 + pad + 8 + 8 * pairs;
+	  }
+	  default:
+		if ((op >= 21 && op <= 25) || (op >= 54 && op <= 58)) // loads and stores
+		  return 2;
+		if (op >= 153 && op <= 166) // conditional branches
+		  return 3;
+		if (op <= 201)
+		  return 1;
+		throw new IOException("bad opcode " + op + " at " + pc + " in " + name + "." + method.name);
+	}
+  }
+
+  int intAt(Method method, int pc) {
+	int i = method.codeStart + pc;
+	return ((data[i] & 0xff) << 24) | ((data[i + 1] & 0xff) << 16) | ((data[i + 2] & 0xff) << 8) | (data[i + 3] & 0xff);
+  }
+}
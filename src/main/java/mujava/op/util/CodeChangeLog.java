@@ -16,6 +16,7 @@
 package mujava.op.util;
 
 import mujava.MutationSystem;
+import mujava.util.Metrics;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -43,8 +44,19 @@ public class CodeChangeLog {
 	}
   }
 
+  /** Open the log of MUTANT_PATH to add the mutants generated after the others */
+  public static void appendLogFile() {
+	try {
+	  File f = new File(MutationSystem.MUTANT_PATH, logFile_name);
+	  log_writer = new PrintWriter(new FileWriter(f, true));
+	} catch (IOException e) {
+	  System.err.println("[IOException] Can't open mutant log file." + e);
+	}
+  }
+
   public static void writeLog(String str) {
 	log_writer.println(str);
+	Metrics.count("mutants.written");
   }
 
   public static void closeLogFile() {
@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mujava.op.util;
+
+import openjava.ptree.*;
+
+import java.io.PrintWriter;
+
+/**
+ * <p>
+ * Description: Writes the original class with a coverage probe in front of
+ * every statement. The probe is printed on the line of its statement, so the
+ * line numbers are the ones of the original and of the mutants
+ * (i.e. the lines recorded in mutation_log).
+ * </p>
+ * <p>
+ * Statements of static initializers get no probe: they run once for the
+ * whole test set, so they can not be assigned to a single test.
+ * </p>
+ *
+ * @version 1.0
+ */
+
+public class CoverageCodeWriter extends MutantCodeWriter {
+
+  /** method called by the probes, with the line number as argument */
+  public static final String PROBE = "mujava.test.CoverageProbe.hit";
+
+  int staticInitializers = 0;
+  boolean labeled = false;
+
+  public CoverageCodeWriter(PrintWriter out) {
+	super(out);
+  }
+
+  void probe() {
+	// the label must stay on its statement
+	if (labeled) {
+	  labeled = false;
+	  return;
+	}
+	if (staticInitializers == 0)
+	  out.print(PROBE + "(" + line_num + ");");
+  }
+
+  public void visit(MemberInitializer p) throws ParseTreeException {
+	if (p.isStatic())
+	  staticInitializers++;
+	super.visit(p);
+	if (p.isStatic())
+	  staticInitializers--;
+  }
+
+  public void visit(AssertStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(BreakStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(ContinueStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(DoWhileStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(ExpressionStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(ForStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(IfStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(LabeledStatement p) throws ParseTreeException {
+	probe();
+	labeled = true;
+	super.visit(p);
+	labeled = false;
+  }
+
+  public void visit(ReturnStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(SwitchStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(SynchronizedStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(ThrowStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(TryStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(VariableDeclaration p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+
+  public void visit(WhileStatement p) throws ParseTreeException {
+	probe();
+	super.visit(p);
+  }
+}
@@ -15,14 +15,20 @@
  */
 package mujava.op.util;
 
+import mujava.MutantStore;
 import mujava.MutationSystem;
+import mujava.util.drule.DRuleUtils;
+import mujava.util.drule.MutationInfo;
 import openjava.mop.*;
 import openjava.ptree.CompilationUnit;
+import openjava.ptree.ParseTree;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Description: </p>
@@ -42,7 +48,8 @@ public class DeclAnalyzer extends OJClass {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + getClassName() + "_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
@@ -97,7 +104,32 @@ public class DeclAnalyzer extends OJClass {
 		&& isSameParameter(m1, m2));
   }
 
+  /**
+   * Register the mutant of <i>op_name</i> replacing <i>original</i> with
+   * <i>replacement</i>, and return true if a mutant of any operator already
+   * made the same change (as Mutator.isDuplicatedMutant)
+   */
+  protected boolean isDuplicatedMutant(String op_name, ParseTree original, String replacement) {
+	MutationInfo info = new MutationInfo(op_name, MutationSystem.CLASS_NAME, null,
+		original.getClass().getSimpleName() + "#" + original.getObjectID(), replacement);
+	String first = DRuleUtils.access().registerMutation(info);
+	if (first == null)
+	  return false;
+	DRuleUtils.access().countSaved(op_name + " x " + first);
+	String f_name = MutationSystem.MUTANT_PATH + "/" + getClassName() + "_" + (num + 1);
+	List<String> lines = new ArrayList<String>();
+	lines.add(op_name + ":" + first + ":" + f_name + ":same mutant as " + first + ", " + replacement);
+	try {
+	  LogReduction.logAppend(MutationSystem.MUTANT_HOME, "duplicated", lines);
+	} catch (IOException e) {
+	  e.printStackTrace();
+	}
+	return true;
+  }
+
   public PrintWriter getPrintWriter(String f_name) throws IOException {
+	if (MutationSystem.IN_MEMORY_MUTANTS)
+	  return MutantStore.openSource(f_name);
 	File outfile = new File(f_name);
 	FileWriter fout = new FileWriter(outfile);
 	PrintWriter out = new PrintWriter(fout);
@@ -2,6 +2,9 @@ package mujava.op.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.util.List;
 
@@ -23,9 +26,27 @@ public class LogReduction {
    * @param lines
    * @throws IOException
    */
-  public static void logAppend(String path, String fileName, List<String> lines) throws IOException {
+  public static synchronized void logAppend(String path, String fileName, List<String> lines) throws IOException {
 	File f = new File(path + "/" + LOGGER_NAME + "_" + fileName + ".log");
-	Files.write(f.toPath(), lines, UTF_8, APPEND, CREATE);
+	StringBuilder text = new StringBuilder();
+	for (String line : lines) {
+	  text.append(line).append(System.lineSeparator());
+	}
+	ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(UTF_8));
+	// the JVMs of genmutes -threads append to the same logs of the session
+	FileChannel channel = FileChannel.open(f.toPath(), WRITE, APPEND, CREATE);
+	try {
+	  FileLock lock = channel.lock();
+	  try {
+		while (buffer.hasRemaining()) {
+		  channel.write(buffer);
+		}
+	  } finally {
+		lock.release();
+	  }
+	} finally {
+	  channel.close();
+	}
   }
 
   public static void logWrite(String path, String fileName, List<String> lines) throws IOException {
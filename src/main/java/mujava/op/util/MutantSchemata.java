@@ -0,0 +1,365 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.op.util;
+
+import openjava.ptree.CompilationUnit;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: Mutant schemata of a compilation unit: one source that
+ *    holds the traditional mutants of the unit that mutate an expression.
+ *    Each mutated expression is replaced by a conditional expression on
+ *    the ID of the mutant to run, for instance
+ *    <code>(mujava.test.MutantSwitch.active == 42 ? (a - b) : (a + b))</code>,
+ *    so the mutants are compiled and loaded once (see
+ *    MutationSystem.MUTANT_SCHEMATA). </p>
+ * <p>The source is built from the {@link SourceImage} of the unit. The mutants
+ *    the compiler finds errors in are left out with {@link #exclude(long)},
+ *    and compiled on their own. </p>
+ * <p>The weak mutation schemata ({@link #weak(CompilationUnit)}) runs as the
+ *    original, but evaluates the mutated expressions as well, and records the
+ *    mutants whose expression has another value than the original one, for
+ *    instance
+ *    <code>mujava.test.InfectionProbe.infect((a + b), mujava.test.InfectionProbe.enter(42), (a - b))</code>
+ *    (see MutationSystem.WEAK_MUTATION). Only the mutants whose expressions
+ *    can be evaluated twice are in it. </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantSchemata {
+
+  /** file of the schemata directory that lists the ID of each mutant */
+  public static final String IDS_FILE = "mutant_ids";
+
+  static final String SWITCH = "mujava.test.MutantSwitch.active";
+
+  static final String PROBE = "mujava.test.InfectionProbe";
+
+  /** a mutant in the source of the schemata */
+  static class Span {
+	String mutant;
+	int id;
+	/** mutated expression */
+	int start;
+	int end;
+	/** conditional expression of the mutated node */
+	Group group;
+  }
+
+  /** mutated node and its mutants */
+  static class Group {
+	SourceImage.Range range;
+	List<SourceImage.Fragment> fragments = new ArrayList<SourceImage.Fragment>();
+	int start;
+	int end;
+  }
+
+  /** printed compilation unit */
+  String text;
+
+  /** evaluate the mutated expressions with the original ones, instead of switching to them */
+  boolean weak;
+
+  /** mutant -> mutated expression, in the order the mutants were written */
+  Map<String, SourceImage.Fragment> fragments = new LinkedHashMap<String, SourceImage.Fragment>();
+
+  /** mutant -> ID */
+  Map<String, Integer> ids = new LinkedHashMap<String, Integer>();
+
+  /** mutants left out of the schemata */
+  Set<String> excluded = new HashSet<String>();
+
+  /** source of the schemata and its mutants */
+  String source;
+  List<Span> spans = new ArrayList<Span>();
+
+  MutantSchemata(SourceImage image, boolean weak) {
+	text = image.text;
+	this.weak = weak;
+	for (SourceImage.Fragment fragment : image.fragments) {
+	  // a mutant written again replaces its previous version
+	  fragments.remove(fragment.mutant);
+	  if (fragment.pure || !weak)
+		fragments.put(fragment.mutant, fragment);
+	}
+	for (String mutant : fragments.keySet()) {
+	  ids.put(mutant, ids.size() + 1);
+	}
+	build();
+  }
+
+  /**
+   * Return the schemata of the mutants written for <i>comp_unit</i>, or
+   * null if none of them can be switched at run time
+   */
+  public static MutantSchemata of(CompilationUnit comp_unit) {
+	return of(comp_unit, false);
+  }
+
+  /**
+   * Return the weak mutation schemata of the mutants written for
+   * <i>comp_unit</i>, or null if none of them can be evaluated with the
+   * original expression
+   */
+  public static MutantSchemata weak(CompilationUnit comp_unit) {
+	return of(comp_unit, true);
+  }
+
+  static MutantSchemata of(CompilationUnit comp_unit, boolean weak) {
+	SourceImage image = SourceImage.get(comp_unit);
+	if (image == null)
+	  return null;
+	synchronized (image) {
+	  MutantSchemata schemata = new MutantSchemata(image, weak);
+	  return schemata.fragments.isEmpty() ? null : schemata;
+	}
+  }
+
+  /** Return the source of the schemata */
+  public String getSource() {
+	return source;
+  }
+
+  /** Return true if the mutant <i>mutant</i> (method/mutant directory) is in the schemata */
+  public boolean contains(String mutant) {
+	return ids.containsKey(mutant) && !excluded.contains(mutant);
+  }
+
+  /** Return the number of mutants in the schemata */
+  public int size() {
+	return spans.size();
+  }
+
+  /**
+   * Leave out the mutants an error at <i>position</i> of the source is
+   * found in: the mutant whose expression is at the position, else the
+   * mutants of the innermost mutated node at the position, else the mutants
+   * of the nodes on the line of the position
+   * @return the number of mutants left out
+   */
+  public int exclude(long position) {
+	if (position < 0 || position > source.length())
+	  return 0;
+	for (Span span : spans) {
+	  if (span.start <= position && position < span.end)
+		return exclude(Collections.singletonList(span));
+	}
+
+	Group innermost = null;
+	for (Span span : spans) {
+	  Group g = span.group;
+	  if (g.start <= position && position < g.end && (innermost == null || g.end - g.start < innermost.end - innermost.start))
+		innermost = g;
+	}
+	List<Span> found = new ArrayList<Span>();
+	if (innermost != null) {
+	  for (Span span : spans) {
+		if (span.group == innermost)
+		  found.add(span);
+	  }
+	  return exclude(found);
+	}
+
+	int lineStart = source.lastIndexOf('\n', (int) position - 1) + 1;
+	int lineEnd = source.indexOf('\n', (int) position);
+	if (lineEnd < 0)
+	  lineEnd = source.length();
+	for (Span span : spans) {
+	  if (span.group.start < lineEnd && span.group.end > lineStart)
+		found.add(span);
+	}
+	return exclude(found);
+  }
+
+  /** Leave out the mutants of the methods that are not in <i>methods</i> */
+  public void retainMethods(Collection<String> methods) {
+	List<Span> found = new ArrayList<Span>();
+	for (Span span : spans) {
+	  if (!methods.contains(span.mutant.substring(0, span.mutant.lastIndexOf('/'))))
+		found.add(span);
+	}
+	exclude(found);
+  }
+
+  int exclude(List<Span> found) {
+	for (Span span : found) {
+	  excluded.add(span.mutant);
+	}
+	if (!found.isEmpty())
+	  build();
+	return found.size();
+  }
+
+  /** Write the source of the schemata to <i>file</i> */
+  public void writeSource(File file) throws IOException {
+	write(file, source);
+  }
+
+  /** Write the ID of each mutant of the schemata to the IDS_FILE of <i>dir</i> */
+  public void writeIds(File dir) throws IOException {
+	StringBuilder lines = new StringBuilder();
+	for (Span span : spans) {
+	  lines.append(span.id).append('\t').append(span.mutant).append('\n');
+	}
+	write(new File(dir, IDS_FILE), lines.toString());
+  }
+
+  static void write(File file, String content) throws IOException {
+	PrintWriter out = null;
+	try {
+	  out = new PrintWriter(new FileWriter(file));
+	  out.write(content);
+	} finally {
+	  if (out != null)
+		out.close();
+	}
+  }
+
+  public String toString() {
+	if (weak)
+	  return "weak mutation schemata: " + spans.size() + " mutants, " + excluded.size() + " left out";
+	return "mutant schemata: " + spans.size() + " mutants, " + excluded.size() + " compiled on their own";
+  }
+
+  /** Build the source with the mutants that are not left out */
+  void build() {
+	Map<SourceImage.Range, Group> groups = new IdentityHashMap<SourceImage.Range, Group>();
+	List<Group> sorted = new ArrayList<Group>();
+	for (SourceImage.Fragment fragment : fragments.values()) {
+	  if (excluded.contains(fragment.mutant))
+		continue;
+	  Group group = groups.get(fragment.range);
+	  if (group == null) {
+		group = new Group();
+		group.range = fragment.range;
+		groups.put(fragment.range, group);
+		sorted.add(group);
+	  }
+	  group.fragments.add(fragment);
+	}
+	// outer nodes first
+	Collections.sort(sorted, new Comparator<Group>() {
+	  public int compare(Group g1, Group g2) {
+		if (g1.range.start != g2.range.start)
+		  return g1.range.start - g2.range.start;
+		return g2.range.end - g1.range.end;
+	  }
+	});
+
+	spans.clear();
+	StringBuilder out = new StringBuilder();
+	append(out, 0, text.length(), sorted);
+	source = out.toString();
+  }
+
+  /**
+   * Append the text from <i>from</i> to <i>to</i>, the mutated nodes of
+   * <i>groups</i> switched to their mutants
+   */
+  void append(StringBuilder out, int from, int to, List<Group> groups) {
+	int pos = from;
+	int i = 0;
+	while (i < groups.size()) {
+	  Group g = groups.get(i);
+	  // the nodes in g follow it
+	  int next = i + 1;
+	  while (next < groups.size() && groups.get(next).range.start < g.range.end) {
+		next++;
+	  }
+	  if (g.range.start < pos || g.range.end > to) {
+		// not nested in the node around it, its mutants are compiled on their own
+		for (SourceImage.Fragment fragment : g.fragments) {
+		  excluded.add(fragment.mutant);
+		}
+		i++;
+		continue;
+	  }
+
+	  out.append(text, pos, g.range.start);
+	  g.start = out.length();
+	  if (weak) {
+		appendWeak(out, g, groups.subList(i + 1, next));
+		pos = g.range.end;
+		i = next;
+		continue;
+	  }
+	  out.append('(');
+	  for (SourceImage.Fragment fragment : g.fragments) {
+		Span span = new Span();
+		span.mutant = fragment.mutant;
+		span.id = ids.get(fragment.mutant);
+		span.group = g;
+		out.append(SWITCH).append(" == ").append(span.id).append(" ? (");
+		span.start = out.length();
+		out.append(fragment.code);
+		span.end = out.length();
+		out.append(") : ");
+		spans.add(span);
+	  }
+	  out.append('(');
+	  append(out, g.range.start, g.range.end, groups.subList(i + 1, next));
+	  out.append("))");
+	  g.end = out.length();
+	  pos = g.range.end;
+	  i = next;
+	}
+	out.append(text, pos, to);
+  }
+
+  /**
+   * Append the mutated node of <i>g</i>, the nodes of <i>groups</i> in it,
+   * evaluated with the mutants of <i>g</i>
+   */
+  void appendWeak(StringBuilder out, Group g, List<Group> groups) {
+	for (int k = 0; k < g.fragments.size(); k++) {
+	  out.append(PROBE).append(".infect(");
+	}
+	out.append('(');
+	append(out, g.range.start, g.range.end, groups);
+	out.append(')');
+	for (int k = g.fragments.size() - 1; k >= 0; k--) {
+	  SourceImage.Fragment fragment = g.fragments.get(k);
+	  Span span = new Span();
+	  span.mutant = fragment.mutant;
+	  span.id = ids.get(fragment.mutant);
+	  span.group = g;
+	  out.append(", ").append(PROBE).append(".enter(").append(span.id).append("), (");
+	  span.start = out.length();
+	  out.append(fragment.code);
+	  span.end = out.length();
+	  out.append("))");
+	  spans.add(span);
+	}
+	g.end = out.length();
+  }
+}
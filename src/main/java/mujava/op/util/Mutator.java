@@ -15,7 +15,10 @@
  */
 package mujava.op.util;
 
+import mujava.MutantStore;
 import mujava.MutationSystem;
+import mujava.util.drule.DRuleUtils;
+import mujava.util.drule.MutationInfo;
 import openjava.mop.Environment;
 import openjava.mop.FileEnvironment;
 import openjava.mop.OJClass;
@@ -49,6 +52,10 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 
   //--------------
   protected OJClass getType(Expression p) throws ParseTreeException {
+	TypeAnalysis analysis = TypeAnalysis.of(comp_unit);
+	if (analysis != null && analysis.hasType(p))
+	  return analysis.getType(p);
+
 	OJClass result = null;
 	try {
 	  result = p.getType(getEnvironment());
@@ -76,6 +83,8 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 		System.err.println(refexpr + " : " + refexprtype + " : " + comptype);
 	  }
 	}
+	if (analysis != null)
+	  analysis.putType(p, result);
 	return result;
   }
 
@@ -84,7 +93,12 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	try {
 	  Environment env = getEnvironment();
 	  String selfname = env.currentClassName();
+	  TypeAnalysis analysis = TypeAnalysis.of(comp_unit);
+	  if (analysis != null && analysis.hasClass(selfname))
+		return analysis.lookupClass(selfname);
 	  result = env.lookupClass(selfname);
+	  if (analysis != null)
+		analysis.putClass(selfname, result);
 	} catch (Exception ex) {
 	  throw new ParseTreeException(ex);
 	}
@@ -92,6 +106,10 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
   }
 
   protected OJClass getType(TypeName typename) throws ParseTreeException {
+	TypeAnalysis analysis = TypeAnalysis.of(comp_unit);
+	if (analysis != null && analysis.hasType(typename))
+	  return analysis.getType(typename);
+
 	OJClass result = null;
 	try {
 	  Environment env = getEnvironment();
@@ -104,6 +122,8 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	if (result == null) {
 	  System.err.println("unknown type for a type name : " + typename);
 	}
+	if (analysis != null)
+	  analysis.putType(typename, result);
 	return result;
   }
 
@@ -166,7 +186,8 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + op_name + "_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
@@ -183,7 +204,8 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	// make directory for the mutant
 	String dir_name = MutationSystem.MUTANT_PATH + "/" + getClassName() + "_" + this.num;
 	File f = new File(dir_name);
-	f.mkdir();
+	if (!MutationSystem.IN_MEMORY_MUTANTS)
+	  f.mkdir();
 
 	// return file name
 	String name;
@@ -191,6 +213,8 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	return name;
   }
   public PrintWriter getPrintWriter(String f_name) throws IOException {
+	if (MutationSystem.IN_MEMORY_MUTANTS)
+	  return MutantStore.openSource(f_name);
 	File outfile = new File(f_name);
 	//Added by Pedro Pinheiro. Fix: create needed directories if they aren't present.
 	if (!outfile.getParentFile().exists()) {
@@ -239,11 +263,78 @@ public class Mutator extends mujava.openjava.extension.VariableBinder {
 	return true;
   }
 
+  /**
+   * Register the mutant of <i>op_name</i> replacing <i>original</i> with
+   * <i>mutant</i>, as the change of the smallest node of <i>original</i>
+   * that differs from <i>mutant</i> (so "if (a > b)" => "if (true)" is the
+   * same mutant as "a > b" => "true"), and return true if a mutant of any
+   * operator already made the same change
+   */
+  protected boolean isDuplicatedMutant(String op_name, ParseTree original, ParseTree mutant) {
+	while (original instanceof NonLeaf && mutant instanceof NonLeaf && original.getClass() == mutant.getClass()) {
+	  Object[] c1 = ((NonLeaf) original).getContents();
+	  Object[] c2 = ((NonLeaf) mutant).getContents();
+	  if (c1.length != c2.length)
+		break;
+	  int changed = -1;
+	  for (int i = 0; i < c1.length; i++) {
+		if (!sameContent(c1[i], c2[i])) {
+		  if (changed >= 0 || !(c1[i] instanceof ParseTree) || !(c2[i] instanceof ParseTree)) {
+			changed = -1;
+			break;
+		  }
+		  changed = i;
+		}
+	  }
+	  if (changed < 0)
+		break;
+	  original = (ParseTree) c1[changed];
+	  mutant = (ParseTree) c2[changed];
+	}
+	return isDuplicatedMutant(op_name, original, mutant.toFlattenString());
+  }
+
+  static boolean sameContent(Object o1, Object o2) {
+	if (o1 == o2)
+	  return true;
+	if (o1 == null || o2 == null)
+	  return false;
+	if (o1 instanceof ParseTree && o2 instanceof ParseTree)
+	  return o1.getClass() == o2.getClass()
+		  && ((ParseTree) o1).toFlattenString().equals(((ParseTree) o2).toFlattenString());
+	return o1.equals(o2);
+  }
+
+  /**
+   * Register the mutant of <i>op_name</i> replacing <i>original</i> with
+   * <i>replacement</i>, and return true if a mutant of any operator already
+   * made the same change (the mutant is then logged as duplicated and is
+   * not to be written)
+   */
+  protected boolean isDuplicatedMutant(String op_name, ParseTree original, String replacement) {
+	MutationInfo info = new MutationInfo(op_name, MutationSystem.CLASS_NAME, getMutatedMethod(),
+		original.getClass().getSimpleName() + "#" + original.getObjectID(), replacement);
+	String first = DRuleUtils.access().registerMutation(info);
+	if (first == null)
+	  return false;
+	logReduction(op_name, first, "same mutant as " + first + ", " + original.toFlattenString() + " => " + replacement);
+	return true;
+  }
+
+  /**
+   * Return the signature of the method being mutated, null if the mutants
+   * are not generated by method
+   */
+  protected String getMutatedMethod() {
+	return null;
+  }
+
   protected void logReduction(String operator01, String desc) {
 	logReduction(operator01, null, desc);
   }
 
   protected void logReduction(String operator01, String operator02, String desc) {
+	DRuleUtils.access().countSaved(operator02 == null ? operator01 : operator01 + " x " + operator02);
 	String fileName = "";
 	int count = this.num;
 	count++;
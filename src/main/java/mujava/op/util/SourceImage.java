@@ -0,0 +1,398 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.op.util;
+
+import mujava.MutationSystem;
+import openjava.mop.OJClass;
+import openjava.mop.OJSystem;
+import openjava.ptree.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Description: The source of a compilation unit as printed by
+ *    {@link MutantCodeWriter}, used to write mutants without printing the
+ *    whole unit for each of them (see MutationSystem.SPLICE_MUTANTS). </p>
+ * <p>The unit is printed once; the character range, line and indentation of
+ *    the nodes the traditional operators mutate are kept by object ID. A
+ *    mutant is the text before the mutated node, the node printed by the
+ *    mutant writer (in the line and indentation of the original one) and the
+ *    text after it. The context info of the writer, if any, is printed where
+ *    the writer would print it, before each class declaration, so the mutant
+ *    and its log are the same as if the whole unit was printed. </p>
+ * <p>With MutationSystem.MUTANT_SCHEMATA or MutationSystem.WEAK_MUTATION,
+ *    the mutated expressions that can be switched at run time are kept as
+ *    well, for the mutant schemata of the unit (see {@link MutantSchemata}). </p>
+ *
+ * @version 1.0
+ */
+
+public class SourceImage {
+
+  /** increment or assignment inserted by a mutant */
+  static final Pattern SIDE_EFFECT = Pattern.compile("\\+\\+|--|(?<![=!<>])=(?!=)");
+
+  /** image of each compilation unit being mutated */
+  static Map<CompilationUnit, SourceImage> units =
+	  Collections.synchronizedMap(new WeakHashMap<CompilationUnit, SourceImage>());
+
+  static class Range {
+	int start;
+	int end;
+	int line;
+	int nest;
+  }
+
+  /** mutated expression of a traditional mutant, in the mutant schemata */
+  static class Fragment {
+	/** method and mutant directory, as in the traditional_mutants directory */
+	String mutant;
+	Range range;
+	String code;
+	/** the original and the mutated expressions can both be evaluated, for weak mutation */
+	boolean pure;
+  }
+
+  /** printed compilation unit */
+  String text;
+
+  /** node ID -> range of the node in text */
+  Map<Integer, Range> ranges = new HashMap<Integer, Range>();
+
+  /** offsets in text where the context info of a mutant goes */
+  List<Integer> contextOffsets = new ArrayList<Integer>();
+
+  /** IDs of the expressions whose mutants can be switched at run time */
+  Set<Integer> switchable = new HashSet<Integer>();
+
+  /** mutated expressions, in the order the mutants are written */
+  List<Fragment> fragments = new ArrayList<Fragment>();
+
+  TypeAnalysis types;
+
+  int spliced = 0;
+  int printed = 0;
+
+  SourceImage(CompilationUnit comp_unit) throws ParseTreeException {
+	StringWriter buffer = new StringWriter();
+	Recorder recorder = new Recorder(new PrintWriter(buffer), buffer);
+	comp_unit.accept(recorder);
+	text = buffer.toString();
+	types = TypeAnalysis.of(comp_unit);
+	for (Integer id : recorder.repeated) {
+	  ranges.remove(id);
+	}
+  }
+
+  /** Return the image of <i>comp_unit</i>, printed the first time it is asked for */
+  public static SourceImage of(CompilationUnit comp_unit) throws ParseTreeException {
+	synchronized (units) {
+	  SourceImage image = units.get(comp_unit);
+	  if (image == null) {
+		image = new SourceImage(comp_unit);
+		units.put(comp_unit, image);
+	  }
+	  return image;
+	}
+  }
+
+  /** Return the image of <i>comp_unit</i> if it was printed, null otherwise */
+  public static SourceImage get(CompilationUnit comp_unit) {
+	return units.get(comp_unit);
+  }
+
+  /** Forget the image of <i>comp_unit</i> once all its mutants are generated */
+  public static void release(CompilationUnit comp_unit) {
+	units.remove(comp_unit);
+  }
+
+  /**
+   * Write the mutant of <i>writer</i>, whose mutated node is <i>original</i>,
+   * to the output of the writer
+   * @return false if the range of <i>original</i> is unknown, the whole unit
+   *         is then to be printed by the writer
+   */
+  public synchronized boolean write(MutantCodeWriter writer, ParseTree original) throws ParseTreeException {
+	Range range = original == null ? null : ranges.get(original.getObjectID());
+	if (range == null) {
+	  printed++;
+	  return false;
+	}
+
+	PrintWriter out = writer.out;
+	int pos = 0;
+	writer.line_num = range.line;
+	for (int offset : contextOffsets) {
+	  if (offset >= range.start)
+		break;
+	  out.write(text, pos, offset - pos);
+	  writer.writeContextInfo();
+	  pos = offset;
+	}
+	out.write(text, pos, range.start - pos);
+
+	int nest = writer.getNest();
+	writer.setNest(range.nest);
+	if ((MutationSystem.MUTANT_SCHEMATA || MutationSystem.WEAK_MUTATION) && writer instanceof TraditionalMutantCodeWriter) {
+	  // print the mutated node apart, to keep it for the schemata
+	  StringWriter code = new StringWriter();
+	  writer.out = new PrintWriter(code);
+	  try {
+		original.accept(writer);
+	  } finally {
+		writer.out.flush();
+		writer.out = out;
+	  }
+	  out.write(code.toString());
+	  if (isSwitchable(original, code.toString())) {
+		Fragment fragment = new Fragment();
+		fragment.mutant = ((TraditionalMutantCodeWriter) writer).method_signature + "/" + writer.class_name;
+		fragment.range = range;
+		fragment.code = code.toString();
+		fragment.pure = isPure(original) && !SIDE_EFFECT.matcher(fragment.code).find();
+		fragments.add(fragment);
+	  }
+	} else {
+	  original.accept(writer);
+	}
+	writer.setNest(nest);
+
+	// class declarations in the mutated node are printed by the writer
+	pos = range.end;
+	for (int offset : contextOffsets) {
+	  if (offset < range.end)
+		continue;
+	  out.write(text, pos, offset - pos);
+	  writer.writeContextInfo();
+	  pos = offset;
+	}
+	out.write(text, pos, text.length() - pos);
+	spliced++;
+	return true;
+  }
+
+  public synchronized String toString() {
+	return "source image: " + ranges.size() + " nodes, " + spliced + " mutants spliced, "
+		+ printed + " printed";
+  }
+
+  /**
+   * Return true if <i>original</i>, mutated to <i>code</i>, can be switched
+   * at run time: the conditional expression that switches them has the type
+   * of the original expression, and does not change what the compiler finds
+   * reachable
+   */
+  boolean isSwitchable(ParseTree original, String code) {
+	if (!switchable.contains(original.getObjectID()))
+	  return false;
+	ParseTree operand = original;
+	if (original instanceof UnaryExpression && isIncrement((UnaryExpression) original))
+	  operand = ((UnaryExpression) original).getExpression();
+	OJClass type = types.getType(operand);
+	if (operand instanceof Variable || operand instanceof FieldAccess) {
+	  // a boxed or narrow variable would be unboxed or widened by the switch
+	  if (type != OJSystem.INT && type != OJSystem.LONG && type != OJSystem.FLOAT
+		  && type != OJSystem.DOUBLE && type != OJSystem.BOOLEAN)
+		return false;
+	} else if (type == OJSystem.BYTE || type == OJSystem.SHORT || type == OJSystem.CHAR) {
+	  return false;
+	}
+
+	// a constant loop condition decides which statements are reachable
+	String constant = code.trim();
+	if (constant.equals("true") || constant.equals("false")) {
+	  ParseTreeObject parent = ((ParseTreeObject) original).getParent();
+	  if (parent instanceof WhileStatement || parent instanceof DoWhileStatement
+		  || parent instanceof ForStatement)
+		return false;
+	}
+	return true;
+  }
+
+  /**
+   * Return true if evaluating <i>p</i> once more does not change the state
+   * of the program: no method call, allocation, assignment or increment
+   */
+  static boolean isPure(Object p) {
+	if (p instanceof MethodCall || p instanceof AllocationExpression || p instanceof ArrayAllocationExpression
+		|| p instanceof AssignmentExpression)
+	  return false;
+	if (p instanceof UnaryExpression && isIncrement((UnaryExpression) p))
+	  return false;
+	if (p instanceof NonLeaf) {
+	  for (Object child : ((NonLeaf) p).getContents()) {
+		if (!isPure(child))
+		  return false;
+	  }
+	} else if (p instanceof openjava.ptree.List) {
+	  Enumeration e = ((openjava.ptree.List) p).elements();
+	  while (e.hasMoreElements()) {
+		if (!isPure(e.nextElement()))
+		  return false;
+	  }
+	}
+	return true;
+  }
+
+  static boolean isIncrement(UnaryExpression p) {
+	int op = p.getOperator();
+	return op == UnaryExpression.POST_INCREMENT || op == UnaryExpression.POST_DECREMENT
+		|| op == UnaryExpression.PRE_INCREMENT || op == UnaryExpression.PRE_DECREMENT;
+  }
+
+  /**
+   * Prints the original unit and records the ranges of the nodes, and where
+   * the context info of a mutant goes
+   */
+  class Recorder extends MutantCodeWriter {
+	StringWriter buffer;
+	Set<Integer> repeated = new HashSet<Integer>();
+
+	Recorder(PrintWriter out, StringWriter buffer) {
+	  super(out);
+	  this.buffer = buffer;
+	}
+
+	int offset() {
+	  out.flush();
+	  return buffer.getBuffer().length();
+	}
+
+	Range begin() {
+	  Range range = new Range();
+	  range.start = offset();
+	  range.line = line_num;
+	  range.nest = getNest();
+	  return range;
+	}
+
+	void end(ParseTree p, Range range) {
+	  range.end = offset();
+	  if (ranges.put(p.getObjectID(), range) != null)
+		repeated.add(p.getObjectID());
+	}
+
+	public void writeContextInfo() {
+	  contextOffsets.add(offset());
+	}
+
+	/**
+	 * Keep <i>p</i> as switchable if a conditional expression can take its
+	 * place: not a statement, a variable assigned to, or a for update
+	 */
+	void mark(Expression p) {
+	  ParseTreeObject parent = ((ParseTreeObject) p).getParent();
+	  if (parent == null || parent instanceof ExpressionStatement)
+		return;
+	  if (parent instanceof ExpressionList && ((ParseTreeObject) parent).getParent() instanceof ForStatement)
+		return;
+	  if (parent instanceof AssignmentExpression && ((AssignmentExpression) parent).getLeft() == p)
+		return;
+	  if (parent instanceof UnaryExpression && isIncrement((UnaryExpression) parent))
+		return;
+	  switchable.add(p.getObjectID());
+	}
+
+	public void visit(AssignmentExpression p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(BinaryExpression p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	  mark(p);
+	}
+
+	public void visit(UnaryExpression p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	  mark(p);
+	}
+
+	public void visit(FieldAccess p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	  mark(p);
+	}
+
+	public void visit(Variable p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	  mark(p);
+	}
+
+	public void visit(StatementList p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(CaseGroupList p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(IfStatement p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(ForStatement p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(WhileStatement p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(TryStatement p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+
+	public void visit(ReturnStatement p) throws ParseTreeException {
+	  Range range = begin();
+	  super.visit(p);
+	  end(p, range);
+	}
+  }
+}
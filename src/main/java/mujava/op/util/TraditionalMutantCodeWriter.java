@@ -29,6 +29,9 @@
 package mujava.op.util;
 
 import mujava.MutationSystem;
+import openjava.ptree.CompilationUnit;
+import openjava.ptree.ParseTree;
+import openjava.ptree.ParseTreeException;
 
 import java.io.PrintWriter;
 
@@ -49,6 +52,19 @@ public class TraditionalMutantCodeWriter extends MutantCodeWriter {
 	method_signature = str;
   }
 
+  /**
+   * Write the mutant of <i>comp_unit</i> whose mutated node is <i>original</i>;
+   * with MutationSystem.SPLICE_MUTANTS, only the mutated node is printed, in
+   * the printed original unit (see SourceImage); with MutationSystem.MUTANT_SCHEMATA
+   * or MutationSystem.WEAK_MUTATION as well, so the mutated node is kept for the
+   * mutant schemata
+   */
+  public void writeMutant(CompilationUnit comp_unit, ParseTree original) throws ParseTreeException {
+	if (!(MutationSystem.SPLICE_MUTANTS || MutationSystem.MUTANT_SCHEMATA || MutationSystem.WEAK_MUTATION)
+		|| !SourceImage.of(comp_unit).write(this, original))
+	  comp_unit.accept(this);
+  }
+
   protected void writeLog(String changed_content) {
 	CodeChangeLog.writeLog(class_name + MutationSystem.LOG_IDENTIFIER
 		+ mutated_line + MutationSystem.LOG_IDENTIFIER
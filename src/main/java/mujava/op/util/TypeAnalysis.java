@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mujava.op.util;
+
+import openjava.mop.OJClass;
+import openjava.ptree.CompilationUnit;
+import openjava.ptree.ParseTree;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>Description: Types resolved while generating the mutants of a compilation unit. </p>
+ * <p>Every mutation operator walks the same compilation unit and asks for the
+ *    type of the same nodes, so the types found by one operator are kept here,
+ *    keyed by the object ID of the node, for the next ones. Mutants are copies
+ *    of the original nodes and have new IDs, so they never hit an original entry.
+ *    Unresolved types are kept as well (as null). </p>
+ *
+ * @version 1.0
+ */
+
+public class TypeAnalysis {
+
+  /** analysis of each compilation unit being mutated */
+  static Map<CompilationUnit, TypeAnalysis> units =
+	  Collections.synchronizedMap(new WeakHashMap<CompilationUnit, TypeAnalysis>());
+
+  /** node ID -> type of the expression or type name */
+  Map<Integer, OJClass> types = new HashMap<Integer, OJClass>();
+
+  /** class name -> class, as found in the environment */
+  Map<String, OJClass> classes = new HashMap<String, OJClass>();
+
+  int hits = 0;
+  int misses = 0;
+
+  /** Return the analysis of <i>comp_unit</i>, null if there is no compilation unit */
+  public static TypeAnalysis of(CompilationUnit comp_unit) {
+	if (comp_unit == null)
+	  return null;
+	synchronized (units) {
+	  TypeAnalysis analysis = units.get(comp_unit);
+	  if (analysis == null) {
+		analysis = new TypeAnalysis();
+		units.put(comp_unit, analysis);
+	  }
+	  return analysis;
+	}
+  }
+
+  /** Forget the analysis of <i>comp_unit</i> once all its mutants are generated */
+  public static void release(CompilationUnit comp_unit) {
+	units.remove(comp_unit);
+  }
+
+  /** Return true if the type of <i>p</i> is known (possibly null) */
+  public synchronized boolean hasType(ParseTree p) {
+	if (types.containsKey(p.getObjectID())) {
+	  hits++;
+	  return true;
+	}
+	misses++;
+	return false;
+  }
+
+  public synchronized OJClass getType(ParseTree p) {
+	return types.get(p.getObjectID());
+  }
+
+  public synchronized void putType(ParseTree p, OJClass type) {
+	types.put(p.getObjectID(), type);
+  }
+
+  /** Return true if the class <i>name</i> was looked up already */
+  public synchronized boolean hasClass(String name) {
+	if (classes.containsKey(name)) {
+	  hits++;
+	  return true;
+	}
+	misses++;
+	return false;
+  }
+
+  public synchronized OJClass lookupClass(String name) {
+	return classes.get(name);
+  }
+
+  public synchronized void putClass(String name, OJClass clazz) {
+	classes.put(name, clazz);
+  }
+
+  public synchronized String toString() {
+	return "type analysis: " + types.size() + " nodes, " + classes.size() + " classes, "
+		+ hits + " hits, " + misses + " misses";
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Description: Reads class files for the class loaders of muJava. </p>
+ * <p>Whole files are read at once. The class files of the original program
+ *    and of the test set are read again for every mutant, so they are kept in
+ *    a cache shared by all loaders; the least recently used files are dropped
+ *    once the cache holds more than {@link #getCacheLimit()} bytes. A cached
+ *    file is read again when its size or modification time changes. </p>
+ * <p>The returned arrays are shared and must not be modified. </p>
+ *
+ * @version 1.0
+ */
+
+public class ClassFileReader {
+
+  static final long DEFAULT_CACHE_LIMIT = 64L * 1024 * 1024;
+
+  static long cacheLimit = DEFAULT_CACHE_LIMIT;
+  static long cachedBytes = 0;
+
+  /** absolute path -> class file, least recently used first */
+  static Map<String, Entry> cache = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+  static long bytesRead = 0;
+  static long filesRead = 0;
+  static long cacheHits = 0;
+
+  static class Entry {
+	byte[] data;
+	long lastModified;
+	long length;
+  }
+
+  /**
+   * Return the content of the class file <i>f</i>
+   * @param cached true if the file is unlikely to change (original program, test set)
+   * @throws FileNotFoundException if there is no such file
+   */
+  public static byte[] read(File f, boolean cached) throws IOException {
+	if (!f.isFile())
+	  throw new FileNotFoundException(f.getPath());
+	if (!cached)
+	  return readFile(f);
+
+	String key = f.getAbsolutePath();
+	long lastModified = f.lastModified();
+	long length = f.length();
+	synchronized (ClassFileReader.class) {
+	  Entry entry = cache.get(key);
+	  if (entry != null && entry.lastModified == lastModified && entry.length == length) {
+		cacheHits++;
+		return entry.data;
+	  }
+	}
+
+	Entry entry = new Entry();
+	entry.data = readFile(f);
+	entry.lastModified = lastModified;
+	entry.length = length;
+	synchronized (ClassFileReader.class) {
+	  Entry old = cache.put(key, entry);
+	  if (old != null)
+		cachedBytes -= old.data.length;
+	  cachedBytes += entry.data.length;
+	  Iterator<Entry> eldest = cache.values().iterator();
+	  while (cachedBytes > cacheLimit && eldest.hasNext()) {
+		cachedBytes -= eldest.next().data.length;
+		eldest.remove();
+	  }
+	}
+	return entry.data;
+  }
+
+  static byte[] readFile(File f) throws IOException {
+	byte[] data = Files.readAllBytes(f.toPath());
+	synchronized (ClassFileReader.class) {
+	  bytesRead += data.length;
+	  filesRead++;
+	}
+	return data;
+  }
+
+  /** Set the number of bytes the cache may hold, 0 to disable it */
+  public static synchronized void setCacheLimit(long bytes) {
+	cacheLimit = bytes;
+	Iterator<Entry> eldest = cache.values().iterator();
+	while (cachedBytes > cacheLimit && eldest.hasNext()) {
+	  cachedBytes -= eldest.next().data.length;
+	  eldest.remove();
+	}
+  }
+
+  public static synchronized long getCacheLimit() {
+	return cacheLimit;
+  }
+
+  /** Number of bytes read from class files */
+  public static synchronized long getBytesRead() {
+	return bytesRead;
+  }
+
+  /** Number of class files read from disk */
+  public static synchronized long getFilesRead() {
+	return filesRead;
+  }
+
+  /** Number of class files found in the cache */
+  public static synchronized long getCacheHits() {
+	return cacheHits;
+  }
+
+  /** One line summary of the counters */
+  public static synchronized String report() {
+	return "class files read: " + filesRead + " (" + bytesRead + " bytes), cache hits: " + cacheHits;
+  }
+
+  /** Empty the cache and reset the counters */
+  public static synchronized void clear() {
+	cache.clear();
+	cachedBytes = 0;
+	bytesRead = 0;
+	filesRead = 0;
+	cacheHits = 0;
+  }
+}
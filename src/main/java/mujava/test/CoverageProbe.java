@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import java.util.BitSet;
+
+/**
+ * <p>Description: Records the lines reached by the original class written by
+ *    {@link mujava.op.util.CoverageCodeWriter}. </p>
+ *
+ * @version 1.0
+ */
+
+public class CoverageProbe {
+
+  static final BitSet lines = new BitSet();
+
+  /** Called by the probe of the statement at <i>line</i> */
+  public static void hit(int line) {
+	synchronized (lines) {
+	  lines.set(line);
+	}
+  }
+
+  /** Forget the lines reached so far */
+  public static void reset() {
+	synchronized (lines) {
+	  lines.clear();
+	}
+  }
+
+  /** Return the lines reached since the last reset */
+  public static BitSet covered() {
+	synchronized (lines) {
+	  return (BitSet) lines.clone();
+	}
+  }
+}
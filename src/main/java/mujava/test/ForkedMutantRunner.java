@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutationSystem;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Runs mutants in a pool of long-lived worker JVMs ({@link MutantWorker}). </p>
+ * <p>A worker that does not answer within the timeout is killed and a new one
+ *    is started in its place, so a mutant stuck in a loop can not keep using
+ *    the CPU, and its threads and classes do not stay in the JVM of muJava.
+ *    The workers load the mutants from disk, and share the classes the
+ *    mutants do not change after {@link #shareProgramClasses(boolean)}. </p>
+ *
+ * @version 1.0
+ */
+
+public class ForkedMutantRunner extends MutantTestRunner {
+
+  /** milliseconds a worker gets, besides the timeout, to load the test set and answer */
+  static final int KILL_GRACE = 3000;
+
+  /** answer put in a worker's queue when its stdout is closed */
+  static final String CLOSED = "\u0000closed";
+
+  /** idle workers */
+  BlockingQueue<Worker> idle = new LinkedBlockingQueue<Worker>();
+
+  /** every started worker that is still alive */
+  final List<Worker> all = new ArrayList<Worker>();
+
+  /** number of workers, started by the first run */
+  int workers;
+  boolean started = false;
+
+  public ForkedMutantRunner(String testSet, String mutantPath, List<String> junitTests, int timeout,
+							int workers) {
+	super(testSet, mutantPath, junitTests, timeout);
+	this.workers = workers;
+  }
+
+  synchronized void startWorkers() throws IOException {
+	if (started)
+	  return;
+	for (int i = 0; i < workers; i++) {
+	  idle.add(startWorker());
+	}
+	started = true;
+  }
+
+  /** Run the mutants found under <i>mutantPath</i> from now on */
+  public void setMutantPath(String mutantPath) {
+	this.mutantPath = mutantPath;
+  }
+
+  /**
+   * Run the tests <i>selectedTests</i> (null for every test) against the mutant
+   * <i>mutant_name</i> in an idle worker.
+   * The worker is replaced if the mutant exceeds the timeout.
+   */
+  public Map<String, String> run(String mutant_name, Collection<String> selectedTests) throws Exception {
+	startWorkers();
+	List<String> order = testOrder;
+	String request = mutantPath + "\t" + mutant_name + "\t"
+		+ (firstKill && order != null ? MutantWorker.join(order) : "");
+	if (selectedTests != null)
+	  request = request + "\t" + MutantWorker.join(selectedTests);
+
+	Worker worker = idle.take();
+	try {
+	  String answer = worker.request(request, timeout + KILL_GRACE);
+	  if (answer == null || answer.equals(CLOSED)) {
+		worker.kill();
+		worker = startWorker();
+		Map<String, String> timeoutResults = new HashMap<String, String>();
+		for (String name : junitTests) {
+		  timeoutResults.put(name, timeoutResult());
+		}
+		return timeoutResults;
+	  }
+	  if (answer.startsWith("!"))
+		throw new Exception(URLDecoder.decode(answer.substring(1), MutantWorker.ENCODING));
+
+	  Map<String, String> results = MutantWorker.decode(answer);
+	  if (isTimeout(results)) {
+		// the worker exits after a time out
+		worker.kill();
+		worker = startWorker();
+	  }
+	  return results;
+	} finally {
+	  idle.add(worker);
+	}
+  }
+
+  /** Kill every worker */
+  public void close() {
+	synchronized (all) {
+	  for (Worker worker : all) {
+		worker.process.destroyForcibly();
+	  }
+	  all.clear();
+	}
+	idle.clear();
+	started = false;
+  }
+
+  Worker startWorker() throws IOException {
+	List<String> command = new ArrayList<String>();
+	command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+	command.add("-cp");
+	command.add(System.getProperty("java.class.path"));
+	command.add(MutantWorker.class.getName());
+	command.add(MutationSystem.CLASS_PATH);
+	command.add(MutationSystem.TESTSET_PATH);
+	command.add(testSet);
+	command.add(Integer.toString(timeout));
+	if (shareProgramClasses)
+	  command.add("-shareclasses");
+	command.addAll(junitTests);
+
+	ProcessBuilder builder = new ProcessBuilder(command);
+	builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+	Worker worker = new Worker(builder.start());
+	// the first line gives the mode and the original results, or nothing
+	String originals = "";
+	if (originalResults != null)
+	  originals = (firstKill ? "first" : "all") + "\t" + MutantWorker.encode(originalResults);
+	worker.requests.write(originals + "\n");
+	worker.requests.flush();
+	synchronized (all) {
+	  all.add(worker);
+	}
+	return worker;
+  }
+
+  /** A worker JVM with a thread that collects its answers */
+  class Worker {
+	final Process process;
+	final Writer requests;
+	final BlockingQueue<String> answers = new LinkedBlockingQueue<String>();
+
+	Worker(Process process) throws IOException {
+	  this.process = process;
+	  requests = new OutputStreamWriter(process.getOutputStream(), MutantWorker.ENCODING);
+	  final BufferedReader reader = new BufferedReader(
+		  new InputStreamReader(process.getInputStream(), MutantWorker.ENCODING));
+	  Thread t = new Thread(new Runnable() {
+		public void run() {
+		  try {
+			String line = reader.readLine();
+			while (line != null) {
+			  answers.add(line);
+			  line = reader.readLine();
+			}
+		  } catch (IOException e) {
+			// the worker was killed
+		  }
+		  answers.add(CLOSED);
+		}
+	  });
+	  t.setDaemon(true);
+	  t.start();
+	}
+
+	/** Send a request and wait for its answer, null if it takes more than <i>millis</i> */
+	String request(String request, long millis) throws IOException, InterruptedException {
+	  try {
+		requests.write(request + "\n");
+		requests.flush();
+	  } catch (IOException e) {
+		return CLOSED;
+	  }
+	  return answers.poll(millis, TimeUnit.MILLISECONDS);
+	}
+
+	void kill() {
+	  process.destroyForcibly();
+	  synchronized (all) {
+		all.remove(this);
+	  }
+	}
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava.test;
+
+import java.util.BitSet;
+
+/**
+ * <p>Description: Records the mutants whose mutated expression has another
+ *    value than the original expression, in the weak mutation schemata of a
+ *    class (see mujava.op.util.MutantSchemata). The schemata calls
+ *    {@link #enter(int)} before it evaluates a mutated expression, and
+ *    <code>infect</code> once it is evaluated; a mutated expression that
+ *    throws an exception leaves the mutant entered, and the state of the
+ *    program may differ from the original one from then on. </p>
+ * <p>Only the primitive types a mutated expression may have are probed: the
+ *    probes of a schemata are nested, and a generic probe would make the
+ *    compiler infer the types of each nesting again. </p>
+ *
+ * @version 1.0
+ */
+
+public class InfectionProbe {
+
+  static final BitSet infected = new BitSet();
+
+  /** ID of the mutant whose expression is evaluated, 0 for none */
+  static int entered = 0;
+
+  /** a mutated expression threw an exception */
+  static boolean disturbed = false;
+
+  /** Called before the expression of the mutant <i>id</i> is evaluated */
+  public static int enter(int id) {
+	synchronized (infected) {
+	  if (entered != 0)
+		disturbed = true;
+	  entered = id;
+	}
+	return id;
+  }
+
+  /**
+   * Record that the mutant <i>id</i> infects the state if its value <i>mutant</i>
+   * differs from the value <i>original</i> of the original expression
+   * @return the original value
+   */
+  public static int infect(int original, int id, int mutant) {
+	record(id, original != mutant);
+	return original;
+  }
+
+  public static long infect(long original, int id, long mutant) {
+	record(id, original != mutant);
+	return original;
+  }
+
+  public static float infect(float original, int id, float mutant) {
+	record(id, Float.compare(original, mutant) != 0);
+	return original;
+  }
+
+  public static double infect(double original, int id, double mutant) {
+	record(id, Double.compare(original, mutant) != 0);
+	return original;
+  }
+
+  public static boolean infect(boolean original, int id, boolean mutant) {
+	record(id, original != mutant);
+	return original;
+  }
+
+  static void record(int id, boolean differs) {
+	synchronized (infected) {
+	  entered = 0;
+	  if (differs)
+		infected.set(id);
+	}
+  }
+
+  /** Forget the mutants infected so far */
+  public static void reset() {
+	synchronized (infected) {
+	  infected.clear();
+	  entered = 0;
+	  disturbed = false;
+	}
+  }
+
+  /** Return the IDs of the mutants infected since the last reset */
+  public static BitSet infected() {
+	synchronized (infected) {
+	  return (BitSet) infected.clone();
+	}
+  }
+
+  /** Return true if a mutated expression threw an exception since the last reset */
+  public static boolean isDisturbed() {
+	synchronized (infected) {
+	  return disturbed || entered != 0;
+	}
+  }
+}
@@ -17,6 +17,7 @@
 
 package mujava.test;
 
+import mujava.MutantStore;
 import mujava.MutationSystem;
 
 import java.io.*;
@@ -33,7 +34,10 @@ import java.net.URL;
 public class JMutationLoader extends ClassLoader {
 
   String mutant_name;
+  String mutant_path;
   boolean tt = false;
+  // classes that are the same for every mutant, null to define them all here
+  SharedProgramLoader shared;
 
   public JMutationLoader() {
 	super(null);
@@ -44,6 +48,32 @@ public class JMutationLoader extends ClassLoader {
 	mutant_name = dir;
   }
 
+  /**
+   * Loader for the mutant <i>dir</i> located under <i>mutantPath</i>
+   * instead of the current MutationSystem.MUTANT_PATH
+   */
+  public JMutationLoader(String dir, String mutantPath) {
+	this(dir);
+	mutant_path = mutantPath;
+  }
+
+  /**
+   * Loader for the mutant <i>dir</i> located under <i>mutantPath</i> that only
+   * defines the mutated classes, the test set and the classes that refer to them;
+   * the other classes come from <i>shared</i>
+   */
+  public JMutationLoader(String dir, String mutantPath, SharedProgramLoader shared) {
+	this(dir, mutantPath);
+	this.shared = shared;
+  }
+
+  /** Directory of the mutant class files */
+  String getMutantDirectory() {
+	if (mutant_path == null)
+	  return MutationSystem.MUTANT_PATH + "/" + mutant_name;
+	return mutant_path + "/" + mutant_name;
+  }
+
 
   public synchronized Class loadTestClass(String name) throws ClassNotFoundException {
 	Class result;
@@ -69,6 +99,14 @@ public class JMutationLoader extends ClassLoader {
 	  return result;
 	}
 
+	// In-memory mutants come first: after generation in the same JVM,
+	// the system class loader can also see the original class
+	if (MutationSystem.IN_MEMORY_MUTANTS) {
+	  byte[] data = MutantStore.getClassBytes(getMutantDirectory(), name);
+	  if (data != null)
+		return defineClass(name, data, 0, data.length);
+	}
+
 	try {
 	  result = findSystemClass(name);
 	  return result;
@@ -83,11 +121,13 @@ public class JMutationLoader extends ClassLoader {
 		  int start_index = name.lastIndexOf(".");
 		  if (start_index >= 0) {
 			String nameWithNoPackage = name.substring(start_index + 1, name.length());
-			data = getClassData(nameWithNoPackage, MutationSystem.MUTANT_PATH + "/" + mutant_name);
+			data = getClassData(nameWithNoPackage, getMutantDirectory());
 		  } else {
-			data = getClassData(name, MutationSystem.MUTANT_PATH + "/" + mutant_name);
+			data = getClassData(name, getMutantDirectory());
 		  }
 		} catch (FileNotFoundException e) {
+		  if (shared != null && !shared.isMutantLocal(name))
+			return shared.loadClass(name);
 		  data = getClassData(name, MutationSystem.CLASS_PATH);
 		}
 	  } catch (FileNotFoundException e) {
@@ -112,21 +152,8 @@ public class JMutationLoader extends ClassLoader {
 	// Create a file object relative to directory provided
 	File f = new File(directory, filename);
 
-	// Get stream to read from
-	FileInputStream fis = new FileInputStream(f);
-
-	BufferedInputStream bis = new BufferedInputStream(fis);
-	ByteArrayOutputStream out = new ByteArrayOutputStream();
-	try {
-	  int c = bis.read();
-	  while (c != -1) {
-		out.write(c);
-		c = bis.read();
-	  }
-	} catch (IOException e) {
-	  return null;
-	}
-	return out.toByteArray();
+	// the class files of the mutant are read only once
+	return ClassFileReader.read(f, !directory.equals(getMutantDirectory()));
   }
 
   /**
@@ -0,0 +1,517 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: Which tests kill which mutants of a class, kept next to
+ *    the result_list csv file it is exported to (result_list.matrix for
+ *    result_list.csv). </p>
+ * <p>The matrix has a dictionary of tests, a dictionary of mutants and, for
+ *    each mutant, one bit per test. The file is a log of records: a test
+ *    record adds a test to the dictionary, a row record gives the killing
+ *    tests of a mutant (the last row of a mutant wins). Saving only appends
+ *    the new tests and the changed rows; the file is rewritten when most of
+ *    its rows are out of date. </p>
+ * <p>The file is memory-mapped when it is read, and a row is decoded the
+ *    first time it is used. Some platforms don't let a mapped file be
+ *    replaced: the rows are then appended instead of rewritten.
+ *    result_list.csv is an export of the matrix (see {@link #exportCsv(File)}). </p>
+ *
+ * @version 1.0
+ */
+
+public class KillMatrix {
+
+  static final String EXTENSION = ".matrix";
+
+  static final int MAGIC = 0x4D4A4B4D; // MJKM
+  static final int VERSION = 1;
+
+  static final byte TEST_RECORD = 1;
+  static final byte ROW_RECORD = 2;
+
+  static final byte EQUIVALENT = 1;
+
+  /** titles of the two last columns of result_list.csv */
+  static final String TOTAL = "Total";
+  static final String EQUIV = "Equiv?";
+
+  File file;
+
+  List<String> tests = new ArrayList<String>();
+  Map<String, Integer> testIndex = new HashMap<String, Integer>();
+
+  List<String> mutants = new ArrayList<String>();
+  Map<String, Integer> mutantIndex = new HashMap<String, Integer>();
+
+  /** decoded rows, null until the row is used */
+  List<long[]> rows = new ArrayList<long[]>();
+
+  /** position of the last row of each mutant in the mapped file, -1 if none */
+  List<Integer> offsets = new ArrayList<Integer>();
+
+  BitSet equivalent = new BitSet();
+
+  /** mapped content of the file when it was read */
+  ByteBuffer buffer;
+
+  /** number of tests and of row records in the file */
+  int savedTests = 0;
+  int savedRows = 0;
+
+  /** mutants whose row changed since the file was read or saved */
+  Set<Integer> changed = new LinkedHashSet<Integer>();
+
+  /** Empty matrix, saved to <i>file</i> */
+  public KillMatrix(File file) {
+	this.file = file;
+  }
+
+  /**
+   * Matrix kept in <i>file</i>, empty if the file does not exist
+   * @throws IOException if the file is not a kill matrix
+   */
+  public static KillMatrix open(File file) throws IOException {
+	KillMatrix matrix = new KillMatrix(file);
+	if (file.isFile())
+	  matrix.load();
+	return matrix;
+  }
+
+  /**
+   * Matrix read from <i>file</i>, either a kill matrix or a result_list
+   * csv file. A matrix read from a csv file is saved with {@link #exportCsv(File)}.
+   */
+  public static KillMatrix read(File file) throws IOException {
+	if (isKillMatrix(file))
+	  return open(file);
+	KillMatrix matrix = new KillMatrix(null);
+	matrix.importCsv(file);
+	return matrix;
+  }
+
+  /** Return the kill matrix file of the result_list csv file <i>csv</i> */
+  public static File getMatrixFile(File csv) {
+	String name = csv.getName();
+	if (name.endsWith(".csv"))
+	  name = name.substring(0, name.length() - ".csv".length());
+	return new File(csv.getParentFile(), name + EXTENSION);
+  }
+
+  /** Return true if <i>file</i> is a kill matrix */
+  public static boolean isKillMatrix(File file) {
+	if (!file.isFile() || file.length() < 8)
+	  return false;
+	DataInputStream in = null;
+	try {
+	  in = new DataInputStream(new FileInputStream(file));
+	  return in.readInt() == MAGIC;
+	} catch (IOException e) {
+	  return false;
+	} finally {
+	  close(in);
+	}
+  }
+
+  public List<String> getTests() {
+	return tests;
+  }
+
+  public List<String> getMutants() {
+	return mutants;
+  }
+
+  public boolean containsMutant(String mutant) {
+	return mutantIndex.containsKey(mutant);
+  }
+
+  /** Add a test (a column), return its index */
+  public int addTest(String test) {
+	Integer index = testIndex.get(test);
+	if (index != null)
+	  return index;
+	tests.add(test);
+	testIndex.put(test, tests.size() - 1);
+	return tests.size() - 1;
+  }
+
+  /** Add a mutant (a row) killed by no test, return its index */
+  public int addMutant(String mutant) {
+	Integer index = mutantIndex.get(mutant);
+	if (index != null)
+	  return index;
+	mutants.add(mutant);
+	mutantIndex.put(mutant, mutants.size() - 1);
+	rows.add(new long[0]);
+	offsets.add(-1);
+	changed.add(mutants.size() - 1);
+	return mutants.size() - 1;
+  }
+
+  /** Record that the <i>killers</i> tests kill <i>mutant</i>, in addition to its known killers */
+  public void addKills(String mutant, Collection<String> killers) {
+	int m = addMutant(mutant);
+	long[] row = getRow(m);
+	for (String test : killers) {
+	  int t = addTest(test);
+	  if (t / 64 >= row.length) {
+		long[] grown = new long[t / 64 + 1];
+		System.arraycopy(row, 0, grown, 0, row.length);
+		row = grown;
+	  }
+	  row[t / 64] |= 1L << (t % 64);
+	}
+	rows.set(m, row);
+	changed.add(m);
+  }
+
+  /** Record that the <i>killers</i> tests, and only them, kill <i>mutant</i> */
+  public void setKillers(String mutant, Collection<String> killers) {
+	int m = addMutant(mutant);
+	rows.set(m, new long[0]);
+	addKills(mutant, killers);
+  }
+
+  public boolean isKilled(String mutant, String test) {
+	Integer m = mutantIndex.get(mutant);
+	Integer t = testIndex.get(test);
+	if (m == null || t == null)
+	  return false;
+	long[] row = getRow(m);
+	return t / 64 < row.length && (row[t / 64] & (1L << (t % 64))) != 0;
+  }
+
+  /** Tests that kill <i>mutant</i>, as bits indexed like {@link #getTests()} */
+  public BitSet getKillSet(String mutant) {
+	Integer m = mutantIndex.get(mutant);
+	return m == null ? new BitSet() : BitSet.valueOf(getRow(m));
+  }
+
+  /** Tests that kill <i>mutant</i> */
+  public List<String> getKillers(String mutant) {
+	List<String> killers = new ArrayList<String>();
+	BitSet kills = getKillSet(mutant);
+	for (int t = kills.nextSetBit(0); t >= 0; t = kills.nextSetBit(t + 1)) {
+	  killers.add(tests.get(t));
+	}
+	return killers;
+  }
+
+  public int getKillCount(String mutant) {
+	return getKillSet(mutant).cardinality();
+  }
+
+  /** Mutants killed by <i>test</i> */
+  public List<String> getKilledMutants(String test) {
+	List<String> killed = new ArrayList<String>();
+	Integer t = testIndex.get(test);
+	if (t == null)
+	  return killed;
+	for (int m = 0; m < mutants.size(); m++) {
+	  long[] row = getRow(m);
+	  if (t / 64 < row.length && (row[t / 64] & (1L << (t % 64))) != 0)
+		killed.add(mutants.get(m));
+	}
+	return killed;
+  }
+
+  /** Mutants killed by no test and not marked as equivalent */
+  public List<String> getLiveMutants() {
+	List<String> live = new ArrayList<String>();
+	for (int m = 0; m < mutants.size(); m++) {
+	  if (!equivalent.get(m) && BitSet.valueOf(getRow(m)).isEmpty())
+		live.add(mutants.get(m));
+	}
+	return live;
+  }
+
+  public boolean isEquivalent(String mutant) {
+	Integer m = mutantIndex.get(mutant);
+	return m != null && equivalent.get(m);
+  }
+
+  public void setEquivalent(String mutant, boolean value) {
+	int m = addMutant(mutant);
+	if (equivalent.get(m) == value)
+	  return;
+	equivalent.set(m, value);
+	getRow(m);
+	changed.add(m);
+  }
+
+  long[] getRow(int m) {
+	long[] row = rows.get(m);
+	if (row == null) {
+	  int position = offsets.get(m);
+	  row = new long[buffer.getInt(position)];
+	  for (int i = 0; i < row.length; i++) {
+		row[i] = buffer.getLong(position + 4 + i * 8);
+	  }
+	  rows.set(m, row);
+	}
+	return row;
+  }
+
+  /** Write the new tests and the changed rows to the file of the matrix */
+  public void save() throws IOException {
+	if (file.isFile() && savedRows + changed.size() > 2 * mutants.size() + 16) {
+	  rewrite();
+	  return;
+	}
+	if (!file.isFile()) {
+	  savedTests = 0;
+	  savedRows = 0;
+	  changed.clear();
+	  for (int m = 0; m < mutants.size(); m++) {
+		changed.add(m);
+	  }
+	}
+	if (savedTests == tests.size() && changed.isEmpty())
+	  return;
+	append();
+  }
+
+  /** Append the new tests and the changed rows, or the whole matrix to a new file */
+  void append() throws IOException {
+	boolean append = file.isFile();
+	DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append)));
+	try {
+	  if (!append) {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+	  }
+	  writeRecords(out);
+	} finally {
+	  out.close();
+	}
+  }
+
+  /**
+   * Write the whole matrix again, without the rows that are out of date.
+   * If the file can't be replaced while it is still mapped, append the
+   * changes to it instead.
+   */
+  void rewrite() throws IOException {
+	for (int m = 0; m < mutants.size(); m++) {
+	  getRow(m);
+	}
+	buffer = null;
+	int oldTests = savedTests;
+	int oldRows = savedRows;
+	Set<Integer> oldChanged = new LinkedHashSet<Integer>(changed);
+	File temp = new File(file.getPath() + ".tmp");
+	DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+	try {
+	  out.writeInt(MAGIC);
+	  out.writeInt(VERSION);
+	  savedTests = 0;
+	  savedRows = 0;
+	  changed.clear();
+	  for (int m = 0; m < mutants.size(); m++) {
+		changed.add(m);
+	  }
+	  writeRecords(out);
+	} finally {
+	  out.close();
+	}
+	try {
+	  Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	} catch (IOException e) {
+	  temp.delete();
+	  savedTests = oldTests;
+	  savedRows = oldRows;
+	  changed = oldChanged;
+	  append();
+	}
+  }
+
+  void writeRecords(DataOutputStream out) throws IOException {
+	for (int t = savedTests; t < tests.size(); t++) {
+	  out.writeByte(TEST_RECORD);
+	  out.writeUTF(tests.get(t));
+	}
+	savedTests = tests.size();
+
+	for (int m : changed) {
+	  long[] row = getRow(m);
+	  int length = row.length;
+	  while (length > 0 && row[length - 1] == 0)
+		length--;
+	  out.writeByte(ROW_RECORD);
+	  out.writeUTF(mutants.get(m));
+	  out.writeByte(equivalent.get(m) ? EQUIVALENT : 0);
+	  out.writeInt(length);
+	  for (int i = 0; i < length; i++) {
+		out.writeLong(row[i]);
+	  }
+	  savedRows++;
+	}
+	changed.clear();
+  }
+
+  void load() throws IOException {
+	RandomAccessFile raf = new RandomAccessFile(file, "r");
+	try {
+	  buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+	} finally {
+	  raf.close();
+	}
+	if (buffer.limit() < 8 || buffer.getInt(0) != MAGIC)
+	  throw new IOException(file + " is not a kill matrix");
+	if (buffer.getInt(4) != VERSION)
+	  throw new IOException("unknown version of kill matrix " + file);
+
+	int position = 8;
+	while (position < buffer.limit()) {
+	  byte tag = buffer.get(position++);
+	  int nameLength = buffer.getShort(position) & 0xFFFF;
+	  String name = decodeName(position + 2, nameLength);
+	  position += 2 + nameLength;
+	  if (tag == TEST_RECORD) {
+		addTest(name);
+	  } else if (tag == ROW_RECORD) {
+		int m = addMutant(name);
+		equivalent.set(m, (buffer.get(position) & EQUIVALENT) != 0);
+		rows.set(m, null);
+		offsets.set(m, position + 1);
+		position += 1 + 4 + buffer.getInt(position + 1) * 8;
+		savedRows++;
+	  } else {
+		throw new IOException("bad record in kill matrix " + file);
+	  }
+	}
+	savedTests = tests.size();
+	changed.clear();
+  }
+
+  String decodeName(int position, int length) throws IOException {
+	byte[] utf = new byte[length + 2];
+	utf[0] = (byte) (length >> 8);
+	utf[1] = (byte) length;
+	for (int i = 0; i < length; i++) {
+	  utf[i + 2] = buffer.get(position + i);
+	}
+	return new DataInputStream(new ByteArrayInputStream(utf)).readUTF();
+  }
+
+  /**
+   * Read a result_list csv file: a title line (Mutant, the tests, Total,
+   * Equiv?) then one line per mutant, "1" for the tests that kill it
+   */
+  public void importCsv(File csv) throws IOException {
+	BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(csv), "utf-8"));
+	try {
+	  String line = br.readLine();
+	  if (line == null)
+		return;
+	  String[] title = line.split(",");
+	  List<String> columns = new ArrayList<String>();
+	  for (int i = 1; i < title.length; i++) {
+		if (i >= title.length - 2 && (title[i].equals(TOTAL) || title[i].equals(EQUIV)))
+		  continue;
+		columns.add(title[i]);
+		addTest(title[i]);
+	  }
+
+	  while ((line = br.readLine()) != null) {
+		if (line.length() == 0)
+		  continue;
+		String[] cells = line.split(",");
+		List<String> killers = new ArrayList<String>();
+		for (int i = 0; i < columns.size() && i + 1 < cells.length; i++) {
+		  if (cells[i + 1].trim().equals("1"))
+			killers.add(columns.get(i));
+		}
+		addKills(cells[0], killers);
+		int equiv = columns.size() + 2;
+		if (equiv < cells.length && cells[equiv].trim().equalsIgnoreCase("Y"))
+		  setEquivalent(cells[0], true);
+	  }
+	} finally {
+	  br.close();
+	}
+  }
+
+  /** Write the matrix as a result_list csv file */
+  public void exportCsv(File csv) throws IOException {
+	StringBuilder content = new StringBuilder();
+	content.append("Mutant,");
+	for (String test : tests) {
+	  content.append(test).append(",");
+	}
+	content.append(TOTAL).append(",").append(EQUIV).append("\r\n");
+
+	for (int m = 0; m < mutants.size(); m++) {
+	  BitSet kills = BitSet.valueOf(getRow(m));
+	  content.append(mutants.get(m)).append(",");
+	  for (int t = 0; t < tests.size(); t++) {
+		content.append(kills.get(t) ? "1," : " ,");
+	  }
+	  content.append(kills.cardinality()).append(",");
+	  content.append(equivalent.get(m) ? "Y" : " ");
+	  content.append("\r\n");
+	}
+
+	FileOutputStream fout = new FileOutputStream(csv);
+	try {
+	  fout.write(content.toString().getBytes("utf-8"));
+	} finally {
+	  fout.close();
+	}
+  }
+
+  public String toString() {
+	return "kill matrix: " + mutants.size() + " mutants, " + tests.size() + " tests, "
+		+ getLiveMutants().size() + " live";
+  }
+
+  static void close(Closeable c) {
+	if (c == null)
+	  return;
+	try {
+	  c.close();
+	} catch (IOException e) {
+	  // ignore
+	}
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutationSystem;
+import mujava.op.util.MutantSchemata;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: Loads the mutant schemata of a class, written by the
+ *    generation of its traditional mutants with MutationSystem.MUTANT_SCHEMATA.
+ *    The schemata and the test set are loaded once for all its mutants; a
+ *    mutant is run by setting {@link MutantSwitch#active} to its ID. </p>
+ * <p>The mutants of the schemata share the static fields of the class and of
+ *    the test set. They are loaded again after a mutant that exceeds the
+ *    timeout, whose test thread may still be running. </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantSchemataLoader {
+
+  /** schemata directory -> loader, reread when the schemata is generated again */
+  static Map<File, MutantSchemataLoader> loaders = new HashMap<File, MutantSchemataLoader>();
+
+  /** directory of the results of the class (result/&lt;Class&gt;) */
+  String classResultPath;
+
+  File idsFile;
+  long modified;
+
+  /** method/mutant directory -> ID */
+  Map<String, Integer> ids = new HashMap<String, Integer>();
+
+  /** classes of the schemata, by simple name */
+  Set<String> classes = new HashSet<String>();
+
+  Class testClass = null;
+
+  MutantSchemataLoader(String classResultPath, File idsFile) throws IOException {
+	this.classResultPath = classResultPath;
+	this.idsFile = idsFile;
+	modified = idsFile.lastModified();
+	BufferedReader reader = null;
+	try {
+	  reader = new BufferedReader(new FileReader(idsFile));
+	  String line;
+	  while ((line = reader.readLine()) != null) {
+		int tab = line.indexOf('\t');
+		if (tab > 0)
+		  ids.put(line.substring(tab + 1), Integer.parseInt(line.substring(0, tab)));
+	  }
+	} finally {
+	  if (reader != null)
+		reader.close();
+	}
+	for (String name : idsFile.getParentFile().list()) {
+	  if (name.endsWith(".class"))
+		classes.add(name.substring(0, name.length() - ".class".length()));
+	}
+  }
+
+  /**
+   * Return the loader of the schemata of the traditional mutants of
+   * <i>mutantPath</i> (a method directory of traditional_mutants), or null
+   * if they have no schemata
+   */
+  public static synchronized MutantSchemataLoader of(String mutantPath) {
+	File methodDir = new File(mutantPath);
+	File tmDir = methodDir.getParentFile();
+	if (tmDir == null || !tmDir.getName().equals(MutationSystem.TM_DIR_NAME))
+	  return null;
+	File dir = new File(tmDir.getParentFile(), MutationSystem.SCHEMATA_DIR_NAME);
+	File idsFile = new File(dir, MutantSchemata.IDS_FILE);
+	MutantSchemataLoader loader = loaders.get(dir);
+	if (loader != null && loader.modified == idsFile.lastModified())
+	  return loader;
+	loaders.remove(dir);
+	if (!idsFile.isFile())
+	  return null;
+	try {
+	  loader = new MutantSchemataLoader(tmDir.getParent(), idsFile);
+	} catch (Exception e) {
+	  System.err.println("[ERROR] Can't read " + idsFile + ", the mutants are run on their own: " + e);
+	  return null;
+	}
+	loaders.put(dir, loader);
+	return loader;
+  }
+
+  /**
+   * Return the ID of the mutant <i>mutant_name</i> of the method directory
+   * <i>mutantPath</i>, 0 if it is not in the schemata
+   */
+  public int getId(String mutantPath, String mutant_name) {
+	Integer id = ids.get(new File(mutantPath).getName() + "/" + mutant_name);
+	return id == null ? 0 : id;
+  }
+
+  /** Return the test set <i>testSet</i>, loaded with the schemata the first time */
+  public synchronized Class loadTestClass(String testSet) throws ClassNotFoundException {
+	if (testClass == null || !testClass.getName().equals(testSet)) {
+	  JMutationLoader loader = new JMutationLoader(MutationSystem.SCHEMATA_DIR_NAME, classResultPath,
+		  new SharedProgramLoader(classes));
+	  testClass = loader.loadTestClass(testSet);
+	}
+	return testClass;
+  }
+
+  /** Load the schemata and the test set again for the next mutant */
+  public synchronized void reload() {
+	testClass = null;
+  }
+}
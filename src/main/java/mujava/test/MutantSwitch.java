@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+/**
+ * <p>Description: Selects the mutant run by the mutant schemata of a class
+ *    (see mujava.op.util.MutantSchemata). Each mutated expression of the
+ *    schemata is guarded by the ID of its mutant; with 0, the schemata runs
+ *    as the original class. </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantSwitch {
+
+  /** ID of the mutant to run, 0 for none */
+  public static int active = 0;
+}
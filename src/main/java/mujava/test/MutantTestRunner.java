@@ -0,0 +1,407 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutantStore;
+import mujava.MutationSystem;
+import mujava.util.Metrics;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: Runs a JUnit test set against a single mutant. </p>
+ * <p>Every call to {@link #run(String)} uses its own {@link JMutationLoader}
+ *    and its own result map, so one runner can be shared by several
+ *    worker threads executing different mutants at the same time.
+ *    After {@link #shareProgramClasses(boolean)}, the mutant loaders only
+ *    define the mutated classes and the classes that depend on them; the rest
+ *    of the program is defined once by a {@link SharedProgramLoader}. </p>
+ * <p>The mutants compiled in the mutant schemata of their class are not
+ *    loaded on their own: the schemata is loaded once by a
+ *    {@link MutantSchemataLoader}, and run with the ID of the mutant in
+ *    {@link MutantSwitch}. Since the switch is shared, these mutants are
+ *    run one at a time. </p>
+ * <p>By default every test is run against every mutant (full kill matrix).
+ *    After {@link #stopAtFirstKill(Map)}, the tests of a mutant stop as soon
+ *    as one of them kills it, and {@link #run(String, Collection)} runs only
+ *    some of the tests; the tests that are not run keep their original result. </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantTestRunner {
+
+  /** name of the JUnit test set class */
+  String testSet;
+
+  /** directory that holds the mutant directories (i.e. MUTANT_PATH) */
+  String mutantPath;
+
+  /** names of the JUnit test methods of the test set */
+  List<String> junitTests;
+
+  /** milliseconds a mutant may run before it is considered in an infinite loop */
+  int timeout;
+
+  /** results of the tests against the original class, given to the tests that are not run */
+  Map<String, String> originalResults = null;
+
+  /** stop the tests of a mutant once it is killed */
+  boolean firstKill = false;
+
+  /** order in which the tests are run when stopping at the first kill, null for the JUnit order */
+  volatile List<String> testOrder = null;
+
+  /** milliseconds a timed out mutant is given to end once interrupted, before its thread is stopped */
+  static final int STOP_DELAY = 100;
+
+  /** define the classes that the mutants do not change once, for every mutant */
+  boolean shareProgramClasses = false;
+
+  /** parent of the mutant loaders, rebuilt when the mutated classes change */
+  SharedProgramLoader sharedLoader = null;
+
+  public MutantTestRunner(String testSet, String mutantPath, List<String> junitTests, int timeout) {
+	this.testSet = testSet;
+	this.mutantPath = mutantPath;
+	this.junitTests = junitTests;
+	this.timeout = timeout;
+  }
+
+  /** Results of the tests against the original class, needed to run only some of the tests */
+  public void setOriginalResults(Map<String, String> originalResults) {
+	this.originalResults = originalResults;
+  }
+
+  /**
+   * Stop the tests of a mutant at the first one whose result differs from <i>originalResults</i>
+   */
+  public void stopAtFirstKill(Map<String, String> originalResults) {
+	this.originalResults = originalResults;
+	firstKill = true;
+  }
+
+  /**
+   * Define the classes that the mutants do not change once, in a {@link SharedProgramLoader},
+   * instead of once for each mutant. Their static fields then keep their values from one
+   * mutant to the next and are shared by the mutants run in parallel, so a mutant may
+   * not get the same results as when it runs on its own.
+   */
+  public void shareProgramClasses(boolean share) {
+	shareProgramClasses = share;
+  }
+
+  /** Run the tests in the order of <i>testNames</i> (when stopping at the first kill) */
+  public void setTestOrder(List<String> testNames) {
+	testOrder = testNames;
+  }
+
+  /**
+   * Run the test set against the mutant <i>mutant_name</i>
+   * @param mutant_name name of the mutant directory
+   * @return result of every test, keyed by test name
+   * @throws Exception if the test set can not be loaded for the mutant
+   */
+  public Map<String, String> run(String mutant_name) throws Exception {
+	return run(mutant_name, null);
+  }
+
+  /**
+   * Run the tests <i>selectedTests</i> against the mutant <i>mutant_name</i>.
+   * The other tests keep their original result (see {@link #setOriginalResults(Map)}).
+   * @param mutant_name name of the mutant directory
+   * @param selectedTests names of the tests to run, null to run every test
+   * @return result of every test, keyed by test name
+   * @throws Exception if the test set can not be loaded for the mutant
+   */
+  public Map<String, String> run(String mutant_name, final Collection<String> selectedTests) throws Exception {
+	MutantSchemataLoader schemata = MutantSchemataLoader.of(mutantPath);
+	int id = schemata == null ? 0 : schemata.getId(mutantPath, mutant_name);
+	if (id == 0) {
+	  long start = Metrics.start();
+	  JMutationLoader mutantLoader = new JMutationLoader(mutant_name, mutantPath, getSharedLoader(mutant_name));
+	  Class mutant_executer = mutantLoader.loadTestClass(testSet);
+	  mutant_executer.newInstance();
+	  Metrics.stop("load", mutant_name, start);
+	  return runTests(mutant_executer, selectedTests);
+	}
+
+	synchronized (MutantSwitch.class) {
+	  long start = Metrics.start();
+	  Class mutant_executer = schemata.loadTestClass(testSet);
+	  mutant_executer.newInstance();
+	  Metrics.stop("load.schemata", mutant_name, start);
+	  MutantSwitch.active = id;
+	  try {
+		Map<String, String> results = runTests(mutant_executer, selectedTests);
+		if (isTimeout(results))
+		  schemata.reload();
+		return results;
+	  } finally {
+		MutantSwitch.active = 0;
+	  }
+	}
+  }
+
+  /** Run the tests <i>selectedTests</i> of the test set <i>mutant_executer</i>, loaded for a mutant */
+  Map<String, String> runTests(final Class mutant_executer, final Collection<String> selectedTests) throws Exception {
+	final Map<String, String> mutantResults = new HashMap<String, String>();
+	for (String name : junitTests) {
+	  if (originalResults != null && (firstKill || (selectedTests != null && !selectedTests.contains(name))))
+		mutantResults.put(name, originalResults.get(name));
+	  else
+		mutantResults.put(name, "pass");
+	}
+
+	// Mutants are runned using Thread to detect infinite loop caused by mutation
+	Runnable r;
+	if (!firstKill) {
+	  r = new Runnable() {
+		public void run() {
+		  try {
+			JUnitCore jCore = new JUnitCore();
+			Result result;
+			if (selectedTests == null)
+			  result = jCore.run(mutant_executer);
+			else
+			  result = jCore.run(Request.aClass(mutant_executer).filterWith(new TestSelection(selectedTests)));
+			synchronized (mutantResults) {
+			  recordFailures(result, testSet, mutantResults);
+			}
+		  } catch (Exception e) {
+			e.printStackTrace();
+		  }
+		}
+	  };
+	} else {
+	  final List<String> order = testOrder;
+	  r = new Runnable() {
+		public void run() {
+		  try {
+			Request request = Request.aClass(mutant_executer);
+			if (selectedTests != null)
+			  request = request.filterWith(new TestSelection(selectedTests));
+			if (order != null)
+			  request = request.sortWith(new TestOrder(order));
+			RunNotifier notifier = new RunNotifier();
+			notifier.addListener(new FirstKillListener(notifier, mutantResults));
+			request.getRunner().run(notifier);
+		  } catch (StoppedByUserException e) {
+			// the mutant is killed
+		  } catch (Exception e) {
+			e.printStackTrace();
+		  }
+		}
+	  };
+	}
+
+	Thread t = new Thread(r);
+	t.setDaemon(true);
+	t.start();
+	t.join(timeout); // Check out if a mutant is in infinite loop
+
+	if (t.isAlive()) {
+	  stop(t);
+	  Map<String, String> timeoutResults = new HashMap<String, String>();
+	  for (String name : junitTests) {
+		timeoutResults.put(name, timeoutResult());
+	  }
+	  return timeoutResults;
+	}
+
+	synchronized (mutantResults) {
+	  return new HashMap<String, String>(mutantResults);
+	}
+  }
+
+  /**
+   * Stop the thread of a mutant that exceeded the timeout. A mutant in an
+   * infinite loop does not check for interrupts, so the thread is stopped
+   * if it is still alive shortly after being interrupted; otherwise it would
+   * keep a CPU busy for the rest of the run.
+   */
+  @SuppressWarnings("deprecation")
+  static void stop(Thread t) throws InterruptedException {
+	t.interrupt();
+	t.join(STOP_DELAY);
+	if (!t.isAlive())
+	  return;
+	try {
+	  t.stop();
+	} catch (UnsupportedOperationException e) {
+	  // the JVM can not stop threads, the thread stays a daemon
+	}
+  }
+
+  /** Examine if <i>results</i> were recorded for a mutant that exceeded the timeout */
+  public boolean isTimeout(Map<String, String> results) {
+	return results.containsValue(timeoutResult());
+  }
+
+  /** Result recorded for every test of a mutant that exceeds the timeout */
+  public String timeoutResult() {
+	return "time_out: more than " + timeout + " milliseconds";
+  }
+
+  /**
+   * Save the failure info of <i>result</i> to <i>testResults</i>,
+   * in the same form used for the original test results
+   */
+  public static void recordFailures(Result result, String testSet, Map<String, String> testResults) {
+	List<Failure> listOfFailure = result.getFailures();
+	for (Failure failure : listOfFailure) {
+	  String nameOfTest = failure.getTestHeader().substring(0, failure.getTestHeader().indexOf("("));
+	  testResults.put(nameOfTest, failureResult(failure, testSet));
+	}
+  }
+
+  /** Return the result recorded for the failed test of <i>failure</i> */
+  public static String failureResult(Failure failure, String testSet) {
+	String nameOfTest = failure.getTestHeader().substring(0, failure.getTestHeader().indexOf("("));
+	String testSourceName = testSet + "." + nameOfTest;
+
+	// get the line where the error happens
+	String[] sb = failure.getTrace().split("\\n");
+	String lineNumber = "";
+	for (int i = 0; i < sb.length; i++) {
+	  if (sb[i].indexOf(testSourceName) != -1) {
+		lineNumber = sb[i].substring(sb[i].indexOf(":") + 1, sb[i].indexOf(")"));
+	  }
+	}
+
+	if (failure.getMessage() == null)
+	  return nameOfTest + ": " + lineNumber + "; " + "fail";
+	else if (failure.getMessage().equals(""))
+	  return nameOfTest + ": " + lineNumber + "; " + "fail";
+	else
+	  return nameOfTest + ": " + lineNumber + "; " + failure.getMessage();
+  }
+
+  /** Run only the tests of a set of test names */
+  static class TestSelection extends Filter {
+	Collection<String> tests;
+
+	TestSelection(Collection<String> tests) {
+	  this.tests = tests;
+	}
+
+	public boolean shouldRun(Description description) {
+	  // the class itself, its tests are filtered one by one
+	  if (description.getMethodName() == null)
+		return true;
+	  return tests.contains(description.getMethodName());
+	}
+
+	public String describe() {
+	  return "tests " + tests;
+	}
+  }
+
+  /**
+   * Return the loader of the classes that the mutant <i>mutant_name</i> does not change,
+   * or null if each mutant loader defines every class of the program
+   */
+  synchronized SharedProgramLoader getSharedLoader(String mutant_name) {
+	if (!shareProgramClasses)
+	  return null;
+	String dir = mutantPath + "/" + mutant_name;
+	Set<String> mutated = new HashSet<String>();
+	if (MutationSystem.IN_MEMORY_MUTANTS) {
+	  for (String name : MutantStore.getClassNames(dir)) {
+		mutated.add(SharedProgramLoader.simpleName(name));
+	  }
+	}
+	String[] files = new File(dir).list();
+	if (files != null) {
+	  for (String file : files) {
+		if (file.endsWith(".class"))
+		  mutated.add(file.substring(0, file.length() - ".class".length()));
+	  }
+	}
+	if (sharedLoader == null || !sharedLoader.getMutatedClasses().equals(mutated))
+	  sharedLoader = new SharedProgramLoader(mutated);
+	return sharedLoader;
+  }
+
+  /** Sort tests by their position in a list of test names, unknown tests last */
+  static class TestOrder implements Comparator<Description> {
+	List<String> order;
+
+	TestOrder(List<String> order) {
+	  this.order = order;
+	}
+
+	int rank(Description d) {
+	  int i = order.indexOf(d.getMethodName());
+	  return i < 0 ? order.size() : i;
+	}
+
+	public int compare(Description d1, Description d2) {
+	  return rank(d1) - rank(d2);
+	}
+  }
+
+  /** Record the result of each test and stop the run once a test result differs from the original one */
+  class FirstKillListener extends RunListener {
+	RunNotifier notifier;
+	Map<String, String> results;
+
+	FirstKillListener(RunNotifier notifier, Map<String, String> results) {
+	  this.notifier = notifier;
+	  this.results = results;
+	}
+
+	public void testStarted(Description description) {
+	  synchronized (results) {
+		if (results.containsKey(description.getMethodName()))
+		  results.put(description.getMethodName(), "pass");
+	  }
+	}
+
+	public void testFailure(Failure failure) {
+	  synchronized (results) {
+		if (results.containsKey(failure.getDescription().getMethodName()))
+		  results.put(failure.getDescription().getMethodName(), failureResult(failure, testSet));
+	  }
+	}
+
+	public void testFinished(Description description) {
+	  String name = description.getMethodName();
+	  synchronized (results) {
+		if (results.containsKey(name) && !results.get(name).equals(originalResults.get(name)))
+		  notifier.pleaseStop();
+	  }
+	}
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutationSystem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: Main class of a worker JVM started by {@link ForkedMutantRunner}. </p>
+ * <p>Usage: MutantWorker class_path testset_path test_set timeout [-shareclasses] test_name ... </p>
+ * <p>With -shareclasses, the mutants run by the worker share the classes they
+ *    do not change (see {@link MutantTestRunner#shareProgramClasses(boolean)}). </p>
+ * <p>The first line of stdin is empty, or holds "first" (the tests of a mutant stop
+ *    at the first kill) or "all", then TAB and the encoded original results.
+ *    Then the worker reads one request per line ("mutant_path TAB mutant_name TAB test_order",
+ *    the order being empty for the JUnit order, followed by TAB and the
+ *    comma separated tests to run when only some of them are selected),
+ *    runs the test set against the mutant and answers with one line on stdout:
+ *    the encoded test results, or "!" followed by an encoded error message.
+ *    Everything the tests print goes to stderr, so stdout is only used for answers.
+ *    The worker ends when stdin is closed, or after a mutant exceeds the timeout,
+ *    since the thread running that mutant can not be stopped. </p>
+ *
+ * @version 1.0
+ */
+
+public class MutantWorker {
+
+  static final String ENCODING = "UTF-8";
+
+  public static void main(String[] args) throws IOException {
+	MutationSystem.CLASS_PATH = args[0];
+	MutationSystem.TESTSET_PATH = args[1];
+	String testSet = args[2];
+	int timeout = Integer.parseInt(args[3]);
+	int first = 4;
+	boolean shareProgramClasses = first < args.length && args[first].equals("-shareclasses");
+	if (shareProgramClasses)
+	  first++;
+	List<String> junitTests = new ArrayList<String>();
+	for (int i = first; i < args.length; i++) {
+	  junitTests.add(args[i]);
+	}
+
+	PrintStream answers = System.out;
+	System.setOut(System.err);
+
+	BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, ENCODING));
+	String originals = requests.readLine();
+	if (originals == null)
+	  return;
+	boolean firstKill = originals.startsWith("first\t");
+	Map<String, String> originalResults =
+		originals.length() == 0 ? null : decode(originals.substring(originals.indexOf('\t') + 1));
+
+	// one runner for the mutants of a class, so that their shared classes are defined once
+	MutantTestRunner runner = null;
+	String request = requests.readLine();
+	while (request != null) {
+	  String[] fields = request.split("\t", -1);
+	  String mutantPath = fields[0];
+	  String mutant_name = fields[1];
+
+	  if (runner == null || !runner.mutantPath.equals(mutantPath)) {
+		runner = new MutantTestRunner(testSet, mutantPath, junitTests, timeout);
+		runner.setOriginalResults(originalResults);
+		runner.shareProgramClasses(shareProgramClasses);
+		if (firstKill)
+		  runner.stopAtFirstKill(originalResults);
+	  }
+	  if (firstKill)
+		runner.setTestOrder(fields.length > 2 && fields[2].length() > 0 ? Arrays.asList(fields[2].split(",")) : null);
+	  List<String> selectedTests = null;
+	  if (fields.length > 3)
+		selectedTests = Arrays.asList(fields[3].split(","));
+	  boolean timedOut = false;
+	  try {
+		Map<String, String> results = runner.run(mutant_name, selectedTests);
+		timedOut = runner.isTimeout(results);
+		answers.println(encode(results));
+	  } catch (Throwable e) {
+		answers.println("!" + URLEncoder.encode(String.valueOf(e), ENCODING));
+	  }
+	  answers.flush();
+
+	  if (timedOut)
+		System.exit(0);
+	  request = requests.readLine();
+	}
+  }
+
+  /** Encode test results as one line: name=result&amp;name=result... */
+  static String encode(Map<String, String> results) throws UnsupportedEncodingException {
+	StringBuilder line = new StringBuilder();
+	for (Map.Entry<String, String> e : results.entrySet()) {
+	  if (line.length() > 0)
+		line.append('&');
+	  line.append(URLEncoder.encode(e.getKey(), ENCODING));
+	  line.append('=');
+	  line.append(URLEncoder.encode(e.getValue(), ENCODING));
+	}
+	return line.toString();
+  }
+
+  /** Join test names with commas */
+  static String join(Collection<String> names) {
+	StringBuilder line = new StringBuilder();
+	for (String name : names) {
+	  if (line.length() > 0)
+		line.append(',');
+	  line.append(name);
+	}
+	return line.toString();
+  }
+
+  /** Decode a line written by {@link #encode(Map)} */
+  static Map<String, String> decode(String line) throws UnsupportedEncodingException {
+	Map<String, String> results = new LinkedHashMap<String, String>();
+	if (line.length() == 0)
+	  return results;
+	for (String entry : line.split("&")) {
+	  int eq = entry.indexOf('=');
+	  results.put(URLDecoder.decode(entry.substring(0, eq), ENCODING),
+		  URLDecoder.decode(entry.substring(eq + 1), ENCODING));
+	}
+	return results;
+  }
+}
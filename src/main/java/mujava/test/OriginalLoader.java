@@ -91,21 +91,7 @@ public class OriginalLoader extends ClassLoader {
 
 	// Create a file object relative to directory provided
 	File f = new File(directory, filename);
-	// Get stream to read from
-	FileInputStream fis = new FileInputStream(f);
-
-	BufferedInputStream bis = new BufferedInputStream(fis);
-	ByteArrayOutputStream out = new ByteArrayOutputStream();
-	try {
-	  int c = bis.read();
-	  while (c != -1) {
-		out.write(c);
-		c = bis.read();
-	  }
-	} catch (IOException e) {
-	  return null;
-	}
-	return out.toByteArray();
+	return ClassFileReader.read(f, true);
   }
 
   /**
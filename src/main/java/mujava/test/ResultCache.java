@@ -0,0 +1,315 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutantStore;
+import mujava.MutationSystem;
+import mujava.util.ClassFileInfo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Description: Test results of the mutants of a class, kept from one run
+ *    of runmutes to the next in result/&lt;class&gt;/result_cache. </p>
+ * <p>The results of a mutant are replayed when the key of the mutant did not
+ *    change. The key is a hash of the class files of the mutant, of the class
+ *    files of the program and test set the test set may use, of the libraries
+ *    on the classpath, of the tests that are run and of the options that change
+ *    the results (timeout, first kill, in-process or forked execution, ...).
+ *    The classes the test set may use are the test set class, the mutated class
+ *    and, transitively, the classes their class files refer to; a change in
+ *    another class does not invalidate the results. Classes loaded by name
+ *    through reflection are not followed. The libraries (JUnit and the jars
+ *    next to the program) are known by their path, size and modification time. </p>
+ * <p>Results of mutants that timed out are not kept. </p>
+ *
+ * @version 1.0
+ */
+
+public class ResultCache {
+
+  static final String VERSION = "1";
+  static final String CACHE_FILE = "result_cache";
+
+  File file;
+
+  /** key -> encoded results */
+  Map<String, String> entries = new LinkedHashMap<String, String>();
+
+  /** hash of the options and of the class files the test set may use */
+  String programHash;
+
+  boolean changed = false;
+  int hits = 0;
+  int misses = 0;
+
+  /**
+   * Cache of the mutants of the class <i>whole_class_name</i> run with the test set <i>testSet</i>
+   * @param options options of the run that change the results (e.g. timeout)
+   */
+  public ResultCache(String whole_class_name, String testSet, String options) {
+	file = new File(MutationSystem.MUTANT_HOME + "/" + whole_class_name, CACHE_FILE);
+	programHash = hash(VERSION + "\n" + options + "\n" + hashProgram(whole_class_name, testSet) + "\n"
+		+ describeLibraries());
+	load();
+  }
+
+  /**
+   * Key of the results of <i>tests</i> (null for all tests) against the mutant
+   * in the directory <i>mutantDir</i>, null if the mutant has no class file
+   */
+  public String key(String mutantDir, Collection<String> tests) throws IOException {
+	Map<String, byte[]> classes = new TreeMap<String, byte[]>();
+	if (MutationSystem.IN_MEMORY_MUTANTS) {
+	  for (String name : MutantStore.getClassNames(mutantDir)) {
+		classes.put(name, MutantStore.getClassBytes(mutantDir, name));
+	  }
+	} else {
+	  listClassFiles(new File(mutantDir), "", classes);
+	}
+	if (classes.isEmpty())
+	  return null;
+
+	MessageDigest digest = newDigest();
+	digest.update(programHash.getBytes("UTF-8"));
+	if (tests != null) {
+	  List<String> names = new ArrayList<String>(tests);
+	  Collections.sort(names);
+	  digest.update(names.toString().getBytes("UTF-8"));
+	}
+	for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+	  digest.update(e.getKey().getBytes("UTF-8"));
+	  digest.update(e.getValue());
+	}
+	return toHex(digest.digest());
+  }
+
+  /** Results kept for <i>key</i>, null if there are none */
+  public synchronized Map<String, String> get(String key) {
+	String results = key == null ? null : entries.get(key);
+	if (results == null) {
+	  misses++;
+	  return null;
+	}
+	hits++;
+	try {
+	  return MutantWorker.decode(results);
+	} catch (IOException e) {
+	  return null;
+	}
+  }
+
+  public synchronized void put(String key, Map<String, String> results) {
+	if (key == null)
+	  return;
+	try {
+	  entries.put(key, MutantWorker.encode(results));
+	  changed = true;
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't cache the results " + results);
+	}
+  }
+
+  /** Write the cache, if results were added */
+  public synchronized void save() {
+	if (!changed)
+	  return;
+	PrintWriter out = null;
+	try {
+	  out = new PrintWriter(new FileWriter(file));
+	  for (Map.Entry<String, String> e : entries.entrySet()) {
+		out.println(e.getKey() + "\t" + e.getValue());
+	  }
+	  changed = false;
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write " + file);
+	} finally {
+	  if (out != null)
+		out.close();
+	}
+  }
+
+  public synchronized String toString() {
+	return "result cache: " + hits + " replayed, " + misses + " executed";
+  }
+
+  void load() {
+	if (!file.isFile())
+	  return;
+	BufferedReader reader = null;
+	try {
+	  reader = new BufferedReader(new FileReader(file));
+	  String line;
+	  while ((line = reader.readLine()) != null) {
+		int tab = line.indexOf('\t');
+		if (tab > 0)
+		  entries.put(line.substring(0, tab), line.substring(tab + 1));
+	  }
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't read " + file);
+	} finally {
+	  try {
+		if (reader != null)
+		  reader.close();
+	  } catch (IOException e) {
+		// ignore
+	  }
+	}
+  }
+
+  /**
+   * Hash the class files of CLASS_PATH and TESTSET_PATH that the test set
+   * and the mutated class may use
+   */
+  static String hashProgram(String whole_class_name, String testSet) {
+	Map<String, byte[]> program = new HashMap<String, byte[]>();
+	listClassFiles(new File(MutationSystem.TESTSET_PATH), "", program);
+	Map<String, byte[]> classes = new HashMap<String, byte[]>();
+	listClassFiles(new File(MutationSystem.CLASS_PATH), "", classes);
+	for (Map.Entry<String, byte[]> e : classes.entrySet()) {
+	  if (!program.containsKey(e.getKey()))
+		program.put(e.getKey(), e.getValue());
+	}
+
+	Map<String, byte[]> used = new TreeMap<String, byte[]>();
+	List<String> pending = new ArrayList<String>();
+	pending.add(testSet);
+	pending.add(whole_class_name);
+	while (!pending.isEmpty()) {
+	  String name = pending.remove(pending.size() - 1);
+	  byte[] data = program.get(name);
+	  if (data == null || used.containsKey(name))
+		continue;
+	  used.put(name, data);
+	  try {
+		for (String other : new ClassFileInfo(data).getReferencedClasses()) {
+		  if (program.containsKey(other) && !used.containsKey(other))
+			pending.add(other);
+		}
+	  } catch (IOException e) {
+		// hashed, but not followed
+	  }
+	  // inner classes are not always named by their outer class
+	  for (String other : program.keySet()) {
+		if (other.startsWith(name + "$") && !used.containsKey(other))
+		  pending.add(other);
+	  }
+	}
+
+	MessageDigest digest = newDigest();
+	for (Map.Entry<String, byte[]> e : used.entrySet()) {
+	  digest.update(e.getKey().getBytes());
+	  digest.update(e.getValue());
+	}
+	return toHex(digest.digest());
+  }
+
+  /**
+   * Describe the jars and directories of the classpath of muJava (JUnit, ...) and
+   * the jars of the session, of CLASS_PATH and of TESTSET_PATH: path, size and
+   * modification time of each one
+   */
+  static String describeLibraries() {
+	List<File> libraries = new ArrayList<File>();
+	for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+	  if (path.length() > 0)
+		libraries.add(new File(path));
+	}
+	String[] dirs = {MutationSystem.SYSTEM_HOME, MutationSystem.SYSTEM_HOME + "/lib", MutationSystem.CLASS_PATH,
+		MutationSystem.TESTSET_PATH};
+	for (String dir : dirs) {
+	  File[] files = new File(dir).listFiles();
+	  if (files == null)
+		continue;
+	  List<String> jars = new ArrayList<String>();
+	  for (File f : files) {
+		if (f.isFile() && f.getName().endsWith(".jar"))
+		  jars.add(f.getName());
+	  }
+	  Collections.sort(jars);
+	  for (String jar : jars) {
+		libraries.add(new File(dir, jar));
+	  }
+	}
+
+	StringBuilder description = new StringBuilder();
+	for (File f : libraries) {
+	  description.append(f.getAbsolutePath()).append(' ').append(f.length()).append(' ')
+		  .append(f.lastModified()).append('\n');
+	}
+	return description.toString();
+  }
+
+  /** Read the class files under <i>dir</i>, keyed by binary class name */
+  static void listClassFiles(File dir, String pkg, Map<String, byte[]> classes) {
+	File[] files = dir.listFiles();
+	if (files == null)
+	  return;
+	for (File f : files) {
+	  if (f.isDirectory()) {
+		listClassFiles(f, pkg + f.getName() + ".", classes);
+	  } else if (f.getName().endsWith(".class")) {
+		try {
+		  classes.put(pkg + f.getName().substring(0, f.getName().length() - ".class".length()),
+			  ClassFileReader.read(f, false));
+		} catch (IOException e) {
+		  System.err.println("[ERROR] Can't read " + f);
+		}
+	  }
+	}
+  }
+
+  static MessageDigest newDigest() {
+	try {
+	  return MessageDigest.getInstance("SHA-1");
+	} catch (NoSuchAlgorithmException e) {
+	  throw new RuntimeException(e);
+	}
+  }
+
+  static String hash(String s) {
+	try {
+	  return toHex(newDigest().digest(s.getBytes("UTF-8")));
+	} catch (IOException e) {
+	  throw new RuntimeException(e);
+	}
+  }
+
+  static String toHex(byte[] digest) {
+	StringBuilder hex = new StringBuilder();
+	for (byte b : digest) {
+	  hex.append(String.format("%02x", b));
+	}
+	return hex.toString();
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutationSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Description: Parent loader shared by the mutants of a run. It defines
+ *    once the classes of CLASS_PATH and TESTSET_PATH that do not change from
+ *    one mutant to another, so a {@link JMutationLoader} only defines the
+ *    mutated classes, the test set and the classes that refer to them. </p>
+ * <p>A class is left to the mutant loaders when it is one of the mutated
+ *    classes or when its class file names (directly or through other classes)
+ *    a mutated class; otherwise it would link against the original class.
+ *    Static fields of the shared classes keep their values from one mutant
+ *    to the next. </p>
+ *
+ * @version 1.0
+ */
+
+public class SharedProgramLoader extends ClassLoader {
+
+  /** simple names of the class files of a mutant (e.g. Calc, Calc$1) */
+  Set<String> mutatedClasses;
+
+  /** classes defined by each mutant loader, in binary name */
+  Set<String> mutantLocal = new HashSet<String>();
+
+  /** directories scanned for the classes that refer to the mutated classes */
+  String[] directories;
+
+  public SharedProgramLoader(Set<String> mutatedClasses) {
+	super(null);
+	this.mutatedClasses = new HashSet<String>(mutatedClasses);
+	directories = new String[]{MutationSystem.CLASS_PATH, MutationSystem.TESTSET_PATH};
+	findMutantLocalClasses();
+  }
+
+  /** Simple names of the mutated classes this loader was built for */
+  public Set<String> getMutatedClasses() {
+	return mutatedClasses;
+  }
+
+  /** Return true if the class <i>name</i> has to be defined by each mutant loader */
+  public boolean isMutantLocal(String name) {
+	return mutantLocal.contains(name) || mutatedClasses.contains(simpleName(name));
+  }
+
+  public synchronized Class loadClass(String name) throws ClassNotFoundException {
+	Class result = findLoadedClass(name);
+	if (result != null)
+	  return result;
+
+	try {
+	  return findSystemClass(name);
+	} catch (ClassNotFoundException e) {
+	  // keep looking
+	}
+
+	if (isMutantLocal(name))
+	  throw new ClassNotFoundException(name);
+
+	byte[] data = null;
+	for (String directory : directories) {
+	  data = readClass(new File(directory, name.replace('.', File.separatorChar) + ".class"));
+	  if (data != null)
+		break;
+	}
+	if (data == null)
+	  throw new ClassNotFoundException(name);
+	return defineClass(name, data, 0, data.length);
+  }
+
+  /**
+   * Overrides getResource (String) to get non-class files including resource bundles from property files
+   */
+  @Override
+  public URL getResource(String name) {
+	File resource = new File(MutationSystem.CLASS_PATH, name);
+	if (resource.exists()) {
+	  try {
+		return resource.toURI().toURL();
+	  } catch (MalformedURLException e) {
+		e.printStackTrace();
+	  }
+	}
+	return null;
+  }
+
+  /**
+   * Find the classes that name a mutated class, directly or through other
+   * such classes. The test is done on the raw class file: every class name a
+   * class refers to is one of its constant pool strings, so a class whose file
+   * does not contain the name of a mutated class can not link to it.
+   */
+  void findMutantLocalClasses() {
+	Map<String, byte[]> program = new HashMap<String, byte[]>();
+	for (String directory : directories) {
+	  if (directory != null)
+		listClasses(new File(directory), "", program);
+	}
+
+	List<String> pending = new ArrayList<String>();
+	for (String name : program.keySet()) {
+	  if (mutatedClasses.contains(simpleName(name))) {
+		mutantLocal.add(name);
+		pending.add(name);
+	  }
+	}
+	while (!pending.isEmpty()) {
+	  byte[] target = pending.remove(pending.size() - 1).replace('.', '/').getBytes();
+	  for (Map.Entry<String, byte[]> e : program.entrySet()) {
+		if (!mutantLocal.contains(e.getKey()) && contains(e.getValue(), target)) {
+		  mutantLocal.add(e.getKey());
+		  pending.add(e.getKey());
+		}
+	  }
+	}
+  }
+
+  void listClasses(File dir, String pkg, Map<String, byte[]> program) {
+	File[] files = dir.listFiles();
+	if (files == null)
+	  return;
+	for (File f : files) {
+	  if (f.isDirectory()) {
+		listClasses(f, pkg + f.getName() + ".", program);
+	  } else if (f.getName().endsWith(".class")) {
+		String name = pkg + f.getName().substring(0, f.getName().length() - ".class".length());
+		if (!program.containsKey(name)) {
+		  byte[] data = readClass(f);
+		  if (data != null)
+			program.put(name, data);
+		}
+	  }
+	}
+  }
+
+  static String simpleName(String name) {
+	return name.substring(name.lastIndexOf('.') + 1);
+  }
+
+  static boolean contains(byte[] data, byte[] target) {
+	outer:
+	for (int i = 0; i + target.length <= data.length; i++) {
+	  for (int j = 0; j < target.length; j++) {
+		if (data[i + j] != target[j])
+		  continue outer;
+	  }
+	  return true;
+	}
+	return false;
+  }
+
+  static byte[] readClass(File f) {
+	if (!f.isFile())
+	  return null;
+	try {
+	  return ClassFileReader.read(f, true);
+	} catch (IOException e) {
+	  return null;
+	}
+  }
+}
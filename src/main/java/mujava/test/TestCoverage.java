@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import mujava.MutationSystem;
+import mujava.op.util.CoverageCodeWriter;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.notification.RunListener;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Description: Line coverage of each test of a test set on the original class,
+ *    used to run a traditional mutant only against the tests that reach its mutated line. </p>
+ * <p>The coverage is measured with the instrumented original written by
+ *    {@link CoverageCodeWriter} in result/&lt;Class&gt;/coverage by the
+ *    generation with MutationSystem.TEST_COVERAGE, and saved there
+ *    in the file "test_coverage" (one line per test: name:line,line,...).
+ *    It is measured again when the instrumented class or the test set is newer. </p>
+ *
+ * @version 1.0
+ */
+
+public class TestCoverage {
+
+  public static final String FILE_NAME = "test_coverage";
+
+  static final Pattern PROBE = Pattern.compile(Pattern.quote(CoverageCodeWriter.PROBE) + "\\((\\d+)\\)");
+
+  /** operators whose mutants print extra lines (context info) before the mutated line */
+  static final String[] SHIFTED_OPERATORS = {"AOIS"};
+
+  /** test name -> lines reached by the test */
+  Map<String, BitSet> coverage = new LinkedHashMap<String, BitSet>();
+
+  /** lines that have a probe */
+  BitSet probed = new BitSet();
+
+  /** mutant name -> mutated line, from mutation_log */
+  Map<String, Integer> mutatedLines = new HashMap<String, Integer>();
+
+  /**
+   * Return the coverage of the tests of <i>testSet</i> on the class <i>className</i>,
+   * or null if there is no instrumented class for it
+   * @param classResultPath directory of the results of the class (result/&lt;Class&gt;)
+   */
+  public static TestCoverage get(String classResultPath, String className, String testSet) {
+	String simpleName = className.substring(className.lastIndexOf('.') + 1);
+	File dir = new File(classResultPath, MutationSystem.COVERAGE_DIR_NAME);
+	File source = new File(dir, simpleName + ".java");
+	File classFile = new File(dir, simpleName + ".class");
+	if (!classFile.exists()) {
+	  System.err.println(" No coverage data for " + className + ", generate its mutants again with -coverage to select tests by coverage");
+	  return null;
+	}
+
+	TestCoverage tc = new TestCoverage();
+	try {
+	  File data = new File(dir, FILE_NAME);
+	  File testClass = new File(MutationSystem.TESTSET_PATH, testSet.replace('.', '/') + ".class");
+	  if (data.exists() && data.lastModified() >= classFile.lastModified()
+		  && data.lastModified() >= testClass.lastModified()) {
+		tc.read(data);
+	  } else {
+		if (!tc.measure(classResultPath, className, testSet))
+		  return null;
+		tc.write(data);
+	  }
+	  tc.readProbes(source);
+	  tc.readMutationLog(new File(classResultPath + "/" + MutationSystem.TM_DIR_NAME, "mutation_log"));
+	} catch (Exception e) {
+	  System.err.println(" Can not compute the test coverage of " + className + ": " + e);
+	  return null;
+	}
+	return tc;
+  }
+
+  /**
+   * Return the tests (in the order of <i>junitTests</i>) that reach the mutated line of <i>mutant_name</i>,
+   * or null if its line is unknown and every test has to run
+   */
+  public List<String> selectTests(String mutant_name, List<String> junitTests) {
+	for (String op : SHIFTED_OPERATORS) {
+	  if (mutant_name.startsWith(op + "_"))
+		return null;
+	}
+	Integer line = mutatedLines.get(mutant_name);
+	if (line == null || !probed.get(line))
+	  return null;
+
+	List<String> tests = new ArrayList<String>();
+	for (String name : junitTests) {
+	  BitSet lines = coverage.get(name);
+	  if (lines == null || lines.get(line))
+		tests.add(name);
+	}
+	return tests;
+  }
+
+  /**
+   * Run the test set against the instrumented original and record the lines
+   * of each test. The lines reached out of any test are credited to every test.
+   */
+  boolean measure(String classResultPath, String className, String testSet) throws Exception {
+	JMutationLoader loader = new JMutationLoader(MutationSystem.COVERAGE_DIR_NAME, classResultPath);
+	if (loader.loadClass(className).getClassLoader() != loader) {
+	  System.err.println(" The original " + className + " is on the classpath, the test coverage can not be measured");
+	  return false;
+	}
+	Class testClass = loader.loadTestClass(testSet);
+
+	// lines reached out of the tests (static initializers, @BeforeClass, ...)
+	final BitSet shared = new BitSet();
+	JUnitCore jCore = new JUnitCore();
+	jCore.addListener(new RunListener() {
+	  public void testStarted(Description description) {
+		shared.or(CoverageProbe.covered());
+		CoverageProbe.reset();
+	  }
+
+	  public void testFinished(Description description) {
+		coverage.put(description.getMethodName(), CoverageProbe.covered());
+		CoverageProbe.reset();
+	  }
+	});
+	CoverageProbe.reset();
+	jCore.run(testClass);
+	shared.or(CoverageProbe.covered());
+	// a mutant of such a line may change the state every test starts from
+	for (BitSet lines : coverage.values()) {
+	  lines.or(shared);
+	}
+	return true;
+  }
+
+  void write(File f) throws IOException {
+	PrintWriter out = new PrintWriter(new FileWriter(f));
+	try {
+	  for (Map.Entry<String, BitSet> e : coverage.entrySet()) {
+		StringBuilder lines = new StringBuilder();
+		BitSet bits = e.getValue();
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+		  if (lines.length() > 0)
+			lines.append(',');
+		  lines.append(i);
+		}
+		out.println(e.getKey() + ":" + lines);
+	  }
+	} finally {
+	  out.close();
+	}
+  }
+
+  void read(File f) throws IOException {
+	BufferedReader reader = new BufferedReader(new FileReader(f));
+	try {
+	  String str = reader.readLine();
+	  while (str != null) {
+		int colon = str.indexOf(':');
+		BitSet lines = new BitSet();
+		for (String line : str.substring(colon + 1).split(",")) {
+		  if (line.length() > 0)
+			lines.set(Integer.parseInt(line));
+		}
+		coverage.put(str.substring(0, colon), lines);
+		str = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+  }
+
+  void readProbes(File source) throws IOException {
+	BufferedReader reader = new BufferedReader(new FileReader(source));
+	try {
+	  String str = reader.readLine();
+	  while (str != null) {
+		Matcher m = PROBE.matcher(str);
+		while (m.find()) {
+		  probed.set(Integer.parseInt(m.group(1)));
+		}
+		str = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+  }
+
+  /** Read the lines of the mutants (mutant:line:method:change) */
+  void readMutationLog(File log) throws IOException {
+	if (!log.exists())
+	  return;
+	BufferedReader reader = new BufferedReader(new FileReader(log));
+	try {
+	  String str = reader.readLine();
+	  while (str != null) {
+		String[] fields = str.split(MutationSystem.LOG_IDENTIFIER);
+		if (fields.length > 1) {
+		  try {
+			mutatedLines.put(fields[0], Integer.valueOf(fields[1]));
+		  } catch (NumberFormatException e) {
+			// not a traditional mutant entry
+		  }
+		}
+		str = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+  }
+}
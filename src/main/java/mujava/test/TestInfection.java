@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mujava.test;
+
+import mujava.MutationSystem;
+import mujava.op.util.MutantSchemata;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Description: Weak mutation of the traditional mutants of a class: the
+ *    mutants whose mutated expression has another value than the original
+ *    expression under each test of a test set, used to run a mutant only
+ *    against the tests that infect the state of the program. </p>
+ * <p>The infection is recorded by running the test set once against the weak
+ *    mutation schemata written in result/&lt;Class&gt;/weak_mutation by the
+ *    generation with MutationSystem.WEAK_MUTATION, and saved there in the
+ *    file "test_infection" (one line per test: name:ID,ID,...). A test whose
+ *    result differs from the original one, or in which a mutated expression
+ *    throws an exception, is saved as name:* and run against every mutant.
+ *    The infection is recorded again when the schemata or the test set is newer. </p>
+ *
+ * @version 1.0
+ */
+
+public class TestInfection {
+
+  public static final String FILE_NAME = "test_infection";
+
+  /** test name -> IDs of the mutants the test infects, null for every mutant */
+  Map<String, BitSet> infection = new LinkedHashMap<String, BitSet>();
+
+  /** mutant name -> ID in the weak mutation schemata */
+  Map<String, Integer> ids = new HashMap<String, Integer>();
+
+  /**
+   * Return the infection of the mutants of the class <i>className</i> by the tests of
+   * <i>testSet</i>, or null if there is no weak mutation schemata for it
+   * @param classResultPath directory of the results of the class (result/&lt;Class&gt;)
+   * @param originalResults results of the tests against the original class
+   */
+  public static TestInfection get(String classResultPath, String className, String testSet,
+								  Map<String, String> originalResults) {
+	String simpleName = className.substring(className.lastIndexOf('.') + 1);
+	File dir = new File(classResultPath, MutationSystem.WEAK_DIR_NAME);
+	File classFile = new File(dir, simpleName + ".class");
+	File idsFile = new File(dir, MutantSchemata.IDS_FILE);
+	if (!classFile.exists() || !idsFile.exists()) {
+	  System.err.println(" No weak mutation data for " + className + ", generate its mutants again with -weak to select tests by infection");
+	  return null;
+	}
+
+	TestInfection ti = new TestInfection();
+	try {
+	  ti.readIds(idsFile);
+	  File data = new File(dir, FILE_NAME);
+	  File testClass = new File(MutationSystem.TESTSET_PATH, testSet.replace('.', '/') + ".class");
+	  if (data.exists() && data.lastModified() >= classFile.lastModified()
+		  && data.lastModified() >= testClass.lastModified()) {
+		ti.read(data);
+	  } else {
+		if (!ti.measure(classResultPath, className, testSet, originalResults))
+		  return null;
+		ti.write(data);
+	  }
+	} catch (Exception e) {
+	  System.err.println(" Can not compute the infection of the mutants of " + className + ": " + e);
+	  return null;
+	}
+	return ti;
+  }
+
+  /**
+   * Return the tests (in the order of <i>junitTests</i>) that infect the state of
+   * <i>mutant_name</i>, or null if it is not in the weak mutation schemata
+   */
+  public List<String> selectTests(String mutant_name, List<String> junitTests) {
+	Integer id = ids.get(mutant_name);
+	if (id == null)
+	  return null;
+
+	List<String> tests = new ArrayList<String>();
+	for (String name : junitTests) {
+	  BitSet infected = infection.get(name);
+	  if (infected == null || infected.get(id))
+		tests.add(name);
+	}
+	return tests;
+  }
+
+  /**
+   * Run the test set against the weak mutation schemata and record the
+   * mutants infected by each test. The mutants infected out of any test are
+   * credited to every test.
+   */
+  boolean measure(String classResultPath, String className, final String testSet,
+				  final Map<String, String> originalResults) throws Exception {
+	JMutationLoader loader = new JMutationLoader(MutationSystem.WEAK_DIR_NAME, classResultPath);
+	if (loader.loadClass(className).getClassLoader() != loader) {
+	  System.err.println(" The original " + className + " is on the classpath, the infection of its mutants can not be recorded");
+	  return false;
+	}
+	Class testClass = loader.loadTestClass(testSet);
+
+	final Map<String, String> results = new HashMap<String, String>();
+	// mutants infected out of the tests (static initializers, @BeforeClass, ...)
+	final BitSet shared = new BitSet();
+	final boolean[] sharedDisturbed = {false};
+	JUnitCore jCore = new JUnitCore();
+	jCore.addListener(new RunListener() {
+	  public void testStarted(Description description) {
+		shared.or(InfectionProbe.infected());
+		sharedDisturbed[0] |= InfectionProbe.isDisturbed();
+		InfectionProbe.reset();
+		results.put(description.getMethodName(), "pass");
+	  }
+
+	  public void testFailure(Failure failure) {
+		results.put(failure.getDescription().getMethodName(), MutantTestRunner.failureResult(failure, testSet));
+	  }
+
+	  public void testFinished(Description description) {
+		String name = description.getMethodName();
+		boolean disturbed = InfectionProbe.isDisturbed()
+			|| (originalResults != null && !results.get(name).equals(originalResults.get(name)));
+		infection.put(name, disturbed ? null : InfectionProbe.infected());
+		InfectionProbe.reset();
+	  }
+	});
+	InfectionProbe.reset();
+	jCore.run(testClass);
+	shared.or(InfectionProbe.infected());
+	sharedDisturbed[0] |= InfectionProbe.isDisturbed();
+	// such a mutant may change the state every test starts from
+	for (Map.Entry<String, BitSet> e : infection.entrySet()) {
+	  if (sharedDisturbed[0])
+		e.setValue(null);
+	  else if (e.getValue() != null)
+		e.getValue().or(shared);
+	}
+	return true;
+  }
+
+  void write(File f) throws IOException {
+	PrintWriter out = new PrintWriter(new FileWriter(f));
+	try {
+	  for (Map.Entry<String, BitSet> e : infection.entrySet()) {
+		BitSet bits = e.getValue();
+		if (bits == null) {
+		  out.println(e.getKey() + ":*");
+		  continue;
+		}
+		StringBuilder mutants = new StringBuilder();
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+		  if (mutants.length() > 0)
+			mutants.append(',');
+		  mutants.append(i);
+		}
+		out.println(e.getKey() + ":" + mutants);
+	  }
+	} finally {
+	  out.close();
+	}
+  }
+
+  void read(File f) throws IOException {
+	BufferedReader reader = new BufferedReader(new FileReader(f));
+	try {
+	  String str = reader.readLine();
+	  while (str != null) {
+		int colon = str.indexOf(':');
+		String mutants = str.substring(colon + 1);
+		BitSet bits = null;
+		if (!mutants.equals("*")) {
+		  bits = new BitSet();
+		  for (String id : mutants.split(",")) {
+			if (id.length() > 0)
+			  bits.set(Integer.parseInt(id));
+		  }
+		}
+		infection.put(str.substring(0, colon), bits);
+		str = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+  }
+
+  /** Read the ID of each mutant (ID, tab, method/mutant) */
+  void readIds(File idsFile) throws IOException {
+	BufferedReader reader = new BufferedReader(new FileReader(idsFile));
+	try {
+	  String str = reader.readLine();
+	  while (str != null) {
+		int tab = str.indexOf('\t');
+		if (tab > 0)
+		  ids.put(str.substring(str.lastIndexOf('/') + 1), Integer.parseInt(str.substring(0, tab)));
+		str = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+  }
+}
@@ -377,6 +377,10 @@ public class TestResultCLI extends TestResult {
 
   }
 
+  /**
+   * Read the killed, live and equivalent mutants of the mutant_list file
+   * <i>path</i>, from the kill matrix saved with it if there is one
+   */
   public void getResults() throws IOException {
 	String s = null;
 	StringBuffer sb = new StringBuffer();
@@ -384,6 +388,11 @@ public class TestResultCLI extends TestResult {
 	if (!f.exists()) {
 	  System.out.println("can't find the mutant result file");
 	}
+	File matrixFile = getMatrixFile(f);
+	if (matrixFile.isFile()) {
+	  getResults(KillMatrix.open(matrixFile));
+	  return;
+	}
 	BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(f)));
 	while ((s = br.readLine()) != null) {
 	  sb.append(s);
@@ -406,6 +415,31 @@ public class TestResultCLI extends TestResult {
 
   }
 
+  /** Read the killed, live and equivalent mutants of <i>matrix</i> */
+  void getResults(KillMatrix matrix) {
+	killed_mutants = new Vector();
+	live_mutants = new Vector(matrix.getLiveMutants());
+	eq_mutants = new Vector();
+	for (String mutant : matrix.getMutants()) {
+	  if (matrix.isEquivalent(mutant))
+		eq_mutants.add(mutant);
+	  else if (matrix.getKillCount(mutant) != 0)
+		killed_mutants.add(mutant);
+	}
+  }
+
+  /**
+   * Return the kill matrix saved with the mutant_list file <i>mutantList</i>:
+   * result_list.matrix for mutant_list, or for mutant_list_<i>time stamp</i>
+   * the matrix with the same time stamp
+   */
+  static File getMatrixFile(File mutantList) {
+	String name = mutantList.getName();
+	if (name.startsWith("mutant_list"))
+	  name = "result_list" + name.substring("mutant_list".length());
+	return new File(mutantList.getParentFile(), name + KillMatrix.EXTENSION);
+  }
+
   public void markEqvl(String eqMutant, boolean tradMutants) throws IOException {
 
 	if (!live_mutants.contains(eqMutant))
@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * <p>Description: Adequate test sets of a set of mutants, i.e. sets of tests
+ *    that kill all of them, computed on the bit vectors of a {@link KillMatrix}. </p>
+ * <p>The mutants to kill are the given mutants that some test kills and that
+ *    are not marked as equivalent; the other ones can't be killed by any test
+ *    set and are left out. A test set can be computed with the greedy set
+ *    cover heuristic, with the greedy heuristic breaking ties at random, by
+ *    killing the mutants one by one with a random killing test, or exactly
+ *    (a smallest test set) with a bounded branch and bound search. </p>
+ *
+ * @version 1.0
+ */
+
+public class TestSetCover {
+
+  /** default number of search nodes of {@link #exact(int)} */
+  public static final int MAX_NODES = 10000;
+
+  List<String> tests;
+
+  /** mutants to kill */
+  List<String> mutants = new ArrayList<String>();
+
+  /** test -> mutants (indexes in mutants) it kills */
+  BitSet[] covers;
+
+  /** mutant -> tests that kill it */
+  List<BitSet> killers = new ArrayList<BitSet>();
+
+  boolean optimal = true;
+  int nodes;
+  List<Integer> best;
+
+  /**
+   * @param matrix results of the tests
+   * @param mutantNames mutants to kill
+   */
+  public TestSetCover(KillMatrix matrix, Collection<String> mutantNames) {
+	tests = matrix.getTests();
+	covers = new BitSet[tests.size()];
+	for (int t = 0; t < covers.length; t++) {
+	  covers[t] = new BitSet();
+	}
+	for (String mutant : mutantNames) {
+	  BitSet kills = matrix.getKillSet(mutant);
+	  if (kills.isEmpty() || matrix.isEquivalent(mutant))
+		continue;
+	  int m = mutants.size();
+	  mutants.add(mutant);
+	  killers.add(kills);
+	  for (int t = kills.nextSetBit(0); t >= 0; t = kills.nextSetBit(t + 1)) {
+		covers[t].set(m);
+	  }
+	}
+  }
+
+  /** Mutants to kill */
+  public List<String> getMutants() {
+	return mutants;
+  }
+
+  /** Number of the mutants to kill that <i>testSet</i> kills */
+  public int countKilled(Collection<String> testSet) {
+	Map<String, Integer> index = new HashMap<String, Integer>();
+	for (int t = 0; t < tests.size(); t++) {
+	  index.put(tests.get(t), t);
+	}
+	BitSet killed = new BitSet();
+	for (String test : testSet) {
+	  Integer t = index.get(test);
+	  if (t != null)
+		killed.or(covers[t]);
+	}
+	return killed.cardinality();
+  }
+
+  /** Adequate test set: the test that kills the most live mutants, until all are killed */
+  public List<String> greedy() {
+	return toNames(greedy(null));
+  }
+
+  /** Adequate test set: like {@link #greedy()}, ties between tests are broken at random */
+  public List<String> randomizedGreedy(Random random) {
+	return toNames(greedy(random));
+  }
+
+  /**
+   * Adequate test set: for each live mutant, in random order, a random test
+   * that kills it (the test kills the other mutants it can)
+   */
+  public List<String> randomAdequate(Random random) {
+	List<Integer> order = new ArrayList<Integer>();
+	for (int m = 0; m < mutants.size(); m++) {
+	  order.add(m);
+	}
+	Collections.shuffle(order, random);
+
+	List<Integer> chosen = new ArrayList<Integer>();
+	BitSet killed = new BitSet();
+	for (int m : order) {
+	  if (killed.get(m))
+		continue;
+	  BitSet candidates = killers.get(m);
+	  int pick = random.nextInt(candidates.cardinality());
+	  int t = candidates.nextSetBit(0);
+	  for (int i = 0; i < pick; i++) {
+		t = candidates.nextSetBit(t + 1);
+	  }
+	  chosen.add(t);
+	  killed.or(covers[t]);
+	}
+	return toNames(chosen);
+  }
+
+  /**
+   * Smallest adequate test set, searched with branch and bound; the search
+   * stops after <i>maxNodes</i> nodes and returns the best test set found
+   * (see {@link #isOptimal()})
+   */
+  public List<String> exact(int maxNodes) {
+	best = greedy(null);
+	nodes = 0;
+	optimal = true;
+	BitSet live = new BitSet();
+	live.set(0, mutants.size());
+	search(live, new ArrayList<Integer>(), maxNodes);
+	return toNames(best);
+  }
+
+  /** Return false if the last {@link #exact(int)} search was stopped before it was complete */
+  public boolean isOptimal() {
+	return optimal;
+  }
+
+  List<Integer> greedy(Random random) {
+	List<Integer> chosen = new ArrayList<Integer>();
+	BitSet live = new BitSet();
+	live.set(0, mutants.size());
+	while (!live.isEmpty()) {
+	  int bestGain = 0;
+	  List<Integer> bestTests = new ArrayList<Integer>();
+	  for (int t = 0; t < covers.length; t++) {
+		int gain = gain(t, live);
+		if (gain > bestGain) {
+		  bestGain = gain;
+		  bestTests.clear();
+		}
+		if (gain == bestGain && gain > 0)
+		  bestTests.add(t);
+	  }
+	  int t = random == null ? bestTests.get(0) : bestTests.get(random.nextInt(bestTests.size()));
+	  chosen.add(t);
+	  live.andNot(covers[t]);
+	}
+	return chosen;
+  }
+
+  void search(BitSet live, List<Integer> chosen, int maxNodes) {
+	if (++nodes > maxNodes) {
+	  optimal = false;
+	  return;
+	}
+	if (live.isEmpty()) {
+	  if (chosen.size() < best.size())
+		best = new ArrayList<Integer>(chosen);
+	  return;
+	}
+
+	// no test kills more than maxGain live mutants
+	int maxGain = 0;
+	for (int t = 0; t < covers.length; t++) {
+	  maxGain = Math.max(maxGain, gain(t, live));
+	}
+	int bound = chosen.size() + (live.cardinality() + maxGain - 1) / maxGain;
+	if (bound >= best.size())
+	  return;
+
+	// one of the tests that kill the live mutant with the fewest killers is needed
+	int mutant = -1;
+	for (int m = live.nextSetBit(0); m >= 0; m = live.nextSetBit(m + 1)) {
+	  if (mutant < 0 || killers.get(m).cardinality() < killers.get(mutant).cardinality())
+		mutant = m;
+	}
+	List<Integer> candidates = new ArrayList<Integer>();
+	BitSet k = killers.get(mutant);
+	for (int t = k.nextSetBit(0); t >= 0; t = k.nextSetBit(t + 1)) {
+	  candidates.add(t);
+	}
+	final BitSet current = live;
+	Collections.sort(candidates, new Comparator<Integer>() {
+	  public int compare(Integer t1, Integer t2) {
+		return gain(t2, current) - gain(t1, current);
+	  }
+	});
+
+	for (int t : candidates) {
+	  BitSet rest = (BitSet) live.clone();
+	  rest.andNot(covers[t]);
+	  chosen.add(t);
+	  search(rest, chosen, maxNodes);
+	  chosen.remove(chosen.size() - 1);
+	  if (nodes > maxNodes)
+		return;
+	}
+  }
+
+  int gain(int t, BitSet live) {
+	BitSet killed = (BitSet) covers[t].clone();
+	killed.and(live);
+	return killed.cardinality();
+  }
+
+  List<String> toNames(List<Integer> indexes) {
+	List<String> names = new ArrayList<String>();
+	for (int t : indexes) {
+	  names.add(tests.get(t));
+	}
+	return names;
+  }
+}
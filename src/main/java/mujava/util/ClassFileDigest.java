@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>Description: Digest of the bytecode of a class file, without its debug
+ *    attributes (source file, line numbers and local variables), so two
+ *    compilations of sources that differ only in their layout or comments
+ *    have the same digest. </p>
+ *
+ * @version 1.0
+ */
+
+public class ClassFileDigest {
+
+  static final int MAGIC = 0xCAFEBABE;
+
+  /** attributes that do not change the behavior of the class */
+  static final Set<String> DEBUG_ATTRIBUTES = new HashSet<String>(Arrays.asList(
+	  "SourceFile", "SourceDebugExtension", "LineNumberTable", "LocalVariableTable", "LocalVariableTypeTable"));
+
+  ByteBuffer in;
+  MessageDigest digest;
+  String[] utf8;
+
+  ClassFileDigest(byte[] data) throws IOException {
+	in = ByteBuffer.wrap(data);
+	try {
+	  digest = MessageDigest.getInstance("SHA-1");
+	} catch (NoSuchAlgorithmException e) {
+	  throw new IOException(e);
+	}
+  }
+
+  /**
+   * Return the digest of the class file <i>data</i>, as a hexadecimal string
+   * @throws IOException if <i>data</i> is not a class file
+   */
+  public static String digest(byte[] data) throws IOException {
+	try {
+	  return new ClassFileDigest(data).read();
+	} catch (BufferUnderflowException e) {
+	  throw new IOException("truncated class file");
+	}
+  }
+
+  String read() throws IOException {
+	if (in.getInt() != MAGIC)
+	  throw new IOException("not a class file");
+	in.getInt(); // version
+	readConstantPool();
+	// the versions and the constant pool are kept as they are
+	digest.update(in.array(), 0, in.position());
+
+	copy(6); // access, this class, super class
+	copy(2 * u2());
+	int fields = u2();
+	for (int i = 0; i < fields; i++) {
+	  readMember();
+	}
+	int methods = u2();
+	for (int i = 0; i < methods; i++) {
+	  readMember();
+	}
+	readAttributes();
+
+	StringBuilder hex = new StringBuilder();
+	for (byte b : digest.digest()) {
+	  hex.append(String.format("%02x", b & 0xff));
+	}
+	return hex.toString();
+  }
+
+  void readConstantPool() throws IOException {
+	int count = in.getShort() & 0xffff;
+	utf8 = new String[count];
+	for (int i = 1; i < count; i++) {
+	  int tag = in.get() & 0xff;
+	  switch (tag) {
+		case 1: // Utf8
+		  int length = in.getShort() & 0xffff;
+		  byte[] bytes = new byte[length];
+		  in.get(bytes);
+		  utf8[i] = new String(bytes, "UTF-8");
+		  break;
+		case 7: // Class
+		case 8: // String
+		case 16: // MethodType
+		case 19: // Module
+		case 20: // Package
+		  skip(2);
+		  break;
+		case 15: // MethodHandle
+		  skip(3);
+		  break;
+		case 3: // Integer
+		case 4: // Float
+		case 9: // Fieldref
+		case 10: // Methodref
+		case 11: // InterfaceMethodref
+		case 12: // NameAndType
+		case 17: // Dynamic
+		case 18: // InvokeDynamic
+		  skip(4);
+		  break;
+		case 5: // Long
+		case 6: // Double
+		  skip(8);
+		  i++;
+		  break;
+		default:
+		  throw new IOException("bad constant pool tag " + tag);
+	  }
+	}
+  }
+
+  /** field or method: access, name, descriptor and attributes */
+  void readMember() throws IOException {
+	copy(6);
+	readAttributes();
+  }
+
+  void readAttributes() throws IOException {
+	int count = u2();
+	for (int i = 0; i < count; i++) {
+	  int nameIndex = in.getShort() & 0xffff;
+	  int length = in.getInt();
+	  String name = nameIndex < utf8.length ? utf8[nameIndex] : null;
+	  if (DEBUG_ATTRIBUTES.contains(name)) {
+		skip(length);
+		continue;
+	  }
+	  updateShort(nameIndex);
+	  if ("Code".equals(name)) {
+		copy(4); // max stack, max locals
+		int codeLength = in.getInt();
+		updateInt(codeLength);
+		copy(codeLength);
+		copy(8 * u2()); // exception table
+		readAttributes();
+	  } else {
+		updateInt(length);
+		copy(length);
+	  }
+	}
+  }
+
+  /** Read an unsigned short, and add it to the digest */
+  int u2() {
+	int value = in.getShort() & 0xffff;
+	updateShort(value);
+	return value;
+  }
+
+  void updateShort(int value) {
+	digest.update((byte) (value >> 8));
+	digest.update((byte) value);
+  }
+
+  void updateInt(int value) {
+	updateShort(value >>> 16);
+	updateShort(value & 0xffff);
+  }
+
+  /** Add the next <i>length</i> bytes to the digest */
+  void copy(int length) {
+	if (length < 0 || length > in.remaining())
+	  throw new BufferUnderflowException();
+	digest.update(in.array(), in.position(), length);
+	in.position(in.position() + length);
+  }
+
+  void skip(int length) {
+	if (length < 0 || length > in.remaining())
+	  throw new BufferUnderflowException();
+	in.position(in.position() + length);
+  }
+}
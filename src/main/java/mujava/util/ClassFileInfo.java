@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>Description: Names read from the constant pool of a class file,
+ *    without loading the class. </p>
+ * <p>Class names are in binary form (e.g. java.lang.Object, pkg.Outer$Inner). </p>
+ *
+ * @version 1.0
+ */
+
+public class ClassFileInfo {
+
+  static final int MAGIC = 0xCAFEBABE;
+
+  String name;
+  String superName;
+  int access;
+  List<String> interfaces = new ArrayList<String>();
+
+  /** classes named by the constant pool (class entries and type descriptors) */
+  Set<String> referencedClasses = new HashSet<String>();
+
+  /**
+   * Read the class file <i>data</i>
+   * @throws IOException if <i>data</i> is not a class file
+   */
+  public ClassFileInfo(byte[] data) throws IOException {
+	DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+	if (in.readInt() != MAGIC)
+	  throw new IOException("not a class file");
+	in.readUnsignedShort(); // minor version
+	in.readUnsignedShort(); // major version
+
+	int count = in.readUnsignedShort();
+	String[] utf8 = new String[count];
+	int[] classIndex = new int[count];
+	for (int i = 1; i < count; i++) {
+	  int tag = in.readUnsignedByte();
+	  switch (tag) {
+		case 1: // Utf8
+		  utf8[i] = in.readUTF();
+		  break;
+		case 7: // Class
+		  classIndex[i] = in.readUnsignedShort();
+		  break;
+		case 8: // String
+		case 16: // MethodType
+		case 19: // Module
+		case 20: // Package
+		  in.readUnsignedShort();
+		  break;
+		case 15: // MethodHandle
+		  in.readUnsignedByte();
+		  in.readUnsignedShort();
+		  break;
+		case 3: // Integer
+		case 4: // Float
+		case 9: // Fieldref
+		case 10: // Methodref
+		case 11: // InterfaceMethodref
+		case 12: // NameAndType
+		case 17: // Dynamic
+		case 18: // InvokeDynamic
+		  in.readInt();
+		  break;
+		case 5: // Long
+		case 6: // Double
+		  in.readLong();
+		  i++;
+		  break;
+		default:
+		  throw new IOException("bad constant pool tag " + tag);
+	  }
+	}
+
+	for (int i = 1; i < count; i++) {
+	  if (classIndex[i] != 0)
+		addReference(utf8[classIndex[i]]);
+	  else if (utf8[i] != null)
+		addDescriptorTypes(utf8[i]);
+	}
+
+	access = in.readUnsignedShort();
+	name = binaryName(utf8[classIndex[in.readUnsignedShort()]]);
+	int superIndex = in.readUnsignedShort();
+	superName = superIndex == 0 ? null : binaryName(utf8[classIndex[superIndex]]);
+	int interfaceCount = in.readUnsignedShort();
+	for (int i = 0; i < interfaceCount; i++) {
+	  interfaces.add(binaryName(utf8[classIndex[in.readUnsignedShort()]]));
+	}
+	referencedClasses.remove(name);
+  }
+
+  /** Name of the class */
+  public String getName() {
+	return name;
+  }
+
+  /** Name of the super class, null for java.lang.Object */
+  public String getSuperName() {
+	return superName;
+  }
+
+  /** Names of the interfaces the class implements directly */
+  public List<String> getInterfaces() {
+	return interfaces;
+  }
+
+  /** Access flags of the class (see java.lang.reflect.Modifier) */
+  public int getAccess() {
+	return access;
+  }
+
+  public boolean isInterface() {
+	return (access & 0x0200) != 0;
+  }
+
+  /** Names of the other classes the class file refers to */
+  public Set<String> getReferencedClasses() {
+	return referencedClasses;
+  }
+
+  void addReference(String internalName) {
+	if (internalName == null)
+	  return;
+	if (internalName.startsWith("["))
+	  addDescriptorTypes(internalName);
+	else
+	  referencedClasses.add(binaryName(internalName));
+  }
+
+  /** Add the class types of a descriptor or signature (e.g. (ILpkg/A;)Lpkg/B;) */
+  void addDescriptorTypes(String s) {
+	int start = s.indexOf('L');
+	while (start >= 0) {
+	  int end = start + 1;
+	  while (end < s.length() && ";<>():[".indexOf(s.charAt(end)) < 0 && s.charAt(end) != ' ')
+		end++;
+	  if (end < s.length() && (s.charAt(end) == ';' || s.charAt(end) == '<') && end > start + 1)
+		referencedClasses.add(binaryName(s.substring(start + 1, end)));
+	  start = s.indexOf('L', end);
+	}
+  }
+
+  static String binaryName(String internalName) {
+	return internalName.replace('/', '.');
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Description: Super class names of the class files of CLASS_PATH, read
+ *    from their constant pool (the classes are not loaded, so their static
+ *    initializers are not run). </p>
+ * <p>The names are kept in memory for the JVM and on disk, in the
+ *    <i>inheritance_cache</i> file of the result directory; a class file is
+ *    read again only when its size or modification time changes. </p>
+ *
+ * @version 1.0
+ */
+
+public class InheritanceCache {
+
+  static final String CACHE_FILE = "inheritance_cache";
+
+  /** cache file -> cache */
+  static Map<String, InheritanceCache> caches = new HashMap<String, InheritanceCache>();
+
+  static class Entry {
+	long length;
+	long lastModified;
+	String parent;
+  }
+
+  File file;
+
+  /** class name -> super class name of its class file */
+  Map<String, Entry> entries = new TreeMap<String, Entry>();
+
+  boolean changed = false;
+  int read = 0;
+  int reused = 0;
+
+  InheritanceCache(File file) {
+	this.file = file;
+	load();
+  }
+
+  /** Return the cache kept in the directory <i>dir</i> (e.g. MUTANT_HOME) */
+  public static synchronized InheritanceCache get(String dir) {
+	File file = new File(dir, CACHE_FILE);
+	InheritanceCache cache = caches.get(file.getAbsolutePath());
+	if (cache == null) {
+	  cache = new InheritanceCache(file);
+	  caches.put(file.getAbsolutePath(), cache);
+	}
+	return cache;
+  }
+
+  /**
+   * Return the name of the super class of <i>class_name</i>, "" if it is
+   * java.lang.Object or if the class is an interface
+   * @param classFile class file of <i>class_name</i>
+   * @throws IOException if the class file can not be read
+   */
+  public synchronized String getParentName(String class_name, File classFile) throws IOException {
+	long length = classFile.length();
+	long lastModified = classFile.lastModified();
+	Entry entry = entries.get(class_name);
+	if (entry != null && entry.length == length && entry.lastModified == lastModified) {
+	  reused++;
+	  return entry.parent;
+	}
+
+	ClassFileInfo info = new ClassFileInfo(Files.readAllBytes(classFile.toPath()));
+	String parent = info.getSuperName();
+	if (parent == null || parent.equals("java.lang.Object") || info.isInterface())
+	  parent = "";
+
+	entry = new Entry();
+	entry.length = length;
+	entry.lastModified = lastModified;
+	entry.parent = parent;
+	entries.put(class_name, entry);
+	changed = true;
+	read++;
+	return parent;
+  }
+
+  /**
+   * Write the cache if class files were read, and the directory of the cache
+   * exists. The cache is written to a temporary file that replaces it, so a
+   * generation reading it never sees half a cache.
+   */
+  public synchronized void save() {
+	if (!changed || !file.getParentFile().isDirectory())
+	  return;
+	File temp = null;
+	PrintWriter out = null;
+	try {
+	  temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+	  out = new PrintWriter(new FileWriter(temp));
+	  for (Map.Entry<String, Entry> e : entries.entrySet()) {
+		Entry entry = e.getValue();
+		out.println(e.getKey() + "\t" + entry.length + "\t" + entry.lastModified + "\t" + entry.parent);
+	  }
+	  out.close();
+	  if (out.checkError())
+		throw new IOException("can't write " + temp);
+	  try {
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+	  } catch (AtomicMoveNotSupportedException e) {
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	  }
+	  changed = false;
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write " + file);
+	} finally {
+	  if (out != null)
+		out.close();
+	  if (temp != null)
+		temp.delete();
+	}
+  }
+
+  public synchronized String toString() {
+	return "inheritance cache: " + read + " class files read, " + reused + " reused";
+  }
+
+  void load() {
+	if (!file.isFile())
+	  return;
+	BufferedReader reader = null;
+	try {
+	  reader = new BufferedReader(new FileReader(file));
+	  String line;
+	  while ((line = reader.readLine()) != null) {
+		String[] fields = line.split("\t", -1);
+		if (fields.length != 4)
+		  continue;
+		Entry entry = new Entry();
+		entry.length = Long.parseLong(fields[1]);
+		entry.lastModified = Long.parseLong(fields[2]);
+		entry.parent = fields[3];
+		entries.put(fields[0], entry);
+	  }
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't read " + file);
+	} catch (NumberFormatException e) {
+	  System.err.println("[ERROR] Bad inheritance cache " + file);
+	  entries.clear();
+	} finally {
+	  try {
+		if (reader != null)
+		  reader.close();
+	  } catch (IOException e) {
+		// ignore
+	  }
+	}
+  }
+}
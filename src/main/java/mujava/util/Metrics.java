@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2015  the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mujava.util;
+
+import mujava.MutationSystem;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Description: Wall time and counts of the phases of the generation and
+ *    the execution of the mutants of a class (parse, operators, compilation,
+ *    class loading, tests, ...). </p>
+ * <p>Nothing is recorded until the metrics are enabled. The metrics of a
+ *    class are {@link #reset()} before it is handled and {@link #write(String, String)}
+ *    as &lt;name&gt;.json and &lt;name&gt;.csv in its result directory after.
+ *    Each timing and count can also be appended, as it is recorded, to an event
+ *    stream (one CSV line per event: time, class, name, detail, milliseconds
+ *    or count), which several JVMs may share. </p>
+ * <p>The mutants may be run by several threads, so the metrics are synchronized. </p>
+ *
+ * @version 1.0
+ */
+
+public final class Metrics {
+
+  static volatile boolean enabled = false;
+
+  /** name -> {count, total nanoseconds, maximum nanoseconds} */
+  static Map<String, long[]> timers = new TreeMap<String, long[]>();
+
+  /** name -> count */
+  static Map<String, long[]> counters = new TreeMap<String, long[]>();
+
+  /** event stream, null if the events are not streamed */
+  static OutputStream events = null;
+
+  /** Record the metrics from now on */
+  public static void enable() {
+	enabled = true;
+  }
+
+  public static boolean isEnabled() {
+	return enabled;
+  }
+
+  /**
+   * Append every timing and count to the file <i>path</i>, and enable the
+   * metrics. Each event is written as one line, at once, so the file can
+   * be followed while the mutants are handled.
+   */
+  public static synchronized void openEventStream(String path) {
+	try {
+	  events = new FileOutputStream(path, true);
+	  enabled = true;
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't open the metrics event stream " + path + ": " + e.getMessage());
+	}
+  }
+
+  public static synchronized void closeEventStream() {
+	if (events == null)
+	  return;
+	try {
+	  events.close();
+	} catch (IOException e) {
+	  // ignore
+	}
+	events = null;
+  }
+
+  /** Forget the metrics recorded so far (e.g. for the previous class) */
+  public static synchronized void reset() {
+	timers.clear();
+	counters.clear();
+  }
+
+  /** Return the start time of a phase, to give to {@link #stop(String, long)} */
+  public static long start() {
+	return enabled ? System.nanoTime() : 0;
+  }
+
+  /** Record the time of the phase <i>name</i>, started at <i>start</i> */
+  public static void stop(String name, long start) {
+	stop(name, null, start);
+  }
+
+  /**
+   * Record the time of the phase <i>name</i>, started at <i>start</i>;
+   * <i>detail</i> (e.g. the mutant) is only written to the event stream
+   */
+  public static void stop(String name, String detail, long start) {
+	if (!enabled)
+	  return;
+	long time = System.nanoTime() - start;
+	synchronized (Metrics.class) {
+	  long[] timer = timers.get(name);
+	  if (timer == null) {
+		timer = new long[3];
+		timers.put(name, timer);
+	  }
+	  timer[0]++;
+	  timer[1] += time;
+	  timer[2] = Math.max(timer[2], time);
+	  event(name, detail, millis(time));
+	}
+  }
+
+  /** Count one more <i>name</i> */
+  public static void count(String name) {
+	count(name, 1);
+  }
+
+  /** Add <i>n</i> to the count of <i>name</i> */
+  public static void count(String name, long n) {
+	if (!enabled)
+	  return;
+	synchronized (Metrics.class) {
+	  long[] counter = counters.get(name);
+	  if (counter == null) {
+		counter = new long[1];
+		counters.put(name, counter);
+	  }
+	  counter[0] += n;
+	  event(name, null, Long.toString(n));
+	}
+  }
+
+  /** Return the count of <i>name</i> */
+  public static synchronized long getCount(String name) {
+	long[] counter = counters.get(name);
+	return counter == null ? 0 : counter[0];
+  }
+
+  /** Return the total time of the phase <i>name</i>, in nanoseconds */
+  public static synchronized long getTime(String name) {
+	long[] timer = timers.get(name);
+	return timer == null ? 0 : timer[1];
+  }
+
+  static void event(String name, String detail, String value) {
+	if (events == null)
+	  return;
+	StringBuilder line = new StringBuilder();
+	line.append(System.currentTimeMillis()).append(',').append(field(MutationSystem.DIR_NAME)).append(',')
+		.append(field(name)).append(',').append(field(detail)).append(',').append(value).append('\n');
+	try {
+	  events.write(line.toString().getBytes("UTF-8"));
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write the metrics event stream: " + e.getMessage());
+	  closeEventStream();
+	}
+  }
+
+  /**
+   * Write the metrics recorded since the last {@link #reset()} to
+   * <i>dir</i>/<i>name</i>.json and <i>dir</i>/<i>name</i>.csv, if <i>dir</i> exists
+   */
+  public static synchronized void write(String dir, String name) {
+	if (!enabled || !new File(dir).isDirectory())
+	  return;
+	PrintWriter out = null;
+	try {
+	  out = new PrintWriter(new FileWriter(new File(dir, name + ".json")));
+	  out.print(toJson());
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write the metrics of " + dir + ": " + e.getMessage());
+	} finally {
+	  if (out != null)
+		out.close();
+	}
+	out = null;
+	try {
+	  out = new PrintWriter(new FileWriter(new File(dir, name + ".csv")));
+	  out.print(toCsv());
+	} catch (IOException e) {
+	  System.err.println("[ERROR] Can't write the metrics of " + dir + ": " + e.getMessage());
+	} finally {
+	  if (out != null)
+		out.close();
+	}
+  }
+
+  static String toJson() {
+	StringBuilder json = new StringBuilder();
+	json.append("{\n  \"class\": \"").append(escape(MutationSystem.DIR_NAME)).append("\",\n");
+	json.append("  \"timers\": {");
+	String separator = "\n";
+	for (Map.Entry<String, long[]> entry : timers.entrySet()) {
+	  long[] timer = entry.getValue();
+	  json.append(separator).append("    \"").append(escape(entry.getKey())).append("\": {\"count\": ")
+		  .append(timer[0]).append(", \"total_ms\": ").append(millis(timer[1])).append(", \"max_ms\": ")
+		  .append(millis(timer[2])).append('}');
+	  separator = ",\n";
+	}
+	json.append(timers.isEmpty() ? "},\n" : "\n  },\n");
+	json.append("  \"counters\": {");
+	separator = "\n";
+	for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+	  json.append(separator).append("    \"").append(escape(entry.getKey())).append("\": ").append(entry.getValue()[0]);
+	  separator = ",\n";
+	}
+	json.append(counters.isEmpty() ? "}\n" : "\n  }\n");
+	json.append("}\n");
+	return json.toString();
+  }
+
+  static String toCsv() {
+	StringBuilder csv = new StringBuilder("class,kind,name,count,total_ms,max_ms\n");
+	String class_name = field(MutationSystem.DIR_NAME);
+	for (Map.Entry<String, long[]> entry : timers.entrySet()) {
+	  long[] timer = entry.getValue();
+	  csv.append(class_name).append(",timer,").append(field(entry.getKey())).append(',').append(timer[0]).append(',')
+		  .append(millis(timer[1])).append(',').append(millis(timer[2])).append('\n');
+	}
+	for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+	  csv.append(class_name).append(",counter,").append(field(entry.getKey())).append(',').append(entry.getValue()[0])
+		  .append(",,\n");
+	}
+	return csv.toString();
+  }
+
+  static String millis(long nanos) {
+	return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+  }
+
+  /** Quote a CSV field if needed */
+  static String field(String value) {
+	if (value == null)
+	  return "";
+	if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0)
+	  return value;
+	return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  static String escape(String value) {
+	if (value == null)
+	  return "";
+	StringBuilder escaped = new StringBuilder();
+	for (int i = 0; i < value.length(); i++) {
+	  char c = value.charAt(i);
+	  if (c == '"' || c == '\\')
+		escaped.append('\\').append(c);
+	  else if (c < 0x20)
+		escaped.append(String.format("\\u%04x", (int) c));
+	  else
+		escaped.append(c);
+	}
+	return escaped.toString();
+  }
+}
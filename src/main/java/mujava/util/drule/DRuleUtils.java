@@ -2,7 +2,11 @@ package mujava.util.drule;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Semaphore;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DRuleUtils {
   public enum MOperator {
@@ -11,10 +15,14 @@ public class DRuleUtils {
   }
 
   ;
-  static Semaphore sem = new Semaphore(1, true);
   static DRuleUtils instance = new DRuleUtils();
   static List<String> allOperatorsSelected = new ArrayList<>();
-  static List<MutationInfo> mutationInfoList = new ArrayList<>();
+  /** mutation -> operator of the first mutant with this mutation */
+  static ConcurrentMap<MutationInfo, String> mutations = new ConcurrentHashMap<>();
+  /** rule -> mutants it saved */
+  static ConcurrentMap<String, AtomicInteger> savedMutants = new ConcurrentHashMap<>();
+  /** mutants found twice by the registry */
+  static AtomicInteger registered = new AtomicInteger();
 
   DRuleUtils() {
 
@@ -25,34 +33,54 @@ public class DRuleUtils {
   }
 
   public boolean addMutation(MutationInfo mutationInfo) {
-	boolean ret = false;
-	try {
-	  synchronized (this) {
-		sem.acquire();
-		if (!mutationInfoList.contains(mutationInfo)) {
-		  ret = true;
-		  mutationInfoList.add(mutationInfo);
-		}
-		sem.release();
-	  }
-	} catch (InterruptedException e) {
-	  e.printStackTrace();
-	}
-	return ret;
+	return mutations.putIfAbsent(mutationInfo, String.valueOf(mutationInfo.op_name)) == null;
   }
 
   public boolean containsMutation(MutationInfo mutationInfo) {
-	boolean ret = false;
-	try {
-	  synchronized (this) {
-		sem.acquire();
-		ret = mutationInfoList.contains(mutationInfo);
-		sem.release();
-	  }
-	} catch (InterruptedException e) {
-	  e.printStackTrace();
+	return mutations.containsKey(mutationInfo);
+  }
+
+  /**
+   * Register the mutation of a mutant, and return the operator of the first
+   * mutant with the same mutation (null if the mutation is new)
+   */
+  public String registerMutation(MutationInfo mutationInfo) {
+	String first = mutations.putIfAbsent(mutationInfo, String.valueOf(mutationInfo.op_name));
+	if (first != null)
+	  registered.incrementAndGet();
+	return first;
+  }
+
+  /**
+   * Count a mutant that <i>rule</i> did not generate (the rules are named by
+   * their operators, "AORB x ODL" for the duplicates and "AORB" for the
+   * equivalent mutants)
+   */
+  public void countSaved(String rule) {
+	AtomicInteger count = savedMutants.get(rule);
+	if (count == null) {
+	  AtomicInteger newCount = new AtomicInteger();
+	  count = savedMutants.putIfAbsent(rule, newCount);
+	  if (count == null)
+		count = newCount;
 	}
-	return ret;
+	count.incrementAndGet();
+  }
+
+  /** Return the mutants saved by each rule, sorted by rule */
+  public Map<String, Integer> getSavedMutants() {
+	Map<String, Integer> saved = new TreeMap<>();
+	for (Map.Entry<String, AtomicInteger> entry : savedMutants.entrySet()) {
+	  saved.put(entry.getKey(), entry.getValue().get());
+	}
+	return saved;
+  }
+
+  /** Forget the mutations and the counts of a previous generation */
+  public void clearMutations() {
+	mutations.clear();
+	savedMutants.clear();
+	registered.set(0);
   }
 
   public boolean isOperatorSelected(String op) {
@@ -66,4 +94,14 @@ public class DRuleUtils {
   public static DRuleUtils access() {
 	return instance;
   }
+
+  public String toString() {
+	Map<String, Integer> saved = getSavedMutants();
+	int total = 0;
+	for (int count : saved.values()) {
+	  total += count;
+	}
+	return "reduction rules: " + total + " mutants saved " + saved + ", " + registered.get()
+		+ " duplicated mutants found by the registry";
+  }
 }
@@ -1,5 +1,10 @@
 package mujava.util.drule;
 
+/**
+ * Mutation of a mutant, to find the mutants generated twice. Two mutants
+ * are the same if they replace the same node of the same method with the
+ * same code (whitespaces aside), whatever their operators.
+ */
 public class MutationInfo {
   public enum DRule {
     RULE43,
@@ -15,12 +20,66 @@ public class MutationInfo {
   DRule rule;
   DRuleUtils.MOperator operator;
   String classname;
+  String method;
+  String location;
+  String replacement;
+  /** operator of the mutant, not part of the mutation */
+  String op_name;
 
   public MutationInfo(DRuleUtils.MOperator operator, DRule rule, String classname) {
+	this.operator = operator;
+	this.rule = rule;
+	this.classname = classname;
+	this.op_name = operator == null ? null : operator.name();
+  }
+
+  /**
+   * @param op_name operator of the mutant
+   * @param method method of the mutated node (null outside of a method)
+   * @param location mutated node
+   * @param replacement code of the mutant in place of the node
+   */
+  public MutationInfo(String op_name, String classname, String method, String location, String replacement) {
+	this.op_name = op_name;
+	this.classname = classname;
+	this.method = method;
+	this.location = location;
+	this.replacement = normalize(replacement);
+  }
+
+  static String normalize(String code) {
+	return code == null ? null : code.replaceAll("\\s+", " ").trim();
+  }
+
+  public String getOperatorName() {
+	return op_name;
+  }
+
+  public boolean equals(Object o) {
+	if (this == o)
+	  return true;
+	if (!(o instanceof MutationInfo))
+	  return false;
+	MutationInfo other = (MutationInfo) o;
+	return rule == other.rule && operator == other.operator
+		&& same(classname, other.classname) && same(method, other.method)
+		&& same(location, other.location) && same(replacement, other.replacement);
+  }
 
+  public int hashCode() {
+	int hash = rule == null ? 0 : rule.hashCode();
+	hash = 31 * hash + (operator == null ? 0 : operator.hashCode());
+	hash = 31 * hash + (classname == null ? 0 : classname.hashCode());
+	hash = 31 * hash + (method == null ? 0 : method.hashCode());
+	hash = 31 * hash + (location == null ? 0 : location.hashCode());
+	return 31 * hash + (replacement == null ? 0 : replacement.hashCode());
   }
-  public boolean equals(MutationInfo other) {
-    return this.rule.equals(other.rule) && this.operator.equals(other.operator)
-		&& this.classname.equals(other.classname);
+
+  static boolean same(String s1, String s2) {
+	return s1 == null ? s2 == null : s1.equals(s2);
+  }
+
+  public String toString() {
+	return classname + ":" + method + ":" + location + ":" + replacement;
   }
 }
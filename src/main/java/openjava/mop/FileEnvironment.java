@@ -186,6 +186,9 @@ public class FileEnvironment extends Environment {
         //System.out.println("FileEnvironment lookupClass: " + name +" " + clazz);
         if (clazz != null)
             return clazz;
+        /* names that failed to load are not looked up again */
+        if (OJSystem.env.isMissing(Toolbox.nameForJavaClassName(name)))
+            return null;
         try {
             clazz = OJClass.forName(name);
         } catch (OJClassNotFoundException e) {
@@ -384,6 +387,7 @@ public class FileEnvironment extends Environment {
 
     /*
 	 * The use of Class.forName() costs too much time.
+	 * The names that are not classes are remembered by OJSystem.env.
 	 */
     private boolean theClassExists(String class_name) {
         return (lookupClass(class_name) != null);
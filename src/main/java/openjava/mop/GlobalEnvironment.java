@@ -22,6 +22,13 @@ public class GlobalEnvironment
 {
     private Hashtable table = new Hashtable();
 
+    /** names known not to be classes, with the same keys as the table */
+    private Hashtable missingTable = new Hashtable();
+
+    private int hits = 0;
+    private int misses = 0;
+    private int knownMisses = 0;
+
     public GlobalEnvironment() {
     }
 
@@ -32,6 +39,7 @@ public class GlobalEnvironment
         out.println( "GlobalEnvironment" );
         out.print( "class object table: " );
         out.println( table.toString() );
+        out.println( getLookupStatistics() );
 
         out.flush();
         return str_writer.toString();
@@ -61,7 +69,50 @@ public class GlobalEnvironment
      */
     public OJClass lookupClass( String name ) {
         if (name == null)  return null;
-        return (OJClass) table.get( name );
+        OJClass result = (OJClass) table.get( name );
+        if (result != null)  ++hits;
+        return result;
+    }
+
+    /**
+     * Tests if the given name is known not to be a class, that is
+     * if loading it already failed.  Unlike looking the class up
+     * again, this does not throw and catch any exception.
+     *
+     * @param	name		the fully-qualified name of the class
+     */
+    public boolean isMissing( String name ) {
+        if (name == null || ! missingTable.containsKey( name ))  return false;
+        ++knownMisses;
+        return true;
+    }
+
+    /**
+     * Records a name that could not be loaded as a class.
+     *
+     * @param	name		the fully-qualified name of the class
+     */
+    public void recordMissing( String name ) {
+        if (name == null)  return;
+        ++misses;
+        missingTable.put( name, name );
+    }
+
+    /**
+     * Forgets the names that could not be loaded, e.g. after the
+     * class path changed.
+     */
+    public void clearMissing() {
+        missingTable.clear();
+    }
+
+    /**
+     * Returns the numbers of class lookups answered by the table,
+     * failed, and answered as missing without loading.
+     */
+    public String getLookupStatistics() {
+        return "class lookups: " + hits + " found, " + misses + " not found, "
+            + knownMisses + " known missing";
     }
 
     /**
@@ -81,6 +132,7 @@ public class GlobalEnvironment
         }
 	DebugOut.println("Genv#record(): " + name + " " + str);
 	table.put(name, clazz);
+	missingTable.remove(name);
     }
 
     /**
@@ -194,6 +194,9 @@ public class OJClass implements OJMember {
 			return result;
 		}
 
+		if (OJSystem.env.isMissing(name))
+			throw new OJClassNotFoundException(name);
+
 		result = lookupFromByteCode(nameToJavaClassName(name));
 		//System.out.println("name: " + name + ";;" + "result: " + result);
 		if (result != null) {
@@ -201,6 +204,7 @@ public class OJClass implements OJMember {
 			return result;
 		}
 
+		OJSystem.env.recordMissing(name);
 		throw new OJClassNotFoundException(name);
 	}
 	
@@ -231,6 +235,9 @@ public class OJClass implements OJMember {
 				return result;
 			}
 
+			if (OJSystem.env.isMissing(name))
+				throw new OJClassNotFoundException(name);
+
 			result = lookupFromByteCode(nameToJavaClassName(name));
 			//System.out.println("name: " + name + ";;" + "result: " + result);
 			if (result != null) {
@@ -238,6 +245,7 @@ public class OJClass implements OJMember {
 				return result;
 			}
 
+			OJSystem.env.recordMissing(name);
 			throw new OJClassNotFoundException(name);
 		}
 
@@ -0,0 +1,50 @@
+package mujava;
+
+import mujava.op.util.MutantCodeWriter;
+import mujava.util.drule.DRuleUtils;
+import openjava.ptree.CompilationUnit;
+import openjava.ptree.ParseTreeException;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * <p>Description: Traditional mutants generator that exposes the steps of
+ *    {@link MutantsGenerator#makeMutants()} one at a time, for the benchmarks
+ *    of mujava.bench. </p>
+ */
+public class BenchmarkMutantsGenerator extends TraditionalMutantsGenerator {
+
+  public BenchmarkMutantsGenerator(File f, String[] tOP) {
+	super(f, tOP, Arrays.asList(tOP));
+  }
+
+  /** Parse the original source and initialize its parse tree */
+  public void parse() throws OpenJavaException {
+	context.apply();
+	generateParseTree();
+	initParseTree();
+  }
+
+  /** Apply the operators to the parse tree, and write their mutants */
+  public void mutate() {
+	context.apply();
+	DRuleUtils.access().clearMutations();
+	genMutants();
+  }
+
+  /** Print the parse tree to <i>out</i> as the original source of the mutants is printed */
+  public void print(Writer out) throws ParseTreeException {
+	PrintWriter printer = new PrintWriter(out);
+	MutantCodeWriter writer = new MutantCodeWriter(printer);
+	writer.setClassName(MutationSystem.CLASS_NAME);
+	comp_unit.accept(writer);
+	printer.flush();
+  }
+
+  public CompilationUnit getCompilationUnit() {
+	return comp_unit;
+  }
+}
@@ -0,0 +1,60 @@
+package mujava;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+
+/**
+ * Classes compiled from sources given by the tests, and muJava sessions
+ * (src, classes, testset and result directories) of such classes.
+ */
+public class TestSubjects {
+
+    /** Compile the class <i>className</i> of the default package from <i>source</i> */
+    public static byte[] compile(String className, String source) throws IOException {
+        return compile(Collections.singletonMap(className, source)).get(className);
+    }
+
+    /** Compile the classes of the default package of <i>sources</i> (class name -&gt; source) together */
+    public static Map<String, byte[]> compile(Map<String, String> sources) throws IOException {
+        Map<String, String> files = new HashMap<String, String>();
+        for (Map.Entry<String, String> e : sources.entrySet()) {
+            files.put(e.getKey() + ".java", e.getValue());
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        Map<String, byte[]> classes = MutantCompiler.compileInMemory(System.getProperty("java.class.path"), files,
+                diagnostics);
+        Assert.assertNotNull(diagnostics.getDiagnostics().toString(), classes);
+        return classes;
+    }
+
+    /** Session of the class <i>className</i> of <i>source</i>, with the class compiled */
+    public static File createSession(String className, String source) throws IOException {
+        File session = File.createTempFile("mujava-session-", "");
+        session.delete();
+        FileUtils.writeStringToFile(new File(session, "src/" + className + ".java"), source);
+        FileUtils.writeByteArrayToFile(new File(session, "classes/" + className + ".class"),
+                compile(className, source));
+        new File(session, "testset").mkdirs();
+        new File(session, "result").mkdirs();
+        return session;
+    }
+
+    /**
+     * Return true if MutationSystem.recordInheritanceRelation can add the
+     * classes of a session to the class path, which it does by reflection
+     * on the system class loader (a URLClassLoader up to JDK 8 only)
+     */
+    public static boolean canAddClassPath() {
+        return ClassLoader.getSystemClassLoader() instanceof URLClassLoader;
+    }
+}
@@ -0,0 +1,128 @@
+package mujava.bench;
+
+import mujava.BenchmarkMutantsGenerator;
+import mujava.MutationContext;
+import mujava.MutationSystem;
+import mujava.OpenJavaException;
+import mujava.util.drule.DRuleUtils;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * <p>Description: muJava session of a sample subject of the benchmarks. The
+ *    subject (src/test/resources/benchmark/src) and its test set
+ *    (src/test/resources/benchmark/testset, &lt;Subject&gt;Test) are copied to
+ *    a temporary session directory and compiled there, and MutationSystem is
+ *    set to the session and the subject. </p>
+ */
+public class BenchmarkSession {
+
+  static final String RESOURCES = "/benchmark/";
+
+  /** operators of the mutants compiled and executed by the benchmarks */
+  public static final String[] OPERATORS = {"AORB", "AOIU", "ROR", "COR", "LOI", "SDL"};
+
+  File home;
+  String subject;
+
+  public BenchmarkSession(String subject) throws IOException {
+	this.subject = subject;
+	home = File.createTempFile("mujava-bench-", "");
+	home.delete();
+	copy(RESOURCES + "src/" + subject + ".java", new File(home, "src/" + subject + ".java"));
+	copy(RESOURCES + "testset/" + getTestSet() + ".java", new File(home, "testset/" + getTestSet() + ".java"));
+	new File(home, "classes").mkdirs();
+	new File(home, "result").mkdirs();
+	compile(new File(home, "classes"), System.getProperty("java.class.path"), new File(home, "src/" + subject + ".java"));
+	compile(new File(home, "testset"), new File(home, "classes") + File.pathSeparator + System.getProperty("java.class.path"),
+		new File(home, "testset/" + getTestSet() + ".java"));
+	use();
+	try {
+	  MutationSystem.recordInheritanceRelation();
+	} catch (Exception e) {
+	  throw new IOException(e);
+	}
+  }
+
+  /** Set MutationSystem to this session and subject */
+  public void use() {
+	MutationSystem.setJMutationStructure(home.getPath());
+	MutationContext context = MutationContext.forSourceFile(subject + ".java");
+	context.makeDirectories();
+	context.apply();
+  }
+
+  public File getSourceFile() {
+	return new File(home, "src/" + subject + ".java");
+  }
+
+  public String getSubject() {
+	return subject;
+  }
+
+  public String getTestSet() {
+	return subject + "Test";
+  }
+
+  /** Return a generator of the mutants of the subject for <i>operators</i> */
+  public BenchmarkMutantsGenerator createGenerator(String[] operators) {
+	use();
+	DRuleUtils.access().setSelectedOperators(Arrays.asList(operators));
+	return new BenchmarkMutantsGenerator(getSourceFile(), operators);
+  }
+
+  /** Generate and compile the mutants of the subject for <i>operators</i> */
+  public void generate(String[] operators) throws OpenJavaException {
+	BenchmarkMutantsGenerator generator = createGenerator(operators);
+	generator.makeMutants();
+	generator.compileMutants();
+  }
+
+  /** Delete the session directory */
+  public void delete() {
+	delete(home);
+  }
+
+  static void delete(File f) {
+	File[] files = f.listFiles();
+	if (files != null) {
+	  for (File child : files) {
+		delete(child);
+	  }
+	}
+	f.delete();
+  }
+
+  static void copy(String resource, File to) throws IOException {
+	to.getParentFile().mkdirs();
+	InputStream in = BenchmarkSession.class.getResourceAsStream(resource);
+	if (in == null)
+	  throw new IOException("no sample subject " + resource);
+	OutputStream out = null;
+	try {
+	  out = new FileOutputStream(to);
+	  byte[] buffer = new byte[8192];
+	  int n;
+	  while ((n = in.read(buffer)) > 0) {
+		out.write(buffer, 0, n);
+	  }
+	} finally {
+	  in.close();
+	  if (out != null)
+		out.close();
+	}
+  }
+
+  static void compile(File dir, String classPath, File source) throws IOException {
+	JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+	if (compiler.run(null, null, null, "-d", dir.getPath(), "-cp", classPath, source.getPath()) != 0)
+	  throw new IOException("can't compile " + source);
+  }
+}
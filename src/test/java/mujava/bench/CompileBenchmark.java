@@ -0,0 +1,59 @@
+package mujava.bench;
+
+import mujava.BenchmarkMutantsGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Compilation of the traditional mutants of a subject
+ *    (MutantsGenerator.compileMutants). The mutants are generated again,
+ *    outside of the measurement, before each compilation. </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class CompileBenchmark {
+
+  @Param({"Triangle", "BankAccount"})
+  String subject;
+
+  BenchmarkSession session;
+  BenchmarkMutantsGenerator generator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+	session = new BenchmarkSession(subject);
+  }
+
+  @Setup(Level.Invocation)
+  public void generate() throws Exception {
+	generator = session.createGenerator(BenchmarkSession.OPERATORS);
+	generator.makeMutants();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+	session.delete();
+  }
+
+  @Benchmark
+  public void compileMutants() {
+	generator.compileMutants();
+  }
+}
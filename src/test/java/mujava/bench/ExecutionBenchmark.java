@@ -0,0 +1,81 @@
+package mujava.bench;
+
+import mujava.MutationSystem;
+import mujava.TestExecuterCLI;
+import mujava.cli.Util;
+import mujava.test.TestResultCLI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Execution of the test set of a subject against all its
+ *    traditional mutants (TestExecuterCLI.runTraditionalMutants), as runmutes
+ *    does. The mutants are generated and compiled once. </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ExecutionBenchmark {
+
+  @Param({"Triangle", "BankAccount"})
+  String subject;
+
+  BenchmarkSession session;
+  TestExecuterCLI executer;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+	session = new BenchmarkSession(subject);
+	session.generate(BenchmarkSession.OPERATORS);
+  }
+
+  @Setup(Level.Invocation)
+  public void readTestSet() {
+	session.use();
+	executer = new TestExecuterCLI(subject);
+	executer.setTimeOut(3000);
+	TestExecuterCLI.methodList = new ArrayList<String>();
+	TestExecuterCLI.methodList2 = new ArrayList<String>();
+	Util.setUpVectors();
+	Util.setUpMaps();
+	File[] methods = new File(MutationSystem.TRADITIONAL_MUTANT_PATH).listFiles();
+	if (methods != null) {
+	  for (File method : methods) {
+		if (method.isDirectory()) {
+		  TestExecuterCLI.methodList.add(method.getName());
+		  TestExecuterCLI.methodList2.add(method.getName());
+		}
+	  }
+	}
+	executer.readTestSet(session.getTestSet());
+	executer.computeOriginalTestResults();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+	session.delete();
+  }
+
+  @Benchmark
+  public TestResultCLI runTraditionalMutants() throws Exception {
+	return executer.runTraditionalMutants("All method", BenchmarkSession.OPERATORS, 1);
+  }
+}
@@ -0,0 +1,82 @@
+package mujava.bench;
+
+import mujava.MutationSystem;
+import mujava.test.JMutationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Definition of a compiled mutant and of the test set that
+ *    uses it by a new JMutationLoader, as done for each mutant executed. </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LoaderBenchmark {
+
+  @Param({"Triangle", "BankAccount"})
+  String subject;
+
+  BenchmarkSession session;
+
+  /** method directory of the mutant, and the mutant directory */
+  String mutantPath;
+  String mutant;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+	session = new BenchmarkSession(subject);
+	session.generate(BenchmarkSession.OPERATORS);
+	BufferedReader reader = new BufferedReader(new FileReader(
+		new File(MutationSystem.TRADITIONAL_MUTANT_PATH, "method_list")));
+	try {
+	  String method = reader.readLine();
+	  while (method != null && mutant == null) {
+		mutantPath = MutationSystem.TRADITIONAL_MUTANT_PATH + "/" + method;
+		String[] mutants = new File(mutantPath).list();
+		if (mutants != null && mutants.length > 0) {
+		  Arrays.sort(mutants);
+		  mutant = mutants[0];
+		}
+		method = reader.readLine();
+	  }
+	} finally {
+	  reader.close();
+	}
+	if (mutant == null)
+	  throw new IOException("no mutant of " + subject);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+	session.delete();
+  }
+
+  @Benchmark
+  public Class loadTestClass() throws Exception {
+	JMutationLoader loader = new JMutationLoader(mutant, mutantPath);
+	loader.loadClass(subject);
+	return loader.loadTestClass(session.getTestSet());
+  }
+}
@@ -0,0 +1,59 @@
+package mujava.bench;
+
+import mujava.BenchmarkMutantsGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Traversal of a subject by each traditional operator, with
+ *    the writing of its mutants and of mutation_log. The parse tree is
+ *    built once. </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class OperatorBenchmark {
+
+  @Param({"Triangle", "BankAccount"})
+  String subject;
+
+  @Param({"AORB", "AORS", "AODU", "AODS", "AOIU", "AOIS", "ROR", "COR", "COD", "COI",
+	  "SOR", "LOR", "LOI", "LOD", "ASRS", "SDL", "VDL", "ODL", "CDL"})
+  String operator;
+
+  BenchmarkSession session;
+  BenchmarkMutantsGenerator generator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+	session = new BenchmarkSession(subject);
+	generator = session.createGenerator(new String[]{operator});
+	generator.parse();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+	session.delete();
+  }
+
+  @Benchmark
+  public void mutate() {
+	generator.mutate();
+  }
+}
@@ -0,0 +1,89 @@
+package mujava.bench;
+
+import mujava.BenchmarkMutantsGenerator;
+import openjava.mop.OJSystem;
+import openjava.ptree.CompilationUnit;
+import openjava.tools.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileInputStream;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Description: Parsing of a subject by the OpenJava parser, initialization
+ *    of its parse tree (MutantsGenerator.initParseTree) and printing of the
+ *    tree by MutantCodeWriter. </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParseBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Subject {
+	@Param({"Triangle", "BankAccount"})
+	String subject;
+
+	BenchmarkSession session;
+	BenchmarkMutantsGenerator generator;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+	  session = new BenchmarkSession(subject);
+	  generator = session.createGenerator(new String[0]);
+	  generator.parse();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+	  session.delete();
+	}
+  }
+
+  /** a subject parsed again before each call, whose tree is not initialized */
+  @State(Scope.Benchmark)
+  public static class ParsedSubject extends Subject {
+	@Setup(Level.Invocation)
+	public void parseAgain() throws Exception {
+	  generator.generateParseTree();
+	}
+  }
+
+  @Benchmark
+  public CompilationUnit parse(Subject s) throws Exception {
+	FileInputStream in = new FileInputStream(s.session.getSourceFile());
+	try {
+	  return new Parser(in).CompilationUnit(OJSystem.env);
+	} finally {
+	  in.close();
+	}
+  }
+
+  @Benchmark
+  public CompilationUnit initParseTree(ParsedSubject s) throws Exception {
+	s.generator.initParseTree();
+	return s.generator.getCompilationUnit();
+  }
+
+  @Benchmark
+  public int print(Subject s) throws Exception {
+	StringWriter out = new StringWriter();
+	s.generator.print(out);
+	return out.getBuffer().length();
+  }
+}
@@ -0,0 +1,209 @@
+package mujava.op.bytecode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import mujava.MutationContext;
+import mujava.MutationSystem;
+import mujava.TestSubjects;
+import mujava.TraditionalMutantsGenerator;
+import mujava.op.util.CodeChangeLog;
+import mujava.util.drule.DRuleUtils;
+
+public class BytecodeMutatorTest {
+
+    private static final String SUBJECT = "import java.util.List;\n"
+            + "public class Subject {\n"
+            + "    Subject(double d) {\n"
+            + "    }\n"
+            + "    int add(int a, int b) {\n"
+            + "        return a + b;\n"
+            + "    }\n"
+            + "    int sum(List<Integer> xs) {\n"
+            + "        int s = 0;\n"
+            + "        for (int i = 0; i < xs.size(); i++) {\n"
+            + "            s = s - xs.get(i);\n"
+            + "        }\n"
+            + "        return s;\n"
+            + "    }\n"
+            + "    String[] names(long[] ids) {\n"
+            + "        return null;\n"
+            + "    }\n"
+            + "    <T extends Comparable<T>> boolean less(T a, T b) {\n"
+            + "        return a.compareTo(b) < 0;\n"
+            + "    }\n"
+            + "    boolean positive(int x) {\n"
+            + "        return x > 0;\n"
+            + "    }\n"
+            + "    boolean missing(Object o) {\n"
+            + "        return o == null;\n"
+            + "    }\n"
+            + "}\n";
+
+    private File path;
+
+    private String traditionalMutantPath;
+
+    private String mutantPath;
+
+    @After
+    public void cleanup() throws IOException {
+        if (traditionalMutantPath != null) {
+            MutationSystem.TRADITIONAL_MUTANT_PATH = traditionalMutantPath;
+            MutationSystem.MUTANT_PATH = mutantPath;
+        }
+        MutationSystem.BYTECODE_MUTANTS = false;
+        if (path != null)
+            FileUtils.deleteDirectory(path);
+    }
+
+    /** Directory with the class file of Subject, as MutationSystem.ORIGINAL_PATH */
+    private File createOriginal() throws IOException {
+        path = Files.createTempDirectory("mujava-bytecode-").toFile();
+        File original = new File(path, "original");
+        FileUtils.writeByteArrayToFile(new File(original, "Subject.class"),
+                TestSubjects.compile("Subject", SUBJECT));
+        return original;
+    }
+
+    @Test
+    public void opcodesOfAGroupReplaceEachOther() {
+        Set<Integer> seen = new HashSet<Integer>();
+        for (Map.Entry<String, int[][]> e : BytecodeMutator.GROUPS.entrySet()) {
+            Assert.assertTrue(e.getKey(), BytecodeMutator.supports(e.getKey()));
+            for (int[] group : e.getValue()) {
+                Assert.assertTrue(e.getKey(), group.length > 1);
+                String type = BytecodeMutator.MNEMONICS[group[0]].substring(0, 1);
+                for (int opcode : group) {
+                    String mnemonic = BytecodeMutator.MNEMONICS[opcode];
+                    Assert.assertNotNull(e.getKey() + " " + opcode, mnemonic);
+                    Assert.assertTrue(mnemonic, seen.add(opcode));
+                    if (!mnemonic.startsWith("if"))
+                        Assert.assertEquals(mnemonic, type, mnemonic.substring(0, 1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void mnemonicsAreTheOpcodesOfTheJvmSpecification() {
+        Assert.assertEquals("iadd", BytecodeMutator.MNEMONICS[0x60]);
+        Assert.assertEquals("drem", BytecodeMutator.MNEMONICS[0x73]);
+        Assert.assertEquals("ineg", BytecodeMutator.MNEMONICS[0x74]);
+        Assert.assertEquals("dneg", BytecodeMutator.MNEMONICS[0x77]);
+        Assert.assertEquals("ishl", BytecodeMutator.MNEMONICS[0x78]);
+        Assert.assertEquals("lushr", BytecodeMutator.MNEMONICS[0x7d]);
+        Assert.assertEquals("iand", BytecodeMutator.MNEMONICS[0x7e]);
+        Assert.assertEquals("lxor", BytecodeMutator.MNEMONICS[0x83]);
+        Assert.assertEquals("iinc", BytecodeMutator.MNEMONICS[0x84]);
+        Assert.assertEquals("ifeq", BytecodeMutator.MNEMONICS[0x99]);
+        Assert.assertEquals("if_icmpeq", BytecodeMutator.MNEMONICS[0x9f]);
+        Assert.assertEquals("if_icmple", BytecodeMutator.MNEMONICS[0xa4]);
+        Assert.assertEquals("if_acmpne", BytecodeMutator.MNEMONICS[0xa6]);
+        Assert.assertEquals(0x94, BytecodeMutator.LCMP);
+    }
+
+    @Test
+    public void signaturesAreTheOnesOfMethodList() throws IOException {
+        Set<String> signatures = BytecodeMutator.getSignatures(createOriginal().getPath());
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("Subject(double)", "int_add(int,int)",
+                "int_sum(java.util.List)", "java.lang.String[]_names(long[])",
+                "boolean_less(java.lang.Comparable,java.lang.Comparable)", "boolean_positive(int)",
+                "boolean_missing(java.lang.Object)")), signatures);
+    }
+
+    @Test
+    public void mutantsChangeOneInstruction() throws IOException {
+        File original = createOriginal();
+        traditionalMutantPath = MutationSystem.TRADITIONAL_MUTANT_PATH;
+        mutantPath = MutationSystem.MUTANT_PATH;
+        MutationSystem.TRADITIONAL_MUTANT_PATH = path.getPath();
+        MutationSystem.MUTANT_PATH = path.getPath();
+
+        // boolean_less(T,T) is left to the source-level operators, and so are x > 0 and o == null
+        BytecodeMutator mutator = new BytecodeMutator(Arrays.asList("AORB", "AORS", "ROR", "COR"),
+                Arrays.asList("int_add(int,int)", "int_sum(java.util.List)", "boolean_less(T,T)",
+                        "boolean_positive(int)", "boolean_missing(java.lang.Object)"));
+        mutator.numberAfter("ROR", 7);
+        CodeChangeLog.openLogFile();
+        try {
+            mutator.mutate(original.getPath());
+        } finally {
+            CodeChangeLog.closeLogFile();
+        }
+
+        List<String> log = Files.readAllLines(new File(path, "mutation_log").toPath(), Charset.defaultCharset());
+        List<String> mutants = new ArrayList<String>();
+        for (String line : log) {
+            mutants.add(line.substring(0, line.indexOf(MutationSystem.LOG_IDENTIFIER)));
+        }
+        Assert.assertEquals(Arrays.asList("AORB_1", "AORB_2", "AORB_3", "AORB_4", "AORB_5", "AORB_6", "AORB_7",
+                "AORB_8", "AORS_1", "ROR_8", "ROR_9", "ROR_10", "ROR_11", "ROR_12"), mutants);
+        Assert.assertTrue(log.get(0), log.get(0).endsWith(":int_add(int,int):iadd => isub"));
+        Assert.assertTrue(log.get(8), log.get(8).endsWith(":int_sum(java.util.List):iinc 1 => iinc -1"));
+        Assert.assertTrue(mutator.contains("int_sum(java.util.List)/ROR_8"));
+        Assert.assertFalse(mutator.contains("int_add(int,int)/ROR_8"));
+
+        byte[] data = Files.readAllBytes(new File(original, "Subject.class").toPath());
+        byte[] mutant = Files.readAllBytes(new File(path, "int_add(int,int)/AORB_1/Subject.class").toPath());
+        Assert.assertEquals(data.length, mutant.length);
+        int changed = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] != mutant[i])
+                changed++;
+        }
+        Assert.assertEquals(1, changed);
+    }
+
+    @Test
+    public void comparisonsWithZeroAndNullAreMutatedInTheSource() throws Exception {
+        Assume.assumeTrue(TestSubjects.canAddClassPath());
+        path = TestSubjects.createSession("Subject", SUBJECT);
+        MutationSystem.BYTECODE_MUTANTS = true;
+        MutationSystem.setJMutationStructure(path.getPath());
+        MutationSystem.recordInheritanceRelation();
+        MutationContext context = MutationContext.forSourceFile("Subject.java");
+        context.makeDirectories();
+        context.apply();
+        DRuleUtils.access().setSelectedOperators(Arrays.asList("ROR"));
+        TraditionalMutantsGenerator generator = new TraditionalMutantsGenerator(new File(path, "src/Subject.java"),
+                new String[] {"ROR"}, Arrays.asList("ROR"));
+        generator.makeMutants();
+        generator.compileMutants();
+
+        List<String> log = Files.readAllLines(new File(MutationSystem.TRADITIONAL_MUTANT_PATH, "mutation_log").toPath(),
+                Charset.defaultCharset());
+        Set<String> mutants = new HashSet<String>();
+        Set<String> methods = new HashSet<String>();
+        for (String line : log) {
+            String[] fields = line.split(MutationSystem.LOG_IDENTIFIER);
+            Assert.assertTrue(line, mutants.add(fields[0]));
+            methods.add(fields[2]);
+            if (fields[2].equals("boolean_positive(int)"))
+                Assert.assertTrue(line, fields[3].contains("x > 0"));
+            else if (fields[2].equals("boolean_missing(java.lang.Object)"))
+                Assert.assertTrue(line, fields[3].contains("o == null"));
+            else if (fields[2].equals("boolean_less(T,T)"))
+                Assert.assertTrue(line, fields[3].contains("a.compareTo( b ) < 0"));
+            else
+                Assert.assertTrue(line, fields[3].startsWith("if_icmpge => "));
+        }
+        Assert.assertEquals(new HashSet<String>(Arrays.asList("boolean_positive(int)",
+                "boolean_missing(java.lang.Object)", "boolean_less(T,T)", "int_sum(java.util.List)")), methods);
+    }
+}
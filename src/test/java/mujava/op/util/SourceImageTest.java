@@ -0,0 +1,79 @@
+package mujava.op.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import mujava.MutationContext;
+import mujava.MutationSystem;
+import mujava.TestSubjects;
+import mujava.TraditionalMutantsGenerator;
+import mujava.util.drule.DRuleUtils;
+
+public class SourceImageTest {
+
+    private static final String[] OPERATORS = {"AORB", "AOIU", "ROR", "COR", "LOI", "SDL"};
+
+    private File home;
+
+    @After
+    public void cleanup() throws IOException {
+        MutationSystem.SPLICE_MUTANTS = false;
+        if (home != null)
+            FileUtils.deleteDirectory(home);
+    }
+
+    @Test
+    public void splicedMutantsAreThePrintedOnes() throws Exception {
+        Assume.assumeTrue(TestSubjects.canAddClassPath());
+        home = createSession("Triangle");
+        Map<String, String> printed = generate("Triangle", false);
+        Map<String, String> spliced = generate("Triangle", true);
+        Assert.assertTrue(printed.size() > 10);
+        Assert.assertEquals(printed.keySet(), spliced.keySet());
+        for (String name : printed.keySet()) {
+            Assert.assertEquals(name, printed.get(name), spliced.get(name));
+        }
+    }
+
+    /** Session of the sample subject <i>subject</i> of the benchmarks, with its class compiled */
+    private static File createSession(String subject) throws IOException {
+        InputStream in = SourceImageTest.class.getResourceAsStream("/benchmark/src/" + subject + ".java");
+        try {
+            return TestSubjects.createSession(subject, IOUtils.toString(in, "UTF-8"));
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Generate the traditional mutants of <i>subject</i>, return their files by path */
+    private Map<String, String> generate(String subject, boolean splice) throws Exception {
+        MutationSystem.SPLICE_MUTANTS = splice;
+        MutationSystem.setJMutationStructure(home.getPath());
+        MutationSystem.recordInheritanceRelation();
+        MutationContext context = MutationContext.forSourceFile(subject + ".java");
+        context.makeDirectories();
+        context.apply();
+        DRuleUtils.access().setSelectedOperators(Arrays.asList(OPERATORS));
+        TraditionalMutantsGenerator generator = new TraditionalMutantsGenerator(
+                new File(home, "src/" + subject + ".java"), OPERATORS, Arrays.asList(OPERATORS));
+        generator.makeMutants();
+
+        Map<String, String> files = new TreeMap<String, String>();
+        File mutants = new File(MutationSystem.TRADITIONAL_MUTANT_PATH);
+        for (File f : FileUtils.listFiles(mutants, new String[] {"java"}, true)) {
+            files.put(f.getPath().substring(mutants.getPath().length()), FileUtils.readFileToString(f));
+        }
+        return files;
+    }
+}
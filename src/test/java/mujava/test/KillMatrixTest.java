@@ -0,0 +1,136 @@
+package mujava.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class KillMatrixTest {
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        dir = File.createTempFile("killmatrix", "");
+        dir.delete();
+        dir.mkdirs();
+        file = new File(dir, "result_list" + KillMatrix.EXTENSION);
+    }
+
+    @After
+    public void cleanup() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void savedMatrixIsReadBack() throws IOException {
+        KillMatrix matrix = KillMatrix.open(file);
+        matrix.addTest("test1");
+        matrix.addTest("test2");
+        matrix.addKills("AORB_1", Arrays.asList("test2"));
+        matrix.addMutant("ROR_1");
+        matrix.setEquivalent("ROR_1", true);
+        matrix.save();
+
+        Assert.assertTrue(KillMatrix.isKillMatrix(file));
+        KillMatrix read = KillMatrix.open(file);
+        Assert.assertEquals(Arrays.asList("test1", "test2"), read.getTests());
+        Assert.assertEquals(Arrays.asList("AORB_1", "ROR_1"), read.getMutants());
+        Assert.assertEquals(Arrays.asList("test2"), read.getKillers("AORB_1"));
+        Assert.assertTrue(read.isEquivalent("ROR_1"));
+        Assert.assertTrue(read.getLiveMutants().isEmpty());
+    }
+
+    @Test
+    public void changesAreAppended() throws IOException {
+        KillMatrix matrix = KillMatrix.open(file);
+        matrix.addKills("AORB_1", Arrays.asList("test1"));
+        matrix.addMutant("ROR_1");
+        matrix.save();
+        long length = file.length();
+
+        KillMatrix reopened = KillMatrix.open(file);
+        reopened.addKills("ROR_1", Arrays.asList("test2"));
+        reopened.setKillers("AORB_1", Collections.<String>emptyList());
+        reopened.save();
+        Assert.assertTrue(file.length() > length);
+
+        KillMatrix read = KillMatrix.open(file);
+        Assert.assertEquals(Arrays.asList("test1", "test2"), read.getTests());
+        Assert.assertEquals(Arrays.asList("test2"), read.getKillers("ROR_1"));
+        Assert.assertEquals(Arrays.asList("AORB_1"), read.getLiveMutants());
+        Assert.assertEquals(Arrays.asList("ROR_1"), read.getKilledMutants("test2"));
+    }
+
+    @Test
+    public void outOfDateRowsAreRewritten() throws IOException {
+        KillMatrix matrix = KillMatrix.open(file);
+        matrix.addKills("AORB_1", Arrays.asList("test1"));
+        matrix.save();
+
+        // each save appends one row, until most of the rows are out of date
+        long longest = 0;
+        for (int i = 0; i < 40; i++) {
+            KillMatrix reopened = KillMatrix.open(file);
+            reopened.setKillers("AORB_1", Arrays.asList(i % 2 == 0 ? "test2" : "test1"));
+            reopened.save();
+            longest = Math.max(longest, file.length());
+        }
+        Assert.assertTrue(file.length() < longest);
+        Assert.assertFalse(new File(file.getPath() + ".tmp").exists());
+
+        KillMatrix read = KillMatrix.open(file);
+        Assert.assertEquals(Arrays.asList("test1"), read.getKillers("AORB_1"));
+        Assert.assertEquals(1, read.getKillCount("AORB_1"));
+    }
+
+    @Test
+    public void csvExportIsImportedBack() throws IOException {
+        KillMatrix matrix = KillMatrix.open(file);
+        matrix.addTest("test1");
+        matrix.addKills("AORB_1", Arrays.asList("test1"));
+        matrix.addMutant("ROR_1");
+        matrix.setEquivalent("ROR_1", true);
+        File csv = new File(dir, "result_list.csv");
+        matrix.exportCsv(csv);
+
+        KillMatrix read = KillMatrix.read(csv);
+        Assert.assertEquals(Arrays.asList("test1"), read.getKillers("AORB_1"));
+        Assert.assertTrue(read.isEquivalent("ROR_1"));
+    }
+
+    @Test
+    public void mutantListIsReadFromTheMatrix() throws IOException {
+        KillMatrix matrix = KillMatrix.open(file);
+        matrix.addKills("AORB_1", Arrays.asList("test1"));
+        matrix.addMutant("ROR_1");
+        matrix.addMutant("ROR_2");
+        matrix.setEquivalent("ROR_2", true);
+        matrix.save();
+        File mutantList = new File(dir, "mutant_list");
+        // a stale list, the matrix is read instead
+        FileUtils.writeStringToFile(mutantList, "killed mutants (0): \r\nlive mutants (1): ROR_1, ", "utf-8");
+
+        TestResultCLI tr = new TestResultCLI();
+        tr.setPath(mutantList.getPath());
+        tr.getResults();
+        Assert.assertEquals(Arrays.asList("AORB_1"), tr.killed_mutants);
+        Assert.assertEquals(Arrays.asList("ROR_1"), tr.live_mutants);
+        Assert.assertEquals(Arrays.asList("ROR_2"), tr.eq_mutants);
+        Assert.assertEquals(new File(dir, "result_list_2026_1_2" + KillMatrix.EXTENSION),
+                TestResultCLI.getMatrixFile(new File(dir, "mutant_list_2026_1_2")));
+    }
+}
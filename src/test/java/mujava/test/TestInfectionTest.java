@@ -0,0 +1,91 @@
+package mujava.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import mujava.MutationSystem;
+import mujava.TestSubjects;
+import mujava.op.util.MutantSchemata;
+
+public class TestInfectionTest {
+
+    /** Weak mutation schemata of three mutants, as MutantSchemata prints it */
+    private static final String SUBJECT = "import mujava.test.InfectionProbe;\n"
+            + "public class Subject {\n"
+            + "    static int base = InfectionProbe.infect(0, InfectionProbe.enter(1), 1);\n"
+            + "    public static int twice(int x) {\n"
+            + "        return InfectionProbe.infect(x * 2, InfectionProbe.enter(2), x + 2);\n"
+            + "    }\n"
+            + "    public static int half(int x) {\n"
+            + "        return InfectionProbe.infect(x / 2, InfectionProbe.enter(3), x >> 1);\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String SUBJECT_TEST = "import org.junit.BeforeClass;\n"
+            + "import org.junit.Test;\n"
+            + "public class SubjectTest {\n"
+            + "    static int fixture;\n"
+            + "    @BeforeClass\n"
+            + "    public static void setUp() {\n"
+            + "        fixture = Subject.twice(5);\n"
+            + "    }\n"
+            + "    @Test\n"
+            + "    public void testHalf() {\n"
+            + "        Subject.half(-3);\n"
+            + "    }\n"
+            + "    @Test\n"
+            + "    public void testNothing() {\n"
+            + "    }\n"
+            + "}\n";
+
+    private File dir;
+
+    private String testSetPath;
+
+    @Before
+    public void setup() throws IOException {
+        dir = File.createTempFile("mujava-infection-", "");
+        dir.delete();
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put("Subject", SUBJECT);
+        sources.put("SubjectTest", SUBJECT_TEST);
+        Map<String, byte[]> classes = TestSubjects.compile(sources);
+        File weak = new File(dir, "result/Subject/" + MutationSystem.WEAK_DIR_NAME);
+        FileUtils.writeByteArrayToFile(new File(weak, "Subject.class"), classes.get("Subject"));
+        FileUtils.writeStringToFile(new File(weak, MutantSchemata.IDS_FILE),
+                "1\tint_base()/AOIS_1\n2\tint_twice(int)/AORB_1\n3\tint_half(int)/AORB_2\n");
+        FileUtils.writeByteArrayToFile(new File(dir, "testset/SubjectTest.class"), classes.get("SubjectTest"));
+        testSetPath = MutationSystem.TESTSET_PATH;
+        MutationSystem.TESTSET_PATH = new File(dir, "testset").getPath();
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        MutationSystem.TESTSET_PATH = testSetPath;
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void mutantsInfectedOutOfTheTestsSelectEveryTest() {
+        TestInfection ti = TestInfection.get(new File(dir, "result/Subject").getPath(), "Subject", "SubjectTest",
+                null);
+        Assert.assertNotNull(ti);
+        List<String> tests = Arrays.asList("testHalf", "testNothing");
+        // infected by the static initializer and by the @BeforeClass fixture
+        Assert.assertEquals(tests, ti.selectTests("AOIS_1", tests));
+        Assert.assertEquals(tests, ti.selectTests("AORB_1", tests));
+        // -3 / 2 is -1, -3 >> 1 is -2
+        Assert.assertEquals(Collections.singletonList("testHalf"), ti.selectTests("AORB_2", tests));
+    }
+}
@@ -0,0 +1,79 @@
+package mujava.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestSetCoverTest {
+
+    @Test
+    public void exactFindsTheSmallestTestSet() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int testCount = 1 + random.nextInt(8);
+            int mutantCount = 1 + random.nextInt(12);
+            KillMatrix matrix = randomMatrix(random, testCount, mutantCount);
+            TestSetCover cover = new TestSetCover(matrix, matrix.getMutants());
+            int killable = cover.getMutants().size();
+            int smallest = smallestAdequateSize(cover, matrix.getTests(), killable);
+
+            List<String> exact = cover.exact(TestSetCover.MAX_NODES);
+            Assert.assertTrue(cover.isOptimal());
+            Assert.assertEquals("trial " + trial, smallest, exact.size());
+            Assert.assertEquals(killable, cover.countKilled(exact));
+
+            List<String> greedy = cover.greedy();
+            Assert.assertTrue(greedy.size() >= smallest);
+            Assert.assertEquals(killable, cover.countKilled(greedy));
+            Assert.assertEquals(killable, cover.countKilled(cover.randomizedGreedy(random)));
+            Assert.assertEquals(killable, cover.countKilled(cover.randomAdequate(random)));
+        }
+    }
+
+    @Test
+    public void liveAndEquivalentMutantsAreLeftOut() {
+        KillMatrix matrix = new KillMatrix(null);
+        matrix.addKills("AORB_1", Arrays.asList("test1"));
+        matrix.addKills("AORB_2", Arrays.asList("test2"));
+        matrix.setEquivalent("AORB_2", true);
+        matrix.addMutant("AORB_3");
+        TestSetCover cover = new TestSetCover(matrix, matrix.getMutants());
+        Assert.assertEquals(Arrays.asList("AORB_1"), cover.getMutants());
+        Assert.assertEquals(Arrays.asList("test1"), cover.exact(TestSetCover.MAX_NODES));
+    }
+
+    private static KillMatrix randomMatrix(Random random, int testCount, int mutantCount) {
+        KillMatrix matrix = new KillMatrix(null);
+        for (int t = 0; t < testCount; t++) {
+            matrix.addTest("test" + t);
+        }
+        for (int m = 0; m < mutantCount; m++) {
+            List<String> killers = new ArrayList<String>();
+            for (int t = 0; t < testCount; t++) {
+                if (random.nextInt(4) == 0)
+                    killers.add("test" + t);
+            }
+            matrix.addKills("mutant" + m, killers);
+        }
+        return matrix;
+    }
+
+    /** Size of the smallest subset of the tests that kills every killable mutant */
+    private static int smallestAdequateSize(TestSetCover cover, List<String> tests, int killable) {
+        int smallest = Integer.MAX_VALUE;
+        for (int subset = 0; subset < (1 << tests.size()); subset++) {
+            List<String> testSet = new ArrayList<String>();
+            for (int t = 0; t < tests.size(); t++) {
+                if ((subset & (1 << t)) != 0)
+                    testSet.add(tests.get(t));
+            }
+            if (testSet.size() < smallest && cover.countKilled(testSet) == killable)
+                smallest = testSet.size();
+        }
+        return smallest;
+    }
+}
@@ -0,0 +1,48 @@
+package mujava.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import mujava.TestSubjects;
+
+public class ClassFileDigestTest {
+
+    private static final String CALC = "public class Calc {\n"
+            + "    int add(int a, int b) {\n"
+            + "        return a + b;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static byte[] compile(String source) throws IOException {
+        return TestSubjects.compile("Calc", source);
+    }
+
+    @Test
+    public void layoutAndCommentsDoNotChangeTheDigest() throws IOException {
+        byte[] original = compile(CALC);
+        byte[] moved = compile("// a comment\n\n" + CALC.replace("return a + b;", "\n\n        return a + b;"));
+        Assert.assertFalse(Arrays.equals(original, moved));
+        Assert.assertEquals(ClassFileDigest.digest(original), ClassFileDigest.digest(moved));
+    }
+
+    @Test
+    public void codeChangesTheDigest() throws IOException {
+        byte[] original = compile(CALC);
+        byte[] mutant = compile(CALC.replace("a + b", "a - b"));
+        Assert.assertNotEquals(ClassFileDigest.digest(original), ClassFileDigest.digest(mutant));
+    }
+
+    @Test(expected = IOException.class)
+    public void notAClassFile() throws IOException {
+        ClassFileDigest.digest("not a class file".getBytes("UTF-8"));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedClassFile() throws IOException {
+        byte[] data = compile(CALC);
+        ClassFileDigest.digest(Arrays.copyOf(data, data.length / 2));
+    }
+}
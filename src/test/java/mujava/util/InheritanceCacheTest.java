@@ -0,0 +1,57 @@
+package mujava.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import mujava.TestSubjects;
+
+public class InheritanceCacheTest {
+
+    private File dir;
+
+    @After
+    public void cleanup() throws IOException {
+        if (dir != null)
+            FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void savedCacheReplacesTheOldOne() throws IOException {
+        dir = Files.createTempDirectory("mujava-inheritance-").toFile();
+        Map<String, String> sources = new HashMap<String, String>();
+        sources.put("Base", "public class Base {}\n");
+        sources.put("Derived", "public class Derived extends Base {}\n");
+        for (Map.Entry<String, byte[]> e : TestSubjects.compile(sources).entrySet()) {
+            FileUtils.writeByteArrayToFile(new File(dir, e.getKey() + ".class"), e.getValue());
+        }
+        File file = new File(dir, InheritanceCache.CACHE_FILE);
+        FileUtils.writeStringToFile(file, "Stale\t0\t0\tGone\n");
+
+        InheritanceCache cache = new InheritanceCache(file);
+        Assert.assertEquals("Base", cache.getParentName("Derived", new File(dir, "Derived.class")));
+        Assert.assertEquals("", cache.getParentName("Base", new File(dir, "Base.class")));
+        cache.save();
+        Assert.assertEquals(Arrays.asList("Base.class", "Derived.class", InheritanceCache.CACHE_FILE),
+                Arrays.asList(sortedNames(dir)));
+
+        InheritanceCache read = new InheritanceCache(file);
+        Assert.assertEquals("Base", read.getParentName("Derived", new File(dir, "Derived.class")));
+        Assert.assertEquals(0, read.read);
+        Assert.assertEquals(1, read.reused);
+    }
+
+    private static String[] sortedNames(File dir) {
+        String[] names = dir.list();
+        Arrays.sort(names);
+        return names;
+    }
+}
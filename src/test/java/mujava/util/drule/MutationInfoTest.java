@@ -0,0 +1,45 @@
+package mujava.util.drule;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MutationInfoTest {
+
+    @Test
+    public void sameMutationOfOtherOperatorsIsEqual() {
+        MutationInfo aorb = new MutationInfo("AORB", "Calc", "int add(int,int)", "a + b", "a - b");
+        MutationInfo aors = new MutationInfo("AORS", "Calc", "int add(int,int)", "a + b", "a  -\n b");
+        Assert.assertEquals(aorb, aors);
+        Assert.assertEquals(aorb.hashCode(), aors.hashCode());
+
+        Set<MutationInfo> generated = new HashSet<MutationInfo>();
+        Assert.assertTrue(generated.add(aorb));
+        Assert.assertFalse(generated.add(aors));
+        Assert.assertEquals("AORS", aors.getOperatorName());
+    }
+
+    @Test
+    public void otherPlacesAndCodeAreNotEqual() {
+        MutationInfo mutation = new MutationInfo("AORB", "Calc", "int add(int,int)", "a + b", "a - b");
+        Assert.assertNotEquals(mutation, new MutationInfo("AORB", "Calc", "int add(int,int)", "a + b", "a * b"));
+        Assert.assertNotEquals(mutation, new MutationInfo("AORB", "Calc", "int sub(int,int)", "a + b", "a - b"));
+        Assert.assertNotEquals(mutation, new MutationInfo("AORB", "Calc", "int add(int,int)", "b + a", "a - b"));
+        Assert.assertNotEquals(mutation, new MutationInfo("AORB", "Other", "int add(int,int)", "a + b", "a - b"));
+        Assert.assertNotEquals(mutation, new MutationInfo("AORB", "Calc", null, "a + b", "a - b"));
+        Assert.assertNotEquals(mutation, null);
+    }
+
+    @Test
+    public void rulesAreComparedWithTheirOperator() {
+        MutationInfo rule = new MutationInfo(DRuleUtils.MOperator.AOIU, MutationInfo.DRule.RULE43, "Calc");
+        Assert.assertEquals(rule, new MutationInfo(DRuleUtils.MOperator.AOIU, MutationInfo.DRule.RULE43, "Calc"));
+        Assert.assertEquals(rule.hashCode(),
+                new MutationInfo(DRuleUtils.MOperator.AOIU, MutationInfo.DRule.RULE43, "Calc").hashCode());
+        Assert.assertNotEquals(rule, new MutationInfo(DRuleUtils.MOperator.ASRS, MutationInfo.DRule.RULE43, "Calc"));
+        Assert.assertNotEquals(rule, new MutationInfo(DRuleUtils.MOperator.AOIU, MutationInfo.DRule.RULE49, "Calc"));
+        Assert.assertEquals("AOIU", rule.getOperatorName());
+    }
+}
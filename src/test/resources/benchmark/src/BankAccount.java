@@ -0,0 +1,65 @@
+public class BankAccount {
+
+    private long balance;
+    private int operations;
+    private final long overdraft;
+
+    public BankAccount(long overdraft) {
+        this.overdraft = overdraft;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public boolean deposit(long amount) {
+        if (amount <= 0) {
+            return false;
+        }
+        balance = balance + amount;
+        operations++;
+        return true;
+    }
+
+    public boolean withdraw(long amount) {
+        if (amount <= 0 || balance - amount < -overdraft) {
+            return false;
+        }
+        balance = balance - amount;
+        operations++;
+        return true;
+    }
+
+    public boolean transfer(BankAccount to, long amount) {
+        if (to == this || !withdraw(amount)) {
+            return false;
+        }
+        to.deposit(amount);
+        return true;
+    }
+
+    public long interest(int rate, int years) {
+        long total = balance;
+        for (int i = 0; i < years; i++) {
+            if (total > 0) {
+                total = total + total * rate / 100;
+            }
+        }
+        return total - balance;
+    }
+
+    public int fee() {
+        int fee = 0;
+        if (balance < 0) {
+            fee = 10;
+        }
+        if (operations > 20 && balance < 1000) {
+            fee = fee + operations - 20;
+        }
+        return fee;
+    }
+}
@@ -0,0 +1,52 @@
+public class Triangle {
+
+    public static final int INVALID = 0;
+    public static final int SCALENE = 1;
+    public static final int ISOSCELES = 2;
+    public static final int EQUILATERAL = 3;
+
+    public int classify(int a, int b, int c) {
+        if (a <= 0 || b <= 0 || c <= 0) {
+            return INVALID;
+        }
+        int trian = 0;
+        if (a == b) {
+            trian = trian + 1;
+        }
+        if (a == c) {
+            trian = trian + 2;
+        }
+        if (b == c) {
+            trian = trian + 3;
+        }
+        if (trian == 0) {
+            if (a + b <= c || a + c <= b || b + c <= a) {
+                return INVALID;
+            }
+            return SCALENE;
+        }
+        if (trian > 3) {
+            return EQUILATERAL;
+        }
+        if (trian == 1 && a + b > c) {
+            return ISOSCELES;
+        } else if (trian == 2 && a + c > b) {
+            return ISOSCELES;
+        } else if (trian == 3 && b + c > a) {
+            return ISOSCELES;
+        }
+        return INVALID;
+    }
+
+    public double area(int a, int b, int c) {
+        if (classify(a, b, c) == INVALID) {
+            return 0.0;
+        }
+        double s = (a + b + c) / 2.0;
+        return Math.sqrt(s * (s - a) * (s - b) * (s - c));
+    }
+
+    public int perimeter(int a, int b, int c) {
+        return a + b + c;
+    }
+}
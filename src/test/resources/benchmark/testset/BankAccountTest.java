@@ -0,0 +1,58 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BankAccountTest {
+
+    @Test
+    public void testDeposit() {
+        BankAccount account = new BankAccount(0);
+        assertTrue(account.deposit(100));
+        assertFalse(account.deposit(0));
+        assertEquals(100, account.getBalance());
+        assertEquals(1, account.getOperations());
+    }
+
+    @Test
+    public void testWithdraw() {
+        BankAccount account = new BankAccount(50);
+        account.deposit(100);
+        assertTrue(account.withdraw(150));
+        assertFalse(account.withdraw(1));
+        assertEquals(-50, account.getBalance());
+    }
+
+    @Test
+    public void testTransfer() {
+        BankAccount from = new BankAccount(0);
+        BankAccount to = new BankAccount(0);
+        from.deposit(100);
+        assertTrue(from.transfer(to, 40));
+        assertFalse(from.transfer(from, 10));
+        assertFalse(from.transfer(to, 100));
+        assertEquals(60, from.getBalance());
+        assertEquals(40, to.getBalance());
+    }
+
+    @Test
+    public void testInterest() {
+        BankAccount account = new BankAccount(0);
+        account.deposit(1000);
+        assertEquals(210, account.interest(10, 2));
+        assertEquals(0, account.interest(10, 0));
+    }
+
+    @Test
+    public void testFee() {
+        BankAccount account = new BankAccount(100);
+        assertEquals(0, account.fee());
+        account.withdraw(10);
+        assertEquals(10, account.fee());
+        for (int i = 0; i < 25; i++) {
+            account.deposit(1);
+        }
+        assertEquals(6, account.fee());
+    }
+}
@@ -0,0 +1,44 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TriangleTest {
+
+    private final Triangle t = new Triangle();
+
+    @Test
+    public void testInvalid() {
+        assertEquals(Triangle.INVALID, t.classify(0, 1, 1));
+        assertEquals(Triangle.INVALID, t.classify(1, 2, 3));
+        assertEquals(Triangle.INVALID, t.classify(1, 1, 3));
+    }
+
+    @Test
+    public void testScalene() {
+        assertEquals(Triangle.SCALENE, t.classify(3, 4, 5));
+        assertEquals(Triangle.SCALENE, t.classify(5, 3, 4));
+    }
+
+    @Test
+    public void testIsosceles() {
+        assertEquals(Triangle.ISOSCELES, t.classify(2, 2, 3));
+        assertEquals(Triangle.ISOSCELES, t.classify(2, 3, 2));
+        assertEquals(Triangle.ISOSCELES, t.classify(3, 2, 2));
+    }
+
+    @Test
+    public void testEquilateral() {
+        assertEquals(Triangle.EQUILATERAL, t.classify(4, 4, 4));
+    }
+
+    @Test
+    public void testArea() {
+        assertEquals(6.0, t.area(3, 4, 5), 1e-9);
+        assertEquals(0.0, t.area(1, 2, 3), 1e-9);
+    }
+
+    @Test
+    public void testPerimeter() {
+        assertEquals(12, t.perimeter(3, 4, 5));
+    }
+}